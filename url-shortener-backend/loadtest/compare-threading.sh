@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares the platform-thread default with the virtual-threads profile under
+# the same redirect spike.
+#
+# Requirements: a Java 21+ runtime on PATH, k6, jq, and MONGODB_URI pointing at
+# a MongoDB instance that may be written to.
+#
+#   MONGODB_URI=mongodb://localhost:27017/urlshortener ./loadtest/compare-threading.sh
+#
+# Extra arguments are passed to k6, e.g. -e PEAK_RPS=10000.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${MONGODB_URI:?MONGODB_URI must be set}"
+PORT="${PORT:-8080}"
+# Short IDs need a shuffle key; a throwaway one unless provided
+export SHORT_ID_SHUFFLE_KEY="${SHORT_ID_SHUFFLE_KEY:-$(od -An -N8 -td8 /dev/urandom | tr -d ' ')}"
+mkdir -p loadtest/results
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/url-shortener-backend-*.jar | grep -v plain | head -n 1)
+
+run_mode() {
+    local mode="$1" profiles="$2"
+    echo "=== ${mode} threads"
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --app.base-url="http://localhost:${PORT}/" --app.rate-limit.enabled=false > "loadtest/results/${mode}-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null && break
+        sleep 1
+    done
+
+    (cd loadtest && k6 run -e BASE_URL="http://localhost:${PORT}" -e MODE="$mode" "${@:3}" redirect-spike.js) || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform "default" "$@"
+run_mode virtual "virtual-threads" "$@"
+
+printf '\n%-10s %12s %10s %10s %10s %10s\n' mode requests/s p50_ms p95_ms p99_ms failed
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '[
+        $mode,
+        (.metrics.http_reqs.values.rate | floor),
+        (.metrics.http_req_duration.values.med * 100 | round / 100),
+        (.metrics.http_req_duration.values["p(95)"] * 100 | round / 100),
+        (.metrics.http_req_duration.values["p(99)"] * 100 | round / 100),
+        (.metrics.http_req_failed.values.rate * 10000 | round / 100 | tostring + "%")
+    ] | @tsv' "loadtest/results/${mode}-summary.json" | awk -F'\t' '{ printf "%-10s %12s %10s %10s %10s %10s\n", $1, $2, $3, $4, $5, $6 }'
+done
@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Runs the redirect spike once per MongoDB tuning setting and tabulates the
+# effect of each against the baseline.
+#
+# Requirements: a Java 21+ runtime on PATH, k6, jq, and MONGODB_URI pointing at
+# a MongoDB replica set that may be written to (the read preference rows need
+# at least one secondary; on a single node they measure the fallback only).
+#
+#   MONGODB_URI='mongodb://localhost:27017/urlshortener?replicaSet=rs0' ./loadtest/mongo-matrix.sh
+#
+# Every run mixes in STATS_RATIO (default 0.1) statistics reads. Extra
+# arguments are passed to k6, e.g. -e PEAK_RPS=10000.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${MONGODB_URI:?MONGODB_URI must be set}"
+PORT="${PORT:-8080}"
+# Short IDs need a shuffle key; a throwaway one unless provided
+export SHORT_ID_SHUFFLE_KEY="${SHORT_ID_SHUFFLE_KEY:-$(od -An -N8 -td8 /dev/urandom | tr -d ' ')}"
+STATS_RATIO="${STATS_RATIO:-0.1}"
+mkdir -p loadtest/results
+
+# name|application arguments; each row changes one setting from the baseline
+MATRIX=(
+    "baseline|"
+    "pool-20|--app.mongo.pool.max-size=20"
+    "pool-20-wait-100ms|--app.mongo.pool.max-size=20 --app.mongo.pool.max-wait-time=100ms"
+    "pool-400|--app.mongo.pool.max-size=400 --app.mongo.pool.min-size=50 --app.mongo.pool.max-connecting=8"
+    "read-timeout-50ms|--app.mongo.socket.read-timeout=50ms"
+    "clicks-w1|--app.mongo.write-concern.clicks=w1"
+    "clicks-w0|--app.mongo.write-concern.clicks=unacknowledged"
+    "redirect-secondary|--app.mongo.read-preference.redirect=secondaryPreferred"
+    "stats-secondary|--app.mongo.read-preference.stats=secondaryPreferred"
+    "mongo-replica|--spring.profiles.active=mongo-replica"
+)
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/url-shortener-backend-*.jar | grep -v plain | head -n 1)
+
+run_setting() {
+    local name="$1" settings="$2"
+    shift 2
+    echo "=== ${name}"
+    # The load comes from one client address, so the per-client limits are lifted
+    # shellcheck disable=SC2086
+    java -jar "$JAR" --server.port="$PORT" --app.base-url="http://localhost:${PORT}/" \
+        --app.rate-limit.enabled=false $settings > "loadtest/results/${name}-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null && break
+        sleep 1
+    done
+
+    (cd loadtest && k6 run -e BASE_URL="http://localhost:${PORT}" -e MODE="$name" \
+        -e STATS_RATIO="$STATS_RATIO" "$@" redirect-spike.js) || true
+    curl -sf "http://localhost:${PORT}/actuator/metrics/mongodb.driver.pool.checkout" \
+        > "loadtest/results/${name}-checkout.json" || echo '{}' > "loadtest/results/${name}-checkout.json"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+for row in "${MATRIX[@]}"; do
+    run_setting "${row%%|*}" "${row#*|}" "$@"
+done
+
+printf '\n%-20s %12s %10s %10s %10s %10s %16s %14s\n' \
+    setting requests/s p50_ms p95_ms p99_ms failed checkout_avg_ms checkout_max_ms
+for row in "${MATRIX[@]}"; do
+    name="${row%%|*}"
+    read -r checkout_avg checkout_max < <(jq -r '
+        ((.measurements // []) | map({(.statistic): .value}) | add // {}) as $m
+        | [(if ($m.COUNT // 0) > 0 then ($m.TOTAL_TIME / $m.COUNT * 100000 | round / 100) else "-" end),
+           (if $m.MAX == null then "-" else ($m.MAX * 100000 | round / 100) end)]
+        | @tsv' "loadtest/results/${name}-checkout.json")
+    jq -r --arg name "$name" --arg avg "$checkout_avg" --arg max "$checkout_max" '[
+        $name,
+        (.metrics.http_reqs.values.rate | floor),
+        (.metrics.http_req_duration.values.med * 100 | round / 100),
+        (.metrics.http_req_duration.values["p(95)"] * 100 | round / 100),
+        (.metrics.http_req_duration.values["p(99)"] * 100 | round / 100),
+        (.metrics.http_req_failed.values.rate * 10000 | round / 100 | tostring + "%"),
+        $avg,
+        $max
+    ] | @tsv' "loadtest/results/${name}-summary.json" \
+        | awk -F'\t' '{ printf "%-20s %12s %10s %10s %10s %10s %16s %14s\n", $1, $2, $3, $4, $5, $6, $7, $8 }'
+done
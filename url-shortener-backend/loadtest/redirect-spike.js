@@ -0,0 +1,75 @@
+// k6 load test: redirect spike against a running backend.
+//
+// Seeds LINKS short URLs through the batch endpoint, then drives GET /{shortId}
+// with a ramping arrival rate so that the server, not the load generator,
+// determines throughput. Redirects are not followed, so only the backend is measured.
+// A STATS_RATIO fraction of the requests reads GET /api/stats/{shortId} instead.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform redirect-spike.js
+//
+// The end-of-test summary is written to results/<MODE>-summary.json.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'default';
+const LINKS = parseInt(__ENV.LINKS || '1000');
+const PEAK_RPS = parseInt(__ENV.PEAK_RPS || '5000');
+const STATS_RATIO = parseFloat(__ENV.STATS_RATIO || '0');
+
+export const options = {
+    scenarios: {
+        spike: {
+            executor: 'ramping-arrival-rate',
+            startRate: 100,
+            timeUnit: '1s',
+            preAllocatedVUs: 500,
+            maxVUs: 5000,
+            stages: [
+                { target: PEAK_RPS / 10, duration: '30s' },
+                { target: PEAK_RPS, duration: '10s' },
+                { target: PEAK_RPS, duration: '60s' },
+                { target: PEAK_RPS / 10, duration: '10s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(99)<250'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const items = [];
+    for (let i = 0; i < LINKS; i++) {
+        items.push({ url: `https://www.example.com/loadtest/${i}` });
+    }
+    const res = http.post(`${BASE_URL}/api/shorten/batch`, JSON.stringify(items), {
+        headers: { 'Content-Type': 'application/json' },
+        timeout: '120s',
+    });
+    check(res, { 'seeded links': (r) => r.status === 200 });
+    return {
+        shortIds: res.json('results')
+            .filter((item) => item.status === 'CREATED')
+            .map((item) => item.shortUrl.substring(item.shortUrl.lastIndexOf('/') + 1)),
+    };
+}
+
+export default function (data) {
+    const shortId = data.shortIds[Math.floor(Math.random() * data.shortIds.length)];
+    if (Math.random() < STATS_RATIO) {
+        const res = http.get(`${BASE_URL}/api/stats/${shortId}`, { tags: { name: 'stats' } });
+        check(res, { 'has stats': (r) => r.status === 200 });
+        return;
+    }
+    const res = http.get(`${BASE_URL}/${shortId}`, { redirects: 0, tags: { name: 'redirect' } });
+    check(res, { 'is redirect': (r) => r.status === 302 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`results/${MODE}-summary.json`]: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,124 @@
+#!/usr/bin/env bash
+# Measures startup time and time to the first cached redirect for each startup
+# option: the plain jar, the fast-startup profile (lazy initialization), class
+# data sharing (CDS), Spring AOT, and AOT with CDS.
+#
+# Requirements: a Java 17+ runtime on PATH, curl, jq, and MONGODB_URI pointing
+# at a MongoDB instance that may be written to.
+#
+#   MONGODB_URI=mongodb://localhost:27017/urlshortener ./loadtest/startup-time.sh
+#
+# A link is created and clicked first, so that the cache warm-up has something
+# to preload. Every mode is started RUNS times (default 3) and the last run is
+# reported, after the operating system's file cache has been warmed up.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${MONGODB_URI:?MONGODB_URI must be set}"
+PORT="${PORT:-8080}"
+# Short IDs need a shuffle key; a throwaway one unless provided
+export SHORT_ID_SHUFFLE_KEY="${SHORT_ID_SHUFFLE_KEY:-$(od -An -N8 -td8 /dev/urandom | tr -d ' ')}"
+RUNS="${RUNS:-3}"
+BASE="http://localhost:${PORT}"
+OUT=loadtest/results/startup
+mkdir -p "$OUT"
+
+# The AOT-processed jar also runs without AOT, so one build serves every mode
+./mvnw -q -Paot -DskipTests package
+JAR=$(ls target/url-shortener-backend-*.jar | grep -v plain | head -n 1)
+
+# Extracted layout and class archive from a training run without a database
+rm -rf "$OUT/extracted"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT/extracted"
+EXTRACTED="$OUT/extracted/$(basename "$JAR")"
+TRAINING_ARGS=(--spring.data.mongodb.uri=mongodb://localhost:27017/urlshortener
+    --spring.data.mongodb.auto-index-creation=false --app.mongo.collection-setup.enabled=false)
+java -XX:ArchiveClassesAtExit="$OUT/extracted/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$EXTRACTED" "${TRAINING_ARGS[@]}" > "$OUT/cds-training.log" 2>&1
+java -XX:ArchiveClassesAtExit="$OUT/extracted/app-aot.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar "$EXTRACTED" "${TRAINING_ARGS[@]}" > "$OUT/cds-aot-training.log" 2>&1
+
+# name|java command up to the application arguments
+MODES=(
+    "jar|java -jar $JAR"
+    "fast-startup|java -jar $JAR --spring.profiles.active=fast-startup"
+    "cds|java -XX:SharedArchiveFile=$OUT/extracted/app.jsa -jar $EXTRACTED"
+    "aot|java -Dspring.aot.enabled=true -jar $JAR"
+    "aot-cds|java -XX:SharedArchiveFile=$OUT/extracted/app-aot.jsa -Dspring.aot.enabled=true -jar $EXTRACTED"
+)
+
+start_app() {
+    local log="$1"
+    shift
+    # shellcheck disable=SC2086
+    $@ --server.port="$PORT" --app.base-url="$BASE/" --app.rate-limit.enabled=false > "$log" 2>&1 &
+    echo $!
+}
+
+wait_ready() {
+    for _ in $(seq 1 1200); do
+        curl -sf "$BASE/actuator/health/readiness" > /dev/null && return 0
+        sleep 0.1
+    done
+    return 1
+}
+
+# The application is not a child of this shell, so wait for it to release the port
+stop_app() {
+    kill "$1" 2>/dev/null || true
+    while kill -0 "$1" 2>/dev/null; do
+        sleep 0.1
+    done
+}
+
+metric() {
+    curl -sf "$BASE/actuator/metrics/$1" | jq -r '.measurements[0].value // "NaN"' 2>/dev/null || echo NaN
+}
+
+# Seed a hot link; clicks are flushed to lastAccessedAt within a second
+pid=$(start_app "$OUT/seed.log" "java -jar $JAR")
+trap 'stop_app $pid' EXIT
+wait_ready
+SHORT_ID=$(curl -sf -H 'Content-Type: application/json' -d '{"url":"https://example.com/startup-time"}' \
+    "$BASE/api/shorten" | jq -r '.shortUrl | split("/") | last')
+curl -s -o /dev/null "$BASE/$SHORT_ID"
+sleep 3
+stop_app "$pid"
+
+for row in "${MODES[@]}"; do
+    name="${row%%|*}"
+    for run in $(seq 1 "$RUNS"); do
+        launched=$(date +%s%N)
+        pid=$(start_app "$OUT/${name}-app.log" "${row#*|}")
+        wait_ready
+        ready_ms=$(( ($(date +%s%N) - launched) / 1000000 ))
+        # The first redirect is a cache hit if the warm-up preloaded the link
+        for _ in $(seq 1 5); do
+            curl -s -o /dev/null "$BASE/$SHORT_ID"
+            first_hit=$(metric application.first.cached.redirect.time)
+            [ "$first_hit" != "NaN" ] && break
+        done
+        if [ "$run" = "$RUNS" ]; then
+            jq -n --arg name "$name" --argjson ready "$ready_ms" \
+                --arg started "$(metric application.started.time)" --arg readyTime "$(metric application.ready.time)" \
+                --arg warmup "$(metric cache.warmup.duration)" --arg loaded "$(metric cache.warmup.loaded)" \
+                --arg firstHit "$first_hit" \
+                '{name: $name, ready_ms: $ready, started: $started, ready_time: $readyTime,
+                  warmup: $warmup, loaded: $loaded, first_hit: $firstHit}' > "$OUT/${name}.json"
+        fi
+        stop_app "$pid"
+    done
+done
+trap - EXIT
+
+printf '\n%-14s %14s %12s %12s %12s %10s %20s\n' \
+    mode until_ready_ms started_ms ready_ms warmup_ms preloaded first_cached_hit_ms
+for row in "${MODES[@]}"; do
+    jq -r '
+        def ms: if . == "NaN" then "-" else (tonumber * 1000 | round) end;
+        [.name, .ready_ms, (.started | ms), (.ready_time | ms), (.warmup | ms),
+         (.loaded | if . == "NaN" then "-" else tonumber | floor end), (.first_hit | ms)] | @tsv' \
+        "$OUT/${row%%|*}.json" \
+        | awk -F'\t' '{ printf "%-14s %14s %12s %12s %12s %10s %20s\n", $1, $2, $3, $4, $5, $6, $7 }'
+done
+echo "until_ready_ms is measured from launch; first_cached_hit_ms from JVM start; the others are Spring Boot's"
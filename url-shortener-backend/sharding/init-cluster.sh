@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Initiates the replica sets of the local sharded cluster and registers the
+# shards with mongos. Safe to run again on a running cluster.
+set -euo pipefail
+
+wait_for() {
+    until mongosh --quiet --host "$1" --eval 'db.adminCommand({ ping: 1 })' > /dev/null 2>&1; do
+        sleep 1
+    done
+}
+
+initiate() {
+    local host="$1" name="$2" options="$3"
+    wait_for "$host"
+    mongosh --quiet --host "$host" --eval "
+        try {
+            rs.status();
+        } catch (e) {
+            rs.initiate({ _id: '${name}', ${options} members: [{ _id: 0, host: '${host}' }] });
+        }"
+}
+
+initiate config:27019 cfg "configsvr: true,"
+initiate shard1:27018 shard1 ""
+initiate shard2:27018 shard2 ""
+
+wait_for mongos:27017
+# Retried until both shards have elected a primary
+until mongosh --quiet --host mongos:27017 --eval '
+        sh.addShard("shard1/shard1:27018");
+        sh.addShard("shard2/shard2:27018");' > /dev/null 2>&1; do
+    sleep 2
+done
+mongosh --quiet --host mongos:27017 --eval 'db.adminCommand({ listShards: 1 }).shards.forEach(s => print(s._id, s.host))'
@@ -0,0 +1,80 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.util.MpscRingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmarks handing a click to a background consumer from four redirect threads.
+ * <p>
+ * {@code blockingQueue} is the former analytics queue, an
+ * {@link ArrayBlockingQueue} whose producers and consumer share a single
+ * lock. {@code ringBuffer} is the {@link MpscRingBuffer} of the click
+ * pipeline. A consumer thread drains each buffer in batches, like the
+ * pipeline does, so the producers contend with it as well as with each other.
+ * A full buffer counts as a dropped click in both cases.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class ClickPublishBenchmark {
+
+    private static final int CAPACITY = 65536;
+    private static final int BATCH_SIZE = 5000;
+
+    private final Object click = new Object();
+    private ArrayBlockingQueue<Object> queue;
+    private MpscRingBuffer<Object> ring;
+    private Thread consumer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+        ring = new MpscRingBuffer<>(CAPACITY);
+        running = true;
+        consumer = new Thread(() -> {
+            List<Object> batch = new ArrayList<>(BATCH_SIZE);
+            while (running) {
+                int drained = queue.drainTo(batch, BATCH_SIZE) + ring.drainTo(batch, BATCH_SIZE);
+                batch.clear();
+                if (drained == 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                }
+            }
+        }, "click-publish-benchmark-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        consumer.join();
+    }
+
+    @Benchmark
+    public boolean blockingQueue() {
+        return queue.offer(click);
+    }
+
+    @Benchmark
+    public boolean ringBuffer() {
+        return ring.offer(click);
+    }
+}
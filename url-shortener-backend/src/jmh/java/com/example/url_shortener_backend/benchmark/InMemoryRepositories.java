@@ -0,0 +1,117 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.IdCounterRepository;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.service.ShortIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories used by the benchmarks.
+ * <p>
+ * Only the methods exercised on the benchmarked paths are implemented; every
+ * other repository method throws {@link UnsupportedOperationException}. This
+ * keeps database latency out of the measurements so that only the application
+ * code is compared.
+ * </p>
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * Creates a {@link UrlRepository} backed by a map keyed by short ID.
+     *
+     * @param urls the backing map, shared with the caller
+     * @return the repository stub
+     */
+    static UrlRepository urlRepository(Map<String, Url> urls) {
+        return (UrlRepository) Proxy.newProxyInstance(
+                UrlRepository.class.getClassLoader(),
+                new Class<?>[]{UrlRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByShortId", "findForStatsByShortId" -> Optional.ofNullable(urls.get((String) args[0]));
+                    case "findResolvedByShortId" -> Optional.ofNullable(urls.get((String) args[0]))
+                            .map(ResolvedUrl::of);
+                    case "existsByShortId" -> urls.containsKey((String) args[0]);
+                    case "save" -> {
+                        Url url = (Url) args[0];
+                        urls.put(url.getShortId(), url);
+                        yield url;
+                    }
+                    case "incrementClickCounts" -> ((List<?>) args[0]).size();
+                    case "insertUnordered" -> Collections.emptyList();
+                    case "streamShortIds" -> urls.values().stream();
+                    case "streamArchivedShortIds" -> Stream.empty();
+                    case "restoreArchived" -> Optional.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryUrlRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Creates a {@link ShortIdFilter} that lets every short ID through to the repository.
+     *
+     * @param urlRepository the repository the filter would be built from
+     * @return the disabled filter
+     */
+    static ShortIdFilter disabledShortIdFilter(UrlRepository urlRepository) {
+        return new ShortIdFilter(urlRepository, new SimpleMeterRegistry(), false, false, 1000, 0.01, "",
+                Duration.ofSeconds(10), 1000, Duration.ofSeconds(10));
+    }
+
+    /**
+     * Creates a repository that discards all writes, for repositories that are
+     * only written to on the benchmarked paths.
+     *
+     * @param repositoryType the repository interface
+     * @return the repository stub
+     */
+    static <T> T discardingRepository(Class<T> repositoryType) {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "insert" -> args[0];
+                    case "incrementRollups" -> 0;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "Discarding" + repositoryType.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    /**
+     * Creates an {@link IdCounterRepository} backed by a single in-memory counter.
+     *
+     * @return the repository stub
+     */
+    static IdCounterRepository idCounterRepository() {
+        Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        return (IdCounterRepository) Proxy.newProxyInstance(
+                IdCounterRepository.class.getClassLoader(),
+                new Class<?>[]{IdCounterRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "reserveBlock" -> counters.computeIfAbsent((String) args[0], key -> new AtomicLong())
+                            .getAndAdd((Long) args[1]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryIdCounterRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
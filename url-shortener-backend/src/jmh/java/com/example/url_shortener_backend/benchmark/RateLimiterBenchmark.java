@@ -0,0 +1,56 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.model.RateLimitedEndpoint;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rate limit check added to every redirect.
+ * <p>
+ * Four request threads check the redirect limit for {@code clients}
+ * distinct client addresses picked at random, against a limiter tracking at
+ * most 100,000 clients. With a million clients most checks evict a bucket
+ * and create a new one.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int clients;
+
+    private String[] addresses;
+    private RequestRateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = "10." + (i >> 16 & 0xff) + '.' + (i >> 8 & 0xff) + '.' + (i & 0xff);
+        }
+        rateLimiter = new RequestRateLimiter(new SimpleMeterRegistry(), true, "X-API-Key", Set.of(),
+                100_000, 64, 20, 1, 5, 0.1, 200, 50);
+    }
+
+    @Benchmark
+    public long admit() {
+        String address = addresses[ThreadLocalRandom.current().nextInt(clients)];
+        return rateLimiter.admit(RateLimitedEndpoint.REDIRECT, null, address);
+    }
+}
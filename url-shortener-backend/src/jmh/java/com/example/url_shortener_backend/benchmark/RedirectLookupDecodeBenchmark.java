@@ -0,0 +1,102 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.ResolvedUrlCodec;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks decoding a redirect lookup reply, from the BSON bytes received
+ * from MongoDB to the object handed to the resolution cache.
+ * <p>
+ * Compares the full entity path of {@code findByShortId} (decode to a
+ * {@link Document}, then map to {@link Url} with date conversions) with the
+ * projected path of {@code findResolvedByShortId} (stream the three projected
+ * fields through {@link ResolvedUrlCodec}). Run with {@code -prof gc} to
+ * compare allocation per lookup.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedirectLookupDecodeBenchmark {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private MappingMongoConverter converter;
+    private DocumentCodec documentCodec;
+    private ResolvedUrlCodec resolvedUrlCodec;
+    private byte[] fullDocument;
+    private byte[] projectedDocument;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        documentCodec = new DocumentCodec();
+        resolvedUrlCodec = new ResolvedUrlCodec();
+
+        Url url = new Url();
+        url.setId("65f1c0ffee0ddba11c0ffee1");
+        url.setShortId("a1B2c3");
+        url.setOriginalUrl("https://www.example.com/campaigns/spring/landing-page?utm_source=newsletter");
+        url.setCreatedAt(LocalDateTime.now());
+        url.setLastAccessedAt(LocalDateTime.now());
+        url.setClickCount(1234);
+        Document full = new Document();
+        converter.write(url, full);
+        fullDocument = toBytes(full);
+
+        Document projected = new Document("shortId", url.getShortId())
+                .append("originalUrl", url.getOriginalUrl())
+                .append("active", url.isActive());
+        projectedDocument = toBytes(projected);
+    }
+
+    @Benchmark
+    public Url fullEntity() {
+        Document document = documentCodec.decode(reader(fullDocument), DECODER_CONTEXT);
+        return converter.read(Url.class, document);
+    }
+
+    @Benchmark
+    public ResolvedUrl projectedRaw() {
+        return resolvedUrlCodec.decode(reader(projectedDocument), DECODER_CONTEXT);
+    }
+
+    private byte[] toBytes(Document document) {
+        ByteBuffer buffer = new RawBsonDocument(document, documentCodec).getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static BsonBinaryReader reader(byte[] bytes) {
+        return new BsonBinaryReader(ByteBuffer.wrap(bytes));
+    }
+}
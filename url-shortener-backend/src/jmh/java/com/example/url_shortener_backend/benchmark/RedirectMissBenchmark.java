@@ -0,0 +1,97 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.controller.NotFoundResponses;
+import com.example.url_shortener_backend.dto.ErrorResponseDto;
+import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks building the 404 response for a redirect to an unknown short ID.
+ * <p>
+ * Compares the previous path, a stack-capturing exception thrown from below
+ * {@code depth} frames and turned into a freshly serialized
+ * {@link ErrorResponseDto}, with the stackless {@link UrlNotFoundException}
+ * and with the empty-{@link Optional} path ending in the precomputed
+ * {@link NotFoundResponses} body. The depth stands in for the servlet filter
+ * and handler adapter frames between the controller and the container.
+ * Run with {@code -prof gc} to compare allocation per miss.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedirectMissBenchmark {
+
+    @Param({"80"})
+    public int depth;
+
+    private ObjectWriter writer;
+    private NotFoundResponses notFoundResponses;
+    private final String shortId = "zZ9yY8x";
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writerFor(ErrorResponseDto.class);
+        notFoundResponses = new NotFoundResponses("json", objectMapper);
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndSerializedBody() throws JsonProcessingException {
+        try {
+            return descend(depth, () -> {
+                throw new StackfulNotFoundException("URL not found for id: " + shortId);
+            });
+        } catch (StackfulNotFoundException e) {
+            return writer.writeValueAsBytes(new ErrorResponseDto(LocalDateTime.now(), e.getMessage(), "/" + shortId));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessExceptionAndPrecomputedBody() {
+        try {
+            return descend(depth, () -> {
+                throw new UrlNotFoundException("URL not found for id: " + shortId);
+            });
+        } catch (UrlNotFoundException e) {
+            return notFoundResponses.redirectMiss().getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] emptyOptionalAndPrecomputedBody() {
+        return descend(depth, Optional::<byte[]>empty)
+                .orElseGet(() -> notFoundResponses.redirectMiss().getBody());
+    }
+
+    private static <T> T descend(int frames, Supplier<T> leaf) {
+        return frames == 0 ? leaf.get() : descend(frames - 1, leaf);
+    }
+
+    /**
+     * Not found exception as it was declared before, capturing its stack trace.
+     */
+    private static class StackfulNotFoundException extends RuntimeException {
+        StackfulNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
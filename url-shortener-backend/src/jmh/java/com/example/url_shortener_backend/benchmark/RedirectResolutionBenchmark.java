@@ -0,0 +1,115 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.ClickEventRepository;
+import com.example.url_shortener_backend.repository.ClickRollupRepository;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.service.BlockLeasingShortIdGenerator;
+import com.example.url_shortener_backend.service.ClickAggregator;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.ClickPipeline;
+import com.example.url_shortener_backend.service.GeoIpCountryResolver;
+import com.example.url_shortener_backend.service.ShortenerMetrics;
+import com.example.url_shortener_backend.service.UrlDeduplicator;
+import com.example.url_shortener_backend.service.UrlResolutionCache;
+import com.example.url_shortener_backend.service.UrlService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks full redirect resolution through {@link UrlService} against an
+ * in-memory repository.
+ * <p>
+ * Measures the cached redirect path ({@code incrementClickCount}, which
+ * resolves through the cache and records the click for counting and
+ * analytics) and the uncached full
+ * document read used by the stats endpoint, over {@code links} distinct
+ * short IDs accessed uniformly at random.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RedirectResolutionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int links;
+
+    private String[] shortIds;
+    private UrlService urlService;
+    private ClickAggregator clickAggregator;
+    private ClickPipeline clickPipeline;
+    private ClickContext clickContext;
+
+    @Setup
+    public void setUp() {
+        Map<String, Url> urls = new ConcurrentHashMap<>();
+        shortIds = new String[links];
+        BlockLeasingShortIdGenerator generator = new BlockLeasingShortIdGenerator(
+                InMemoryRepositories.idCounterRepository(), 1000, 7, true, 42L);
+        for (int i = 0; i < links; i++) {
+            Url url = new Url();
+            url.setShortId(generator.nextId());
+            url.setOriginalUrl("https://www.example.com/landing/" + i);
+            url.setCreatedAt(LocalDateTime.now());
+            urls.put(url.getShortId(), url);
+            shortIds[i] = url.getShortId();
+        }
+
+        UrlRepository urlRepository = InMemoryRepositories.urlRepository(urls);
+        clickAggregator = new ClickAggregator(urlRepository, 500, "drop");
+        UrlResolutionCache cache = new UrlResolutionCache(
+                200_000, Duration.ofMinutes(10), Duration.ofSeconds(30), new SimpleMeterRegistry());
+        ClickAnalyticsService clickAnalyticsService = new ClickAnalyticsService(
+                InMemoryRepositories.discardingRepository(ClickEventRepository.class),
+                InMemoryRepositories.discardingRepository(ClickRollupRepository.class),
+                new GeoIpCountryResolver(""), "drop", 1440, Duration.ofDays(2), Duration.ofDays(90), 100);
+        clickPipeline = new ClickPipeline(List.of(clickAggregator, clickAnalyticsService), new SimpleMeterRegistry(),
+                65536, 5000, 1000, 0.1, Duration.ofMillis(10), Duration.ofSeconds(30));
+        clickContext = new ClickContext("https://www.example.org/", "Mozilla/5.0 (X11; Linux x86_64)", "10.0.0.1");
+        urlService = new UrlService(urlRepository, clickPipeline, cache, generator,
+                new ShortenerMetrics(new SimpleMeterRegistry()), InMemoryRepositories.disabledShortIdFilter(urlRepository),
+                new UrlDeduplicator(false));
+    }
+
+    @TearDown(Level.Iteration)
+    public void flushClicks() {
+        clickAggregator.flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clickPipeline.shutdown();
+    }
+
+    @Benchmark
+    public ResolvedUrl redirect() {
+        return urlService.incrementClickCount(shortIds[ThreadLocalRandom.current().nextInt(links)], clickContext);
+    }
+
+    @Benchmark
+    public Url statsLookup() {
+        return urlService.getUrlByShortId(shortIds[ThreadLocalRandom.current().nextInt(links)]);
+    }
+}
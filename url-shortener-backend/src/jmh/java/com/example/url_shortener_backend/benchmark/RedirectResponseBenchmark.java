@@ -0,0 +1,54 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.controller.RedirectResponses;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the redirect response for a cached resolution.
+ * <p>
+ * {@code perRequest} is the former controller code, which built a header map,
+ * parsed the target with {@link URI#create(String)} and wrapped both in a new
+ * {@link ResponseEntity} on every redirect. {@code preRendered} returns the
+ * response {@link RedirectResponses} keeps on the cached {@link ResolvedUrl}.
+ * Run with {@code -prof gc} to compare allocations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedirectResponseBenchmark {
+
+    private ResolvedUrl url;
+    private RedirectResponses redirectResponses;
+
+    @Setup
+    public void setUp() {
+        url = new ResolvedUrl("aB3dE9", "https://shop.example.com/search?q=running+shoes&size=42&sort=price", true);
+        redirectResponses = new RedirectResponses(302, "private, max-age=90");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> perRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create(url.getOriginalUrl()));
+        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> preRendered() {
+        return redirectResponses.redirect(url);
+    }
+}
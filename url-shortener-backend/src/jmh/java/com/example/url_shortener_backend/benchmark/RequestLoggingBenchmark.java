@@ -0,0 +1,135 @@
+package com.example.url_shortener_backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.url_shortener_backend.config.MeteredAsyncAppender;
+import com.example.url_shortener_backend.util.AccessLogSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the logging cost of a redirect under concurrent load.
+ * <p>
+ * Compares:
+ * <ul>
+ *     <li>The three INFO lines per redirect the controller and service used to
+ *     write, through a synchronous file appender</li>
+ *     <li>The same lines through the {@code prod} profile's {@link MeteredAsyncAppender}</li>
+ *     <li>The sampled access log at 1% through the asynchronous appender</li>
+ *     <li>No logging at all</li>
+ * </ul>
+ * Log lines go to a temporary file with the default pattern. The asynchronous
+ * variants drop what the writer thread cannot keep up with; the number of
+ * dropped events is printed at the end of each trial.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+    private static final String SHORT_ID = "abc123";
+    private static final String ORIGINAL_URL = "https://www.example.com/articles/2024/performance-tuning";
+
+    private File logFile;
+    private FileAppender<ILoggingEvent> syncAppender;
+    private MeteredAsyncAppender asyncAppender;
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private Logger accessLogger;
+    private AccessLogSampler sampler;
+
+    @Setup
+    public void setUp() throws IOException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logFile = File.createTempFile("request-logging", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        syncAppender = new FileAppender<>();
+        syncAppender.setContext(context);
+        syncAppender.setName("SYNC_FILE");
+        syncAppender.setFile(logFile.getAbsolutePath());
+        syncAppender.setEncoder(encoder);
+        syncAppender.start();
+
+        asyncAppender = new MeteredAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("ASYNC_FILE");
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(syncAppender);
+        asyncAppender.start();
+
+        syncLogger = logger(context, "benchmark.sync", syncAppender);
+        asyncLogger = logger(context, "benchmark.async", asyncAppender);
+        accessLogger = logger(context, AccessLogSampler.LOGGER_NAME, asyncAppender);
+        sampler = new AccessLogSampler(0.01);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("Asynchronous appender dropped %d events (%d discarded, %d on a full queue)%n",
+                asyncAppender.getDiscardedCount() + asyncAppender.getQueueFullCount(),
+                asyncAppender.getDiscardedCount(), asyncAppender.getQueueFullCount());
+        syncLogger.detachAndStopAllAppenders();
+        asyncLogger.detachAndStopAllAppenders();
+        accessLogger.detachAndStopAllAppenders();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void perHitInfoSync() {
+        perHitInfo(syncLogger);
+    }
+
+    @Benchmark
+    public void perHitInfoAsync() {
+        perHitInfo(asyncLogger);
+    }
+
+    @Benchmark
+    public void sampledAccessLogAsync() {
+        sampler.log("GET", "/" + SHORT_ID, 302, 150_000);
+    }
+
+    @Benchmark
+    public void noLogging() {
+        // Baseline: the redirect path without any logging
+    }
+
+    private static void perHitInfo(Logger logger) {
+        logger.info("Received redirect request for shortId: {}", SHORT_ID);
+        logger.info("Incrementing click count for shortId: {}", SHORT_ID);
+        logger.info("Redirecting to: {}", ORIGINAL_URL);
+    }
+
+    private static Logger logger(LoggerContext context, String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
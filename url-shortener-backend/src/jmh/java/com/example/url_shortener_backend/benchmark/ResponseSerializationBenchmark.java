@@ -0,0 +1,58 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.dto.UrlResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of {@link UrlResponseDto}, the body of the
+ * shorten and stats endpoints.
+ * <p>
+ * The mapper is configured like Spring Boot's default one: JSR-310 module
+ * registered and dates written as ISO strings.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private UrlResponseDto response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writerFor(UrlResponseDto.class);
+
+        response = new UrlResponseDto();
+        response.setOriginalUrl("https://www.example.com/articles/2024/performance-tuning");
+        response.setShortUrl("https://sho.rt/aB3dE9");
+        response.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15));
+        response.setClickCount(123_456);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public String serializeToString() throws JsonProcessingException {
+        return writer.writeValueAsString(response);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.service.BlockLeasingShortIdGenerator;
+import com.example.url_shortener_backend.service.RandomShortIdGenerator;
+import com.example.url_shortener_backend.service.ShortenerMetrics;
+import com.example.url_shortener_backend.util.Base62;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the short ID allocation strategies.
+ * <p>
+ * Compares:
+ * <ul>
+ *     <li>The original {@code new Random()} and existence-check loop</li>
+ *     <li>{@link RandomShortIdGenerator}</li>
+ *     <li>{@link BlockLeasingShortIdGenerator}, with and without the Feistel shuffle</li>
+ * </ul>
+ * The repository is an in-memory stub pre-filled with {@code existingIds}
+ * entries, so the random strategies pay for hash lookups instead of database
+ * round trips; in production each lookup is a network call.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShortIdGenerationBenchmark {
+
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    @Param({"0", "100000"})
+    public int existingIds;
+
+    private UrlRepository urlRepository;
+    private RandomShortIdGenerator randomGenerator;
+    private BlockLeasingShortIdGenerator shuffledGenerator;
+    private BlockLeasingShortIdGenerator sequentialGenerator;
+
+    @Setup
+    public void setUp() {
+        Map<String, Url> urls = new ConcurrentHashMap<>();
+        Random random = new Random(42);
+        while (urls.size() < existingIds) {
+            String shortId = Base62.encode((long) (random.nextDouble() * Base62.keyspace(6)), 6);
+            Url url = new Url();
+            url.setShortId(shortId);
+            urls.put(shortId, url);
+        }
+        urlRepository = InMemoryRepositories.urlRepository(urls);
+        randomGenerator = new RandomShortIdGenerator(urlRepository, new ShortenerMetrics(new SimpleMeterRegistry()),
+                InMemoryRepositories.disabledShortIdFilter(urlRepository));
+        shuffledGenerator = new BlockLeasingShortIdGenerator(
+                InMemoryRepositories.idCounterRepository(), 1000, 7, true, 42L);
+        sequentialGenerator = new BlockLeasingShortIdGenerator(
+                InMemoryRepositories.idCounterRepository(), 1000, 7, false, null);
+    }
+
+    /**
+     * The short ID generation loop as originally implemented in {@code UrlService}.
+     */
+    @Benchmark
+    public String legacyRandomRetry() {
+        Random random = new Random();
+        String shortId;
+        do {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                builder.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+            }
+            shortId = builder.toString();
+        } while (urlRepository.existsByShortId(shortId));
+        return shortId;
+    }
+
+    @Benchmark
+    public String randomGenerator() {
+        return randomGenerator.nextId();
+    }
+
+    @Benchmark
+    public String blockLeasingShuffled() {
+        return shuffledGenerator.nextId();
+    }
+
+    @Benchmark
+    public String blockLeasingSequential() {
+        return sequentialGenerator.nextId();
+    }
+}
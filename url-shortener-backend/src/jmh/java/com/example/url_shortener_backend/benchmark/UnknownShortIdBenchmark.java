@@ -0,0 +1,136 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.ClickEventRepository;
+import com.example.url_shortener_backend.repository.ClickRollupRepository;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.service.BlockLeasingShortIdGenerator;
+import com.example.url_shortener_backend.service.ClickAggregator;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.ClickPipeline;
+import com.example.url_shortener_backend.service.GeoIpCountryResolver;
+import com.example.url_shortener_backend.service.ShortIdFilter;
+import com.example.url_shortener_backend.service.ShortenerMetrics;
+import com.example.url_shortener_backend.service.UrlDeduplicator;
+import com.example.url_shortener_backend.service.UrlResolutionCache;
+import com.example.url_shortener_backend.service.UrlService;
+import com.example.url_shortener_backend.util.Base62;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmarks redirects for short IDs that do not exist, as sent by scanners.
+ * <p>
+ * Every request uses a fresh random 7-character ID, none of which exist
+ * among the {@code links} 6-character ones. With the {@link ShortIdFilter}
+ * enabled, misses are answered without touching the resolution cache or the
+ * repository; without it, each one is a repository lookup and a negative
+ * cache entry. The repository is in memory, so the database round trip the
+ * filter saves in production is not part of the score; the number of
+ * repository lookups is printed at the end of each trial.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class UnknownShortIdBenchmark {
+
+    @Param({"true", "false"})
+    public boolean filterEnabled;
+
+    @Param({"100000"})
+    public int links;
+
+    private UrlService urlService;
+    private ClickPipeline clickPipeline;
+    private final LongAdder repositoryLookups = new LongAdder();
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        Map<String, Url> urls = new ConcurrentHashMap<>();
+        BlockLeasingShortIdGenerator generator = new BlockLeasingShortIdGenerator(
+                InMemoryRepositories.idCounterRepository(), 1000, 7, true, 42L);
+        for (int i = 0; i < links; i++) {
+            Url url = new Url();
+            url.setShortId(generator.nextId());
+            url.setOriginalUrl("https://www.example.com/landing/" + i);
+            url.setCreatedAt(LocalDateTime.now());
+            urls.put(url.getShortId(), url);
+        }
+
+        UrlRepository urlRepository = countingLookups(InMemoryRepositories.urlRepository(urls));
+        // Synced once only, so it must not be considered stale during the run
+        ShortIdFilter shortIdFilter = new ShortIdFilter(urlRepository, new SimpleMeterRegistry(), filterEnabled, true,
+                links, 0.001, "", Duration.ofSeconds(10), 10_000, Duration.ofDays(1));
+        if (filterEnabled) {
+            shortIdFilter.sync();
+            while (!shortIdFilter.isReady()) {
+                Thread.sleep(10);
+            }
+        }
+
+        clickPipeline = new ClickPipeline(
+                List.of(new ClickAggregator(urlRepository, 500, "drop"), new ClickAnalyticsService(
+                        InMemoryRepositories.discardingRepository(ClickEventRepository.class),
+                        InMemoryRepositories.discardingRepository(ClickRollupRepository.class),
+                        new GeoIpCountryResolver(""), "drop", 1440, Duration.ofDays(2), Duration.ofDays(90), 100)),
+                new SimpleMeterRegistry(), 65536, 5000, 1000, 0.1, Duration.ofMillis(10), Duration.ofSeconds(30));
+        urlService = new UrlService(urlRepository,
+                clickPipeline,
+                new UrlResolutionCache(200_000, Duration.ofMinutes(10), Duration.ofSeconds(30), new SimpleMeterRegistry()),
+                generator,
+                new ShortenerMetrics(new SimpleMeterRegistry()),
+                shortIdFilter,
+                new UrlDeduplicator(false));
+    }
+
+    @TearDown
+    public void tearDown() {
+        clickPipeline.shutdown();
+        System.out.printf("Repository lookups: %d%n", repositoryLookups.sum());
+    }
+
+    @Benchmark
+    public ResolvedUrl unknownShortId() {
+        String shortId = Base62.encode(ThreadLocalRandom.current().nextLong(Base62.keyspace(7)), 7);
+        try {
+            return urlService.resolveShortId(shortId);
+        } catch (UrlNotFoundException e) {
+            return null;
+        }
+    }
+
+    private UrlRepository countingLookups(UrlRepository delegate) {
+        return (UrlRepository) Proxy.newProxyInstance(
+                UrlRepository.class.getClassLoader(),
+                new Class<?>[]{UrlRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findResolvedByShortId")) {
+                        repositoryLookups.increment();
+                    }
+                    return method.invoke(delegate, args);
+                });
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.url_shortener_backend.benchmark;
+
+import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks the linear-time {@link UrlNormalizer} scanner against the URL
+ * validation regexes formerly declared on {@code UrlDto.url} and
+ * {@code Url.originalUrl}.
+ * <p>
+ * The {@code adversarial} input is a long run of word characters and hyphens
+ * without a dot, which forces the nested quantifier in the {@code UrlDto}
+ * pattern to backtrack over every split of the run. The
+ * {@code adversarialDots} input is a long run of dots, which the overlapping
+ * character classes of the {@code Url} pattern split in every possible way.
+ * The {@code idn} input has an internationalized host name, which neither
+ * regex accepts.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlValidationBenchmark {
+
+    /** Pattern formerly declared on {@code UrlDto.url} */
+    private static final Pattern DTO_PATTERN =
+            Pattern.compile("^(https?://)?([\\w-]+\\.)+[\\w-]+(/[\\w-./?%&=+#]*)?$");
+
+    /** Pattern formerly declared on {@code Url.originalUrl} */
+    private static final Pattern MODEL_PATTERN =
+            Pattern.compile("^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$");
+
+    @Param({"typical", "query", "idn", "adversarial", "adversarialDots"})
+    public String input;
+
+    private String url;
+    private UrlDto urlDto;
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        url = switch (input) {
+            case "typical" -> "https://www.example.com/articles/2024/performance-tuning";
+            case "query" -> "https://shop.example.com/search?q=running+shoes&size=42&sort=price#results";
+            case "idn" -> "https://bücher.example/suche?titel=straße";
+            case "adversarialDots" -> "http://a" + ".".repeat(2_000) + "!";
+            default -> "https://" + "a-".repeat(2_000) + "!";
+        };
+        urlDto = new UrlDto();
+        urlDto.setUrl(url);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public boolean dtoPattern() {
+        return DTO_PATTERN.matcher(url).matches();
+    }
+
+    @Benchmark
+    public boolean modelPattern() {
+        return MODEL_PATTERN.matcher(url).matches();
+    }
+
+    /**
+     * Validation only, as performed by {@code @ValidUrl}.
+     */
+    @Benchmark
+    public boolean scannerValidate() {
+        return UrlNormalizer.isValid(url);
+    }
+
+    /**
+     * Validation and normalization, as performed once per created URL.
+     */
+    @Benchmark
+    public String scannerNormalize() {
+        return UrlNormalizer.normalize(url);
+    }
+
+    /**
+     * Full bean validation of the request DTO, as performed for {@code @Valid}.
+     */
+    @Benchmark
+    public int beanValidation() {
+        return validator.validate(urlDto).size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.util.AccessLogSampler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Writes a sampled access log for the servlet stack.
+ * <p>
+ * Replaces the per-request INFO lines the controllers used to emit; see
+ * {@link AccessLogSampler} for the sampling rules.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogSampler sampler;
+
+    public AccessLogFilter(@Value("${app.access-log.sample-rate}") double sampleRate) {
+        this.sampler = new AccessLogSampler(sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sampler.log(request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.url_shortener_backend.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Publishes the drop counts and queue headroom of every
+ * {@link MeteredAsyncAppender} configured in Logback.
+ * <p>
+ * Exposes {@code logging.async.dropped} tagged with the appender name and
+ * the drop reason ({@code discarded} or {@code queue_full}), and
+ * {@code logging.async.queue.remaining}. Binds nothing when no asynchronous
+ * appender is configured, which is the case outside the {@code prod} profile.
+ * </p>
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Set<MeteredAsyncAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            logger.iteratorForAppenders().forEachRemaining(appender -> {
+                if (appender instanceof MeteredAsyncAppender async) {
+                    appenders.add(async);
+                }
+            });
+        }
+        appenders.forEach(appender -> bind(registry, appender));
+    }
+
+    private static void bind(MeterRegistry registry, MeteredAsyncAppender appender) {
+        FunctionCounter.builder("logging.async.dropped", appender, MeteredAsyncAppender::getDiscardedCount)
+                .description("Log events dropped by an asynchronous appender")
+                .tag("appender", appender.getName())
+                .tag("reason", "discarded")
+                .register(registry);
+        FunctionCounter.builder("logging.async.dropped", appender, MeteredAsyncAppender::getQueueFullCount)
+                .description("Log events dropped by an asynchronous appender")
+                .tag("appender", appender.getName())
+                .tag("reason", "queue_full")
+                .register(registry);
+        Gauge.builder("logging.async.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+                .description("Free slots in the asynchronous appender's queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
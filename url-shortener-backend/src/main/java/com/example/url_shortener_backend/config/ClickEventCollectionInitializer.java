@@ -0,0 +1,60 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.model.ClickEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Creates the {@code click_events} time-series collection on startup.
+ * <p>
+ * MongoDB creates a regular collection on the first insert, so the
+ * time-series collection has to exist before any click event is written.
+ * Raw events expire after {@code app.analytics.events.retention}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ClickEventCollectionInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration retention;
+
+    /** Off for the class data sharing training run, which starts without a database */
+    private final boolean setUpOnStartup;
+
+    public ClickEventCollectionInitializer(MongoTemplate mongoTemplate,
+                                           @Value("${app.analytics.events.retention:30d}") Duration retention,
+                                           @Value("${app.mongo.collection-setup.enabled:true}") boolean setUpOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+        this.setUpOnStartup = setUpOnStartup;
+    }
+
+    @PostConstruct
+    public void createCollection() {
+        if (!setUpOnStartup || mongoTemplate.collectionExists(ClickEvent.class)) {
+            return;
+        }
+
+        try {
+            mongoTemplate.createCollection(ClickEvent.class, CollectionOptions.timeSeries("timestamp",
+                    options -> options.metaField("shortId")
+                            .granularity(Granularity.SECONDS)
+                            .expireAfter(retention)));
+            log.info("Created click_events time-series collection with {} retention", retention);
+        } catch (DataAccessException e) {
+            // Another instance may have created it concurrently
+            if (!mongoTemplate.collectionExists(ClickEvent.class)) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.url_shortener_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address of a request on the {@code reactive} deployment profile.
+ * <p>
+ * Reactor Netty's forwarded header support believes {@code X-Forwarded-For}
+ * from any client, which would let a client pick its own rate limit bucket
+ * and analytics country, so it is disabled with
+ * {@code server.forward-headers-strategy=none}. Instead, the header is only
+ * read when the socket peer is in {@code app.reactive.trusted-proxies}, a
+ * comma-separated list of CIDR ranges. Like Tomcat's {@code RemoteIpValve} on
+ * the servlet stack, the addresses in the header are walked from the nearest
+ * hop outwards and the first one that is not a trusted proxy is the client.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ClientAddressResolver {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    /** Dotted IPv4 literal; anything else without a colon could be a host name and is never resolved */
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientAddressResolver(@Value("${app.reactive.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(range -> !range.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    /**
+     * Returns the address of the client that sent a request.
+     *
+     * @param request the request
+     * @return the IP address of the client, null if unknown
+     */
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return null;
+        }
+        InetAddress client = remoteAddress.getAddress();
+        List<String> forwardedFor = request.getHeaders().get(X_FORWARDED_FOR);
+        if (forwardedFor == null || !isTrusted(client)) {
+            return client.getHostAddress();
+        }
+
+        List<String> hops = new ArrayList<>();
+        for (String header : forwardedFor) {
+            for (String hop : header.split(",")) {
+                hops.add(hop.trim());
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0 && isTrusted(client); i--) {
+            InetAddress hop = parseLiteral(hops.get(i));
+            if (hop == null) {
+                break;
+            }
+            client = hop;
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an IP address literal without ever resolving a host name.
+     *
+     * @return the address, null if the value is not an IP address literal
+     */
+    private static InetAddress parseLiteral(String value) {
+        if (!value.contains(":") && !IPV4.matcher(value).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(value);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Range of IP addresses in CIDR notation, such as {@code 10.0.0.0/8}.
+     */
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            InetAddress address = parseLiteral(slash < 0 ? cidr : cidr.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy range: " + cidr);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength;
+            try {
+                prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trusted proxy range: " + cidr, e);
+            }
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy range: " + cidr);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.controller.ReactiveUrlController;
+import com.example.url_shortener_backend.controller.UrlController;
+import com.example.url_shortener_backend.service.CacheWarmer;
+import com.example.url_shortener_backend.service.ClickPipeline;
+import com.example.url_shortener_backend.service.ClickSink;
+import com.example.url_shortener_backend.service.ReactiveUrlService;
+import com.example.url_shortener_backend.service.UrlService;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans created at startup even with {@code spring.main.lazy-initialization}.
+ * <p>
+ * The {@code fast-startup} profile initializes beans lazily, so that
+ * auto-configured infrastructure not needed to serve redirects, such as the
+ * export or most actuator endpoints, is only created when first used. These
+ * beans are excluded, because creating them on the first request would undo
+ * the cache warm-up or because they must run without being asked for:
+ * <ul>
+ *     <li>The controllers and services of the redirect path, with everything they depend on</li>
+ *     <li>The click pipeline and its sinks, which own the consumer threads</li>
+ *     <li>The collection initializers, which must run before the first write</li>
+ *     <li>The Redis invalidation subscriber and the meter binders</li>
+ * </ul>
+ * Components with {@code @Scheduled} methods are kept eager by Spring Boot itself.
+ * </p>
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                UrlController.class, ReactiveUrlController.class,
+                UrlService.class, ReactiveUrlService.class,
+                ClickPipeline.class, ClickSink.class,
+                UrlCollectionInitializer.class, ClickEventCollectionInitializer.class,
+                CacheWarmer.class, ResolutionInvalidationSubscriber.class, MeterBinder.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.url_shortener_backend.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops.
+ * <p>
+ * The stock appender drops events silently in two cases:
+ * <ul>
+ *     <li>Once the queue is nearly full, events at INFO and below are discarded</li>
+ *     <li>With {@code neverBlock}, any event that finds the queue full is discarded</li>
+ * </ul>
+ * Both are counted here and published by {@link AsyncLoggingMetrics}. The
+ * full-queue check races with the worker draining the queue, so that count
+ * may include a few events that would just have fit.
+ * </p>
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            queueFull.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted once the queue is below the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    /**
+     * @return events at INFO and below discarded because the queue was nearly full
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * @return events dropped because the queue was full and the appender never blocks
+     */
+    public long getQueueFullCount() {
+        return queueFull.sum();
+    }
+}
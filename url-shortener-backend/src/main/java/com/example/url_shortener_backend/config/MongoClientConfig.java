@@ -0,0 +1,90 @@
+package com.example.url_shortener_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for tuning the MongoDB driver's connection pool.
+ * <p>
+ * Spring Boot only exposes the connection string for the driver, so pool
+ * limits are applied through a {@link MongoClientSettingsBuilderCustomizer}.
+ * When requests run on virtual threads the request thread count is no longer
+ * bounded, which makes the pool the resource that limits concurrent database
+ * work:
+ * <ul>
+ *     <li>{@code max-size} caps the number of concurrent operations</li>
+ *     <li>{@code max-wait-time} bounds how long a request may queue for a connection</li>
+ *     <li>{@code max-connecting} limits how many connections are opened at once during a spike</li>
+ *     <li>{@code max-idle-time} and {@code max-life-time} retire connections, e.g. behind a load balancer</li>
+ * </ul>
+ * The socket timeouts bound how long opening a connection and waiting for a
+ * reply may take. The default write concern of the client, used by every
+ * write that does not choose its own, is {@code app.mongo.write-concern.default};
+ * it overrides a {@code w} option of the connection string. Time spent
+ * waiting for a pooled connection is recorded by {@link PoolCheckoutMetrics}.
+ * The pool and socket defaults match the driver's own defaults.
+ * </p>
+ *
+ * @see MongoConsistencySettings
+ */
+@Configuration
+public class MongoClientConfig {
+
+    @Value("${app.mongo.pool.max-size:100}")
+    private int maxPoolSize;
+
+    @Value("${app.mongo.pool.min-size:0}")
+    private int minPoolSize;
+
+    @Value("${app.mongo.pool.max-wait-time:2m}")
+    private Duration maxWaitTime;
+
+    @Value("${app.mongo.pool.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${app.mongo.pool.max-idle-time:0s}")
+    private Duration maxIdleTime;
+
+    @Value("${app.mongo.pool.max-life-time:0s}")
+    private Duration maxLifeTime;
+
+    @Value("${app.mongo.socket.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${app.mongo.socket.read-timeout:0s}")
+    private Duration readTimeout;
+
+    @Value("${app.mongo.write-concern.default:majority}")
+    private String defaultWriteConcern;
+
+    /**
+     * Applies the configured connection pool limits, socket timeouts and
+     * default write concern to the MongoDB client.
+     *
+     * @param meterRegistry the registry for the pool checkout timers
+     * @return the client settings customizer
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(MeterRegistry meterRegistry) {
+        PoolCheckoutMetrics checkoutMetrics = new PoolCheckoutMetrics(meterRegistry);
+        return builder -> builder
+                .writeConcern(MongoConsistencySettings.writeConcern(defaultWriteConcern))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(maxPoolSize)
+                        .minSize(minPoolSize)
+                        .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(maxConnecting)
+                        .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(maxLifeTime.toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(checkoutMetrics))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.url_shortener_backend.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read preferences and write concerns of the individual MongoDB access paths.
+ * <p>
+ * Everything not listed here reads from the primary and writes with
+ * {@code app.mongo.write-concern.default} (see {@link MongoClientConfig}),
+ * so creating a URL is acknowledged by a majority of the replica set and
+ * click claims are decided on the primary. On a replica set, the read-mostly
+ * paths may trade freshness for capacity:
+ * <ul>
+ *     <li>{@code app.mongo.read-preference.redirect} - resolving a short ID for a redirect</li>
+ *     <li>{@code app.mongo.read-preference.stats} - the statistics and click history of a URL</li>
+ *     <li>{@code app.mongo.write-concern.clicks} - click count and rollup updates, which
+ *     are batched and retried by the click pipeline and can tolerate a relaxed concern</li>
+ * </ul>
+ * A read preference is any name accepted by {@link ReadPreference#valueOf(String)},
+ * e.g. {@code secondaryPreferred}; secondaries lagging more than
+ * {@code app.mongo.read-preference.max-staleness} are not read from (at
+ * least 90s, 0 for no limit). A write concern is any name accepted by
+ * {@link WriteConcern#valueOf(String)}, e.g. {@code majority} or {@code w1}.
+ * </p>
+ */
+@Getter
+@Component
+public class MongoConsistencySettings {
+
+    /** Read preference for resolving redirects */
+    private final ReadPreference redirectReads;
+
+    /** Read preference for statistics reads */
+    private final ReadPreference statsReads;
+
+    /** Write concern for click count and rollup updates */
+    private final WriteConcern clickWrites;
+
+    public MongoConsistencySettings(@Value("${app.mongo.read-preference.redirect:primary}") String redirectReads,
+                                    @Value("${app.mongo.read-preference.stats:primary}") String statsReads,
+                                    @Value("${app.mongo.read-preference.max-staleness:0s}") Duration maxStaleness,
+                                    @Value("${app.mongo.write-concern.clicks:majority}") String clickWrites) {
+        this.redirectReads = readPreference(redirectReads, maxStaleness);
+        this.statsReads = readPreference(statsReads, maxStaleness);
+        this.clickWrites = writeConcern(clickWrites);
+    }
+
+    /**
+     * Parses a read preference.
+     *
+     * @param name the name of the read preference, e.g. {@code secondaryPreferred}
+     * @param maxStaleness the maximum replication lag of a secondary to read from, 0 for no limit
+     * @return the read preference
+     * @throws IllegalArgumentException if the name is not a read preference
+     */
+    public static ReadPreference readPreference(String name, Duration maxStaleness) {
+        if (maxStaleness.isZero() || "primary".equalsIgnoreCase(name)) {
+            return ReadPreference.valueOf(name);
+        }
+        return ReadPreference.valueOf(name, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Parses a write concern.
+     *
+     * @param name the name of the write concern, e.g. {@code majority}
+     * @return the write concern
+     * @throws IllegalArgumentException if the name is not a write concern
+     */
+    public static WriteConcern writeConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name);
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown MongoDB write concern: " + name);
+        }
+        return writeConcern;
+    }
+
+    /**
+     * @param readPreference a read preference of this class
+     * @return whether reads with it may miss writes that have just been acknowledged
+     */
+    public static boolean mayBeStale(ReadPreference readPreference) {
+        return !ReadPreference.primary().equals(readPreference);
+    }
+}
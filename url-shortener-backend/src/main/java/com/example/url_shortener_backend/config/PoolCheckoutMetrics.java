@@ -0,0 +1,61 @@
+package com.example.url_shortener_backend.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long operations wait for a connection from the MongoDB pool.
+ * <p>
+ * Spring Boot's pool metrics report the pool size and the number of waiting
+ * operations; this listener adds the {@code mongodb.driver.pool.checkout}
+ * timer, tagged with the server and {@code result=success}, or
+ * {@code result=failed} with the driver's failure {@code reason}, e.g.
+ * {@code timeout} once {@code app.mongo.pool.max-wait-time} is exceeded. A
+ * rising checkout latency means the pool, not the database, is what requests
+ * wait for.
+ * </p>
+ */
+public class PoolCheckoutMetrics implements ConnectionPoolListener {
+
+    static final String METRIC_NAME = "mongodb.driver.pool.checkout";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ServerId, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public PoolCheckoutMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        successTimers.computeIfAbsent(event.getConnectionId().getServerId(), serverId -> timer(serverId)
+                        .tag("result", "success")
+                        .tag("reason", "none")
+                        .register(meterRegistry))
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        timer(event.getServerId())
+                .tag("result", "failed")
+                .tag("reason", event.getReason().name().toLowerCase())
+                .register(meterRegistry)
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer.Builder timer(ServerId serverId) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent waiting for a connection from the MongoDB connection pool")
+                .tag("cluster.id", serverId.getClusterId().getValue())
+                .tag("server.address", serverId.getAddress().toString());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.dto.ErrorResponseDto;
+import com.example.url_shortener_backend.model.RateLimitedEndpoint;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Applies the per-client rate limits of {@link RequestRateLimiter} on the servlet stack.
+ * <p>
+ * Rejected requests are answered with {@code 429 Too Many Requests} and a
+ * {@code Retry-After} header before reaching a controller.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RequestRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RequestRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitedEndpoint endpoint = RateLimitedEndpoint.of(request.getMethod(), request.getRequestURI());
+        if (endpoint != null) {
+            long retryAfter = rateLimiter.admit(endpoint,
+                    request.getHeader(rateLimiter.getApiKeyHeader()), request.getRemoteAddr());
+            if (retryAfter > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(
+                        LocalDateTime.now(), "Rate limit exceeded, retry in " + retryAfter + "s", request.getRequestURI()));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.util.AccessLogSampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes a sampled access log for the {@code reactive} deployment profile.
+ * <p>
+ * Applies the same sampling as {@link AccessLogFilter} to the WebFlux stack.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccessLogFilter implements WebFilter {
+
+    private final AccessLogSampler sampler;
+
+    public ReactiveAccessLogFilter(@Value("${app.access-log.sample-rate}") double sampleRate) {
+        this.sampler = new AccessLogSampler(sampleRate);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            sampler.log(exchange.getRequest().getMethod().name(), exchange.getRequest().getPath().value(),
+                    status != null ? status.value() : 200, System.nanoTime() - start);
+        });
+    }
+}
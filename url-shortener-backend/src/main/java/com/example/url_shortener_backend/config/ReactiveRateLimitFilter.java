@@ -0,0 +1,71 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.dto.ErrorResponseDto;
+import com.example.url_shortener_backend.model.RateLimitedEndpoint;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies the per-client rate limits of {@link RequestRateLimiter} on the
+ * {@code reactive} deployment profile, like {@link RateLimitFilter}. Clients
+ * are keyed by the address from {@link ClientAddressResolver}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RequestRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final ClientAddressResolver clientAddressResolver;
+
+    public ReactiveRateLimitFilter(RequestRateLimiter rateLimiter, ObjectMapper objectMapper,
+                                   ClientAddressResolver clientAddressResolver) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        RateLimitedEndpoint endpoint = RateLimitedEndpoint.of(request.getMethod().name(), path);
+        if (endpoint == null) {
+            return chain.filter(exchange);
+        }
+        long retryAfter = rateLimiter.admit(endpoint,
+                request.getHeaders().getFirst(rateLimiter.getApiKeyHeader()),
+                clientAddressResolver.resolve(request));
+        if (retryAfter == 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponseDto(
+                    LocalDateTime.now(), "Rate limit exceeded, retry in " + retryAfter + "s", path));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
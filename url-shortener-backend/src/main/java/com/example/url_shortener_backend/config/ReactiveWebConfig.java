@@ -0,0 +1,37 @@
+package com.example.url_shortener_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Cross-Origin Resource Sharing settings for the {@code reactive} deployment profile.
+ * <p>
+ * Applies the same CORS policy as {@link WebConfig} to the WebFlux stack.
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /**
+     * Configures CORS mappings for the application endpoints.
+     *
+     * @param registry the {@link CorsRegistry} to configure CORS settings
+     */
+    @Override
+    public void addCorsMappings(@NonNull CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins(
+                    "https://stellar-url.vercel.app",
+                    "http://localhost:4200"
+                )
+                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .exposedHeaders("Access-Control-Allow-Origin")
+                .allowCredentials(false)
+                .maxAge(3600);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.service.ShortIdFilter;
+import com.example.url_shortener_backend.service.UrlResolutionCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes this instance to the resolution cache invalidations published
+ * by {@link com.example.url_shortener_backend.service.RedisResolutionCache}.
+ * <p>
+ * Every message carries a short ID whose local resolution cache entry is
+ * dropped, so a link deactivated on one instance stops redirecting on all of
+ * them. The short ID is also added to the {@link ShortIdFilter}, since
+ * messages are published for newly created short IDs too, which the filter
+ * would otherwise only learn about on its next sync. Messages published by
+ * this instance are received too and are harmless.
+ * </p>
+ * <p>
+ * The application starts even if Redis is unreachable: the subscription is
+ * retried every {@code app.cache.l2.resubscribe-interval-ms} until it
+ * succeeds. Until then, changes made on other instances are only picked up
+ * when local entries expire. The {@code url.cache.l2.subscribed} gauge is 1
+ * while subscribed.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true")
+public class ResolutionInvalidationSubscriber {
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    public ResolutionInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                            UrlResolutionCache resolutionCache,
+                                            ShortIdFilter shortIdFilter,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.cache.l2.channel:url-resolution-invalidations}") String channel) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String shortId = new String(message.getBody(), StandardCharsets.UTF_8);
+            shortIdFilter.put(shortId);
+            resolutionCache.invalidateLocal(shortId);
+        }, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        Gauge.builder("url.cache.l2.subscribed", container, c -> c.isListening() ? 1 : 0)
+                .description("Whether invalidations from other instances are being received")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the invalidation channel unless already listening.
+     * <p>
+     * Once subscribed, the container itself recovers from dropped connections.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${app.cache.l2.resubscribe-interval-ms:5000}")
+    public void subscribe() {
+        if (container.isListening()) {
+            return;
+        }
+        container.stop();
+        try {
+            container.start();
+            log.info("Subscribed to resolution cache invalidations");
+        } catch (RuntimeException e) {
+            log.warn("Failed to subscribe to resolution cache invalidations, retrying: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+}
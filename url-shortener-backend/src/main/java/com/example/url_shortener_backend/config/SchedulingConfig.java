@@ -0,0 +1,17 @@
+package com.example.url_shortener_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support.
+ * <p>
+ * Background jobs such as the periodic click count flush are declared with
+ * {@link org.springframework.scheduling.annotation.Scheduled} on the
+ * components that own them.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,37 @@
+package com.example.url_shortener_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports at startup which threading model serves requests.
+ * <p>
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} on Java
+ * versions before 21, so enabling the {@code virtual-threads} profile on an
+ * older runtime would otherwise fall back to platform threads unnoticed.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ThreadingModeReporter {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    /**
+     * Logs the effective threading model once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            log.warn("Virtual threads were requested but Java {} does not support them; "
+                    + "requests are served on platform threads", javaVersion);
+        } else {
+            log.info("Requests are served on {} threads", virtualThreadsRequested ? "virtual" : "platform");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.example.url_shortener_backend.repository.UrlRepositoryCustom;
+import com.mongodb.client.MongoDatabase;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.HashedIndex;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Maintains the indexes and sharding of the {@code urls} and {@code urls_archive}
+ * collections that are not declared on the {@link com.example.url_shortener_backend.model.Url} entity.
+ * <p>
+ * On startup it:
+ * <ul>
+ *     <li>Drops the {@code redirect_lookup} index superseded by {@code redirect_lookup_v2},
+ *     which also covers the expiry time and click limit</li>
+ *     <li>Creates the unique {@code shortId} index and the {@code expiresAt}
+ *     TTL index of the archive collection, which entity index creation does not reach</li>
+ *     <li>Creates the index the cache warm-up reads the hottest links from, for
+ *     the configured {@code app.cache.warm-up.order}, and drops those of other
+ *     orders, which would only slow down click count updates</li>
+ *     <li>Creates the sparse unique {@code urlHash} index used by deduplication,
+ *     unless the collections are sharded</li>
+ *     <li>With {@code app.mongo.sharding.enabled}, shards both collections on a
+ *     hashed {@code shortId}, unless they are sharded already</li>
+ * </ul>
+ * </p>
+ * <p>
+ * A hashed shard key spreads consecutive short IDs, whether leased from the
+ * counter or chosen as aliases, evenly over the shards, and every lookup,
+ * click update and claim by {@code shortId} is routed to a single shard. A
+ * sharded collection can only enforce uniqueness on indexes prefixed by the
+ * shard key, so the {@code urlHash} index is dropped before sharding and
+ * deduplication cannot be combined with sharding.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UrlCollectionInitializer {
+
+    /** Name of the redirect lookup index before expiry and click limits were added */
+    static final String LEGACY_REDIRECT_INDEX = "redirect_lookup";
+
+    /** Field the collections are sharded on */
+    static final String SHARD_KEY = "shortId";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean sharded;
+    private final WarmUpOrder warmUpOrder;
+
+    /** Off for the class data sharing training run, which starts without a database */
+    private final boolean setUpOnStartup;
+
+    @Autowired
+    public UrlCollectionInitializer(MongoTemplate mongoTemplate,
+                                    @Value("${app.mongo.sharding.enabled:false}") boolean sharded,
+                                    @Value("${app.dedup.enabled:false}") boolean deduplicated,
+                                    @Value("${app.cache.warm-up.enabled:true}") boolean warmUp,
+                                    @Value("${app.cache.warm-up.order:last-accessed}") String warmUpOrder,
+                                    @Value("${app.mongo.collection-setup.enabled:true}") boolean setUpOnStartup) {
+        this(mongoTemplate, sharded, deduplicated, warmUp ? WarmUpOrder.of(warmUpOrder) : null, setUpOnStartup);
+    }
+
+    /**
+     * @param mongoTemplate the template of the database holding the collections
+     * @param sharded whether to shard the collections
+     * @param deduplicated whether deduplication is enabled
+     * @param warmUpOrder the order of the cache warm-up, null if it is disabled
+     * @param setUpOnStartup whether to create the indexes when the bean is initialized
+     * @throws IllegalStateException if the collections are sharded and deduplicated
+     */
+    public UrlCollectionInitializer(MongoTemplate mongoTemplate, boolean sharded, boolean deduplicated,
+                                    WarmUpOrder warmUpOrder, boolean setUpOnStartup) {
+        if (sharded && deduplicated) {
+            throw new IllegalStateException(
+                    "app.dedup.enabled needs a unique urlHash index, which app.mongo.sharding.enabled rules out");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.sharded = sharded;
+        this.warmUpOrder = warmUpOrder;
+        this.setUpOnStartup = setUpOnStartup;
+    }
+
+    @PostConstruct
+    void setUp() {
+        if (setUpOnStartup) {
+            createIndexes();
+        }
+    }
+
+    /**
+     * Creates, drops and shards as described above.
+     */
+    public void createIndexes() {
+        IndexOperations urls = mongoTemplate.indexOps("urls");
+        dropIndex(urls, LEGACY_REDIRECT_INDEX);
+
+        IndexOperations archive = mongoTemplate.indexOps(UrlRepositoryCustom.ARCHIVE_COLLECTION);
+        archive.ensureIndex(new Index("shortId", Sort.Direction.ASC).unique());
+        archive.ensureIndex(new Index("expiresAt", Sort.Direction.ASC).named("expiry").expire(Duration.ZERO));
+
+        String warmUpIndex = warmUpOrder == null ? null : warmUpOrder.getIndexName();
+        urls.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(name -> name.startsWith(WarmUpOrder.INDEX_PREFIX) && !name.equals(warmUpIndex))
+                .forEach(name -> {
+                    urls.dropIndex(name);
+                    log.info("Dropped {} index", name);
+                });
+        if (warmUpOrder != null) {
+            urls.ensureIndex(new Index()
+                    .on(warmUpOrder.getProperty(), Sort.Direction.DESC)
+                    .on("shortId", Sort.Direction.ASC)
+                    .named(warmUpIndex));
+        }
+
+        if (!sharded) {
+            urls.ensureIndex(new Index("urlHash", Sort.Direction.ASC)
+                    .named(UrlRepositoryCustom.URL_HASH_INDEX).unique().sparse());
+            return;
+        }
+        dropIndex(urls, UrlRepositoryCustom.URL_HASH_INDEX);
+        shard("urls");
+        shard(UrlRepositoryCustom.ARCHIVE_COLLECTION);
+    }
+
+    private void dropIndex(IndexOperations indexOps, String name) {
+        boolean exists = indexOps.getIndexInfo().stream().anyMatch(index -> name.equals(index.getName()));
+        if (exists) {
+            indexOps.dropIndex(name);
+            log.info("Dropped {} index", name);
+        }
+    }
+
+    private void shard(String collection) {
+        String namespace = mongoTemplate.getDb().getName() + '.' + collection;
+        MongoDatabase config = mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("config");
+        Document existing = config.getCollection("collections").find(new Document("_id", namespace)).first();
+        // Since MongoDB 8.0 unsharded collections may be listed as well, as unsplittable
+        if (existing != null && !existing.getBoolean("unsplittable", false)) {
+            log.info("Collection {} is sharded on {}", namespace, existing.get("key"));
+            return;
+        }
+
+        // A non-empty collection needs an index supporting the shard key before it can be sharded
+        mongoTemplate.indexOps(collection).ensureIndex(HashedIndex.hashed(SHARD_KEY));
+        mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("admin").runCommand(
+                new Document("shardCollection", namespace).append("key", new Document(SHARD_KEY, "hashed")));
+        log.info("Sharded collection {} on hashed {}", namespace, SHARD_KEY);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.model.ExportFormat;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST Controller streaming bulk exports of all shortened URLs.
+ * <p>
+ * The export is written straight to the response while the MongoDB cursor is
+ * read, so it is neither buffered in memory nor subject to an async request
+ * timeout. It is only available on the servlet stack.
+ * </p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Streams all shortened URLs with their click counts.
+     * <p>
+     * Records are ordered by {@code orderBy}. To resume an interrupted export,
+     * pass the {@code id} or {@code shortId} of the last record received as
+     * {@code after}, with the same {@code orderBy}. The response is gzip
+     * compressed if {@code gzip=true} or the client accepts gzip encoding.
+     * </p>
+     *
+     * @param format the output format: {@code ndjson} or {@code csv}
+     * @param orderBy the record order: {@code id} or {@code shortId}
+     * @param after the {@code id} or {@code shortId} to resume after
+     * @param gzip whether to compress the response
+     * @param acceptEncoding the {@code Accept-Encoding} request header
+     * @param response the response to stream the export to
+     * @throws IOException if writing the response fails
+     * @throws ResponseStatusException with HTTP 400 if a parameter is invalid
+     */
+    @GetMapping("/api/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(defaultValue = "id") String orderBy,
+                       @RequestParam(required = false) String after,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        ExportOrder exportOrder;
+        try {
+            exportFormat = ExportFormat.of(format);
+            exportOrder = ExportOrder.of(orderBy);
+            exportOrder.checkCursor(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        boolean compress = gzip || (acceptEncoding != null && acceptEncoding.contains("gzip"));
+        String fileName = "urls." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        response.setContentType(exportFormat.getMediaType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        if (compress) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        log.info("Starting {} export ordered by {} after {}", exportFormat, exportOrder, after);
+        OutputStream out = response.getOutputStream();
+        if (compress) {
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192)) {
+                long count = exportService.export(exportFormat, exportOrder, after, gzipOut);
+                log.info("Exported {} URLs", count);
+            }
+        } else {
+            long count = exportService.export(exportFormat, exportOrder, after, out);
+            log.info("Exported {} URLs", count);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.model.HotKeySnapshot;
+import com.example.url_shortener_backend.service.HotKeyTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the most frequently redirected links.
+ * <p>
+ * Served at {@code /actuator/hotkeys} on both web stacks and over JMX. The
+ * list is the snapshot last published by the {@link HotKeyTracker}, so reading
+ * it costs nothing on the redirect path and it is at most
+ * {@code app.hot-keys.refresh-interval} old.
+ * </p>
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@ConditionalOnProperty(name = "app.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    /**
+     * Returns the most clicked links.
+     *
+     * @param limit the maximum number of links to return, all tracked links if null
+     * @return the links with their estimated recent clicks, most clicked first
+     */
+    @ReadOperation
+    public HotKeySnapshot hotKeys(@Nullable Integer limit) {
+        HotKeySnapshot snapshot = hotKeyTracker.snapshot();
+        if (limit == null || limit >= snapshot.getKeys().size()) {
+            return snapshot;
+        }
+        return new HotKeySnapshot(snapshot.getUpdatedAt(), snapshot.getTrackedClicks(),
+                snapshot.getKeys().subList(0, Math.max(0, limit)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.url_shortener_backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed 404 response for redirects to unknown short IDs.
+ * <p>
+ * Scanners and bots probing random paths make redirect misses the most
+ * frequent request under attack. The response is built once at startup, so a
+ * miss costs no exception, no exception handler dispatch and no JSON
+ * serialization. The body is chosen with {@code app.not-found.redirect-body}:
+ * <ul>
+ *     <li>{@code json}: {@code {"message":"URL not found"}}</li>
+ *     <li>{@code plain}: {@code URL not found} as plain text</li>
+ *     <li>{@code empty}: no body</li>
+ * </ul>
+ * The other endpoints keep reporting unknown short IDs through the exception
+ * handlers, with the full error body.
+ * </p>
+ */
+@Component
+public class NotFoundResponses {
+
+    /** Message of the redirect miss body */
+    static final String MESSAGE = "URL not found";
+
+    /**
+     * Available redirect miss bodies.
+     */
+    public enum Body {
+        JSON, PLAIN, EMPTY
+    }
+
+    private final ResponseEntity<byte[]> redirectMiss;
+
+    public NotFoundResponses(@Value("${app.not-found.redirect-body:json}") String body,
+                             ObjectMapper objectMapper) throws JsonProcessingException {
+        HttpHeaders headers = new HttpHeaders();
+        byte[] content;
+        switch (Body.valueOf(body.trim().toUpperCase(Locale.ROOT))) {
+            case JSON -> {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                content = objectMapper.writeValueAsBytes(Map.of("message", MESSAGE));
+            }
+            case PLAIN -> {
+                headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+                content = MESSAGE.getBytes(StandardCharsets.UTF_8);
+            }
+            default -> content = new byte[0];
+        }
+        headers.setContentLength(content.length);
+        this.redirectMiss = new ResponseEntity<>(content, HttpHeaders.readOnlyHttpHeaders(headers), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Returns the shared 404 response for a redirect to an unknown short ID.
+     *
+     * @return the precomputed response, never modified
+     */
+    public ResponseEntity<byte[]> redirectMiss() {
+        return redirectMiss;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.config.ClientAddressResolver;
+import com.example.url_shortener_backend.dto.ClickStatsDto;
+import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.dto.UrlResponseDto;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.ReactiveUrlService;
+import com.example.url_shortener_backend.service.UrlService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+
+/**
+ * WebFlux implementation of the URL shortener endpoints for the {@code reactive}
+ * deployment profile.
+ * <p>
+ * Exposes the same contract as {@link UrlController}:
+ * <ul>
+ *     <li>Redirects and statistics run on a fully non-blocking pipeline</li>
+ *     <li>Creating and deactivating URLs reuse the blocking {@link UrlService}
+ *     on the bounded elastic scheduler, keeping event loop threads free</li>
+ * </ul>
+ * Batch shortening is only available on the servlet stack.
+ * </p>
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUrlController {
+
+    private final ReactiveUrlService reactiveUrlService;
+    private final UrlService urlService;
+    private final ClickAnalyticsService clickAnalyticsService;
+    private final NotFoundResponses notFoundResponses;
+    private final RedirectResponses redirectResponses;
+    private final ClientAddressResolver clientAddressResolver;
+
+    @Value("${app.base-url}")
+    private String baseUrl;
+
+    /**
+     * Creates a shortened URL from the provided original URL.
+     *
+     * @param urlDto the DTO containing the original URL and optional custom alias
+     * @return a Mono emitting the created URL details
+     */
+    @PostMapping("/api/shorten")
+    public Mono<ResponseEntity<UrlResponseDto>> shortenUrl(@Valid @RequestBody UrlDto urlDto) {
+        log.debug("Received URL shortening request for: {}", urlDto.getUrl());
+        return Mono.fromCallable(() -> urlService.createShortUrl(urlDto.getUrl(), urlDto.getCustomAlias(),
+                        urlDto.getExpiresAt(), urlDto.getMaxClicks()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(url -> ResponseEntity.ok(toResponse(url)))
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    /**
+     * Redirects to the original URL associated with the provided short ID.
+     * <p>
+     * Records a click for the URL without waiting for it to be persisted. The
+     * response is pre-rendered by {@link RedirectResponses}.
+     * </p>
+     *
+     * @param shortId the short identifier for the URL
+     * @param request the current request, whose headers and client address are recorded for analytics
+     * @return a Mono emitting a redirect to the original URL, or the
+     *         {@link NotFoundResponses#redirectMiss() precomputed 404} if the short ID is not found
+     */
+    @GetMapping("/{shortId}")
+    public Mono<ResponseEntity<byte[]>> redirectToOriginalUrl(@PathVariable String shortId, ServerHttpRequest request) {
+        ClickContext context = new ClickContext(
+                request.getHeaders().getFirst(HttpHeaders.REFERER),
+                request.getHeaders().getFirst(HttpHeaders.USER_AGENT),
+                clientAddressResolver.resolve(request));
+        return reactiveUrlService.findAndRecordClick(shortId, context)
+                .map(redirectResponses::redirect)
+                .defaultIfEmpty(notFoundResponses.redirectMiss());
+    }
+
+    /**
+     * Retrieves statistics for a shortened URL.
+     * <p>
+     * The click timeline is read from the pre-aggregated rollups on the
+     * bounded elastic scheduler.
+     * </p>
+     *
+     * @param shortId the short identifier for the URL
+     * @param granularity the timeline period: {@code minute}, {@code hour} or {@code day}
+     * @param from start of the timeline, defaults to one default window before {@code to}
+     * @param to end of the timeline, defaults to now
+     * @return a Mono emitting the URL statistics
+     */
+    @GetMapping("/api/stats/{shortId}")
+    public Mono<ResponseEntity<UrlResponseDto>> getUrlStats(
+            @PathVariable String shortId,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Mono<ClickStatsDto> analytics = Mono.fromCallable(() -> ClickStatsDto.of(
+                        clickAnalyticsService.getTimeline(shortId, RollupGranularity.of(granularity), from, to)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        return reactiveUrlService.getUrlByShortId(shortId)
+                .zipWith(analytics, (url, stats) -> {
+                    UrlResponseDto response = toResponse(url);
+                    response.setAnalytics(stats);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    /**
+     * Deactivates a shortened URL.
+     *
+     * @param shortId the short identifier for the URL
+     * @return a Mono emitting HTTP 204 on success
+     */
+    @DeleteMapping("/api/urls/{shortId}")
+    public Mono<ResponseEntity<Void>> deactivateUrl(@PathVariable String shortId) {
+        log.debug("Received deactivation request for shortId: {}", shortId);
+        return Mono.fromRunnable(() -> urlService.deactivateUrl(shortId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    private UrlResponseDto toResponse(Url url) {
+        UrlResponseDto response = new UrlResponseDto();
+        response.setOriginalUrl(url.getOriginalUrl());
+        String cleanBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        response.setShortUrl(cleanBaseUrl + "/" + url.getShortId());
+        response.setCreatedAt(url.getCreatedAt());
+        response.setClickCount(url.getClickCount());
+        response.setExpiresAt(url.getExpiresAt());
+        response.setMaxClicks(url.getMaxClicks());
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Pre-rendered redirect responses.
+ * <p>
+ * The response for a short ID is rendered once, when it is first redirected
+ * to, and kept for as long as its {@link ResolvedUrl} stays in the resolution
+ * cache, so a redirect served from the cache builds no headers, parses no URI
+ * and allocates no response. Responses are held in a map with weak,
+ * identity-compared keys: a response belongs to one cached instance and goes
+ * away once that instance is evicted or invalidated. The {@code Location} header is the normalized original URL,
+ * see {@link ResolvedUrl#getLocation()}.
+ * </p>
+ * <p>
+ * The status is set with {@code app.redirect.status} (301, 302, 307 or 308)
+ * and the {@code Cache-Control} header with {@code app.redirect.cache-control}.
+ * Permanent, cacheable redirects let browsers and CDNs answer repeat visits
+ * without reaching the service, at the cost of not counting those clicks.
+ * URLs with an expiry time or click limit are always redirected with the
+ * temporary counterpart of the status and {@code Cache-Control: no-store},
+ * since they must stop redirecting.
+ * </p>
+ */
+@Component
+public class RedirectResponses {
+
+    private static final Set<HttpStatus> REDIRECT_STATUSES = Set.of(
+            HttpStatus.MOVED_PERMANENTLY, HttpStatus.FOUND, HttpStatus.TEMPORARY_REDIRECT, HttpStatus.PERMANENT_REDIRECT);
+
+    private static final String NO_STORE = CacheControl.noStore().getHeaderValue();
+
+    private final HttpStatus status;
+    private final HttpStatus temporaryStatus;
+    private final String cacheControl;
+    private final Cache<ResolvedUrl, ResponseEntity<byte[]>> rendered = Caffeine.newBuilder().weakKeys().build();
+
+    public RedirectResponses(@Value("${app.redirect.status:302}") int status,
+                             @Value("${app.redirect.cache-control:}") String cacheControl) {
+        this.status = HttpStatus.valueOf(status);
+        if (!REDIRECT_STATUSES.contains(this.status)) {
+            throw new IllegalArgumentException("Unsupported redirect status " + status + ", use 301, 302, 307 or 308");
+        }
+        this.temporaryStatus = switch (this.status) {
+            case MOVED_PERMANENTLY -> HttpStatus.FOUND;
+            case PERMANENT_REDIRECT -> HttpStatus.TEMPORARY_REDIRECT;
+            default -> this.status;
+        };
+        this.cacheControl = cacheControl.isBlank() ? null : cacheControl.trim();
+    }
+
+    /**
+     * Returns the redirect response for a resolved URL.
+     *
+     * @param url the resolved redirect target
+     * @return the shared response, never modified
+     */
+    public ResponseEntity<byte[]> redirect(ResolvedUrl url) {
+        return rendered.get(url, this::render);
+    }
+
+    ResponseEntity<byte[]> render(ResolvedUrl url) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LOCATION, url.getLocation());
+        headers.setContentLength(0);
+        boolean limited = url.getExpiresAt() != null || url.isClickLimited();
+        if (limited) {
+            headers.set(HttpHeaders.CACHE_CONTROL, NO_STORE);
+        } else if (cacheControl != null) {
+            headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return new ResponseEntity<>(HttpHeaders.readOnlyHttpHeaders(headers), limited ? temporaryStatus : status);
+    }
+}
@@ -1,18 +1,38 @@
 package com.example.url_shortener_backend.controller;
 
+import com.example.url_shortener_backend.dto.BatchShortenResponseDto;
+import com.example.url_shortener_backend.dto.ClickStatsDto;
 import com.example.url_shortener_backend.dto.UrlDto;
 import com.example.url_shortener_backend.dto.UrlResponseDto;
+import com.example.url_shortener_backend.model.BatchItemResult;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.RollupGranularity;
 import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.BatchShortenService;
 import com.example.url_shortener_backend.service.UrlService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Value;
-import java.net.URI;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -20,22 +40,34 @@ import org.springframework.web.server.ResponseStatusException;
  * <p>
  * This controller provides endpoints for:
  * <ul>
- *     <li>Creating shortened URLs</li>
+ *     <li>Creating shortened URLs, individually or in batches</li>
  *     <li>Redirecting to original URLs</li>
  *     <li>Retrieving URL statistics</li>
  * </ul>
  * </p>
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class UrlController {
 
+    /** Media type of newline-delimited JSON request bodies */
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final UrlService urlService;
+    private final BatchShortenService batchShortenService;
+    private final ClickAnalyticsService clickAnalyticsService;
+    private final ObjectMapper objectMapper;
+    private final NotFoundResponses notFoundResponses;
+    private final RedirectResponses redirectResponses;
     
     @Value("${app.base-url}")
     private String baseUrl;
 
+    @Value("${app.batch.max-items:50000}")
+    private int maxBatchItems;
+
     /**
      * Creates a shortened URL from the provided original URL.
      * <p>
@@ -49,51 +81,117 @@ public class UrlController {
      */
     @PostMapping("/api/shorten")
     public ResponseEntity<UrlResponseDto> shortenUrl(@Valid @RequestBody UrlDto urlDto) {
-        log.info("Received URL shortening request for: {}", urlDto.getUrl());
+        log.debug("Received URL shortening request for: {}", urlDto.getUrl());
         
         if (urlDto.getUrl() == null || urlDto.getUrl().trim().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "URL cannot be empty");
         }
 
         try {
-            Url url = urlService.createShortUrl(urlDto.getUrl(), urlDto.getCustomAlias());
+            Url url = urlService.createShortUrl(urlDto.getUrl(), urlDto.getCustomAlias(),
+                    urlDto.getExpiresAt(), urlDto.getMaxClicks());
             
             UrlResponseDto response = new UrlResponseDto();
             response.setOriginalUrl(url.getOriginalUrl());
-            String cleanBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-            response.setShortUrl(cleanBaseUrl + "/" + url.getShortId());
+            response.setShortUrl(toShortUrl(url.getShortId()));
             response.setCreatedAt(url.getCreatedAt());
             response.setClickCount(url.getClickCount());
+            response.setExpiresAt(url.getExpiresAt());
+            response.setMaxClicks(url.getMaxClicks());
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             log.error("Error creating short URL", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error creating short URL");
         }
     }
 
+    /**
+     * Creates shortened URLs for a JSON array of requests.
+     * <p>
+     * Every item is validated and created independently; the response reports
+     * the outcome of each item so that callers can resubmit only the failures.
+     * </p>
+     *
+     * @param urlDtos the URLs to shorten, each with an optional custom alias
+     * @return ResponseEntity containing one result per item
+     * @throws ResponseStatusException with HTTP 413 if the batch exceeds the configured maximum
+     */
+    @PostMapping(value = "/api/shorten/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchShortenResponseDto> shortenUrls(@RequestBody List<UrlDto> urlDtos) {
+        log.debug("Received batch shortening request for {} URLs", urlDtos.size());
+        checkBatchSize(urlDtos.size());
+        return ResponseEntity.ok(toBatchResponse(batchShortenService.shorten(urlDtos)));
+    }
+
+    /**
+     * Creates shortened URLs for a newline-delimited JSON stream of requests.
+     * <p>
+     * The body is read incrementally and written in chunks, so large campaigns
+     * do not have to be buffered in memory as a single array first.
+     * </p>
+     *
+     * @param request the HTTP request whose body contains one {@link UrlDto} per line
+     * @return ResponseEntity containing one result per item
+     * @throws IOException if the request body cannot be read
+     * @throws ResponseStatusException with HTTP 400 if a line is not valid JSON,
+     *         or HTTP 413 if the stream exceeds the configured maximum
+     */
+    @PostMapping(value = "/api/shorten/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchShortenResponseDto> shortenUrlStream(HttpServletRequest request) throws IOException {
+        log.debug("Received streamed batch shortening request");
+        int chunkSize = batchShortenService.getChunkSize();
+        List<BatchItemResult> results = new ArrayList<>();
+        Set<String> aliasesInRequest = new HashSet<>();
+        List<UrlDto> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<UrlDto> items = objectMapper.readerFor(UrlDto.class).readValues(request.getInputStream())) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                if (chunk.size() == chunkSize) {
+                    checkBatchSize(results.size() + chunk.size());
+                    results.addAll(batchShortenService.shortenChunk(chunk, results.size(), aliasesInRequest));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Malformed JSON at item " + (results.size() + chunk.size()));
+        }
+        checkBatchSize(results.size() + chunk.size());
+        results.addAll(batchShortenService.shortenChunk(chunk, results.size(), aliasesInRequest));
+
+        return ResponseEntity.ok(toBatchResponse(results));
+    }
+
     /**
      * Redirects to the original URL associated with the provided short ID.
      * <p>
-     * Increments the click count for the URL and performs a redirect to the original URL.
+     * Records a click for the URL and performs a redirect to the original URL. The click
+     * count itself is persisted in the background. The response is
+     * pre-rendered by {@link RedirectResponses} and reused while the URL
+     * stays cached.
      * </p>
      *
      * @param shortId the short identifier for the URL
-     * @return ResponseEntity with redirect headers to the original URL
-     * @throws ResponseStatusException with HTTP 404 if the short ID is not found
+     * @param referrer the {@code Referer} header, recorded for analytics
+     * @param userAgent the {@code User-Agent} header, recorded for analytics
+     * @param request the current request, whose client address is recorded for analytics
+     * @return the redirect to the original URL, or the
+     *         {@link NotFoundResponses#redirectMiss() precomputed 404} if the short ID is not found
      */
     @GetMapping("/{shortId}")
-    public ResponseEntity<Void> redirectToOriginalUrl(@PathVariable String shortId) {
-        log.info("Received redirect request for shortId: {}", shortId);
-        
-        // Get and update URL
-        Url url = urlService.incrementClickCount(shortId);
-        log.info("Redirecting to: {} with click count: {}", url.getOriginalUrl(), url.getClickCount());
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setLocation(URI.create(url.getOriginalUrl()));
-        
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+    public ResponseEntity<byte[]> redirectToOriginalUrl(
+            @PathVariable String shortId,
+            @RequestHeader(value = HttpHeaders.REFERER, required = false) String referrer,
+            @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent,
+            HttpServletRequest request) {
+        // Resolve URL and record the click; misses get the precomputed 404
+        return urlService.findAndRecordClick(shortId, new ClickContext(referrer, userAgent, request.getRemoteAddr()))
+                .map(redirectResponses::redirect)
+                .orElseGet(notFoundResponses::redirectMiss);
     }
 
     /**
@@ -105,25 +203,95 @@ public class UrlController {
      *     <li>Shortened URL</li>
      *     <li>Creation timestamp</li>
      *     <li>Click count</li>
+     *     <li>Click timeline for the requested range, read from pre-aggregated rollups</li>
      * </ul>
      * </p>
      *
      * @param shortId the short identifier for the URL
+     * @param granularity the timeline period: {@code minute}, {@code hour} or {@code day}
+     * @param from start of the timeline, defaults to one default window before {@code to}
+     * @param to end of the timeline, defaults to now
      * @return ResponseEntity containing the URL statistics
-     * @throws ResponseStatusException with HTTP 404 if the short ID is not found
+     * @throws ResponseStatusException with HTTP 404 if the short ID is not found,
+     *         or HTTP 400 if the timeline range is invalid
      */
     @GetMapping("/api/stats/{shortId}")
-    public ResponseEntity<UrlResponseDto> getUrlStats(@PathVariable String shortId) {
-        log.info("Received request for URL stats with id: {}", shortId);
+    public ResponseEntity<UrlResponseDto> getUrlStats(
+            @PathVariable String shortId,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
         Url url = urlService.getUrlByShortId(shortId);
         
+        ClickTimeline timeline;
+        try {
+            timeline = clickAnalyticsService.getTimeline(shortId, RollupGranularity.of(granularity), from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
         UrlResponseDto response = new UrlResponseDto();
         response.setOriginalUrl(url.getOriginalUrl());
-        String cleanBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        response.setShortUrl(cleanBaseUrl + "/" + url.getShortId());
+        response.setShortUrl(toShortUrl(url.getShortId()));
         response.setCreatedAt(url.getCreatedAt());
         response.setClickCount(url.getClickCount());
+        response.setExpiresAt(url.getExpiresAt());
+        response.setMaxClicks(url.getMaxClicks());
+        response.setAnalytics(ClickStatsDto.of(timeline));
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Deactivates a shortened URL.
+     * <p>
+     * The short ID stops redirecting immediately; its statistics remain available.
+     * </p>
+     *
+     * @param shortId the short identifier for the URL
+     * @return ResponseEntity with HTTP 204 on success
+     * @throws ResponseStatusException with HTTP 404 if the short ID is not found
+     */
+    @DeleteMapping("/api/urls/{shortId}")
+    public ResponseEntity<Void> deactivateUrl(@PathVariable String shortId) {
+        log.debug("Received deactivation request for shortId: {}", shortId);
+        urlService.deactivateUrl(shortId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Batch cannot contain more than " + maxBatchItems + " URLs");
+        }
+    }
+
+    private BatchShortenResponseDto toBatchResponse(List<BatchItemResult> results) {
+        BatchShortenResponseDto response = new BatchShortenResponseDto();
+        List<BatchShortenResponseDto.Item> items = new ArrayList<>(results.size());
+        for (BatchItemResult result : results) {
+            BatchShortenResponseDto.Item item = new BatchShortenResponseDto.Item();
+            item.setIndex(result.getIndex());
+            item.setStatus(result.getStatus().name());
+            item.setOriginalUrl(result.getOriginalUrl());
+            item.setError(result.getError());
+            if (result.getStatus() == BatchItemResult.Status.CREATED) {
+                item.setShortUrl(toShortUrl(result.getShortId()));
+                response.setCreated(response.getCreated() + 1);
+            } else if (result.getStatus() == BatchItemResult.Status.EXISTING) {
+                item.setShortUrl(toShortUrl(result.getShortId()));
+                response.setExisting(response.getExisting() + 1);
+            } else {
+                response.setFailed(response.getFailed() + 1);
+            }
+            items.add(item);
+        }
+        response.setResults(items);
+        return response;
+    }
+
+    private String toShortUrl(String shortId) {
+        String cleanBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return cleanBaseUrl + "/" + shortId;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.url_shortener_backend.dto;
+
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object for returning the results of a batch shortening request.
+ * <p>
+ * Contains one result per submitted item, in request order, along with
+ * summary counts so callers can detect partial failures at a glance.
+ * </p>
+ */
+@Data
+public class BatchShortenResponseDto {
+    /**
+     * Number of short URLs that were created
+     */
+    private int created;
+
+    /**
+     * Number of items answered with the short URL of an identical, already shortened URL
+     */
+    private int existing;
+
+    /**
+     * Number of items that were not created
+     */
+    private int failed;
+
+    /**
+     * Per-item results in request order
+     */
+    private List<Item> results;
+
+    /**
+     * Result of a single batch item.
+     */
+    @Data
+    public static class Item {
+        /**
+         * Position of the item in the request
+         */
+        private int index;
+
+        /**
+         * Outcome of the item: CREATED, EXISTING, INVALID, CONFLICT or FAILED
+         */
+        private String status;
+
+        /**
+         * The original URL as submitted
+         */
+        private String originalUrl;
+
+        /**
+         * The shortened URL, only present when the item was created or already existed
+         */
+        private String shortUrl;
+
+        /**
+         * Reason the item was not created, only present on failure
+         */
+        private String error;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.url_shortener_backend.dto;
+
+import com.example.url_shortener_backend.model.ClickTimeline;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for returning the click timeline of a shortened URL.
+ * <p>
+ * Contains one point per period of the requested range, plus click counts
+ * per referrer, user agent class and country over the whole range.
+ * </p>
+ */
+@Data
+public class ClickStatsDto {
+    /**
+     * Size of the periods: {@code MINUTE}, {@code HOUR} or {@code DAY}
+     */
+    private String granularity;
+
+    /**
+     * Start of the range, inclusive
+     */
+    private Instant from;
+
+    /**
+     * End of the range, exclusive
+     */
+    private Instant to;
+
+    /**
+     * Total clicks in the range
+     */
+    private long totalClicks;
+
+    /**
+     * Click counts per period in chronological order
+     */
+    private List<Point> timeline;
+
+    /**
+     * Clicks per referrer host
+     */
+    private Map<String, Long> referrers;
+
+    /**
+     * Clicks per user agent class
+     */
+    private Map<String, Long> userAgents;
+
+    /**
+     * Clicks per ISO country code, {@code ZZ} for unknown
+     */
+    private Map<String, Long> countries;
+
+    /**
+     * Click count of a single period.
+     */
+    @Data
+    public static class Point {
+        private Instant start;
+        private long clicks;
+    }
+
+    /**
+     * Creates the DTO for a click timeline.
+     *
+     * @param timeline the click timeline
+     * @return the DTO
+     */
+    public static ClickStatsDto of(ClickTimeline timeline) {
+        ClickStatsDto dto = new ClickStatsDto();
+        dto.setGranularity(timeline.getGranularity().name());
+        dto.setFrom(timeline.getFrom());
+        dto.setTo(timeline.getTo());
+        dto.setTotalClicks(timeline.getTotalClicks());
+        dto.setTimeline(timeline.getBuckets().stream()
+                .map(bucket -> {
+                    Point point = new Point();
+                    point.setStart(bucket.getStart());
+                    point.setClicks(bucket.getClicks());
+                    return point;
+                })
+                .toList());
+        dto.setReferrers(timeline.getReferrers());
+        dto.setUserAgents(timeline.getUserAgents());
+        dto.setCountries(timeline.getCountries());
+        return dto;
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.url_shortener_backend.dto;
 
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import com.example.url_shortener_backend.util.ValidUrl;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 /**
  * Data Transfer Object for receiving URL shortening requests.
  * <p>
- * This class validates the input URL format and optional custom alias
- * through Jakarta validation annotations.
+ * This class validates the input URL format, optional custom alias, expiry
+ * time and click limit through Jakarta validation annotations.
  * </p>
  */
 @Data
@@ -19,13 +25,14 @@ public class UrlDto {
      * Must not be empty and should follow a valid URL format:
      * <ul>
      *     <li>Optional http:// or https:// protocol</li>
-     *     <li>Valid domain name with at least one dot</li>
-     *     <li>Optional path, query parameters, and fragments</li>
+     *     <li>Valid domain name with at least one dot, internationalized names included</li>
+     *     <li>Optional port, path, query parameters, and fragments</li>
      * </ul>
+     * See {@link UrlNormalizer} for the exact rules.
      * </p>
      */
     @NotBlank(message = "URL cannot be empty")
-    @Pattern(regexp = "^(https?://)?([\\w-]+\\.)+[\\w-]+(/[\\w-./?%&=+#]*)?$", message = "Invalid URL format")
+    @ValidUrl
     private String url;
     
     /**
@@ -41,4 +48,22 @@ public class UrlDto {
      */
     @Pattern(regexp = "^[a-zA-Z0-9-_]{4,}$", message = "Custom alias must be at least 4 characters long and can only contain letters, numbers, hyphens, and underscores")
     private String customAlias;
-} 
\ No newline at end of file
+    
+    /**
+     * Optional time after which the shortened URL stops redirecting.
+     * <p>
+     * Must be in the future. The URL is deleted shortly after it expires.
+     * </p>
+     */
+    @Future(message = "Expiry time must be in the future")
+    private LocalDateTime expiresAt;
+    
+    /**
+     * Optional maximum number of redirects.
+     * <p>
+     * Must be positive. The URL is deactivated by its last allowed redirect.
+     * </p>
+     */
+    @Positive(message = "Max clicks must be positive")
+    private Integer maxClicks;
+}
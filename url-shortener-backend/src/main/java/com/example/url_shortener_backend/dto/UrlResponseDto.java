@@ -1,5 +1,6 @@
 package com.example.url_shortener_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -31,4 +32,22 @@ public class UrlResponseDto {
      * Number of times the shortened URL has been accessed
      */
     private int clickCount;
+
+    /**
+     * Time after which the shortened URL stops redirecting, omitted if it never expires
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Maximum number of redirects, omitted if unlimited
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxClicks;
+
+    /**
+     * Click timeline, only present in statistics responses
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ClickStatsDto analytics;
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.url_shortener_backend.exception;
+
+import com.example.url_shortener_backend.dto.ErrorResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Global exception handler for the {@code reactive} deployment profile.
+ * <p>
+ * Mirrors {@link GlobalExceptionHandler} so that both stacks return the same
+ * error responses for the same failures.
+ * </p>
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler {
+
+    /**
+     * Handles exceptions when a requested URL is not found.
+     *
+     * @param ex The UrlNotFoundException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return ResponseEntity containing error details with HTTP 404 status
+     */
+    @ExceptionHandler(UrlNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleUrlNotFoundException(
+            UrlNotFoundException ex, ServerHttpRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+            LocalDateTime.now(),
+            ex.getMessage(),
+            request.getPath().value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles validation exceptions for invalid request bodies.
+     *
+     * @param ex The validation exception that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return ResponseEntity containing error details with HTTP 400 status
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDto> handleValidationExceptions(
+            WebExchangeBindException ex, ServerHttpRequest request) {
+        String errorMessage = ex.getBindingResult().getFieldErrors().get(0).getDefaultMessage();
+        ErrorResponseDto error = new ErrorResponseDto(
+            LocalDateTime.now(),
+            errorMessage,
+            request.getPath().value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles general HTTP status exceptions.
+     *
+     * @param ex The ResponseStatusException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return ResponseEntity containing error details with the exception's HTTP status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponseDto> handleResponseStatusException(
+            ResponseStatusException ex, ServerHttpRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+            LocalDateTime.now(),
+            ex.getReason(),
+            request.getPath().value()
+        );
+        return new ResponseEntity<>(error, ex.getStatusCode());
+    }
+}
@@ -9,15 +9,23 @@ package com.example.url_shortener_backend.exception;
  *     <li>Requesting statistics for a non-existent short URL</li>
  * </ul>
  * </p>
+ * <p>
+ * Redirects avoid it altogether on the miss path; see
+ * {@link com.example.url_shortener_backend.controller.NotFoundResponses}.
+ * </p>
  */
 public class UrlNotFoundException extends RuntimeException {
     
     /**
      * Constructs a new UrlNotFoundException with the specified detail message.
+     * <p>
+     * The exception reports an expected outcome rather than a fault, so no
+     * stack trace is captured; filling it in dominated the cost of a miss.
+     * </p>
      *
      * @param message the detail message explaining why the URL was not found
      */
     public UrlNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 } 
\ No newline at end of file
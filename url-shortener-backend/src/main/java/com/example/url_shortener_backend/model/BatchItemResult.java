@@ -0,0 +1,52 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+/**
+ * Outcome of shortening a single item of a batch request.
+ */
+@Value
+public class BatchItemResult {
+
+    /**
+     * Possible outcomes of a batch item
+     */
+    public enum Status {
+        /** The short URL was created */
+        CREATED,
+        /** The URL had already been shortened and its existing short ID is returned */
+        EXISTING,
+        /** The item failed validation */
+        INVALID,
+        /** The custom alias is already in use */
+        CONFLICT,
+        /** The item could not be stored */
+        FAILED
+    }
+
+    /**
+     * Position of the item in the request
+     */
+    int index;
+
+    /**
+     * Outcome of the item
+     */
+    Status status;
+
+    /**
+     * The original URL as submitted
+     */
+    String originalUrl;
+
+    /**
+     * The created or existing short ID, only set when the status is
+     * {@link Status#CREATED} or {@link Status#EXISTING}
+     */
+    String shortId;
+
+    /**
+     * Reason the item was not created, only set on failure
+     */
+    String error;
+}
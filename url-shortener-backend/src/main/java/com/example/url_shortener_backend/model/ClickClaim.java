@@ -0,0 +1,18 @@
+package com.example.url_shortener_backend.model;
+
+/**
+ * Outcome of claiming a click on a URL with a maximum number of clicks.
+ * <p>
+ * Click-limited URLs are counted with one conditional update per click
+ * instead of through the click aggregator, so that the limit holds exactly
+ * across instances.
+ * </p>
+ */
+public enum ClickClaim {
+    /** The click was counted and the URL has clicks left */
+    GRANTED,
+    /** The click was counted and used up the last click; the URL is now inactive */
+    GRANTED_LAST,
+    /** The URL has no clicks left, is inactive or no longer exists */
+    DENIED
+}
@@ -0,0 +1,33 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+/**
+ * Request details captured with a click, before any classification.
+ * <p>
+ * The raw header values are kept so that parsing the referrer, classifying
+ * the user agent and looking up the country happen off the request thread.
+ * </p>
+ */
+@Value
+public class ClickContext {
+    /**
+     * Context for clicks recorded without request details
+     */
+    public static final ClickContext NONE = new ClickContext(null, null, null);
+
+    /**
+     * Value of the {@code Referer} header, null if absent
+     */
+    String referrer;
+
+    /**
+     * Value of the {@code User-Agent} header, null if absent
+     */
+    String userAgent;
+
+    /**
+     * IP address of the client, null if unknown
+     */
+    String clientAddress;
+}
@@ -0,0 +1,30 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated click activity for a single short URL, accumulated in memory
+ * between two flushes of the click aggregator.
+ * <p>
+ * Each delta is applied to the matching {@link Url} document as an atomic
+ * {@code $inc} of the click count and a {@code $max} of the last access time.
+ * </p>
+ */
+@Value
+public class ClickDelta {
+    /**
+     * The short identifier of the URL that received the clicks
+     */
+    String shortId;
+
+    /**
+     * Number of clicks recorded since the previous flush
+     */
+    int clicks;
+
+    /**
+     * Most recent access time observed since the previous flush
+     */
+    LocalDateTime lastAccessedAt;
+}
@@ -0,0 +1,52 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A single click on a shortened URL, stored in the {@code click_events}
+ * time-series collection.
+ * <p>
+ * The collection uses {@code timestamp} as its time field and {@code shortId}
+ * as its meta field, so MongoDB buckets the events of each link together.
+ * Raw events are kept for ad-hoc analysis only; statistics are served from
+ * {@link ClickRollup} documents.
+ * </p>
+ */
+@Data
+@Document(collection = "click_events")
+public class ClickEvent {
+    /**
+     * MongoDB document identifier
+     */
+    @Id
+    private String id;
+
+    /**
+     * Time of the click
+     */
+    private Instant timestamp;
+
+    /**
+     * The short identifier of the URL that was accessed
+     */
+    private String shortId;
+
+    /**
+     * Host of the referring page, {@code direct} if the request had no referrer
+     */
+    private String referrer;
+
+    /**
+     * Class of the client's user agent
+     */
+    private UserAgentClass userAgentClass;
+
+    /**
+     * ISO 3166-1 alpha-2 country code of the client, {@code ZZ} if unknown
+     */
+    private String country;
+}
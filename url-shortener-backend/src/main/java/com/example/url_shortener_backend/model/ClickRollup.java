@@ -0,0 +1,103 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated click counts of one URL over one time bucket.
+ * <p>
+ * Rollups are maintained incrementally with {@code $inc} upserts as click
+ * events are flushed, one document per short ID, granularity and bucket.
+ * The document identifier is derived from those three values, so concurrent
+ * flushes from several instances always update the same document.
+ * Minute and hour rollups expire after a configurable retention; day
+ * rollups are kept forever.
+ * </p>
+ */
+@Data
+@Document(collection = "click_rollups")
+@CompoundIndex(name = "rollup_range", def = "{'shortId': 1, 'granularity': 1, 'bucketStart': 1}")
+public class ClickRollup {
+    /**
+     * Document identifier, see {@link #idOf(String, RollupGranularity, Instant)}
+     */
+    @Id
+    private String id;
+
+    /**
+     * The short identifier of the URL
+     */
+    private String shortId;
+
+    /**
+     * Size of the bucket
+     */
+    private RollupGranularity granularity;
+
+    /**
+     * Start of the bucket
+     */
+    private Instant bucketStart;
+
+    /**
+     * Number of clicks in the bucket
+     */
+    private long clicks;
+
+    /**
+     * Clicks per referrer host
+     */
+    private Map<String, Long> referrers = new HashMap<>();
+
+    /**
+     * Clicks per {@link UserAgentClass}
+     */
+    private Map<String, Long> userAgents = new HashMap<>();
+
+    /**
+     * Clicks per country code
+     */
+    private Map<String, Long> countries = new HashMap<>();
+
+    /**
+     * Time after which MongoDB removes the rollup, null to keep it forever
+     */
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    /**
+     * Creates an empty rollup for a bucket.
+     *
+     * @param shortId the short identifier of the URL
+     * @param granularity the size of the bucket
+     * @param bucketStart the start of the bucket
+     * @return the empty rollup
+     */
+    public static ClickRollup empty(String shortId, RollupGranularity granularity, Instant bucketStart) {
+        ClickRollup rollup = new ClickRollup();
+        rollup.setId(idOf(shortId, granularity, bucketStart));
+        rollup.setShortId(shortId);
+        rollup.setGranularity(granularity);
+        rollup.setBucketStart(bucketStart);
+        return rollup;
+    }
+
+    /**
+     * Builds the deterministic document identifier of a bucket.
+     *
+     * @param shortId the short identifier of the URL
+     * @param granularity the size of the bucket
+     * @param bucketStart the start of the bucket
+     * @return the document identifier
+     */
+    public static String idOf(String shortId, RollupGranularity granularity, Instant bucketStart) {
+        return shortId + ':' + granularity.name().charAt(0) + ':' + bucketStart.getEpochSecond();
+    }
+}
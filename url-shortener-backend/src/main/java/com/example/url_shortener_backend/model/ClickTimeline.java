@@ -0,0 +1,69 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Click statistics of a URL over a time range, assembled from {@link ClickRollup} documents.
+ */
+@Value
+public class ClickTimeline {
+    /**
+     * Size of the buckets
+     */
+    RollupGranularity granularity;
+
+    /**
+     * Start of the range, inclusive and aligned to the granularity
+     */
+    Instant from;
+
+    /**
+     * End of the range, exclusive and aligned to the granularity
+     */
+    Instant to;
+
+    /**
+     * One bucket per period of the range in chronological order, including empty ones
+     */
+    List<Bucket> buckets;
+
+    /**
+     * Total clicks in the range
+     */
+    long totalClicks;
+
+    /**
+     * Clicks in the range per referrer host
+     */
+    Map<String, Long> referrers;
+
+    /**
+     * Clicks in the range per user agent class
+     */
+    Map<String, Long> userAgents;
+
+    /**
+     * Clicks in the range per country code
+     */
+    Map<String, Long> countries;
+
+    /**
+     * Click count of a single period.
+     */
+    @Value
+    public static class Bucket {
+        /**
+         * Start of the period
+         */
+        Instant start;
+
+        /**
+         * Number of clicks in the period
+         */
+        long clicks;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.url_shortener_backend.model;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the URL export.
+ */
+public enum ExportFormat {
+    /** One JSON object per line */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** RFC 4180 comma-separated values with a header row */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Parses a format name, ignoring case.
+     *
+     * @param name the format name, e.g. {@code csv}
+     * @return the format
+     * @throws IllegalArgumentException if the name is not a format
+     */
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + name + ", expected ndjson or csv");
+        }
+    }
+
+    /**
+     * @return the media type of the output, without charset
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the file extension of the output, without the dot
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
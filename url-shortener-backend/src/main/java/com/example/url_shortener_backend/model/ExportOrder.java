@@ -0,0 +1,64 @@
+package com.example.url_shortener_backend.model;
+
+import org.bson.types.ObjectId;
+
+import java.util.Locale;
+
+/**
+ * Orderings of the URL export, each backed by an index so that an export can
+ * be resumed after the last exported document with a range query.
+ */
+public enum ExportOrder {
+    /** Ordered by MongoDB document identifier, resumed with an {@code _id} */
+    ID("id"),
+    /** Ordered by short identifier, resumed with a {@code shortId} */
+    SHORT_ID("shortId");
+
+    private final String property;
+
+    ExportOrder(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Parses an order name, ignoring case.
+     *
+     * @param name the order name, {@code id} or {@code shortId}
+     * @return the order
+     * @throws IllegalArgumentException if the name is not an order
+     */
+    public static ExportOrder of(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("id") || normalized.equals("_id")) {
+            return ID;
+        }
+        if (normalized.equals("shortid")) {
+            return SHORT_ID;
+        }
+        throw new IllegalArgumentException("Unknown export order: " + name + ", expected id or shortId");
+    }
+
+    /**
+     * @return the {@link Url} property the export is sorted by
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Validates a resume cursor for this order.
+     *
+     * @param after the last exported {@code _id} or {@code shortId}, may be null
+     * @return the cursor, or null to export from the start
+     * @throws IllegalArgumentException if the cursor is not valid for this order
+     */
+    public String checkCursor(String after) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        if (this == ID && !ObjectId.isValid(after)) {
+            throw new IllegalArgumentException("Export cursor must be a document id: " + after);
+        }
+        return after;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+/**
+ * A frequently redirected link reported by the hot-key tracker.
+ */
+@Value
+public class HotKey {
+    /**
+     * Short identifier of the URL
+     */
+    String shortId;
+
+    /**
+     * Estimated recent clicks; halved every decay interval and never below the true count
+     */
+    long estimatedClicks;
+
+    /**
+     * Whether the link is pinned in the resolution cache and its clicks are coalesced longer
+     */
+    boolean pinned;
+}
@@ -0,0 +1,32 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The most frequently redirected links at a point in time.
+ */
+@Value
+public class HotKeySnapshot {
+    /**
+     * Empty snapshot published before the first refresh
+     */
+    public static final HotKeySnapshot EMPTY = new HotKeySnapshot(null, 0, List.of());
+
+    /**
+     * Time the snapshot was taken, null before the first refresh
+     */
+    Instant updatedAt;
+
+    /**
+     * Recent clicks counted by the tracker, decayed like the estimates
+     */
+    long trackedClicks;
+
+    /**
+     * The hot links, most clicked first
+     */
+    List<HotKey> keys;
+}
@@ -0,0 +1,26 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * MongoDB document model for a named, monotonically increasing counter.
+ * <p>
+ * Used to lease blocks of short ID sequence numbers to application instances.
+ * </p>
+ */
+@Data
+@Document(collection = "counters")
+public class IdCounter {
+    /**
+     * Name of the counter
+     */
+    @Id
+    private String id;
+
+    /**
+     * Next value that has not been leased yet
+     */
+    private long value;
+}
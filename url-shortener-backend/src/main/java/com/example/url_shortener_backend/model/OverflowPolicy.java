@@ -0,0 +1,36 @@
+package com.example.url_shortener_backend.model;
+
+import java.util.Locale;
+
+/**
+ * What the click pipeline does with a click published while a sink's buffer is full.
+ */
+public enum OverflowPolicy {
+    /** Drop the click */
+    DROP,
+    /**
+     * Keep only a sampled fraction of the clicks once the buffer is half
+     * full, and drop the click if it is full
+     */
+    SAMPLE,
+    /**
+     * Wait for the consumer to make room, up to the block timeout, then
+     * drop the click
+     */
+    BLOCK;
+
+    /**
+     * Parses a policy name, ignoring case.
+     *
+     * @param name the policy name, e.g. {@code drop}
+     * @return the policy
+     * @throws IllegalArgumentException if the name is not a policy
+     */
+    public static OverflowPolicy of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown overflow policy: " + name + ", expected drop, sample or block");
+        }
+    }
+}
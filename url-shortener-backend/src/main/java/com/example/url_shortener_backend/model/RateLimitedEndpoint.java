@@ -0,0 +1,50 @@
+package com.example.url_shortener_backend.model;
+
+/**
+ * Endpoints with a per-client rate limit, each configured under
+ * {@code app.rate-limit.<name>}.
+ */
+public enum RateLimitedEndpoint {
+    /** {@code POST /api/shorten} */
+    SHORTEN("shorten"),
+    /** {@code POST /api/shorten/batch}, limited per request rather than per item */
+    SHORTEN_BATCH("shorten-batch"),
+    /** {@code GET /{shortId}} */
+    REDIRECT("redirect");
+
+    private final String name;
+
+    RateLimitedEndpoint(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the rate-limited endpoint a request is for.
+     *
+     * @param method the HTTP method of the request
+     * @param path the request path, without query string
+     * @return the endpoint, or null if the request is not rate limited
+     */
+    public static RateLimitedEndpoint of(String method, String path) {
+        if ("GET".equals(method)) {
+            // A single path segment other than the API prefix
+            return path.length() > 1 && path.indexOf('/', 1) < 0 && !path.equals("/api") ? REDIRECT : null;
+        }
+        if ("POST".equals(method)) {
+            if (path.equals("/api/shorten")) {
+                return SHORTEN;
+            }
+            if (path.equals("/api/shorten/batch")) {
+                return SHORTEN_BATCH;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the name used in properties and metric tags
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.url_shortener_backend.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A click published by the redirect path to the click pipeline.
+ */
+@Value
+public class RecordedClick {
+    /**
+     * Short identifier of the URL that was accessed
+     */
+    String shortId;
+
+    /**
+     * Time of the click
+     */
+    Instant timestamp;
+
+    /**
+     * Request details of the click
+     */
+    ClickContext context;
+
+    /**
+     * Whether the click still has to be added to the click count of the URL;
+     * false for URLs with a click limit, whose clicks are counted when claimed
+     */
+    boolean counted;
+}
@@ -0,0 +1,119 @@
+package com.example.url_shortener_backend.model;
+
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Immutable view of a shortened URL holding only what the redirect path needs.
+ * <p>
+ * Instances are cached by the URL resolution cache and shared between request
+ * threads, so unlike {@link Url} this class exposes no setters.
+ * </p>
+ * <p>
+ * The redirect target is normalized when an instance is created, so
+ * documents stored before URLs were normalized on write, such as the
+ * scheme-less {@code example.com}, still redirect to an absolute URL. This
+ * happens once per cache load rather than on every redirect.
+ * </p>
+ */
+@Value
+public class ResolvedUrl {
+    /**
+     * The short identifier of the URL
+     */
+    String shortId;
+
+    /**
+     * The original URL to redirect to
+     */
+    String originalUrl;
+
+    /**
+     * The normalized original URL, sent as the {@code Location} header; null
+     * if the stored URL is not accepted by {@link UrlNormalizer}, which only
+     * documents from before URLs were validated on write can be
+     */
+    String location;
+
+    /**
+     * Flag indicating if the shortened URL is active and can be accessed
+     */
+    boolean active;
+
+    /**
+     * Time after which the URL stops redirecting, null if it never expires
+     */
+    Instant expiresAt;
+
+    /**
+     * Maximum number of redirects, null if unlimited
+     */
+    Integer maxClicks;
+
+    /**
+     * Creates a resolved view of a URL.
+     *
+     * @param shortId the short identifier of the URL
+     * @param originalUrl the original URL to redirect to
+     * @param active whether the URL can be accessed
+     * @param expiresAt time after which the URL stops redirecting, null if it never expires
+     * @param maxClicks maximum number of redirects, null if unlimited
+     */
+    public ResolvedUrl(String shortId, String originalUrl, boolean active, Instant expiresAt, Integer maxClicks) {
+        this.shortId = shortId;
+        this.originalUrl = originalUrl;
+        String normalized = UrlNormalizer.normalize(originalUrl);
+        this.location = originalUrl != null && originalUrl.equals(normalized) ? originalUrl : normalized;
+        this.active = active;
+        this.expiresAt = expiresAt;
+        this.maxClicks = maxClicks;
+    }
+
+    /**
+     * Creates a resolved view of a URL without expiry or click limit.
+     *
+     * @param shortId the short identifier of the URL
+     * @param originalUrl the original URL to redirect to
+     * @param active whether the URL can be accessed
+     */
+    public ResolvedUrl(String shortId, String originalUrl, boolean active) {
+        this(shortId, originalUrl, active, null, null);
+    }
+
+    /**
+     * Creates a resolved view of the given URL document.
+     *
+     * @param url the URL document
+     * @return the resolved view
+     */
+    public static ResolvedUrl of(Url url) {
+        Instant expiresAt = url.getExpiresAt() == null
+                ? null
+                : url.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant();
+        return new ResolvedUrl(url.getShortId(), url.getOriginalUrl(), url.isActive(), expiresAt, url.getMaxClicks());
+    }
+
+    /**
+     * Tests whether the URL can be redirected to at the given time.
+     * <p>
+     * Checked on every redirect, so that a cached resolution stops redirecting
+     * as soon as it expires rather than when it is evicted.
+     * </p>
+     *
+     * @param now the current time
+     * @return true if the URL is active, has a valid target and has not expired
+     */
+    public boolean isResolvableAt(Instant now) {
+        return active && location != null && (expiresAt == null || now.isBefore(expiresAt));
+    }
+
+    /**
+     * @return true if every click must be claimed against {@link #getMaxClicks()}
+     */
+    public boolean isClickLimited() {
+        return maxClicks != null;
+    }
+}
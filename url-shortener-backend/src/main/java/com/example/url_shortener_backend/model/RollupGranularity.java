@@ -0,0 +1,63 @@
+package com.example.url_shortener_backend.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Bucket sizes of the pre-aggregated click rollups.
+ * <p>
+ * Buckets are aligned to UTC, so a day bucket starts at midnight UTC.
+ * </p>
+ */
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES, Duration.ofHours(1)),
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(1)),
+    DAY(ChronoUnit.DAYS, Duration.ofDays(30));
+
+    private final ChronoUnit unit;
+    private final Duration defaultWindow;
+
+    RollupGranularity(ChronoUnit unit, Duration defaultWindow) {
+        this.unit = unit;
+        this.defaultWindow = defaultWindow;
+    }
+
+    /**
+     * Parses a granularity name, ignoring case.
+     *
+     * @param name the granularity name, e.g. {@code hour}
+     * @return the granularity
+     * @throws IllegalArgumentException if the name is not a granularity
+     */
+    public static RollupGranularity of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown granularity: " + name + ", expected minute, hour or day");
+        }
+    }
+
+    /**
+     * @param timestamp an instant
+     * @return the start of the bucket containing the instant
+     */
+    public Instant bucketStart(Instant timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    /**
+     * @return the length of a bucket
+     */
+    public Duration bucketSize() {
+        return unit.getDuration();
+    }
+
+    /**
+     * @return the time range returned when a stats query does not specify one
+     */
+    public Duration defaultWindow() {
+        return defaultWindow;
+    }
+}
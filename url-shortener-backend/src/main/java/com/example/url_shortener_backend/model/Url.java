@@ -1,14 +1,17 @@
 package com.example.url_shortener_backend.model;
 
+import com.example.url_shortener_backend.util.ValidUrl;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
 import java.time.LocalDateTime;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 
 /**
  * MongoDB document model representing a shortened URL.
@@ -19,11 +22,31 @@ import jakarta.validation.constraints.Pattern;
  *     <li>The shortened identifier</li>
  *     <li>Usage statistics</li>
  *     <li>Timestamps for creation and access</li>
+ *     <li>Optional expiry time and click limit</li>
  * </ul>
  * </p>
+ * <p>
+ * The compound index on {@code shortId}, {@code originalUrl}, {@code active},
+ * {@code expiresAt} and {@code maxClicks} covers the redirect lookup, which is
+ * answered from the index alone. URLs not accessed for a while are moved to
+ * the {@code urls_archive} collection by the
+ * {@link com.example.url_shortener_backend.service.UrlArchiver}. The sparse
+ * unique index on {@code urlHash}, created by
+ * {@link com.example.url_shortener_backend.config.UrlCollectionInitializer},
+ * lets identical create requests share one document, see
+ * {@link com.example.url_shortener_backend.service.UrlDeduplicator}.
+ * </p>
+ * <p>
+ * Both collections can be sharded on a hashed {@code shortId} (see
+ * {@code app.mongo.sharding.enabled}). {@code shortId} never changes, so
+ * saving a document adds it to the filter without looking it up first.
+ * </p>
  */
 @Data
 @Document(collection = "urls")
+@Sharded(shardKey = "shortId", shardingStrategy = ShardingStrategy.HASH, immutableKey = true)
+@CompoundIndex(name = "redirect_lookup_v2",
+        def = "{'shortId': 1, 'originalUrl': 1, 'active': 1, 'expiresAt': 1, 'maxClicks': 1}")
 public class Url {
     /**
      * MongoDB document identifier
@@ -32,11 +55,13 @@ public class Url {
     private String id;
     
     /**
-     * The original URL that was shortened.
+     * The original URL that was shortened, as normalized by
+     * {@link com.example.url_shortener_backend.util.UrlNormalizer} when it
+     * was created, so it can be used as a redirect target without further checks.
      * Must be a valid URL format and cannot be empty.
      */
     @NotBlank(message = "Original URL cannot be empty")
-    @Pattern(regexp = "^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$", message = "Invalid URL format")
+    @ValidUrl
     private String originalUrl;
     
     /**
@@ -70,6 +95,26 @@ public class Url {
      */
     private boolean active = true;
     
+    /**
+     * Time after which the shortened URL stops redirecting, null if it never expires.
+     * MongoDB's TTL monitor deletes the document within about a minute of this time.
+     */
+    @Indexed(name = "expiry", expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+    
+    /**
+     * Maximum number of redirects, null if unlimited.
+     * The click that uses up the limit deactivates the URL.
+     */
+    private Integer maxClicks;
+    
+    /**
+     * Fingerprint of the normalized original URL, set only on links that are
+     * shared by identical create requests when deduplication is enabled.
+     * Cleared when the link is deactivated, so the URL can be shortened again.
+     */
+    private String urlHash;
+    
     /**
      * Lifecycle method called when creating a new URL document.
      * Initializes creation and last accessed timestamps.
@@ -0,0 +1,12 @@
+package com.example.url_shortener_backend.model;
+
+/**
+ * Coarse classification of the client that followed a short link.
+ */
+public enum UserAgentClass {
+    DESKTOP,
+    MOBILE,
+    TABLET,
+    BOT,
+    UNKNOWN
+}
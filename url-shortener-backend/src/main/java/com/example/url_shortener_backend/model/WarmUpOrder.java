@@ -0,0 +1,55 @@
+package com.example.url_shortener_backend.model;
+
+import java.util.Locale;
+
+/**
+ * Orderings in which the cache warm-up picks the links to preload, hottest
+ * first, each backed by an index named after it.
+ */
+public enum WarmUpOrder {
+    /** Most recently accessed links first */
+    LAST_ACCESSED("lastAccessedAt"),
+    /** Most clicked links first */
+    CLICK_COUNT("clickCount");
+
+    /** Prefix of the names of the indexes supporting the orders */
+    public static final String INDEX_PREFIX = "warm_up_";
+
+    private final String property;
+
+    WarmUpOrder(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Parses an order name, ignoring case.
+     *
+     * @param name the order name, {@code last-accessed} or {@code click-count}
+     * @return the order
+     * @throws IllegalArgumentException if the name is not an order
+     */
+    public static WarmUpOrder of(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        if (normalized.equals("last-accessed")) {
+            return LAST_ACCESSED;
+        }
+        if (normalized.equals("click-count")) {
+            return CLICK_COUNT;
+        }
+        throw new IllegalArgumentException("Unknown warm-up order: " + name + ", expected last-accessed or click-count");
+    }
+
+    /**
+     * @return the {@link Url} property the links are sorted by, descending
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the name of the index on the property and {@code shortId}
+     */
+    public String getIndexName() {
+        return INDEX_PREFIX + property;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.url_shortener_backend.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unordered bulk updates of one entity type with a write concern of their own.
+ * <p>
+ * {@link MongoTemplate#bulkOps} always writes with the write concern of the
+ * template, which is shared by every write of the application. This writer
+ * maps queries and updates the same way but sends them with the given
+ * {@link WriteConcern}, so that high-volume updates such as click counts can
+ * be relaxed while creates stay on the default. With an unacknowledged write
+ * concern the server reports nothing back and the number of updates sent is
+ * returned instead. The updates go to the collection of the entity unless
+ * another collection holding the same documents is given.
+ * </p>
+ */
+final class BulkUpdateWriter {
+
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final MongoPersistentEntity<?> entity;
+    private final QueryMapper queryMapper;
+    private final UpdateMapper updateMapper;
+    private final WriteConcern writeConcern;
+
+    BulkUpdateWriter(MongoTemplate mongoTemplate, Class<?> entityClass, WriteConcern writeConcern) {
+        this(mongoTemplate, entityClass, mongoTemplate.getCollectionName(entityClass), writeConcern);
+    }
+
+    BulkUpdateWriter(MongoTemplate mongoTemplate, Class<?> entityClass, String collectionName, WriteConcern writeConcern) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.updateMapper = new UpdateMapper(mongoTemplate.getConverter());
+        this.writeConcern = writeConcern;
+    }
+
+    /**
+     * Applies every update to the first document matching its query.
+     *
+     * @param updates the queries and their updates
+     * @param upsert whether to insert a document when nothing matches a query
+     * @return the number of documents that were modified or created
+     */
+    int updateEach(List<Pair<Query, Update>> updates, boolean upsert) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        List<WriteModel<Document>> models = new ArrayList<>(updates.size());
+        for (Pair<Query, Update> update : updates) {
+            Document query = queryMapper.getMappedObject(update.getFirst().getQueryObject(), entity);
+            Document mapped = updateMapper.getMappedObject(update.getSecond().getUpdateObject(), entity);
+            models.add(upsert ? new UpdateOneModel<>(query, mapped, UPSERT) : new UpdateOneModel<>(query, mapped));
+        }
+        BulkWriteResult result = mongoTemplate.execute(collectionName,
+                collection -> collection.withWriteConcern(writeConcern).bulkWrite(models, UNORDERED));
+        if (!result.wasAcknowledged()) {
+            return models.size();
+        }
+        return result.getModifiedCount() + result.getUpserts().size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * MongoDB repository interface for raw {@link ClickEvent} documents in the
+ * {@code click_events} time-series collection.
+ */
+public interface ClickEventRepository extends MongoRepository<ClickEvent, String> {
+}
@@ -0,0 +1,14 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * MongoDB repository interface for {@link ClickRollup} documents.
+ * <p>
+ * Range reads and incremental updates are provided by
+ * {@link ClickRollupRepositoryCustom}.
+ * </p>
+ */
+public interface ClickRollupRepository extends MongoRepository<ClickRollup, String>, ClickRollupRepositoryCustom {
+}
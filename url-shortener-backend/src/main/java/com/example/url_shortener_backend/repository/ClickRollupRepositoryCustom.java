@@ -0,0 +1,49 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickRollup;
+import com.example.url_shortener_backend.model.RollupGranularity;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository fragment for {@link ClickRollup} operations that cannot
+ * be expressed as derived queries.
+ * <p>
+ * Implemented by {@link ClickRollupRepositoryCustomImpl} on top of
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * </p>
+ */
+public interface ClickRollupRepositoryCustom {
+
+    /**
+     * Finds the rollups of a URL whose bucket starts within a time range.
+     * <p>
+     * Served by the {@code rollup_range} index. The read uses
+     * {@code app.mongo.read-preference.stats}, so the most recent buckets
+     * can lag slightly behind the primary.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @param granularity the size of the buckets
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @return the rollups ordered by bucket start; buckets without clicks have no document
+     */
+    List<ClickRollup> findRange(String shortId, RollupGranularity granularity, Instant from, Instant to);
+
+    /**
+     * Adds a batch of rollup deltas in a single unordered bulk write.
+     * <p>
+     * Every delta becomes one upsert that increments the click count and the
+     * per-dimension counts of its bucket, creating the bucket if needed. Keys
+     * of the dimension maps must not contain {@code .} or start with {@code $}.
+     * The write uses {@code app.mongo.write-concern.clicks}.
+     * </p>
+     *
+     * @param deltas the rollup deltas to add
+     * @return the number of documents that were modified or created
+     */
+    int incrementRollups(Collection<ClickRollup> deltas);
+}
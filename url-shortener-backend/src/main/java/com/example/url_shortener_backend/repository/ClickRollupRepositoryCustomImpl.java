@@ -0,0 +1,67 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.config.MongoConsistencySettings;
+import com.example.url_shortener_backend.model.ClickRollup;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MongoTemplate} backed implementation of {@link ClickRollupRepositoryCustom}.
+ */
+public class ClickRollupRepositoryCustomImpl implements ClickRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConsistencySettings consistency;
+    private final BulkUpdateWriter rollupWriter;
+
+    public ClickRollupRepositoryCustomImpl(MongoTemplate mongoTemplate, MongoConsistencySettings consistency) {
+        this.mongoTemplate = mongoTemplate;
+        this.consistency = consistency;
+        this.rollupWriter = new BulkUpdateWriter(mongoTemplate, ClickRollup.class, consistency.getClickWrites());
+    }
+
+    @Override
+    public List<ClickRollup> findRange(String shortId, RollupGranularity granularity, Instant from, Instant to) {
+        Query query = Query.query(Criteria.where("shortId").is(shortId)
+                        .and("granularity").is(granularity)
+                        .and("bucketStart").gte(from).lt(to))
+                .with(Sort.by("bucketStart"))
+                .withReadPreference(consistency.getStatsReads());
+        return mongoTemplate.find(query, ClickRollup.class);
+    }
+
+    @Override
+    public int incrementRollups(Collection<ClickRollup> deltas) {
+        List<Pair<Query, Update>> upserts = new ArrayList<>(deltas.size());
+        for (ClickRollup delta : deltas) {
+            Update update = new Update()
+                    .setOnInsert("shortId", delta.getShortId())
+                    .setOnInsert("granularity", delta.getGranularity())
+                    .setOnInsert("bucketStart", delta.getBucketStart())
+                    .inc("clicks", delta.getClicks());
+            if (delta.getExpiresAt() != null) {
+                update.setOnInsert("expiresAt", delta.getExpiresAt());
+            }
+            incAll(update, "referrers", delta.getReferrers());
+            incAll(update, "userAgents", delta.getUserAgents());
+            incAll(update, "countries", delta.getCountries());
+            upserts.add(Pair.of(Query.query(Criteria.where("_id").is(delta.getId())), update));
+        }
+        return rollupWriter.updateEach(upserts, true);
+    }
+
+    private static void incAll(Update update, String field, Map<String, Long> counts) {
+        counts.forEach((key, count) -> update.inc(field + '.' + key, count));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.IdCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * MongoDB repository interface for {@link IdCounter} documents.
+ * <p>
+ * Block reservation is provided by {@link IdCounterRepositoryCustom}.
+ * </p>
+ */
+public interface IdCounterRepository extends MongoRepository<IdCounter, String>, IdCounterRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package com.example.url_shortener_backend.repository;
+
+/**
+ * Custom repository fragment for atomic counter operations.
+ */
+public interface IdCounterRepositoryCustom {
+
+    /**
+     * Atomically reserves a contiguous block of counter values.
+     * <p>
+     * Runs a single {@code findAndModify} with upsert, so the counter document
+     * is created on first use and no two callers ever receive overlapping blocks.
+     * </p>
+     *
+     * @param name the name of the counter
+     * @param size the number of values to reserve
+     * @return the first value of the reserved block
+     */
+    long reserveBlock(String name, long size);
+}
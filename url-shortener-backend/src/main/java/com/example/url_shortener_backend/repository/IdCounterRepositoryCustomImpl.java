@@ -0,0 +1,31 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.IdCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * {@link MongoTemplate} backed implementation of {@link IdCounterRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class IdCounterRepositoryCustomImpl implements IdCounterRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long reserveBlock(String name, long size) {
+        IdCounter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(name)),
+                new Update().inc("value", size),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                IdCounter.class);
+        if (counter == null) {
+            throw new IllegalStateException("Failed to reserve block from counter: " + name);
+        }
+        return counter.getValue() - size;
+    }
+}
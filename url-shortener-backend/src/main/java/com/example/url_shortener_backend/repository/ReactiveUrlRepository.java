@@ -0,0 +1,24 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.Url;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive MongoDB repository interface for {@link Url} documents.
+ * <p>
+ * Non-blocking counterpart of {@link UrlRepository}, used by the request
+ * path of the {@code reactive} deployment profile. The redirect lookup is
+ * provided by {@link ReactiveUrlRepositoryCustom}.
+ * </p>
+ */
+public interface ReactiveUrlRepository extends ReactiveMongoRepository<Url, String>, ReactiveUrlRepositoryCustom {
+
+    /**
+     * Finds a URL document by its short identifier.
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the URL if found, empty otherwise
+     */
+    Mono<Url> findByShortId(String shortId);
+}
@@ -0,0 +1,51 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom reactive repository fragment for
+ * {@link Url} lookups that bypass entity mapping or choose their own read
+ * preference.
+ * <p>
+ * Implemented by {@link ReactiveUrlRepositoryCustomImpl} on top of
+ * {@link org.springframework.data.mongodb.core.ReactiveMongoTemplate}.
+ * </p>
+ */
+public interface ReactiveUrlRepositoryCustom {
+
+    /**
+     * Finds the redirect target for a short identifier.
+     * <p>
+     * Non-blocking counterpart of {@link UrlRepositoryCustom#findResolvedByShortId(String)}.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the redirect target if found, empty otherwise
+     */
+    Mono<ResolvedUrl> findResolvedByShortId(String shortId);
+
+    /**
+     * Finds a URL document for its statistics.
+     * <p>
+     * Non-blocking counterpart of {@link UrlRepositoryCustom#findForStatsByShortId(String)}.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the URL if found, empty otherwise
+     */
+    Mono<Url> findForStatsByShortId(String shortId);
+
+    /**
+     * Counts a click on a URL with a maximum number of clicks.
+     * <p>
+     * Non-blocking counterpart of {@link UrlRepositoryCustom#claimClick(String)}.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the outcome of the claim
+     */
+    Mono<ClickClaim> claimClick(String shortId);
+}
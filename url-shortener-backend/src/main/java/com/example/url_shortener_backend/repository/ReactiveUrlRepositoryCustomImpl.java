@@ -0,0 +1,67 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.config.MongoConsistencySettings;
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.mongodb.ReadPreference;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveMongoTemplate} backed implementation of {@link ReactiveUrlRepositoryCustom}.
+ * <p>
+ * Reads follow the same read preferences and primary fallback as
+ * {@link UrlRepositoryCustomImpl}.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class ReactiveUrlRepositoryCustomImpl implements ReactiveUrlRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoConsistencySettings consistency;
+
+    @Override
+    public Mono<ResolvedUrl> findResolvedByShortId(String shortId) {
+        ReadPreference readPreference = consistency.getRedirectReads();
+        Mono<ResolvedUrl> resolved = findResolved(shortId, readPreference);
+        return MongoConsistencySettings.mayBeStale(readPreference)
+                ? resolved.switchIfEmpty(Mono.defer(() -> findResolved(shortId, ReadPreference.primary())))
+                : resolved;
+    }
+
+    private Mono<ResolvedUrl> findResolved(String shortId, ReadPreference readPreference) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Url.class))
+                .flatMap(collection -> Mono.from(collection
+                        .withDocumentClass(ResolvedUrl.class)
+                        .withCodecRegistry(ResolvedUrlQueries.CODEC_REGISTRY)
+                        .withReadPreference(readPreference)
+                        .find(ResolvedUrlQueries.byShortId(shortId))
+                        .projection(ResolvedUrlQueries.PROJECTION)
+                        .first()));
+    }
+
+    @Override
+    public Mono<Url> findForStatsByShortId(String shortId) {
+        ReadPreference readPreference = consistency.getStatsReads();
+        Mono<Url> url = mongoTemplate.findOne(
+                Query.query(Criteria.where("shortId").is(shortId)).withReadPreference(readPreference), Url.class);
+        return MongoConsistencySettings.mayBeStale(readPreference)
+                ? url.switchIfEmpty(Mono.defer(() -> mongoTemplate.findOne(
+                        Query.query(Criteria.where("shortId").is(shortId)), Url.class)))
+                : url;
+    }
+
+    @Override
+    public Mono<ClickClaim> claimClick(String shortId) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Url.class))
+                .flatMap(collection -> Mono.from(collection.findOneAndUpdate(
+                        ResolvedUrlQueries.claimableByShortId(shortId),
+                        ResolvedUrlQueries.CLAIM_CLICK, ResolvedUrlQueries.CLAIM_CLICK_OPTIONS)))
+                .map(ResolvedUrlQueries::toClaim)
+                .defaultIfEmpty(ClickClaim.DENIED);
+    }
+}
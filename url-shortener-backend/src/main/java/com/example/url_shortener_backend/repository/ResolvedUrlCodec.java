@@ -0,0 +1,64 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.time.Instant;
+
+/**
+ * Decodes a {@link ResolvedUrl} straight from the BSON reply of a redirect lookup.
+ * <p>
+ * The fields are read in a single pass over the BSON bytes, skipping the
+ * intermediate {@link org.bson.Document} and the Spring Data entity mapping
+ * of a full {@link com.example.url_shortener_backend.model.Url} read. Unknown
+ * fields are skipped, a missing {@code active} field is treated as active,
+ * matching the {@code Url} default, and missing or null {@code expiresAt} and
+ * {@code maxClicks} fields mean no expiry and no click limit.
+ * </p>
+ */
+public class ResolvedUrlCodec implements Codec<ResolvedUrl> {
+
+    @Override
+    public ResolvedUrl decode(BsonReader reader, DecoderContext decoderContext) {
+        String shortId = null;
+        String originalUrl = null;
+        boolean active = true;
+        Instant expiresAt = null;
+        Integer maxClicks = null;
+
+        reader.readStartDocument();
+        BsonType type;
+        while ((type = reader.readBsonType()) != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (type == BsonType.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "shortId" -> shortId = reader.readString();
+                case "originalUrl" -> originalUrl = reader.readString();
+                case "active" -> active = reader.readBoolean();
+                case "expiresAt" -> expiresAt = Instant.ofEpochMilli(reader.readDateTime());
+                case "maxClicks" -> maxClicks = reader.readInt32();
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new ResolvedUrl(shortId, originalUrl, active, expiresAt, maxClicks);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ResolvedUrl value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("ResolvedUrl is read-only");
+    }
+
+    @Override
+    public Class<ResolvedUrl> getEncoderClass() {
+        return ResolvedUrl.class;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+
+/**
+ * Filters, projection, updates and codec registry shared by the blocking and
+ * reactive redirect lookups and click claims.
+ * <p>
+ * The projection excludes {@code _id} so that the query can be answered from
+ * the {@code redirect_lookup} index without fetching the document.
+ * </p>
+ */
+final class ResolvedUrlQueries {
+
+    /**
+     * Projection to the fields of {@link com.example.url_shortener_backend.model.ResolvedUrl}
+     */
+    static final Bson PROJECTION = Projections.fields(
+            Projections.include("shortId", "originalUrl", "active", "expiresAt", "maxClicks"),
+            Projections.excludeId());
+
+    /**
+     * Update pipeline counting a claimed click; the click that reaches
+     * {@code maxClicks} also deactivates the URL. Both fields are computed
+     * from the document before the update.
+     */
+    static final List<Bson> CLAIM_CLICK = List.of(new Document("$set", new Document()
+            .append("clickCount", new Document("$add", List.of("$clickCount", 1)))
+            .append("active", new Document("$lt", List.of(new Document("$add", List.of("$clickCount", 1)), "$maxClicks")))
+            .append("lastAccessedAt", "$$NOW")));
+
+    /**
+     * Options returning the {@code active} flag after a click claim
+     */
+    static final FindOneAndUpdateOptions CLAIM_CLICK_OPTIONS = new FindOneAndUpdateOptions()
+            .projection(Projections.fields(Projections.include("active"), Projections.excludeId()))
+            .returnDocument(ReturnDocument.AFTER);
+
+    /**
+     * Registry decoding lookup replies with {@link ResolvedUrlCodec}
+     */
+    static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromCodecs(new ResolvedUrlCodec());
+
+    private ResolvedUrlQueries() {
+    }
+
+    /**
+     * @param shortId the short identifier of the URL
+     * @return a filter matching the URL with the given short identifier
+     */
+    static Bson byShortId(String shortId) {
+        return Filters.eq("shortId", shortId);
+    }
+
+    /**
+     * @param shortId the short identifier of the URL
+     * @return a filter matching the URL if it is active and has clicks left
+     */
+    static Bson claimableByShortId(String shortId) {
+        return Filters.and(
+                byShortId(shortId),
+                Filters.eq("active", true),
+                Filters.expr(new Document("$lt", List.of("$clickCount", "$maxClicks"))));
+    }
+
+    /**
+     * @param updated the document returned by the click claim, null if none matched
+     * @return the outcome of the claim
+     */
+    static ClickClaim toClaim(Document updated) {
+        if (updated == null) {
+            return ClickClaim.DENIED;
+        }
+        return updated.getBoolean("active", false) ? ClickClaim.GRANTED : ClickClaim.GRANTED_LAST;
+    }
+}
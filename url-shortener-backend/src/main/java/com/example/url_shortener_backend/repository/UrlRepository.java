@@ -3,25 +3,34 @@ package com.example.url_shortener_backend.repository;
 import com.example.url_shortener_backend.model.Url;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * MongoDB repository interface for {@link Url} documents.
  * <p>
  * This repository provides CRUD operations for URL documents and extends
- * {@link MongoRepository} to inherit common MongoDB operations.
+ * {@link MongoRepository} to inherit common MongoDB operations. Bulk operations
+ * that need direct template access are provided by {@link UrlRepositoryCustom}.
+ * </p>
+ * <p>
+ * Every query and write for a single URL filters on {@code shortId}, the
+ * shard key, so on a sharded cluster it is routed to one shard; saves add
+ * the shard key through {@link org.springframework.data.mongodb.core.mapping.Sharded}.
+ * Only the {@code urlHash} lookups of deduplication, which is not available
+ * on a sharded cluster, and the background scans of the archiver and the
+ * export fan out to every shard.
  * </p>
  */
-public interface UrlRepository extends MongoRepository<Url, String> {
+public interface UrlRepository extends MongoRepository<Url, String>, UrlRepositoryCustom {
     
     /**
      * Finds a URL document by its short identifier.
      * <p>
-     * This method is used when:
-     * <ul>
-     *     <li>Redirecting to the original URL</li>
-     *     <li>Retrieving URL statistics</li>
-     * </ul>
+     * This method reads from the primary and is used when deactivating a URL.
+     * Redirects use the lighter {@link UrlRepositoryCustom#findResolvedByShortId(String)}
+     * and statistics {@link UrlRepositoryCustom#findForStatsByShortId(String)}.
      * </p>
      *
      * @param shortId the short identifier of the URL
@@ -43,4 +52,21 @@ public interface UrlRepository extends MongoRepository<Url, String> {
      * @return true if a URL with the given short ID exists, false otherwise
      */
     boolean existsByShortId(String shortId);
+    
+    /**
+     * Finds the deduplicated URL document with the given fingerprint.
+     *
+     * @param urlHash the fingerprint of the normalized original URL
+     * @return an Optional containing the URL if found, empty otherwise
+     * @see com.example.url_shortener_backend.service.UrlDeduplicator
+     */
+    Optional<Url> findByUrlHash(String urlHash);
+    
+    /**
+     * Finds the deduplicated URL documents with any of the given fingerprints.
+     *
+     * @param urlHashes the fingerprints of the normalized original URLs
+     * @return the URLs found, in no particular order
+     */
+    List<Url> findByUrlHashIn(Collection<String> urlHashes);
 } 
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ClickDelta;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for {@link com.example.url_shortener_backend.model.Url}
+ * operations that cannot be expressed as derived queries.
+ * <p>
+ * Implemented by {@link UrlRepositoryCustomImpl} on top of
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * </p>
+ */
+public interface UrlRepositoryCustom {
+
+    /**
+     * Collection holding URL documents moved out of {@code urls} by the archiver
+     */
+    String ARCHIVE_COLLECTION = "urls_archive";
+
+    /**
+     * Name of the sparse unique index on {@code urlHash} of the {@code urls} collection
+     */
+    String URL_HASH_INDEX = "url_hash";
+
+    /**
+     * Finds the redirect target for a short identifier.
+     * <p>
+     * Only {@code shortId}, {@code originalUrl} and {@code active} are fetched,
+     * so the query is covered by the redirect lookup index, and the result is
+     * decoded from the raw BSON reply by {@link ResolvedUrlCodec} without
+     * mapping a full {@link Url} entity. The read uses
+     * {@code app.mongo.read-preference.redirect}; a miss on a secondary is
+     * retried on the primary.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return an Optional containing the redirect target if found, empty otherwise
+     */
+    Optional<ResolvedUrl> findResolvedByShortId(String shortId);
+
+    /**
+     * Finds the redirect targets for a batch of short identifiers.
+     * <p>
+     * The batch is read with a single {@code $in} query on the redirect
+     * lookup index, with the projection and decoding of
+     * {@link #findResolvedByShortId(String)} and
+     * {@code app.mongo.read-preference.redirect}. Short IDs not found are
+     * left out; misses on a secondary are not retried.
+     * </p>
+     *
+     * @param shortIds the short identifiers of the URLs
+     * @return the redirect targets found, in no particular order
+     */
+    List<ResolvedUrl> findResolvedByShortIds(Collection<String> shortIds);
+
+    /**
+     * Streams the short IDs of the hottest URLs, hottest first.
+     * <p>
+     * Only {@code shortId} is fetched, so the query is covered by the index
+     * named {@link WarmUpOrder#getIndexName()}, which
+     * {@link com.example.url_shortener_backend.config.UrlCollectionInitializer}
+     * creates for the configured warm-up order. The read uses
+     * {@code app.mongo.read-preference.redirect}. The stream holds an open
+     * cursor and must be closed.
+     * </p>
+     *
+     * @param order the order deciding which URLs are hottest
+     * @param limit the maximum number of short IDs returned
+     * @param batchSize the number of short IDs fetched per cursor round trip
+     * @return the short IDs of at most {@code limit} URLs
+     */
+    Stream<String> streamHottestShortIds(WarmUpOrder order, int limit, int batchSize);
+
+    /**
+     * Finds a URL document for its statistics.
+     * <p>
+     * Unlike {@link UrlRepository#findByShortId(String)}, the read may be
+     * served by a secondary, depending on {@code app.mongo.read-preference.stats},
+     * so the click count can lag slightly behind the primary.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return an Optional containing the URL if found, empty otherwise
+     */
+    Optional<Url> findForStatsByShortId(String shortId);
+
+    /**
+     * Applies a batch of click deltas in a single unordered bulk write.
+     * <p>
+     * Every delta becomes one {@code updateOne} that increments the click count
+     * and moves the last accessed timestamp forward, so concurrent flushes from
+     * several instances never overwrite each other. The write uses
+     * {@code app.mongo.write-concern.clicks}.
+     * </p>
+     *
+     * @param deltas the click deltas to apply
+     * @return the number of documents that were modified, or the number of
+     *         deltas when the write concern is unacknowledged
+     */
+    int incrementClickCounts(List<ClickDelta> deltas);
+
+    /**
+     * Applies click deltas to the archive copies of URLs that are no longer in
+     * {@code urls}.
+     * <p>
+     * Used when {@link #incrementClickCounts} modified fewer documents than it
+     * was given deltas, because the clicks were buffered while their URL was
+     * archived. Deltas of short IDs that are still, or again, in {@code urls}
+     * are skipped, so a stale archive copy is never counted. The write uses
+     * {@code app.mongo.write-concern.clicks}.
+     * </p>
+     *
+     * @param deltas the click deltas of a batch that was only partly applied
+     * @return the number of archived documents that were modified
+     */
+    int incrementArchivedClickCounts(List<ClickDelta> deltas);
+
+    /**
+     * Inserts a batch of new URL documents with a single unordered bulk write.
+     * <p>
+     * Documents that fail, for example because their short ID violates the
+     * unique index, do not prevent the remaining documents from being inserted.
+     * </p>
+     *
+     * @param urls the documents to insert
+     * @return the write errors, indexed by position in {@code urls}; empty if all were inserted
+     */
+    List<BulkWriteError> insertUnordered(List<Url> urls);
+
+    /**
+     * Streams URL documents of {@code urls} and {@value #ARCHIVE_COLLECTION}
+     * in index order with a server-side cursor on each.
+     * <p>
+     * Documents are fetched lazily {@code batchSize} at a time as the stream
+     * is consumed, so memory use does not depend on the size of the
+     * collections. The two cursors are merged on the sort key, so a single
+     * {@code after} resumes both; a URL present in both collections is only
+     * returned from {@code urls}. The stream holds open cursors and must be
+     * closed.
+     * </p>
+     *
+     * @param order the order of the documents
+     * @param after the {@code _id} or {@code shortId} to resume after, null to start from the beginning
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return the documents following {@code after}
+     */
+    Stream<Url> streamOrderedBy(ExportOrder order, String after, int batchSize);
+
+    /**
+     * Streams the short IDs of URL documents in {@code _id} order.
+     * <p>
+     * Only {@code _id} and {@code shortId} are fetched; the other fields of
+     * the returned entities are left unset. The stream holds an open cursor
+     * and must be closed.
+     * </p>
+     *
+     * @param afterId the {@code _id} to resume after, null to start from the beginning
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return the documents following {@code afterId}
+     */
+    Stream<Url> streamShortIds(String afterId, int batchSize);
+
+    /**
+     * Inserts a URL document unless one with the same {@code urlHash} already exists.
+     * <p>
+     * A single upsert on the unique {@code urlHash} index, so concurrent
+     * inserts of the same URL store exactly one document.
+     * </p>
+     *
+     * @param url the document to insert, with its {@code urlHash} set
+     * @return the document stored under the hash, which is {@code url} unless
+     *         another document was there first
+     * @throws org.springframework.dao.DuplicateKeyException if the short ID is already taken
+     */
+    Url insertIfHashAbsent(Url url);
+
+    /**
+     * Counts a click on a URL with a maximum number of clicks.
+     * <p>
+     * The click count is incremented only if the URL is active and below its
+     * limit, in a single conditional update, and the click reaching the limit
+     * deactivates the URL in the same update.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return the outcome of the claim
+     */
+    ClickClaim claimClick(String shortId);
+
+    /**
+     * Finds URLs that have not been accessed since a cutoff, in {@code _id} order.
+     * <p>
+     * URLs that were never accessed are cold once they were created before
+     * the cutoff.
+     * </p>
+     *
+     * @param cutoff the time before which the last access must lie
+     * @param afterId the {@code _id} to resume after, null to start from the beginning
+     * @param limit the maximum number of documents returned
+     * @return the cold URLs following {@code afterId}
+     */
+    List<Url> findColdUrls(LocalDateTime cutoff, String afterId, int limit);
+
+    /**
+     * Moves URL documents to the {@value #ARCHIVE_COLLECTION} collection.
+     * <p>
+     * The documents are upserted into the archive first and then deleted from
+     * {@code urls}, so they stay resolvable throughout. A document accessed
+     * since it was read is no longer cold and is left in place; its archive
+     * copy is replaced when it is archived again.
+     * </p>
+     *
+     * @param urls the documents to archive
+     * @param cutoff the cutoff the documents were found cold for
+     * @return the number of documents removed from {@code urls}
+     */
+    int archive(List<Url> urls, LocalDateTime cutoff);
+
+    /**
+     * Finds an archived URL document without restoring it.
+     *
+     * @param shortId the short identifier of the URL
+     * @return an Optional containing the archived URL if found, empty otherwise
+     */
+    Optional<Url> findArchivedByShortId(String shortId);
+
+    /**
+     * Moves an archived URL document back to {@code urls}.
+     * <p>
+     * The document is inserted before its archive copy is deleted. If the
+     * short ID is already live, for example because of a concurrent restore,
+     * the live document is returned. The restored document no longer takes
+     * part in deduplication, since a newer link for the same URL may hold its
+     * {@code urlHash}.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return an Optional containing the restored URL, empty if it is not archived
+     */
+    Optional<Url> restoreArchived(String shortId);
+
+    /**
+     * Finds which of the given short IDs belong to archived URLs.
+     *
+     * @param shortIds the short identifiers to check
+     * @return the archived short IDs among {@code shortIds}
+     */
+    List<String> findArchivedShortIds(Collection<String> shortIds);
+
+    /**
+     * Streams the short IDs of archived URL documents.
+     * <p>
+     * Only {@code _id} and {@code shortId} are fetched. The stream holds an
+     * open cursor and must be closed.
+     * </p>
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return the archived documents
+     */
+    Stream<Url> streamArchivedShortIds(int batchSize);
+}
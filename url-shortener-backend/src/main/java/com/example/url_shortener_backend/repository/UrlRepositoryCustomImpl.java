@@ -0,0 +1,317 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.config.MongoConsistencySettings;
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ClickDelta;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.example.url_shortener_backend.util.SortedMerge;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link MongoTemplate} backed implementation of {@link UrlRepositoryCustom}.
+ * <p>
+ * Redirect and statistics reads use the read preferences of
+ * {@link MongoConsistencySettings}; when they may go to a secondary, a miss
+ * is retried on the primary, so that a URL created a moment ago is not
+ * reported as unknown. Click counts are written with the click write concern.
+ * </p>
+ */
+public class UrlRepositoryCustomImpl implements UrlRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConsistencySettings consistency;
+    private final BulkUpdateWriter clickWriter;
+    private final BulkUpdateWriter archivedClickWriter;
+
+    public UrlRepositoryCustomImpl(MongoTemplate mongoTemplate, MongoConsistencySettings consistency) {
+        this.mongoTemplate = mongoTemplate;
+        this.consistency = consistency;
+        this.clickWriter = new BulkUpdateWriter(mongoTemplate, Url.class, consistency.getClickWrites());
+        this.archivedClickWriter = new BulkUpdateWriter(
+                mongoTemplate, Url.class, ARCHIVE_COLLECTION, consistency.getClickWrites());
+    }
+
+    @Override
+    public Optional<ResolvedUrl> findResolvedByShortId(String shortId) {
+        ReadPreference readPreference = consistency.getRedirectReads();
+        ResolvedUrl resolved = findResolved(shortId, readPreference);
+        if (resolved == null && MongoConsistencySettings.mayBeStale(readPreference)) {
+            resolved = findResolved(shortId, ReadPreference.primary());
+        }
+        return Optional.ofNullable(resolved);
+    }
+
+    private ResolvedUrl findResolved(String shortId, ReadPreference readPreference) {
+        return resolvedUrls(readPreference)
+                .find(ResolvedUrlQueries.byShortId(shortId))
+                .projection(ResolvedUrlQueries.PROJECTION)
+                .first();
+    }
+
+    @Override
+    public List<ResolvedUrl> findResolvedByShortIds(Collection<String> shortIds) {
+        if (shortIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return resolvedUrls(consistency.getRedirectReads())
+                .find(Filters.in("shortId", shortIds))
+                .projection(ResolvedUrlQueries.PROJECTION)
+                .batchSize(shortIds.size())
+                .into(new ArrayList<>(shortIds.size()));
+    }
+
+    private MongoCollection<ResolvedUrl> resolvedUrls(ReadPreference readPreference) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Url.class))
+                .withDocumentClass(ResolvedUrl.class)
+                .withCodecRegistry(ResolvedUrlQueries.CODEC_REGISTRY)
+                .withReadPreference(readPreference);
+    }
+
+    @Override
+    public Stream<String> streamHottestShortIds(WarmUpOrder order, int limit, int batchSize) {
+        MongoCursor<String> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Url.class))
+                .withReadPreference(consistency.getRedirectReads())
+                .find()
+                .projection(Projections.fields(Projections.include("shortId"), Projections.excludeId()))
+                .sort(new Document(order.getProperty(), -1))
+                .limit(limit)
+                .batchSize(batchSize)
+                .map(document -> document.getString("shortId"))
+                .cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public Optional<Url> findForStatsByShortId(String shortId) {
+        ReadPreference readPreference = consistency.getStatsReads();
+        Url url = mongoTemplate.findOne(
+                Query.query(Criteria.where("shortId").is(shortId)).withReadPreference(readPreference), Url.class);
+        if (url == null && MongoConsistencySettings.mayBeStale(readPreference)) {
+            url = mongoTemplate.findOne(Query.query(Criteria.where("shortId").is(shortId)), Url.class);
+        }
+        return Optional.ofNullable(url);
+    }
+
+    @Override
+    public int incrementClickCounts(List<ClickDelta> deltas) {
+        return clickWriter.updateEach(clickUpdates(deltas), false);
+    }
+
+    @Override
+    public int incrementArchivedClickCounts(List<ClickDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        // The archive may still hold a stale copy of a URL that is live again; only count the ones gone from urls
+        Set<String> live = new HashSet<>(mongoTemplate.findDistinct(
+                Query.query(Criteria.where("shortId").in(deltas.stream().map(ClickDelta::getShortId).toList())),
+                "shortId", Url.class, String.class));
+        return archivedClickWriter.updateEach(clickUpdates(deltas.stream()
+                .filter(delta -> !live.contains(delta.getShortId()))
+                .toList()), false);
+    }
+
+    private static List<Pair<Query, Update>> clickUpdates(List<ClickDelta> deltas) {
+        return deltas.stream()
+                .map(delta -> Pair.of(
+                        Query.query(Criteria.where("shortId").is(delta.getShortId())),
+                        new Update()
+                                .inc("clickCount", delta.getClicks())
+                                .max("lastAccessedAt", delta.getLastAccessedAt())))
+                .toList();
+    }
+
+    @Override
+    public List<BulkWriteError> insertUnordered(List<Url> urls) {
+        if (urls.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Url.class)
+                    .insert(urls)
+                    .execute();
+            return Collections.emptyList();
+        } catch (BulkOperationException e) {
+            return e.getErrors();
+        }
+    }
+
+    @Override
+    public Stream<Url> streamOrderedBy(ExportOrder order, String after, int batchSize) {
+        Stream<Url> live = streamOrderedBy(order, after, batchSize, mongoTemplate.getCollectionName(Url.class));
+        Stream<Url> archived = streamOrderedBy(order, after, batchSize, ARCHIVE_COLLECTION);
+        // Both are sorted on the same unique key; the live copy of a URL wins over a stale archive copy
+        Iterator<Url> merged = new SortedMerge<>(live.iterator(), archived.iterator(),
+                Comparator.comparing(order == ExportOrder.ID ? Url::getId : Url::getShortId));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(live::close)
+                .onClose(archived::close);
+    }
+
+    private Stream<Url> streamOrderedBy(ExportOrder order, String after, int batchSize, String collectionName) {
+        Query query = after == null
+                ? new Query()
+                : Query.query(Criteria.where(order.getProperty()).gt(after));
+        query.with(Sort.by(order.getProperty())).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Url.class, collectionName);
+    }
+
+    @Override
+    public Stream<Url> streamShortIds(String afterId, int batchSize) {
+        Query query = afterId == null
+                ? new Query()
+                : Query.query(Criteria.where("id").gt(new ObjectId(afterId)));
+        query.fields().include("shortId");
+        query.with(Sort.by("id")).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Url.class);
+    }
+
+    @Override
+    public Url insertIfHashAbsent(Url url) {
+        Update update = new Update()
+                .setOnInsert("shortId", url.getShortId())
+                .setOnInsert("originalUrl", url.getOriginalUrl())
+                .setOnInsert("createdAt", url.getCreatedAt())
+                .setOnInsert("clickCount", url.getClickCount())
+                .setOnInsert("active", url.isActive());
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("urlHash").is(url.getUrlHash())), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Url.class);
+    }
+
+    @Override
+    public ClickClaim claimClick(String shortId) {
+        Document updated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Url.class))
+                .findOneAndUpdate(ResolvedUrlQueries.claimableByShortId(shortId),
+                        ResolvedUrlQueries.CLAIM_CLICK, ResolvedUrlQueries.CLAIM_CLICK_OPTIONS);
+        return ResolvedUrlQueries.toClaim(updated);
+    }
+
+    @Override
+    public List<Url> findColdUrls(LocalDateTime cutoff, String afterId, int limit) {
+        Query query = Query.query(cold(cutoff));
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(new ObjectId(afterId)));
+        }
+        query.with(Sort.by("id")).limit(limit);
+        return mongoTemplate.find(query, Url.class);
+    }
+
+    @Override
+    public int archive(List<Url> urls, LocalDateTime cutoff) {
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Url.class, ARCHIVE_COLLECTION);
+        for (Url url : urls) {
+            operations.replaceOne(byIdAndShortId(url), url, FindAndReplaceOptions.options().upsert());
+        }
+        operations.execute();
+
+        List<ObjectId> ids = urls.stream().map(url -> new ObjectId(url.getId())).toList();
+        List<String> shortIds = urls.stream().map(Url::getShortId).toList();
+        return (int) mongoTemplate.remove(
+                Query.query(new Criteria().andOperator(
+                        Criteria.where("shortId").in(shortIds), Criteria.where("id").in(ids), cold(cutoff))),
+                Url.class).getDeletedCount();
+    }
+
+    @Override
+    public Optional<Url> findArchivedByShortId(String shortId) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                Query.query(Criteria.where("shortId").is(shortId)), Url.class, ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public Optional<Url> restoreArchived(String shortId) {
+        Optional<Url> archived = findArchivedByShortId(shortId);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+
+        Url url = archived.get();
+        url.setUrlHash(null);
+        try {
+            mongoTemplate.insert(url);
+        } catch (DuplicateKeyException e) {
+            Url live = mongoTemplate.findOne(Query.query(Criteria.where("shortId").is(shortId)), Url.class);
+            if (live == null || !live.getId().equals(url.getId())) {
+                // The short ID has been taken by a new URL, which wins; keep the archive copy
+                return Optional.ofNullable(live);
+            }
+            url = live;
+        }
+        mongoTemplate.remove(byIdAndShortId(url), Url.class, ARCHIVE_COLLECTION);
+        return Optional.of(url);
+    }
+
+    @Override
+    public List<String> findArchivedShortIds(Collection<String> shortIds) {
+        if (shortIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return mongoTemplate.findDistinct(Query.query(Criteria.where("shortId").in(shortIds)),
+                "shortId", ARCHIVE_COLLECTION, Url.class, String.class);
+    }
+
+    @Override
+    public Stream<Url> streamArchivedShortIds(int batchSize) {
+        Query query = new Query();
+        query.fields().include("shortId");
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Url.class, ARCHIVE_COLLECTION);
+    }
+
+    /**
+     * Matches a document by its ID and its shard key, so that the write is routed to one shard.
+     */
+    private static Query byIdAndShortId(Url url) {
+        return Query.query(Criteria.where("id").is(url.getId()).and("shortId").is(url.getShortId()));
+    }
+
+    private static Criteria cold(LocalDateTime cutoff) {
+        return new Criteria().orOperator(
+                Criteria.where("lastAccessedAt").lt(cutoff),
+                new Criteria().andOperator(
+                        Criteria.where("lastAccessedAt").is(null),
+                        Criteria.where("createdAt").lt(cutoff)));
+    }
+}
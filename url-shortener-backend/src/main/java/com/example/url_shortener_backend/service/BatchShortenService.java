@@ -0,0 +1,331 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.model.BatchItemResult;
+import com.example.url_shortener_backend.model.BatchItemResult.Status;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.repository.UrlRepositoryCustom;
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service handling bulk creation of shortened URLs.
+ * <p>
+ * Items are processed in chunks. For each chunk the service:
+ * <ul>
+ *     <li>Validates every item and rejects invalid ones individually</li>
+ *     <li>Normalizes the URLs with {@link UrlNormalizer}</li>
+ *     <li>Allocates all generated short IDs with a single generator call</li>
+ *     <li>Writes the documents with one unordered {@code insertMany}</li>
+ *     <li>Maps duplicate key errors back to the offending items</li>
+ * </ul>
+ * With deduplication enabled, items whose URL has already been shortened,
+ * before or earlier in the same request, are answered with the existing
+ * short ID instead of being inserted.
+ * </p>
+ * <p>
+ * A failing item never prevents the rest of the batch from being created.
+ * </p>
+ */
+@Slf4j
+@Service
+public class BatchShortenService {
+
+    /** Maximum number of attempts for items whose generated short ID is already taken */
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+    private final UrlRepository urlRepository;
+    private final ShortIdGenerator shortIdGenerator;
+    private final UrlResolutionCache resolutionCache;
+    private final Validator validator;
+    private final ShortenerMetrics metrics;
+    private final ShortIdFilter shortIdFilter;
+    private final UrlDeduplicator deduplicator;
+
+    /** Maximum number of documents written by a single bulk insert */
+    private final int chunkSize;
+
+    public BatchShortenService(UrlRepository urlRepository,
+                               ShortIdGenerator shortIdGenerator,
+                               UrlResolutionCache resolutionCache,
+                               Validator validator,
+                               ShortenerMetrics metrics,
+                               ShortIdFilter shortIdFilter,
+                               UrlDeduplicator deduplicator,
+                               @Value("${app.batch.chunk-size:1000}") int chunkSize) {
+        this.urlRepository = urlRepository;
+        this.shortIdGenerator = shortIdGenerator;
+        this.resolutionCache = resolutionCache;
+        this.validator = validator;
+        this.metrics = metrics;
+        this.shortIdFilter = shortIdFilter;
+        this.deduplicator = deduplicator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the number of items processed per bulk insert.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Creates short URLs for a list of requests.
+     *
+     * @param items the URLs to shorten
+     * @return one result per item, in request order
+     */
+    public List<BatchItemResult> shorten(List<UrlDto> items) {
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        Set<String> aliasesInRequest = new HashSet<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<UrlDto> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            results.addAll(shortenChunk(chunk, from, aliasesInRequest));
+        }
+        return results;
+    }
+
+    /**
+     * Creates short URLs for one chunk of a larger, possibly streamed, request.
+     *
+     * @param chunk the URLs to shorten, at most {@link #getChunkSize()} items
+     * @param indexOffset position of the first item of the chunk in the whole request
+     * @param aliasesInRequest custom aliases already used by earlier chunks of the same request
+     * @return one result per item, in chunk order
+     */
+    public List<BatchItemResult> shortenChunk(List<UrlDto> chunk, int indexOffset, Set<String> aliasesInRequest) {
+        BatchItemResult[] results = new BatchItemResult[chunk.size()];
+        List<Pending> pending = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            UrlDto item = chunk.get(i);
+            int index = indexOffset + i;
+            String violation = firstViolation(item);
+            if (violation != null) {
+                results[i] = failure(index, Status.INVALID, item, violation);
+            } else if (hasAlias(item) && !aliasesInRequest.add(item.getCustomAlias())) {
+                metrics.aliasConflict("batch");
+                results[i] = failure(index, Status.CONFLICT, item, "Custom alias already exists");
+            } else {
+                String originalUrl = UrlNormalizer.normalize(item.getUrl());
+                String urlHash = deduplicator.fingerprint(originalUrl, item.getCustomAlias(),
+                        item.getExpiresAt(), item.getMaxClicks()).orElse(null);
+                pending.add(new Pending(i, item, originalUrl, urlHash));
+            }
+        }
+
+        pending = rejectArchivedAliases(pending, indexOffset, results);
+        List<Pending> repeated = new ArrayList<>();
+        pending = resolveDuplicates(pending, indexOffset, results, repeated);
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            pending = insert(pending, indexOffset, results, attempt == MAX_ALLOCATION_ATTEMPTS);
+        }
+        copyRepeatedResults(repeated, indexOffset, results);
+
+        return List.of(results);
+    }
+
+    /**
+     * Answers deduplicated items whose URL has already been shortened with the
+     * existing short ID, and sets aside repeats of a URL earlier in the chunk
+     * so that only its first occurrence is inserted.
+     *
+     * @param repeated receives the items repeating an earlier item of the chunk
+     * @return the items that can be inserted
+     */
+    private List<Pending> resolveDuplicates(List<Pending> pending, int indexOffset, BatchItemResult[] results,
+                                            List<Pending> repeated) {
+        Map<String, Pending> firstByHash = new HashMap<>();
+        for (Pending p : pending) {
+            if (p.urlHash != null) {
+                firstByHash.putIfAbsent(p.urlHash, p);
+            }
+        }
+        if (firstByHash.isEmpty()) {
+            return pending;
+        }
+        Map<String, Url> existing = new HashMap<>();
+        for (Url url : urlRepository.findByUrlHashIn(firstByHash.keySet())) {
+            existing.put(url.getUrlHash(), url);
+        }
+
+        List<Pending> remaining = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            if (p.urlHash == null) {
+                remaining.add(p);
+            } else if (existing.containsKey(p.urlHash)) {
+                metrics.deduplicated("batch");
+                results[p.position] = new BatchItemResult(indexOffset + p.position, Status.EXISTING,
+                        p.item.getUrl(), existing.get(p.urlHash).getShortId(), null);
+            } else if (firstByHash.get(p.urlHash) == p) {
+                remaining.add(p);
+            } else {
+                p.first = firstByHash.get(p.urlHash);
+                repeated.add(p);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Gives items repeating an earlier item of the chunk the short ID of that
+     * item, or its failure.
+     */
+    private void copyRepeatedResults(List<Pending> repeated, int indexOffset, BatchItemResult[] results) {
+        for (Pending p : repeated) {
+            BatchItemResult first = results[p.first.position];
+            int index = indexOffset + p.position;
+            if (first.getShortId() != null) {
+                metrics.deduplicated("batch");
+                results[p.position] = new BatchItemResult(index, Status.EXISTING, p.item.getUrl(), first.getShortId(), null);
+            } else {
+                results[p.position] = failure(index, first.getStatus(), p.item, first.getError());
+            }
+        }
+    }
+
+    /**
+     * Rejects items whose custom alias belongs to an archived URL, which the
+     * unique index of the {@code urls} collection does not cover.
+     *
+     * @return the items that can be inserted
+     */
+    private List<Pending> rejectArchivedAliases(List<Pending> pending, int indexOffset, BatchItemResult[] results) {
+        List<String> aliases = pending.stream().filter(p -> hasAlias(p.item)).map(p -> p.item.getCustomAlias()).toList();
+        if (aliases.isEmpty()) {
+            return pending;
+        }
+        Set<String> archived = new HashSet<>(urlRepository.findArchivedShortIds(aliases));
+        if (archived.isEmpty()) {
+            return pending;
+        }
+
+        List<Pending> remaining = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            if (hasAlias(p.item) && archived.contains(p.item.getCustomAlias())) {
+                metrics.aliasConflict("batch");
+                results[p.position] = failure(indexOffset + p.position, Status.CONFLICT, p.item, "Custom alias already exists");
+            } else {
+                remaining.add(p);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Inserts the pending items and records their results.
+     *
+     * @return items whose generated short ID was taken and should be retried
+     */
+    private List<Pending> insert(List<Pending> pending, int indexOffset, BatchItemResult[] results, boolean lastAttempt) {
+        long generatedCount = pending.stream().filter(p -> !hasAlias(p.item)).count();
+        Iterator<String> generatedIds = shortIdGenerator.nextIds((int) generatedCount).iterator();
+
+        List<Url> urls = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            Url url = new Url();
+            url.setOriginalUrl(p.originalUrl);
+            url.setShortId(hasAlias(p.item) ? p.item.getCustomAlias() : generatedIds.next());
+            url.setCreatedAt(LocalDateTime.now());
+            url.setClickCount(0);
+            url.setExpiresAt(p.item.getExpiresAt());
+            url.setMaxClicks(p.item.getMaxClicks());
+            url.setUrlHash(p.urlHash);
+            shortIdFilter.put(url.getShortId());
+            urls.add(url);
+        }
+
+        BulkWriteError[] errors = new BulkWriteError[urls.size()];
+        for (BulkWriteError error : urlRepository.insertUnordered(urls)) {
+            errors[error.getIndex()] = error;
+        }
+
+        List<Pending> retry = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            Pending p = pending.get(i);
+            Url url = urls.get(i);
+            int index = indexOffset + p.position;
+            BulkWriteError error = errors[i];
+            if (error == null) {
+                resolutionCache.invalidateCreated(url.getShortId());
+                results[p.position] = new BatchItemResult(index, Status.CREATED, p.item.getUrl(), url.getShortId(), null);
+            } else if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                log.warn("Failed to insert batch item {}: {}", index, error.getMessage());
+                results[p.position] = failure(index, Status.FAILED, p.item, "Error creating short URL");
+            } else if (p.urlHash != null && error.getMessage().contains(UrlRepositoryCustom.URL_HASH_INDEX)) {
+                // Shortened concurrently by another request since the duplicates were looked up
+                results[p.position] = urlRepository.findByUrlHash(p.urlHash)
+                        .map(existing -> {
+                            metrics.deduplicated("batch");
+                            return new BatchItemResult(index, Status.EXISTING, p.item.getUrl(), existing.getShortId(), null);
+                        })
+                        .orElseGet(() -> failure(index, Status.FAILED, p.item, "Error creating short URL"));
+            } else if (hasAlias(p.item)) {
+                metrics.aliasConflict("batch");
+                results[p.position] = failure(index, Status.CONFLICT, p.item, "Custom alias already exists");
+            } else if (lastAttempt) {
+                results[p.position] = failure(index, Status.FAILED, p.item, "Could not allocate a unique short ID");
+            } else {
+                metrics.shortIdRetry("batch");
+                retry.add(p);
+            }
+        }
+        return retry;
+    }
+
+    private String firstViolation(UrlDto item) {
+        if (item == null) {
+            return "URL cannot be empty";
+        }
+        Set<ConstraintViolation<UrlDto>> violations = validator.validate(item);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static boolean hasAlias(UrlDto item) {
+        return item.getCustomAlias() != null && !item.getCustomAlias().isEmpty();
+    }
+
+    private static BatchItemResult failure(int index, Status status, UrlDto item, String error) {
+        return new BatchItemResult(index, status, item == null ? null : item.getUrl(), null, error);
+    }
+
+    /**
+     * A validated item waiting to be inserted, with its position in the chunk,
+     * its normalized URL and its deduplication fingerprint, if deduplicated.
+     */
+    private static final class Pending {
+        private final int position;
+        private final UrlDto item;
+        private final String originalUrl;
+        private final String urlHash;
+
+        /** Earlier item of the chunk with the same fingerprint, whose result this item shares */
+        private Pending first;
+
+        private Pending(int position, UrlDto item, String originalUrl, String urlHash) {
+            this.position = position;
+            this.item = item;
+            this.originalUrl = originalUrl;
+            this.urlHash = urlHash;
+        }
+    }
+}
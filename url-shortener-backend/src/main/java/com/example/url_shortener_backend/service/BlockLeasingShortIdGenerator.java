@@ -0,0 +1,159 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.repository.IdCounterRepository;
+import com.example.url_shortener_backend.util.Base62;
+import com.example.url_shortener_backend.util.FeistelPermutation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ShortIdGenerator} that hands out IDs from blocks leased from a shared counter.
+ * <p>
+ * Each instance reserves a range of sequence numbers from the {@code counters}
+ * collection with a single {@code findAndModify} and then allocates from that
+ * range in memory without locking. Sequence numbers are unique across all
+ * instances, so no existence checks are needed. Each sequence number is:
+ * <ul>
+ *     <li>Assigned to the shortest ID length (starting at the minimum length) whose keyspace still has room</li>
+ *     <li>Optionally shuffled within that keyspace by a {@link FeistelPermutation}
+ *     keyed with {@code app.short-id.shuffle-key}, which has no default and
+ *     must be kept secret, since anyone who knows it can enumerate the IDs</li>
+ *     <li>Encoded as fixed-length base62</li>
+ * </ul>
+ * Values left in a block when an instance stops are simply never used.
+ * </p>
+ * <p>
+ * The minimum length defaults to 7, one more than the IDs of the
+ * {@link RandomShortIdGenerator}, so that on a database holding links from
+ * the random generator no generated ID can collide with one of them. Only
+ * custom aliases of the same length can still be taken, which callers
+ * handle by allocating another ID.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.short-id.strategy", havingValue = "counter", matchIfMissing = true)
+public class BlockLeasingShortIdGenerator implements ShortIdGenerator {
+
+    /** Name of the counter document holding the next unleased sequence number */
+    static final String COUNTER_NAME = "shortId";
+
+    /** Longest ID length whose keyspace still fits in a {@code long} */
+    private static final int MAX_LENGTH = 10;
+
+    private final IdCounterRepository counterRepository;
+    private final long blockSize;
+    private final int minLength;
+    private final boolean shuffle;
+
+    /** Permutation of the keyspace of each ID length, indexed by length */
+    private final FeistelPermutation[] permutations = new FeistelPermutation[MAX_LENGTH + 1];
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>();
+
+    /**
+     * @throws IllegalStateException if shuffling is enabled without a key
+     */
+    public BlockLeasingShortIdGenerator(IdCounterRepository counterRepository,
+                                        @Value("${app.short-id.block-size:1000}") long blockSize,
+                                        @Value("${app.short-id.min-length:7}") int minLength,
+                                        @Value("${app.short-id.shuffle:true}") boolean shuffle,
+                                        @Value("${app.short-id.shuffle-key:}") Long shuffleKey) {
+        if (shuffle && shuffleKey == null) {
+            throw new IllegalStateException("app.short-id.shuffle-key (SHORT_ID_SHUFFLE_KEY) must be set to a secret "
+                    + "random number while app.short-id.shuffle is enabled");
+        }
+        this.counterRepository = counterRepository;
+        this.blockSize = blockSize;
+        this.minLength = minLength;
+        this.shuffle = shuffle;
+        if (shuffle) {
+            for (int length = minLength; length <= MAX_LENGTH; length++) {
+                permutations[length] = new FeistelPermutation(Base62.keyspace(length), shuffleKey + length);
+            }
+        }
+    }
+
+    @Override
+    public String nextId() {
+        while (true) {
+            Block block = currentBlock.get();
+            if (block != null) {
+                long sequence = block.next.getAndIncrement();
+                if (sequence < block.end) {
+                    return encode(sequence);
+                }
+            }
+            leaseBlock(block);
+        }
+    }
+
+    /**
+     * Allocates a batch of IDs from a dedicated block.
+     * <p>
+     * Batches larger than the configured block size lease exactly the values
+     * they need with one counter round trip, leaving the shared block untouched.
+     * </p>
+     */
+    @Override
+    public List<String> nextIds(int count) {
+        if (count <= blockSize) {
+            return ShortIdGenerator.super.nextIds(count);
+        }
+        long start = counterRepository.reserveBlock(COUNTER_NAME, count);
+        List<String> ids = new ArrayList<>(count);
+        for (long sequence = start; sequence < start + count; sequence++) {
+            ids.add(encode(sequence));
+        }
+        return ids;
+    }
+
+    /**
+     * Maps a sequence number to its short ID.
+     *
+     * @param sequence a sequence number leased from the counter
+     * @return the short ID for that sequence number
+     */
+    String encode(long sequence) {
+        int length = minLength;
+        long offset = sequence;
+        while (offset >= Base62.keyspace(length)) {
+            offset -= Base62.keyspace(length);
+            length++;
+            if (length > MAX_LENGTH) {
+                throw new IllegalStateException("Short ID keyspace exhausted");
+            }
+        }
+        long value = shuffle ? permutations[length].permute(offset) : offset;
+        return Base62.encode(value, length);
+    }
+
+    private synchronized void leaseBlock(Block exhausted) {
+        if (currentBlock.get() != exhausted) {
+            return;
+        }
+        long start = counterRepository.reserveBlock(COUNTER_NAME, blockSize);
+        log.debug("Leased short ID block [{}, {})", start, start + blockSize);
+        currentBlock.set(new Block(start, start + blockSize));
+    }
+
+    /**
+     * A leased range of sequence numbers, {@code [next, end)}.
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
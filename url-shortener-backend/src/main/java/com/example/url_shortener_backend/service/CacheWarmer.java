@@ -0,0 +1,164 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Preloads the hottest links into the {@link UrlResolutionCache} before the
+ * application reports itself ready.
+ * <p>
+ * Spring Boot runs application runners before it publishes the
+ * {@code ApplicationReadyEvent}, so the readiness probe keeps reporting
+ * {@code REFUSING_TRAFFIC} until the warm-up has finished and a new instance
+ * does not start out answering every redirect from the database. The warm-up:
+ * <ul>
+ *     <li>Streams the short IDs of the {@code app.cache.warm-up.top-n} hottest
+ *     links, by {@code app.cache.warm-up.order}, from one cursor over the index
+ *     on that order</li>
+ *     <li>Hands them off in batches of {@code app.cache.warm-up.batch-size} to
+ *     {@code app.cache.warm-up.parallelism} threads, which resolve each batch
+ *     with one {@code $in} query while the cursor reads on</li>
+ *     <li>Gives up after {@code app.cache.warm-up.timeout}, keeping what it has
+ *     loaded, so that a slow database delays readiness by a bounded time</li>
+ * </ul>
+ * Warming is best effort: failures are logged and the application starts
+ * with whatever was loaded. The {@code cache.warmup.duration} and
+ * {@code cache.warmup.loaded} gauges report the outcome next to Spring Boot's
+ * {@code application.ready.time}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheWarmer implements ApplicationRunner {
+
+    private final UrlRepository urlRepository;
+    private final UrlResolutionCache resolutionCache;
+    private final WarmUpOrder order;
+    private final int topN;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration timeout;
+
+    /** Duration of the completed warm-up in nanoseconds, -1 until it has run */
+    private final AtomicLong durationNanos = new AtomicLong(-1);
+
+    /** Number of links the warm-up added to the cache */
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    public CacheWarmer(UrlRepository urlRepository,
+                       UrlResolutionCache resolutionCache,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cache.warm-up.order:last-accessed}") String order,
+                       @Value("${app.cache.warm-up.top-n:10000}") int topN,
+                       @Value("${app.cache.resolution.maximum-size:100000}") long maximumSize,
+                       @Value("${app.cache.warm-up.batch-size:1000}") int batchSize,
+                       @Value("${app.cache.warm-up.parallelism:4}") int parallelism,
+                       @Value("${app.cache.warm-up.timeout:60s}") Duration timeout) {
+        this.urlRepository = urlRepository;
+        this.resolutionCache = resolutionCache;
+        this.order = WarmUpOrder.of(order);
+        // Preloading more than the cache holds would only evict the hottest links again
+        this.topN = (int) Math.min(topN, maximumSize);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+
+        TimeGauge.builder("cache.warmup.duration", durationNanos, TimeUnit.NANOSECONDS,
+                        nanos -> nanos.get() < 0 ? Double.NaN : nanos.get())
+                .description("Time spent preloading the resolution cache at startup")
+                .register(meterRegistry);
+        Gauge.builder("cache.warmup.loaded", loaded, AtomicInteger::get)
+                .description("Links preloaded into the resolution cache at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Preloads the hottest links, waiting at most the configured timeout.
+     *
+     * @return the number of links added to the cache
+     */
+    public int warmUp() {
+        if (topN <= 0) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        try (Stream<String> shortIds = urlRepository.streamHottestShortIds(order, topN, batchSize)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (String shortId : (Iterable<String>) shortIds::iterator) {
+                batch.add(shortId);
+                if (batch.size() == batchSize) {
+                    batches.add(load(batch, executor));
+                    batch = new ArrayList<>(batchSize);
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(load(batch, executor));
+            }
+
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up timed out after {}, continuing with the links loaded so far", timeout);
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Cache warm-up failed, continuing with the links loaded so far", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        durationNanos.set(elapsed);
+        log.info("Preloaded {} of the {} {} links into the resolution cache in {} ms", loaded.get(), topN,
+                order == WarmUpOrder.CLICK_COUNT ? "most clicked" : "most recently accessed",
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return loaded.get();
+    }
+
+    private CompletableFuture<Void> load(List<String> batch, ExecutorService executor) {
+        return CompletableFuture.runAsync(() -> {
+            long stamp = resolutionCache.invalidationStamp();
+            loaded.addAndGet(resolutionCache.preload(urlRepository.findResolvedByShortIds(batch), stamp));
+        }, executor);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickDelta;
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind aggregator for URL click counts.
+ * <p>
+ * Receives clicks from the {@link ClickPipeline} as the {@code counter} sink
+ * and only bumps in-memory counters; a scheduled task periodically
+ * flushes the accumulated counts to MongoDB as unordered bulk writes of
+ * {@code $inc} and {@code $max} updates. This means:
+ * <ul>
+ *     <li>The redirect path never waits on a database write</li>
+ *     <li>Concurrent hits on the same link never lose increments</li>
+ *     <li>A hot link costs one update per flush instead of one per hit</li>
+ * </ul>
+ * Links the {@link HotKeyTracker} reports as hot are coalesced further and
+ * only flushed every {@code app.hot-keys.flush-every} flushes, so the
+ * documents taking most of the traffic are rewritten even less often.
+ * When a bulk write modifies fewer documents than it has deltas, the links
+ * missing from {@code urls} were archived while their clicks were buffered,
+ * and their deltas are applied to the archive copies instead.
+ * On a crash at most one flush interval worth of clicks is lost, or
+ * {@code app.hot-keys.flush-every} intervals for hot links; a graceful
+ * shutdown flushes everything that is still pending.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ClickAggregator implements ClickSink {
+
+    private final UrlRepository urlRepository;
+    private final OverflowPolicy overflowPolicy;
+
+    /** Maximum number of updates sent to MongoDB in a single bulk write */
+    private final int flushBatchSize;
+
+    private final HotKeyTracker hotKeys;
+
+    /** Hot links are flushed on every this many flushes */
+    private final int hotFlushEvery;
+
+    /** Number of scheduled flushes so far */
+    private long flushes;
+
+    private final ConcurrentHashMap<String, PendingClicks> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Entries removed from {@link #pending} during the previous flush. They are
+     * drained once more on the next flush so clicks recorded by a thread that
+     * still held a reference to the removed entry are not dropped.
+     */
+    private List<Map.Entry<String, PendingClicks>> retired = new ArrayList<>();
+
+    public ClickAggregator(UrlRepository urlRepository, int flushBatchSize, String overflowPolicy) {
+        this(urlRepository, flushBatchSize, overflowPolicy, Optional.empty(), 1);
+    }
+
+    @Autowired
+    public ClickAggregator(UrlRepository urlRepository,
+                           @Value("${app.clicks.flush-batch-size:500}") int flushBatchSize,
+                           @Value("${app.clicks.overflow-policy:block}") String overflowPolicy,
+                           Optional<HotKeyTracker> hotKeys,
+                           @Value("${app.hot-keys.flush-every:10}") int hotFlushEvery) {
+        if (hotFlushEvery <= 0) {
+            throw new IllegalArgumentException("Hot link flush frequency must be positive: " + hotFlushEvery);
+        }
+        this.urlRepository = urlRepository;
+        this.flushBatchSize = flushBatchSize;
+        this.overflowPolicy = OverflowPolicy.of(overflowPolicy);
+        this.hotKeys = hotKeys.orElse(null);
+        this.hotFlushEvery = hotFlushEvery;
+    }
+
+    @Override
+    public String name() {
+        return "counter";
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Records the counted clicks of a batch.
+     *
+     * @param clicks the clicks, oldest first
+     */
+    @Override
+    public void write(List<RecordedClick> clicks) {
+        for (RecordedClick click : clicks) {
+            if (click.isCounted()) {
+                recordClick(click.getShortId(), click.getTimestamp().toEpochMilli());
+            }
+        }
+    }
+
+    /**
+     * Records a single click for the given short ID.
+     * <p>
+     * This method never blocks on I/O and is safe to call from any number
+     * of request threads concurrently.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL that was accessed
+     */
+    public void recordClick(String shortId) {
+        recordClick(shortId, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of clicks recorded for a short ID that have not been
+     * flushed to the database yet.
+     *
+     * @param shortId the short identifier of the URL
+     * @return the pending click count, zero if nothing is pending
+     */
+    public long pendingClicks(String shortId) {
+        PendingClicks clicks = pending.get(shortId);
+        return clicks == null ? 0 : clicks.count.sum();
+    }
+
+    /**
+     * Flushes pending click counts to MongoDB.
+     * <p>
+     * Runs every {@code app.clicks.flush-interval-ms} milliseconds. Counts of
+     * hot links are left pending except on every
+     * {@code app.hot-keys.flush-every}th flush. Counts that cannot be written
+     * are merged back into the pending counters and retried on the next flush.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${app.clicks.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        flushes++;
+        flush(hotKeys == null || flushes % hotFlushEvery == 0);
+    }
+
+    /**
+     * Flushes pending clicks before the application context is closed. The
+     * {@link ClickPipeline} depends on this sink and has drained into it by then.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush(true);
+    }
+
+    private void flush(boolean includeHot) {
+        List<ClickDelta> deltas = new ArrayList<>();
+
+        for (Map.Entry<String, PendingClicks> entry : retired) {
+            drainInto(entry.getKey(), entry.getValue(), deltas);
+        }
+        retired = new ArrayList<>();
+
+        for (Map.Entry<String, PendingClicks> entry : pending.entrySet()) {
+            if (!includeHot && hotKeys.isHot(entry.getKey())) {
+                continue;
+            }
+            if (!drainInto(entry.getKey(), entry.getValue(), deltas)
+                    && pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        for (int from = 0; from < deltas.size(); from += flushBatchSize) {
+            List<ClickDelta> batch = deltas.subList(from, Math.min(from + flushBatchSize, deltas.size()));
+            int modified;
+            try {
+                modified = urlRepository.incrementClickCounts(batch);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} click deltas, retrying on next flush", batch.size(), e);
+                batch.forEach(this::restore);
+                continue;
+            }
+            if (modified < batch.size()) {
+                flushArchived(batch);
+            }
+        }
+    }
+
+    /**
+     * Counts the clicks of links that were archived while their clicks were
+     * buffered. Not retried on failure: the rest of the batch has already
+     * been counted.
+     */
+    private void flushArchived(List<ClickDelta> batch) {
+        try {
+            urlRepository.incrementArchivedClickCounts(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to count clicks on archived links among {} click deltas", batch.size(), e);
+        }
+    }
+
+    private void recordClick(String shortId, long accessedAt) {
+        PendingClicks clicks = pending.get(shortId);
+        if (clicks == null) {
+            clicks = pending.computeIfAbsent(shortId, key -> new PendingClicks());
+        }
+        clicks.count.increment();
+        clicks.lastAccessedAt.accumulate(accessedAt);
+    }
+
+    private boolean drainInto(String shortId, PendingClicks clicks, List<ClickDelta> deltas) {
+        long count = clicks.count.sumThenReset();
+        if (count == 0) {
+            return false;
+        }
+        long lastAccessedAt = clicks.lastAccessedAt.getThenReset();
+        deltas.add(new ClickDelta(
+                shortId,
+                (int) Math.min(count, Integer.MAX_VALUE),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(lastAccessedAt), ZoneId.systemDefault())));
+        return true;
+    }
+
+    private void restore(ClickDelta delta) {
+        PendingClicks clicks = pending.computeIfAbsent(delta.getShortId(), key -> new PendingClicks());
+        clicks.count.add(delta.getClicks());
+        clicks.lastAccessedAt.accumulate(
+                delta.getLastAccessedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Striped counters for a single short ID.
+     */
+    private static final class PendingClicks {
+        private final LongAdder count = new LongAdder();
+        private final LongAccumulator lastAccessedAt = new LongAccumulator(Math::max, 0L);
+    }
+}
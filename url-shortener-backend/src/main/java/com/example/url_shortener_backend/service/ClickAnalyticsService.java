@@ -0,0 +1,287 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickEvent;
+import com.example.url_shortener_backend.model.ClickRollup;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import com.example.url_shortener_backend.repository.ClickEventRepository;
+import com.example.url_shortener_backend.repository.ClickRollupRepository;
+import com.example.url_shortener_backend.util.UserAgentClassifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-link click analytics backed by raw click events and pre-aggregated rollups.
+ * <p>
+ * Redirects only publish the raw request details to the {@link ClickPipeline},
+ * which hands them to this service as the {@code analytics} sink in batches.
+ * For each batch, the consumer thread:
+ * <ul>
+ *     <li>Classifies each click by referrer host, user agent class and country</li>
+ *     <li>Adds the batch to the minute, hour and day {@link ClickRollup} buckets
+ *     with one unordered bulk upsert</li>
+ *     <li>Inserts the raw {@link ClickEvent} documents into the time-series collection</li>
+ * </ul>
+ * Statistics are read from the rollups only, so a query touches at most one
+ * document per bucket regardless of how many clicks a link has. To keep a
+ * bucket document from growing without bound, at most
+ * {@code app.analytics.rollups.max-referrers} referrer hosts are counted
+ * separately per bucket and the rest are counted as {@value #OTHER_REFERRER},
+ * the way user agents are folded into a few classes.
+ * The hosts already used by a bucket are tracked per instance, so with
+ * several instances a bucket holds at most that many hosts per instance.
+ * Analytics are
+ * best effort: by default clicks arriving while the pipeline buffer is full
+ * are dropped and counted in the {@code clicks.pipeline.dropped} metric. Total
+ * click counts are maintained separately by the {@link ClickAggregator}.
+ * </p>
+ */
+@Slf4j
+@Service
+@DependsOn("clickEventCollectionInitializer")
+public class ClickAnalyticsService implements ClickSink {
+
+    /** Referrer reported for clicks without a {@code Referer} header */
+    static final String DIRECT_REFERRER = "direct";
+
+    /** Referrer reported when the {@code Referer} header has no parsable host */
+    static final String UNKNOWN_REFERRER = "unknown";
+
+    /** Referrer reported for hosts beyond the per-bucket limit */
+    static final String OTHER_REFERRER = "other";
+
+    /** Number of recent buckets whose referrer hosts are tracked */
+    private static final int TRACKED_BUCKETS = 100_000;
+
+    private final ClickEventRepository clickEventRepository;
+    private final ClickRollupRepository clickRollupRepository;
+    private final GeoIpCountryResolver countryResolver;
+    private final OverflowPolicy overflowPolicy;
+
+    /** Maximum number of buckets returned by a single stats query */
+    private final int maxPoints;
+
+    /** Maximum number of referrer hosts counted separately per bucket */
+    private final int maxReferrers;
+
+    /** Referrer keys already counted per rollup ID; only used by the consumer thread */
+    private final Cache<String, Set<String>> bucketReferrers =
+            Caffeine.newBuilder().maximumSize(TRACKED_BUCKETS).build();
+
+    /** Retention of rollups per granularity; granularities without an entry are kept forever */
+    private final Map<RollupGranularity, Duration> retention = new EnumMap<>(RollupGranularity.class);
+
+    public ClickAnalyticsService(ClickEventRepository clickEventRepository,
+                                 ClickRollupRepository clickRollupRepository,
+                                 GeoIpCountryResolver countryResolver,
+                                 @Value("${app.analytics.overflow-policy:drop}") String overflowPolicy,
+                                 @Value("${app.analytics.max-points:1440}") int maxPoints,
+                                 @Value("${app.analytics.rollups.minute-retention:2d}") Duration minuteRetention,
+                                 @Value("${app.analytics.rollups.hour-retention:90d}") Duration hourRetention,
+                                 @Value("${app.analytics.rollups.max-referrers:100}") int maxReferrers) {
+        this.clickEventRepository = clickEventRepository;
+        this.clickRollupRepository = clickRollupRepository;
+        this.countryResolver = countryResolver;
+        this.overflowPolicy = OverflowPolicy.of(overflowPolicy);
+        this.maxPoints = maxPoints;
+        this.maxReferrers = maxReferrers;
+        this.retention.put(RollupGranularity.MINUTE, minuteRetention);
+        this.retention.put(RollupGranularity.HOUR, hourRetention);
+    }
+
+    @Override
+    public String name() {
+        return "analytics";
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Classifies a batch of clicks and writes their rollups and raw events to MongoDB.
+     * <p>
+     * The raw events are inserted even when the rollups cannot be written, in
+     * which case the batch still fails so the pipeline counts it as dropped; a
+     * failure to insert the raw events is only logged, since statistics are
+     * read from the rollups.
+     * </p>
+     *
+     * @param clicks the clicks, oldest first
+     */
+    @Override
+    public void write(List<RecordedClick> clicks) {
+        List<ClickEvent> events = new ArrayList<>(clicks.size());
+        Map<String, ClickRollup> rollups = new HashMap<>();
+        for (RecordedClick click : clicks) {
+            ClickEvent event = classify(click);
+            events.add(event);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                addToRollup(rollups, event, granularity);
+            }
+        }
+
+        // Rollups first: they are what the stats endpoint reads
+        RuntimeException rollupFailure = null;
+        try {
+            clickRollupRepository.incrementRollups(rollups.values());
+        } catch (RuntimeException e) {
+            rollupFailure = e;
+        }
+        try {
+            clickEventRepository.insert(events);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} raw click events", events.size(), e);
+        }
+        if (rollupFailure != null) {
+            throw rollupFailure;
+        }
+    }
+
+    /**
+     * Returns the click timeline of a URL from the pre-aggregated rollups.
+     * <p>
+     * The range is widened to whole buckets. Without {@code from}, the range
+     * starts one {@linkplain RollupGranularity#defaultWindow() default window}
+     * before {@code to}; without {@code to}, it ends now.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @param granularity the size of the buckets
+     * @param from start of the range, may be null
+     * @param to end of the range, may be null
+     * @return the timeline with one bucket per period of the range
+     * @throws IllegalArgumentException if the range is empty or spans more than {@code app.analytics.max-points} buckets
+     */
+    public ClickTimeline getTimeline(String shortId, RollupGranularity granularity, Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = granularity.bucketStart(from != null ? from : end.minus(granularity.defaultWindow()));
+        if (!granularity.bucketStart(end).equals(end)) {
+            end = granularity.bucketStart(end).plus(granularity.bucketSize());
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Stats range must end after it starts");
+        }
+        long points = Duration.between(start, end).dividedBy(granularity.bucketSize());
+        if (points > maxPoints) {
+            throw new IllegalArgumentException(
+                    "Stats range spans " + points + " buckets, at most " + maxPoints + " are allowed");
+        }
+
+        List<ClickRollup> rollups = clickRollupRepository.findRange(shortId, granularity, start, end);
+        List<ClickTimeline.Bucket> buckets = new ArrayList<>((int) points);
+        Map<String, Long> referrers = new TreeMap<>();
+        Map<String, Long> userAgents = new TreeMap<>();
+        Map<String, Long> countries = new TreeMap<>();
+        long total = 0;
+        int next = 0;
+        for (Instant bucket = start; bucket.isBefore(end); bucket = bucket.plus(granularity.bucketSize())) {
+            long clicks = 0;
+            if (next < rollups.size() && rollups.get(next).getBucketStart().equals(bucket)) {
+                ClickRollup rollup = rollups.get(next++);
+                clicks = rollup.getClicks();
+                rollup.getReferrers().forEach((key, count) -> referrers.merge(decodeKey(key), count, Long::sum));
+                rollup.getUserAgents().forEach((key, count) -> userAgents.merge(key, count, Long::sum));
+                rollup.getCountries().forEach((key, count) -> countries.merge(key, count, Long::sum));
+            }
+            buckets.add(new ClickTimeline.Bucket(bucket, clicks));
+            total += clicks;
+        }
+
+        return new ClickTimeline(granularity, start, end, Collections.unmodifiableList(buckets), total,
+                Collections.unmodifiableMap(referrers),
+                Collections.unmodifiableMap(userAgents),
+                Collections.unmodifiableMap(countries));
+    }
+
+    private ClickEvent classify(RecordedClick click) {
+        ClickEvent event = new ClickEvent();
+        event.setTimestamp(click.getTimestamp());
+        event.setShortId(click.getShortId());
+        event.setReferrer(referrerHost(click.getContext().getReferrer()));
+        event.setUserAgentClass(UserAgentClassifier.classify(click.getContext().getUserAgent()));
+        event.setCountry(countryResolver.resolve(click.getContext().getClientAddress()));
+        return event;
+    }
+
+    private void addToRollup(Map<String, ClickRollup> rollups, ClickEvent event, RollupGranularity granularity) {
+        Instant bucketStart = granularity.bucketStart(event.getTimestamp());
+        ClickRollup rollup = rollups.computeIfAbsent(
+                ClickRollup.idOf(event.getShortId(), granularity, bucketStart),
+                id -> {
+                    ClickRollup created = ClickRollup.empty(event.getShortId(), granularity, bucketStart);
+                    Duration keepFor = retention.get(granularity);
+                    if (keepFor != null) {
+                        created.setExpiresAt(bucketStart.plus(granularity.bucketSize()).plus(keepFor));
+                    }
+                    return created;
+                });
+        rollup.setClicks(rollup.getClicks() + 1);
+        rollup.getReferrers().merge(referrerKey(rollup.getId(), event.getReferrer()), 1L, Long::sum);
+        rollup.getUserAgents().merge(event.getUserAgentClass().name(), 1L, Long::sum);
+        rollup.getCountries().merge(event.getCountry(), 1L, Long::sum);
+    }
+
+    /**
+     * Returns the rollup key of a referrer host, or {@value #OTHER_REFERRER}
+     * if the bucket already counts {@code app.analytics.rollups.max-referrers} other hosts.
+     */
+    private String referrerKey(String rollupId, String referrer) {
+        String key = encodeKey(referrer);
+        Set<String> counted = bucketReferrers.get(rollupId, id -> new HashSet<>());
+        if (counted.contains(key)) {
+            return key;
+        }
+        if (counted.size() >= maxReferrers) {
+            return OTHER_REFERRER;
+        }
+        counted.add(key);
+        return key;
+    }
+
+    static String referrerHost(String referrer) {
+        if (referrer == null || referrer.isBlank()) {
+            return DIRECT_REFERRER;
+        }
+        try {
+            String host = new URI(referrer.trim()).getHost();
+            return host == null ? UNKNOWN_REFERRER : host.toLowerCase(Locale.ROOT);
+        } catch (URISyntaxException e) {
+            return UNKNOWN_REFERRER;
+        }
+    }
+
+    /**
+     * Escapes a map key for use in a MongoDB field path, where {@code .} and
+     * a leading {@code $} are not allowed.
+     */
+    static String encodeKey(String key) {
+        return key.replace("%", "%25").replace(".", "%2E").replace("$", "%24");
+    }
+
+    static String decodeKey(String key) {
+        return key.replace("%24", "$").replace("%2E", ".").replace("%25", "%");
+    }
+}
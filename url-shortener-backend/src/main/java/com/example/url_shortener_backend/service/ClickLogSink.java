@@ -0,0 +1,99 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Click sink appending every click to a local file, one JSON object per line.
+ * <p>
+ * Enabled with {@code app.clicks.log.enabled}. The file at
+ * {@code app.clicks.log.path} is opened for appending and flushed after every
+ * batch, so it can be tailed or shipped by a log collector; rotating it is
+ * left to the collector. Records carry the raw request details:
+ * <pre>
+ * {"timestamp":"2024-01-01T00:00:00.123Z","shortId":"abc123","referrer":null,"userAgent":"curl/8.4.0","clientAddress":"10.0.0.1"}
+ * </pre>
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.clicks.log.enabled", havingValue = "true")
+public class ClickLogSink implements ClickSink {
+
+    private final OverflowPolicy overflowPolicy;
+    private final JsonGenerator generator;
+
+    public ClickLogSink(ObjectMapper objectMapper,
+                        @Value("${app.clicks.log.path}") String path,
+                        @Value("${app.clicks.log.overflow-policy:drop}") String overflowPolicy) throws IOException {
+        this.overflowPolicy = OverflowPolicy.of(overflowPolicy);
+        Path file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(Files.newOutputStream(
+                file, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)));
+        // Records are separated by the newline written after each of them
+        this.generator.setRootValueSeparator(null);
+        log.info("Appending clicks to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Appends a batch of clicks to the file and flushes it.
+     *
+     * @param clicks the clicks, oldest first
+     * @throws UncheckedIOException if writing to the file fails
+     */
+    @Override
+    public void write(List<RecordedClick> clicks) {
+        try {
+            for (RecordedClick click : clicks) {
+                generator.writeStartObject();
+                generator.writeStringField("timestamp", click.getTimestamp().toString());
+                generator.writeStringField("shortId", click.getShortId());
+                generator.writeStringField("referrer", click.getContext().getReferrer());
+                generator.writeStringField("userAgent", click.getContext().getUserAgent());
+                generator.writeStringField("clientAddress", click.getContext().getClientAddress());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the file once the {@link ClickPipeline}, which depends on this
+     * sink, has drained into it.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous pipeline carrying clicks from the redirect path to the {@link ClickSink}s.
+ * <p>
+ * A redirect publishes one small {@link RecordedClick} into a bounded,
+ * lock-free {@link MpscRingBuffer} per sink and returns. Each sink has a
+ * dedicated consumer thread that drains its buffer and hands the clicks to
+ * the sink in batches of up to {@code app.clicks.pipeline.batch-size}, or
+ * whatever has arrived after {@code app.clicks.pipeline.flush-interval-ms}.
+ * This means:
+ * <ul>
+ *     <li>The redirect thread never waits on analytics I/O or takes a lock</li>
+ *     <li>A slow or failing sink does not hold up the other sinks</li>
+ *     <li>A full buffer is handled by the {@link OverflowPolicy} of its sink</li>
+ * </ul>
+ * The buffer depth of each sink is published as the
+ * {@code clicks.pipeline.depth} gauge and lost clicks are counted in
+ * {@code clicks.pipeline.dropped}. On shutdown the consumers drain their
+ * buffers completely before the sinks are closed.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ClickPipeline {
+
+    /** How long an idle consumer parks before looking at its buffer again */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** How long a publisher blocked on a full buffer parks between attempts */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final double sampleRate;
+    private final long blockTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final List<Channel> channels = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    public ClickPipeline(List<ClickSink> sinks,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.clicks.pipeline.capacity:65536}") int capacity,
+                         @Value("${app.clicks.pipeline.batch-size:5000}") int batchSize,
+                         @Value("${app.clicks.pipeline.flush-interval-ms:1000}") long flushIntervalMs,
+                         @Value("${app.clicks.pipeline.sample-rate:0.1}") double sampleRate,
+                         @Value("${app.clicks.pipeline.block-timeout:10ms}") Duration blockTimeout,
+                         @Value("${app.clicks.pipeline.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.sampleRate = sampleRate;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        for (ClickSink sink : sinks) {
+            Channel channel = new Channel(sink, new MpscRingBuffer<>(capacity), meterRegistry);
+            channels.add(channel);
+            channel.consumer.start();
+            log.info("Click sink {} started with a buffer of {} clicks, overflow policy {}",
+                    sink.name(), channel.buffer.capacity(), sink.overflowPolicy());
+        }
+    }
+
+    /**
+     * Publishes a click to every sink.
+     * <p>
+     * Never blocks unless a sink with the {@link OverflowPolicy#BLOCK} policy
+     * has a full buffer, and then for at most {@code app.clicks.pipeline.block-timeout}.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL that was accessed
+     * @param context the request details of the click
+     * @param counted whether the click still has to be added to the click count of the URL
+     */
+    public void publish(String shortId, ClickContext context, boolean counted) {
+        RecordedClick click = new RecordedClick(shortId, Instant.now(), context, counted);
+        for (Channel channel : channels) {
+            channel.publish(click);
+        }
+    }
+
+    /**
+     * Stops the consumers after they have drained their buffers.
+     * <p>
+     * Clicks published while the pipeline shuts down may be dropped.
+     * </p>
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Channel channel : channels) {
+            LockSupport.unpark(channel.consumer);
+            try {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                channel.consumer.join(Math.max(1, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (channel.consumer.isAlive()) {
+                log.warn("Click sink {} did not drain within {}, {} clicks are lost",
+                        channel.sink.name(), shutdownTimeout, channel.buffer.size());
+            }
+        }
+    }
+
+    /**
+     * Buffer, consumer thread and metrics of a single sink.
+     */
+    private final class Channel {
+        private final ClickSink sink;
+        private final OverflowPolicy policy;
+        private final MpscRingBuffer<RecordedClick> buffer;
+        private final Thread consumer;
+        private final Counter overflowDrops;
+        private final Counter sampledDrops;
+        private final Counter failureDrops;
+        private final Timer writes;
+
+        private Channel(ClickSink sink, MpscRingBuffer<RecordedClick> buffer, MeterRegistry meterRegistry) {
+            this.sink = sink;
+            this.policy = sink.overflowPolicy();
+            this.buffer = buffer;
+            this.consumer = new Thread(this::consume, "click-pipeline-" + sink.name());
+            this.consumer.setDaemon(true);
+            this.overflowDrops = dropCounter("overflow", meterRegistry);
+            this.sampledDrops = dropCounter("sampled", meterRegistry);
+            this.failureDrops = dropCounter("write_failure", meterRegistry);
+            this.writes = Timer.builder("clicks.pipeline.writes")
+                    .description("Time taken by a click sink to write a batch")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+            Gauge.builder("clicks.pipeline.depth", buffer, MpscRingBuffer::size)
+                    .description("Clicks waiting in the buffer of a click sink")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+            Gauge.builder("clicks.pipeline.capacity", buffer, MpscRingBuffer::capacity)
+                    .description("Size of the buffer of a click sink")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+        }
+
+        private Counter dropCounter(String reason, MeterRegistry meterRegistry) {
+            return Counter.builder("clicks.pipeline.dropped")
+                    .description("Clicks dropped before reaching a click sink")
+                    .tag("sink", sink.name())
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        private void publish(RecordedClick click) {
+            if (policy == OverflowPolicy.SAMPLE && buffer.size() > buffer.capacity() / 2
+                    && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledDrops.increment();
+                return;
+            }
+            if (buffer.offer(click)) {
+                return;
+            }
+            if (policy == OverflowPolicy.BLOCK && running) {
+                // Wake the consumer instead of letting it finish its idle park
+                LockSupport.unpark(consumer);
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                do {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(click)) {
+                        return;
+                    }
+                } while (System.nanoTime() - deadline < 0);
+            }
+            overflowDrops.increment();
+        }
+
+        private void consume() {
+            List<RecordedClick> batch = new ArrayList<>(batchSize);
+            long lastWrite = System.nanoTime();
+            while (true) {
+                // Read the flag before draining, so that nothing published before it was cleared is missed
+                boolean stopping = !running;
+                int drained = buffer.drainTo(batch, batchSize - batch.size());
+                long now = System.nanoTime();
+                boolean due = !batch.isEmpty() && (batch.size() >= batchSize || now - lastWrite >= flushIntervalNanos);
+                if (due || (stopping && !batch.isEmpty())) {
+                    write(batch);
+                    batch.clear();
+                    lastWrite = now;
+                } else if (stopping) {
+                    return;
+                } else if (drained == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        }
+
+        private void write(List<RecordedClick> batch) {
+            long start = System.nanoTime();
+            try {
+                sink.write(batch);
+            } catch (RuntimeException e) {
+                log.warn("Click sink {} failed to write {} clicks", sink.name(), batch.size(), e);
+                failureDrops.increment(batch.size());
+            } finally {
+                writes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+
+import java.util.List;
+
+/**
+ * Destination of the clicks published to the {@link ClickPipeline}.
+ * <p>
+ * Every sink bean is picked up by the pipeline and gets a buffer and a
+ * consumer thread of its own, so a slow sink only ever holds up itself.
+ * </p>
+ */
+public interface ClickSink {
+
+    /**
+     * @return the name of the sink, used in thread names and metric tags
+     */
+    String name();
+
+    /**
+     * @return what the pipeline does with clicks published while the buffer of this sink is full
+     */
+    OverflowPolicy overflowPolicy();
+
+    /**
+     * Writes a batch of clicks.
+     * <p>
+     * Called from the consumer thread of this sink only, never concurrently.
+     * Clicks of a batch that throws are counted as dropped.
+     * </p>
+     *
+     * @param clicks the clicks, oldest first
+     */
+    void write(List<RecordedClick> clicks);
+}
@@ -0,0 +1,152 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ExportFormat;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service streaming all URLs, including click counts, as NDJSON or CSV.
+ * <p>
+ * Archived URLs are exported along with the live ones, merged into the same
+ * order, so links moved to {@code urls_archive} by the {@link UrlArchiver}
+ * do not drop out of the export.
+ * </p>
+ * <p>
+ * Documents are read through a MongoDB cursor and written one at a time, so
+ * the export never holds more than one cursor batch in memory. Writes block
+ * when the client reads slowly, and the next batch is only fetched once the
+ * previous one has been written, which gives natural back-pressure. Every
+ * record carries its {@code id} and {@code shortId}, so an interrupted export
+ * can be resumed after the last record received.
+ * </p>
+ */
+@Service
+public class ExportService {
+
+    /** Fields of every exported record, in CSV column order */
+    static final String[] COLUMNS = {
+            "id", "shortId", "originalUrl", "createdAt", "lastAccessedAt", "clickCount", "active"
+    };
+
+    private final UrlRepository urlRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ExportService(UrlRepository urlRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${app.export.batch-size:1000}") int batchSize) {
+        this.urlRepository = urlRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes all URLs following the cursor to the output stream.
+     * <p>
+     * The output stream is flushed but not closed.
+     * </p>
+     *
+     * @param format the output format
+     * @param order the order of the records
+     * @param after the {@code id} or {@code shortId} to resume after, null to export everything
+     * @param out the stream to write to
+     * @return the number of records written
+     * @throws IOException if writing to the stream fails
+     */
+    public long export(ExportFormat format, ExportOrder order, String after, OutputStream out) throws IOException {
+        try (Stream<Url> urls = urlRepository.streamOrderedBy(order, order.checkCursor(after), batchSize)) {
+            return format == ExportFormat.CSV
+                    ? writeCsv(urls.iterator(), out)
+                    : writeNdjson(urls.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<Url> urls, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (urls.hasNext()) {
+                Url url = urls.next();
+                generator.writeStartObject();
+                generator.writeStringField("id", url.getId());
+                generator.writeStringField("shortId", url.getShortId());
+                generator.writeStringField("originalUrl", url.getOriginalUrl());
+                generator.writeStringField("createdAt", format(url.getCreatedAt()));
+                generator.writeStringField("lastAccessedAt", format(url.getLastAccessedAt()));
+                generator.writeNumberField("clickCount", url.getClickCount());
+                generator.writeBooleanField("active", url.isActive());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Url> urls, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        while (urls.hasNext()) {
+            Url url = urls.next();
+            writeCsvField(writer, url.getId());
+            writer.write(',');
+            writeCsvField(writer, url.getShortId());
+            writer.write(',');
+            writeCsvField(writer, url.getOriginalUrl());
+            writer.write(',');
+            writeCsvField(writer, format(url.getCreatedAt()));
+            writer.write(',');
+            writeCsvField(writer, format(url.getLastAccessedAt()));
+            writer.write(',');
+            writer.write(Integer.toString(url.getClickCount()));
+            writer.write(',');
+            writer.write(Boolean.toString(url.isActive()));
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes a CSV field, quoting it if it contains a separator, quote or line break.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime timestamp) {
+        return timestamp == null ? null : timestamp.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.url_shortener_backend.service;
+
+import com.maxmind.db.CHMCache;
+import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.GeoIp2Exception;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * Resolves client IP addresses to countries using a local MaxMind GeoIP2 or
+ * GeoLite2 country database.
+ * <p>
+ * The database file is configured with {@code app.analytics.geoip.database}.
+ * Without it, or when the file cannot be read, every address resolves to
+ * {@link #UNKNOWN_COUNTRY}. Lookups never touch the network.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GeoIpCountryResolver {
+
+    /** Country code reported when the country cannot be determined */
+    public static final String UNKNOWN_COUNTRY = "ZZ";
+
+    private final DatabaseReader reader;
+
+    public GeoIpCountryResolver(@Value("${app.analytics.geoip.database:}") String databasePath) {
+        this.reader = open(databasePath);
+    }
+
+    /**
+     * Looks up the country of an IP address.
+     *
+     * @param address the textual IPv4 or IPv6 address, may be null
+     * @return the ISO 3166-1 alpha-2 country code, or {@link #UNKNOWN_COUNTRY}
+     */
+    public String resolve(String address) {
+        if (reader == null || !isIpLiteral(address)) {
+            return UNKNOWN_COUNTRY;
+        }
+
+        try {
+            return reader.tryCountry(InetAddress.getByName(address))
+                    .map(response -> response.getCountry().getIsoCode())
+                    .orElse(UNKNOWN_COUNTRY);
+        } catch (IOException | GeoIp2Exception e) {
+            return UNKNOWN_COUNTRY;
+        }
+    }
+
+    /**
+     * Closes the database file.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    private static DatabaseReader open(String databasePath) {
+        if (databasePath == null || databasePath.isBlank()) {
+            log.info("No GeoIP database configured, click countries will be reported as {}", UNKNOWN_COUNTRY);
+            return null;
+        }
+
+        try {
+            return new DatabaseReader.Builder(new File(databasePath)).withCache(new CHMCache()).build();
+        } catch (IOException e) {
+            log.warn("Failed to open GeoIP database {}, click countries will be reported as {}",
+                    databasePath, UNKNOWN_COUNTRY, e);
+            return null;
+        }
+    }
+
+    /**
+     * Only IP literals are looked up, so {@link InetAddress#getByName(String)}
+     * never falls back to a DNS query.
+     */
+    private static boolean isIpLiteral(String address) {
+        if (address == null || address.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != '.' && c != ':') {
+                return false;
+            }
+        }
+        return address.indexOf('.') >= 0 || address.indexOf(':') >= 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.HotKey;
+import com.example.url_shortener_backend.model.HotKeySnapshot;
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.util.HeavyHitters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Click sink tracking the most frequently redirected links.
+ * <p>
+ * Receives clicks from the {@link ClickPipeline} as the {@code hot-keys} sink,
+ * so the redirect path only pays for publishing the click, and counts them in
+ * a {@link HeavyHitters} sketch owned by the consumer thread. Every
+ * {@code app.hot-keys.refresh-interval} the top {@code app.hot-keys.top-k}
+ * links are published as an immutable {@link HotKeySnapshot}; those with at
+ * least {@code app.hot-keys.min-clicks} estimated clicks are hot:
+ * <ul>
+ *     <li>They are pinned in the {@link UrlResolutionCache}, so they are never evicted for size</li>
+ *     <li>Their click counts are flushed less often by the {@link ClickAggregator}</li>
+ * </ul>
+ * Every {@code app.hot-keys.decay-interval} all counts are halved, so a link
+ * that stops being clicked cools down and is unpinned. Snapshots are only
+ * refreshed while clicks arrive.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyTracker implements ClickSink {
+
+    private final UrlResolutionCache resolutionCache;
+    private final HeavyHitters heavyHitters;
+    private final long minClicks;
+    private final long refreshIntervalNanos;
+    private final long decayIntervalNanos;
+
+    /** Written by the consumer thread only */
+    private long lastRefresh = System.nanoTime();
+    private long lastDecay = lastRefresh;
+
+    private volatile HotKeySnapshot snapshot = HotKeySnapshot.EMPTY;
+    private volatile Set<String> hot = Set.of();
+
+    public HotKeyTracker(UrlResolutionCache resolutionCache,
+                         @Value("${app.hot-keys.top-k:100}") int topK,
+                         @Value("${app.hot-keys.sketch-width:4096}") int sketchWidth,
+                         @Value("${app.hot-keys.sketch-depth:4}") int sketchDepth,
+                         @Value("${app.hot-keys.min-clicks:100}") long minClicks,
+                         @Value("${app.hot-keys.refresh-interval:1s}") Duration refreshInterval,
+                         @Value("${app.hot-keys.decay-interval:10s}") Duration decayInterval) {
+        this.resolutionCache = resolutionCache;
+        this.heavyHitters = new HeavyHitters(topK, sketchWidth, sketchDepth);
+        this.minClicks = minClicks;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.decayIntervalNanos = decayInterval.toNanos();
+        log.info("Tracking the {} most clicked links, pinning those with at least {} clicks per {}",
+                topK, minClicks, decayInterval);
+    }
+
+    @Override
+    public String name() {
+        return "hot-keys";
+    }
+
+    /**
+     * @return {@link OverflowPolicy#DROP}, losing a few clicks only makes the estimates slightly lower
+     */
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.DROP;
+    }
+
+    /**
+     * Counts a batch of clicks and refreshes the hot links when due.
+     *
+     * @param clicks the clicks, oldest first
+     */
+    @Override
+    public void write(List<RecordedClick> clicks) {
+        for (RecordedClick click : clicks) {
+            heavyHitters.add(click.getShortId());
+        }
+        long now = System.nanoTime();
+        if (now - lastDecay >= decayIntervalNanos) {
+            heavyHitters.decay();
+            lastDecay = now;
+        }
+        if (now - lastRefresh >= refreshIntervalNanos) {
+            refresh();
+            lastRefresh = now;
+        }
+    }
+
+    /**
+     * Tests whether a link is hot. Safe to call from any thread.
+     *
+     * @param shortId the short identifier of the URL
+     * @return true if the link was hot at the last refresh
+     */
+    public boolean isHot(String shortId) {
+        return hot.contains(shortId);
+    }
+
+    /**
+     * @return the most clicked links at the last refresh, most clicked first
+     */
+    public HotKeySnapshot snapshot() {
+        return snapshot;
+    }
+
+    private void refresh() {
+        List<Map.Entry<String, Long>> top = heavyHitters.top();
+        List<HotKey> keys = new ArrayList<>(top.size());
+        Set<String> hotKeys = new HashSet<>();
+        for (Map.Entry<String, Long> entry : top) {
+            boolean pinned = entry.getValue() >= minClicks;
+            if (pinned) {
+                hotKeys.add(entry.getKey());
+            }
+            keys.add(new HotKey(entry.getKey(), entry.getValue(), pinned));
+        }
+        if (!hotKeys.equals(hot)) {
+            resolutionCache.pin(hotKeys);
+            hot = Set.copyOf(hotKeys);
+        }
+        snapshot = new HotKeySnapshot(Instant.now(), heavyHitters.total(), List.copyOf(keys));
+    }
+}
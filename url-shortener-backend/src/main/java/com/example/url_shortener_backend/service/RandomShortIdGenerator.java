@@ -0,0 +1,41 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.util.Base62;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link ShortIdGenerator} that draws random base62 IDs and retries on collision.
+ * <p>
+ * Every attempt costs an existence query unless the {@link ShortIdFilter}
+ * rules the ID out, and the number of attempts grows as the keyspace fills up. Kept as an opt-in alternative to
+ * {@link BlockLeasingShortIdGenerator} for deployments without a counter collection.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.short-id.strategy", havingValue = "random")
+public class RandomShortIdGenerator implements ShortIdGenerator {
+
+    /** Length of generated short IDs */
+    static final int SHORT_ID_LENGTH = 6;
+
+    private final UrlRepository urlRepository;
+    private final ShortenerMetrics metrics;
+    private final ShortIdFilter shortIdFilter;
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String shortId = Base62.encode(random.nextLong(Base62.keyspace(SHORT_ID_LENGTH)), SHORT_ID_LENGTH);
+        while (shortIdFilter.mightContain(shortId) && urlRepository.existsByShortId(shortId)) {
+            metrics.shortIdRetry("random");
+            shortId = Base62.encode(random.nextLong(Base62.keyspace(SHORT_ID_LENGTH)), SHORT_ID_LENGTH);
+        }
+        return shortId;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.ReactiveUrlRepository;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.service.ShortenerMetrics.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link UrlService} for the redirect and stats
+ * endpoints of the {@code reactive} deployment profile.
+ * <p>
+ * Resolution goes through the same {@link UrlResolutionCache} as the servlet
+ * stack, loading misses with the {@link ReactiveUrlRepository}. Clicks are
+ * published to the {@link ClickPipeline}, which only touches in-memory
+ * buffers, so a redirect never waits on a database write; the exception is
+ * a URL with a click limit, whose clicks are claimed with a non-blocking
+ * conditional update. Archived URLs are looked up and restored with the
+ * blocking {@link UrlRepository} on the bounded elastic scheduler.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUrlService {
+    private final ReactiveUrlRepository urlRepository;
+    private final UrlRepository archiveRepository;
+    private final UrlResolutionCache resolutionCache;
+    private final ClickPipeline clickPipeline;
+    private final ShortenerMetrics metrics;
+    private final ShortIdFilter shortIdFilter;
+
+    /**
+     * Retrieves a URL entity by its short identifier for its statistics.
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the {@link Url} entity, or failing with
+     *         {@link UrlNotFoundException} if no URL is found
+     */
+    public Mono<Url> getUrlByShortId(String shortId) {
+        return urlRepository.findForStatsByShortId(shortId)
+                .switchIfEmpty(Mono.fromCallable(() -> archiveRepository.findArchivedByShortId(shortId).orElse(null))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .switchIfEmpty(Mono.error(() -> notFound(Operation.LOOKUP, shortId)));
+    }
+
+    /**
+     * Resolves a short identifier to its redirect target through the resolution cache.
+     * <p>
+     * Short IDs rejected by the {@link ShortIdFilter} fail without a cache or database lookup.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return a Mono emitting the redirect target, or failing with
+     *         {@link UrlNotFoundException} if no active URL is found
+     */
+    public Mono<ResolvedUrl> resolveShortId(String shortId) {
+        return findActive(shortId)
+                .switchIfEmpty(Mono.error(() -> notFound(Operation.REDIRECT, shortId)));
+    }
+
+    /**
+     * Records a click for a URL and emits its redirect target.
+     * <p>
+     * The click is published as a fire-and-forget signal to the
+     * {@link ClickPipeline}, whose sinks persist it in the background.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @param context the request details of the click
+     * @return a Mono emitting the redirect target, or failing with
+     *         {@link UrlNotFoundException} if no active URL is found
+     */
+    public Mono<ResolvedUrl> incrementClickCount(String shortId, ClickContext context) {
+        return findAndRecordClick(shortId, context)
+                .switchIfEmpty(Mono.error(() -> new UrlNotFoundException("URL not found for id: " + shortId)));
+    }
+
+    /**
+     * Records a click for a URL and emits its redirect target, completing
+     * empty instead of failing for unknown short IDs.
+     * <p>
+     * Used by the redirect endpoint so that scanner traffic does not cost an
+     * exception per miss. The miss is still counted. Clicks on URLs with a
+     * click limit are claimed in the database before the target is emitted.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @param context the request details of the click
+     * @return a Mono emitting the redirect target, or empty if no active URL is found
+     */
+    public Mono<ResolvedUrl> findAndRecordClick(String shortId, ClickContext context) {
+        return findActive(shortId)
+                .filterWhen(url -> url.isClickLimited() ? claimClick(shortId) : Mono.just(true))
+                .doOnNext(url -> clickPipeline.publish(shortId, context, !url.isClickLimited()))
+                .switchIfEmpty(Mono.fromRunnable(() -> metrics.notFound(Operation.REDIRECT)));
+    }
+
+    private Mono<ResolvedUrl> findActive(String shortId) {
+        if (!shortIdFilter.mightContain(shortId)) {
+            return Mono.empty();
+        }
+        return Mono.fromFuture(() -> resolutionCache.getAsync(shortId, id -> urlRepository.findResolvedByShortId(id)
+                        .switchIfEmpty(restore(id))
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture()))
+                .flatMap(Mono::justOrEmpty)
+                .filter(url -> url.isResolvableAt(Instant.now()));
+    }
+
+    private Mono<ResolvedUrl> restore(String shortId) {
+        return Mono.fromCallable(() -> archiveRepository.restoreArchived(shortId)
+                        .map(url -> {
+                            metrics.archiveRestored();
+                            return ResolvedUrl.of(url);
+                        })
+                        .orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Boolean> claimClick(String shortId) {
+        return urlRepository.claimClick(shortId)
+                .flatMap(claim -> {
+                    if (claim == ClickClaim.GRANTED) {
+                        return Mono.just(true);
+                    }
+                    // The shared cache client blocks, so fleet-wide invalidation runs off the event loop
+                    return Mono.fromRunnable(() -> {
+                                if (claim == ClickClaim.GRANTED_LAST) {
+                                    resolutionCache.invalidate(shortId);
+                                } else {
+                                    resolutionCache.invalidateLocal(shortId);
+                                }
+                            })
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .thenReturn(claim == ClickClaim.GRANTED_LAST);
+                });
+    }
+
+    private UrlNotFoundException notFound(Operation operation, String shortId) {
+        metrics.notFound(operation);
+        return new UrlNotFoundException("URL not found for id: " + shortId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SharedResolutionCache} backed by Redis.
+ * <p>
+ * Each link is stored as a string under {@code url:r:<shortId>}, holding a
+ * one-character active flag followed by the original URL and, for links with
+ * an expiry time or click limit, a newline and both values, with a
+ * time-to-live of {@code app.cache.l2.ttl}. Evictions delete the key and publish the short
+ * ID on the {@code app.cache.l2.channel} channel, which every instance
+ * subscribes to; new short IDs are published on the same channel (see
+ * {@link com.example.url_shortener_backend.config.ResolutionInvalidationSubscriber}).
+ * </p>
+ * <p>
+ * An instance that read the old document just before the change may write it
+ * back to Redis just after the eviction. Every eviction is therefore repeated
+ * after {@code app.cache.l2.re-evict-delay}, once such loads have completed.
+ * </p>
+ * <p>
+ * Redis errors are logged, counted in {@code url.cache.l2.errors} and
+ * treated as misses.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true")
+public class RedisResolutionCache implements SharedResolutionCache {
+
+    /** Prefix of the keys holding resolved links */
+    static final String KEY_PREFIX = "url:r:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final String channel;
+    private final Duration reEvictDelay;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final ScheduledExecutorService reEvictions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shared-cache-re-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RedisResolutionCache(StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.l2.ttl:1h}") Duration ttl,
+                                @Value("${app.cache.l2.channel:url-resolution-invalidations}") String channel,
+                                @Value("${app.cache.l2.re-evict-delay:2s}") Duration reEvictDelay) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.channel = channel;
+        this.reEvictDelay = reEvictDelay;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.errors = Counter.builder("url.cache.l2.errors")
+                .description("Failed operations against the shared resolution cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ResolvedUrl> get(String shortId) {
+        String value;
+        try {
+            value = redisTemplate.opsForValue().get(KEY_PREFIX + shortId);
+        } catch (RuntimeException e) {
+            failed("read", shortId, e);
+            return Optional.empty();
+        }
+        if (value == null || value.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(decode(shortId, value));
+    }
+
+    @Override
+    public void put(ResolvedUrl resolvedUrl) {
+        try {
+            Duration entryTtl = ttl;
+            if (resolvedUrl.getExpiresAt() != null) {
+                Duration untilExpiry = Duration.between(Instant.now(), resolvedUrl.getExpiresAt());
+                if (untilExpiry.toMillis() <= 0) {
+                    return;
+                }
+                entryTtl = untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+            }
+            redisTemplate.opsForValue().set(KEY_PREFIX + resolvedUrl.getShortId(), encode(resolvedUrl), entryTtl);
+        } catch (RuntimeException e) {
+            failed("write", resolvedUrl.getShortId(), e);
+        }
+    }
+
+    @Override
+    public void evict(String shortId) {
+        deleteAndPublish(shortId);
+        reEvictions.schedule(() -> deleteAndPublish(shortId), reEvictDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void announce(String shortId) {
+        try {
+            redisTemplate.convertAndSend(channel, shortId);
+        } catch (RuntimeException e) {
+            // Other instances keep a negative entry until it expires from their local cache
+            failed("announce", shortId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reEvictions.shutdownNow();
+    }
+
+    private void deleteAndPublish(String shortId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + shortId);
+            redisTemplate.convertAndSend(channel, shortId);
+        } catch (RuntimeException e) {
+            // Other instances keep their copy until it expires from their local cache
+            failed("evict", shortId, e);
+        }
+    }
+
+    static String encode(ResolvedUrl resolvedUrl) {
+        String value = (resolvedUrl.isActive() ? '1' : '0') + resolvedUrl.getOriginalUrl();
+        if (resolvedUrl.getExpiresAt() == null && resolvedUrl.getMaxClicks() == null) {
+            return value;
+        }
+        // Validated URLs never contain whitespace, so the newline is unambiguous
+        return value + '\n'
+                + (resolvedUrl.getExpiresAt() == null ? "" : resolvedUrl.getExpiresAt().toEpochMilli()) + ' '
+                + (resolvedUrl.getMaxClicks() == null ? "" : resolvedUrl.getMaxClicks());
+    }
+
+    static ResolvedUrl decode(String shortId, String value) {
+        boolean active = value.charAt(0) == '1';
+        int limits = value.indexOf('\n');
+        if (limits < 0) {
+            return new ResolvedUrl(shortId, value.substring(1), active);
+        }
+        int separator = value.indexOf(' ', limits);
+        String expiresAt = value.substring(limits + 1, separator);
+        String maxClicks = value.substring(separator + 1);
+        return new ResolvedUrl(shortId, value.substring(1, limits), active,
+                expiresAt.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(expiresAt)),
+                maxClicks.isEmpty() ? null : Integer.valueOf(maxClicks));
+    }
+
+    private void failed(String operation, String shortId, RuntimeException e) {
+        errors.increment();
+        log.warn("Shared resolution cache {} failed for {}: {}", operation, shortId, e.toString());
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("url.cache.l2.requests")
+                .description("Lookups in the shared resolution cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
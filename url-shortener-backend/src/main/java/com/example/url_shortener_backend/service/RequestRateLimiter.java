@@ -0,0 +1,109 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.RateLimitedEndpoint;
+import com.example.url_shortener_backend.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client admission control for the shorten and redirect endpoints.
+ * <p>
+ * Each {@link RateLimitedEndpoint} has its own {@link TokenBucketLimiter},
+ * configured with {@code app.rate-limit.<endpoint>.capacity} (the burst a
+ * client may send at once) and {@code app.rate-limit.<endpoint>.refill-per-second}
+ * (its sustained rate). Clients are identified by the API key sent in the
+ * {@code app.rate-limit.api-key-header} header if it is one of
+ * {@code app.rate-limit.api-keys}, and by their IP address otherwise, so that
+ * made-up keys cannot be used to get fresh buckets. Rejections are counted in
+ * {@code http.ratelimit.rejected}.
+ * </p>
+ * <p>
+ * The limits apply per instance unless {@link SharedRateLimitSync} is enabled.
+ * </p>
+ */
+@Component
+public class RequestRateLimiter {
+
+    private final boolean enabled;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final Map<RateLimitedEndpoint, TokenBucketLimiter> limiters = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> rejections = new EnumMap<>(RateLimitedEndpoint.class);
+
+    public RequestRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${app.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                              @Value("${app.rate-limit.api-keys:}") Set<String> apiKeys,
+                              @Value("${app.rate-limit.max-clients:100000}") int maxClients,
+                              @Value("${app.rate-limit.stripes:64}") int stripes,
+                              @Value("${app.rate-limit.shorten.capacity:20}") int shortenCapacity,
+                              @Value("${app.rate-limit.shorten.refill-per-second:1}") double shortenRefill,
+                              @Value("${app.rate-limit.shorten-batch.capacity:5}") int batchCapacity,
+                              @Value("${app.rate-limit.shorten-batch.refill-per-second:0.1}") double batchRefill,
+                              @Value("${app.rate-limit.redirect.capacity:200}") int redirectCapacity,
+                              @Value("${app.rate-limit.redirect.refill-per-second:50}") double redirectRefill) {
+        this.enabled = enabled;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        limiters.put(RateLimitedEndpoint.SHORTEN,
+                new TokenBucketLimiter(shortenCapacity, shortenRefill, maxClients, stripes));
+        limiters.put(RateLimitedEndpoint.SHORTEN_BATCH,
+                new TokenBucketLimiter(batchCapacity, batchRefill, maxClients, stripes));
+        limiters.put(RateLimitedEndpoint.REDIRECT,
+                new TokenBucketLimiter(redirectCapacity, redirectRefill, maxClients, stripes));
+        limiters.forEach((endpoint, limiter) -> {
+            rejections.put(endpoint, Counter.builder("http.ratelimit.rejected")
+                    .description("Requests rejected by the per-client rate limit")
+                    .tag("endpoint", endpoint.getName())
+                    .register(meterRegistry));
+            Gauge.builder("http.ratelimit.clients", limiter, TokenBucketLimiter::size)
+                    .description("Clients with a rate limit bucket")
+                    .tag("endpoint", endpoint.getName())
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Takes a token for a request from the bucket of its client.
+     *
+     * @param endpoint the endpoint the request is for
+     * @param apiKey the value of the API key header, may be null
+     * @param clientAddress the IP address of the client
+     * @return 0 if the request is admitted, otherwise the number of seconds to send as {@code Retry-After}
+     */
+    public long admit(RateLimitedEndpoint endpoint, String apiKey, String clientAddress) {
+        if (!enabled) {
+            return 0;
+        }
+        // No IP address starts with "k:", so addresses are used as keys as they are
+        String key = apiKey != null && apiKeys.contains(apiKey) ? "k:" + apiKey : String.valueOf(clientAddress);
+        long waitNanos = limiters.get(endpoint).tryAcquire(key, System.nanoTime());
+        if (waitNanos == 0) {
+            return 0;
+        }
+        rejections.get(endpoint).increment();
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * @return the name of the header carrying the API key
+     */
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    /**
+     * @return the limiters per endpoint, for sharing their usage between instances
+     */
+    Map<RateLimitedEndpoint, TokenBucketLimiter> getLimiters() {
+        return limiters;
+    }
+}
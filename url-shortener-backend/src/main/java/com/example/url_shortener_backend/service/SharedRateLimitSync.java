@@ -0,0 +1,100 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.RateLimitedEndpoint;
+import com.example.url_shortener_backend.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the rate limit usage of each client between instances through Redis.
+ * <p>
+ * Enabled with {@code app.rate-limit.shared.enabled}. Admission decisions
+ * stay local, so the request path never waits on Redis. Every
+ * {@code app.rate-limit.shared.sync-interval-ms}, each instance adds the
+ * tokens its clients have taken to a counter per endpoint and client,
+ * {@code rl:<endpoint>:<client>}, in one pipelined round trip, and takes the
+ * tokens the other instances have used since the previous sync out of its
+ * local buckets. A client spreading its requests over instances therefore
+ * gets the configured rate overall, give or take one sync interval of
+ * traffic and one burst per instance it reaches for the first time.
+ * </p>
+ * <p>
+ * Counters expire once a bucket would have refilled completely. Redis errors
+ * are logged and counted in {@code http.ratelimit.shared.errors}; the local
+ * limits keep applying.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.shared.enabled", havingValue = "true")
+public class SharedRateLimitSync {
+
+    /** Prefix of the keys holding shared usage counters */
+    static final String KEY_PREFIX = "rl:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RequestRateLimiter rateLimiter;
+    private final Duration syncInterval;
+    private final Counter errors;
+
+    public SharedRateLimitSync(StringRedisTemplate redisTemplate,
+                               RequestRateLimiter rateLimiter,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.rate-limit.shared.sync-interval-ms:500}") long syncIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.rateLimiter = rateLimiter;
+        this.syncInterval = Duration.ofMillis(syncIntervalMs);
+        this.errors = Counter.builder("http.ratelimit.shared.errors")
+                .description("Failed rate limit usage syncs with Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exchanges the usage since the previous sync with the other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.shared.sync-interval-ms:500}")
+    public void sync() {
+        for (Map.Entry<RateLimitedEndpoint, TokenBucketLimiter> entry : rateLimiter.getLimiters().entrySet()) {
+            try {
+                sync(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                errors.increment();
+                log.warn("Failed to share {} rate limit usage: {}", entry.getKey().getName(), e.toString());
+            }
+        }
+    }
+
+    private void sync(RateLimitedEndpoint endpoint, TokenBucketLimiter limiter) {
+        List<Map.Entry<String, Long>> admissions = limiter.takeAdmissions();
+        if (admissions.isEmpty()) {
+            return;
+        }
+        String prefix = KEY_PREFIX + endpoint.getName() + ':';
+        long ttlMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(limiter.refillNanos()), 2 * syncInterval.toMillis());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Map.Entry<String, Long> admission : admissions) {
+                redis.incrBy(prefix + admission.getKey(), admission.getValue());
+                redis.pExpire(prefix + admission.getKey(), ttlMillis);
+            }
+            return null;
+        });
+        for (int i = 0; i < admissions.size(); i++) {
+            Map.Entry<String, Long> admission = admissions.get(i);
+            limiter.applySharedUsage(admission.getKey(), (Long) results.get(2 * i), admission.getValue());
+        }
+    }
+}
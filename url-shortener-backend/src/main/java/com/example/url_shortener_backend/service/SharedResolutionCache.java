@@ -0,0 +1,55 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+
+import java.util.Optional;
+
+/**
+ * Second-level resolution cache shared by every instance of the application.
+ * <p>
+ * Sits between each instance's {@link UrlResolutionCache} and MongoDB, so
+ * that a link resolved by one instance is served to the others without a
+ * database read, and carries invalidations to every instance. Only resolved
+ * links are shared; unknown short IDs are cached locally, where the
+ * {@link ShortIdFilter} already answers most of them.
+ * </p>
+ * <p>
+ * Enabled with {@code app.cache.l2.enabled}; see {@link RedisResolutionCache}.
+ * Implementations must not throw: an unreachable shared tier is reported as
+ * a miss so that lookups fall back to the database.
+ * </p>
+ */
+public interface SharedResolutionCache {
+
+    /**
+     * Looks up a resolved link in the shared tier.
+     *
+     * @param shortId the short identifier to resolve
+     * @return the resolved URL, or empty if the shared tier does not hold it
+     */
+    Optional<ResolvedUrl> get(String shortId);
+
+    /**
+     * Stores a link loaded from the database in the shared tier.
+     *
+     * @param resolvedUrl the resolution to share
+     */
+    void put(ResolvedUrl resolvedUrl);
+
+    /**
+     * Removes a link from the shared tier and tells every instance to drop
+     * its local copy.
+     *
+     * @param shortId the short identifier to invalidate
+     */
+    void evict(String shortId);
+
+    /**
+     * Tells every instance that a short ID has been created, so that they
+     * drop a negative entry they may have cached for it. The shared tier
+     * holds no entry for a new short ID, so nothing is removed from it.
+     *
+     * @param shortId the short identifier just created
+     */
+    void announce(String shortId);
+}
@@ -0,0 +1,304 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.util.ScalableBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over every known short ID.
+ * <p>
+ * Lets the redirect path answer scanner and bot traffic for random paths
+ * with a 404 without querying the database, and lets alias checks and the
+ * random ID generator skip existence queries for IDs that are definitely
+ * free. The filter:
+ * <ul>
+ *     <li>Is loaded from a local snapshot file, if present, when the application starts</li>
+ *     <li>Is brought up to date in the background by streaming the short IDs
+ *     created since the snapshot, or the whole {@code urls} and
+ *     {@code urls_archive} collections without one</li>
+ *     <li>Receives every short ID created by this instance before it is written</li>
+ *     <li>Receives the short IDs created by other instances from the shared
+ *     cache's pub/sub channel, when {@code app.cache.l2.enabled} is set</li>
+ *     <li>Also picks up short IDs created by other instances by re-streaming
+ *     recent documents every sync interval, which covers missed messages</li>
+ *     <li>Is written back to the snapshot file periodically and on shutdown</li>
+ * </ul>
+ * Until the first build has completed, and whenever no sync has succeeded
+ * for {@code app.short-id-filter.max-staleness}, every short ID is reported
+ * as possibly present, so lookups fall through to the database.
+ * </p>
+ * <p>
+ * A rejected short ID must really not exist. Without the shared cache, a
+ * short ID created on another instance is only picked up by the next sync
+ * and would be answered with a 404 until then, so the filter is only enabled
+ * by default together with {@code app.cache.l2.enabled}. Enabling it without
+ * the shared cache is only safe for a single instance.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ShortIdFilter {
+
+    private final UrlRepository urlRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Path snapshotPath;
+    private final Duration syncOverlap;
+    private final int batchSize;
+    private final long maxStalenessNanos;
+    private final Counter rejections;
+
+    private final ScalableBloomFilter filter;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private volatile boolean ready;
+
+    /** {@code _id} of the newest document streamed into the filter */
+    private volatile String highWaterMark;
+
+    /** {@link System#nanoTime()} at the end of the last successful sync */
+    private volatile long lastSyncedAt;
+
+    public ShortIdFilter(UrlRepository urlRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.short-id-filter.enabled:${app.cache.l2.enabled:false}}") boolean enabled,
+                         @Value("${app.cache.l2.enabled:false}") boolean sharedCacheEnabled,
+                         @Value("${app.short-id-filter.expected-insertions:1000000}") long expectedInsertions,
+                         @Value("${app.short-id-filter.false-positive-rate:0.001}") double falsePositiveRate,
+                         @Value("${app.short-id-filter.snapshot-path:}") String snapshotPath,
+                         @Value("${app.short-id-filter.sync-overlap:10s}") Duration syncOverlap,
+                         @Value("${app.short-id-filter.batch-size:10000}") int batchSize,
+                         @Value("${app.short-id-filter.max-staleness:10s}") Duration maxStaleness) {
+        this.urlRepository = urlRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.syncOverlap = syncOverlap;
+        this.batchSize = batchSize;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.filter = enabled ? loadSnapshot() : null;
+        if (enabled && !sharedCacheEnabled) {
+            log.warn("Short ID filter enabled without the shared cache: with several instances, "
+                    + "links created on another instance are not found until the next sync");
+        }
+
+        this.rejections = Counter.builder("url.shortid.filter.rejections")
+                .description("Short ID lookups answered as not found by the Bloom filter")
+                .register(meterRegistry);
+        if (enabled) {
+            Gauge.builder("url.shortid.filter.elements", filter, ScalableBloomFilter::approximateElementCount)
+                    .description("Approximate number of short IDs in the Bloom filter")
+                    .register(meterRegistry);
+            Gauge.builder("url.shortid.filter.size", filter, ScalableBloomFilter::sizeInBytes)
+                    .description("Memory used by the Bloom filter")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Tests whether a short ID may exist.
+     *
+     * @param shortId the short identifier to look up
+     * @return false only if the short ID definitely does not exist
+     */
+    public boolean mightContain(String shortId) {
+        if (!ready || System.nanoTime() - lastSyncedAt > maxStalenessNanos || filter.mightContain(shortId)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Reports whether the initial build has completed and lookups are being filtered.
+     *
+     * @return true once the filter holds every known short ID
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds a short ID to the filter.
+     * <p>
+     * Must be called before the document is written, so that a redirect
+     * racing with the create is never rejected. Adding an ID whose write then
+     * fails only costs a false positive. Also called with the short IDs
+     * published by other instances.
+     * </p>
+     *
+     * @param shortId the short identifier about to be created, or just created elsewhere
+     */
+    public void put(String shortId) {
+        if (enabled) {
+            filter.put(shortId);
+        }
+    }
+
+    /**
+     * Streams short IDs created since the last sync into the filter.
+     * <p>
+     * Starts the initial build in the background if it has not completed yet.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${app.short-id-filter.sync-interval-ms:1000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            startBuild();
+            return;
+        }
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync short ID filter, retrying on next sync", e);
+        }
+    }
+
+    /**
+     * Writes the filter to the snapshot file, if one is configured.
+     */
+    @Scheduled(fixedDelayString = "${app.short-id-filter.snapshot-interval-ms:300000}",
+            initialDelayString = "${app.short-id-filter.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        if (!ready || snapshotPath == null) {
+            return;
+        }
+        // Everything up to the mark is in the filter before the filter is written
+        String mark = highWaterMark;
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(mark == null ? "" : mark);
+                filter.writeTo(out);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write short ID filter snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    private void startBuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                String mark = highWaterMark;
+                if (mark != null && !urlRepository.existsById(mark)) {
+                    // The snapshot was taken against another database; its extra entries are harmless
+                    log.info("Short ID filter snapshot does not match the database, streaming all short IDs");
+                    highWaterMark = null;
+                }
+                boolean fullBuild = highWaterMark == null;
+                long added = catchUp();
+                if (fullBuild) {
+                    added += addArchived();
+                }
+                ready = true;
+                log.info("Short ID filter ready after streaming {} short IDs ({} bytes)", added, filter.sizeInBytes());
+            } catch (RuntimeException e) {
+                log.warn("Failed to build short ID filter, lookups go to the database until it is built", e);
+            } finally {
+                building.set(false);
+            }
+        }, "short-id-filter-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private synchronized long catchUp() {
+        String mark = highWaterMark;
+        long added = 0;
+        try (Stream<Url> urls = urlRepository.streamShortIds(mark == null ? null : rewind(mark), batchSize)) {
+            Iterator<Url> iterator = urls.iterator();
+            while (iterator.hasNext()) {
+                Url url = iterator.next();
+                filter.put(url.getShortId());
+                mark = url.getId();
+                added++;
+            }
+        }
+        highWaterMark = mark;
+        lastSyncedAt = System.nanoTime();
+        return added;
+    }
+
+    /**
+     * Adds the short IDs of archived URLs, which are no longer streamed from
+     * {@code urls}. A snapshot already holds the ones archived after it was built.
+     */
+    private long addArchived() {
+        long added = 0;
+        try (Stream<Url> urls = urlRepository.streamArchivedShortIds(batchSize)) {
+            Iterator<Url> iterator = urls.iterator();
+            while (iterator.hasNext()) {
+                filter.put(iterator.next().getShortId());
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Moves the resume point back by the sync overlap.
+     * <p>
+     * Object IDs are generated by each instance from its own clock, so a
+     * document created on another instance can carry a slightly older
+     * {@code _id} than the newest one already streamed.
+     * </p>
+     */
+    private String rewind(String mark) {
+        long timestamp = Math.max(0, new ObjectId(mark).getTimestamp() - syncOverlap.toSeconds());
+        return String.format("%08x%016x", timestamp, 0L);
+    }
+
+    private ScalableBloomFilter loadSnapshot() {
+        if (snapshotPath != null && Files.isRegularFile(snapshotPath)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+                String mark = in.readUTF();
+                ScalableBloomFilter snapshot = ScalableBloomFilter.readFrom(in);
+                if (snapshot.isSizedFor(expectedInsertions, falsePositiveRate)) {
+                    highWaterMark = mark.isEmpty() ? null : mark;
+                    log.info("Loaded short ID filter snapshot with about {} short IDs from {}",
+                            snapshot.approximateElementCount(), snapshotPath);
+                    return snapshot;
+                }
+                log.info("Ignoring short ID filter snapshot {} sized for different settings", snapshotPath);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to read short ID filter snapshot {}, rebuilding from the database", snapshotPath, e);
+            }
+        }
+        return new ScalableBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+}
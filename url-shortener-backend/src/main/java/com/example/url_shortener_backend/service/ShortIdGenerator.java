@@ -0,0 +1,43 @@
+package com.example.url_shortener_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strategy for allocating short IDs for newly created URLs.
+ * <p>
+ * The active implementation is selected with the {@code app.short-id.strategy}
+ * property:
+ * <ul>
+ *     <li>{@code counter} (default) - {@link BlockLeasingShortIdGenerator}</li>
+ *     <li>{@code random} - {@link RandomShortIdGenerator}</li>
+ * </ul>
+ * </p>
+ */
+public interface ShortIdGenerator {
+
+    /**
+     * Allocates the next short ID.
+     *
+     * @return a short ID that has not been handed out before
+     */
+    String nextId();
+
+    /**
+     * Allocates several short IDs at once.
+     * <p>
+     * Implementations should override this when they can allocate a batch more
+     * cheaply than by calling {@link #nextId()} repeatedly.
+     * </p>
+     *
+     * @param count the number of IDs to allocate
+     * @return the allocated short IDs
+     */
+    default List<String> nextIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(nextId());
+        }
+        return ids;
+    }
+}
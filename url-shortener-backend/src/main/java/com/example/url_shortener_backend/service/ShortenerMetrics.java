@@ -0,0 +1,148 @@
+package com.example.url_shortener_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the URL shortener hot paths.
+ * <p>
+ * Provides:
+ * <ul>
+ *     <li>The {@code url.service} timer, tagged with the service method and
+ *     the exception it threw ({@code none} on success), published with
+ *     percentile histogram buckets</li>
+ *     <li>The {@code url.shortid.retries} counter of short ID allocations
+ *     retried after a collision</li>
+ *     <li>The {@code url.alias.conflicts} counter of rejected custom aliases</li>
+ *     <li>The {@code url.not.found} counter of lookups for unknown or
+ *     inactive short IDs</li>
+ *     <li>The {@code url.archive.restored} counter of archived URLs moved back
+ *     to the {@code urls} collection on access</li>
+ *     <li>The {@code url.dedup.hits} counter of creates answered with the
+ *     short ID of an identical, already shortened URL</li>
+ * </ul>
+ * Meters on the success path are created up front, so timing a call only
+ * costs two clock reads and a histogram update.
+ * </p>
+ */
+@Component
+public class ShortenerMetrics {
+
+    /**
+     * Timed service operations, tagged by the {@link UrlService} method name.
+     */
+    public enum Operation {
+        CREATE("createShortUrl"),
+        LOOKUP("getUrlByShortId"),
+        REDIRECT("incrementClickCount");
+
+        private final String method;
+
+        Operation(String method) {
+            this.method = method;
+        }
+    }
+
+    static final String TIMER_NAME = "url.service";
+    static final String RETRIES_NAME = "url.shortid.retries";
+    static final String ALIAS_CONFLICTS_NAME = "url.alias.conflicts";
+    static final String NOT_FOUND_NAME = "url.not.found";
+    static final String ARCHIVE_RESTORED_NAME = "url.archive.restored";
+    static final String DEDUP_HITS_NAME = "url.dedup.hits";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Operation, Timer> successTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> notFoundCounters = new EnumMap<>(Operation.class);
+
+    public ShortenerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Operation operation : Operation.values()) {
+            successTimers.put(operation, timer(operation, "none"));
+            notFoundCounters.put(operation, Counter.builder(NOT_FOUND_NAME)
+                    .description("Lookups of unknown or inactive short IDs")
+                    .tag("method", operation.method)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs and times a service operation.
+     *
+     * @param operation the operation being timed
+     * @param body the operation
+     * @return the result of the operation
+     */
+    public <T> T time(Operation operation, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            T result = body.get();
+            successTimers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            timer(operation, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts a short ID allocation that is retried after a collision.
+     *
+     * @param source where the retry happened, e.g. {@code create} or {@code batch}
+     */
+    public void shortIdRetry(String source) {
+        meterRegistry.counter(RETRIES_NAME, "source", source).increment();
+    }
+
+    /**
+     * Counts a custom alias rejected because it is already taken.
+     *
+     * @param source where the conflict was detected, e.g. {@code create} or {@code batch}
+     */
+    public void aliasConflict(String source) {
+        meterRegistry.counter(ALIAS_CONFLICTS_NAME, "source", source).increment();
+    }
+
+    /**
+     * Counts a lookup of an unknown or inactive short ID.
+     *
+     * @param operation the operation that looked up the short ID
+     */
+    public void notFound(Operation operation) {
+        notFoundCounters.get(operation).increment();
+    }
+
+    /**
+     * Counts an archived URL restored because it was accessed.
+     */
+    public void archiveRestored() {
+        meterRegistry.counter(ARCHIVE_RESTORED_NAME).increment();
+    }
+
+    /**
+     * Counts a create answered with the short ID of an identical URL.
+     *
+     * @param source where the duplicate was found, e.g. {@code create} or {@code batch}
+     */
+    public void deduplicated(String source) {
+        meterRegistry.counter(DEDUP_HITS_NAME, "source", source).increment();
+    }
+
+    private Timer timer(Operation operation, String exception) {
+        return Timer.builder(TIMER_NAME)
+                .description("Latency of URL service operations")
+                .tag("method", operation.method)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
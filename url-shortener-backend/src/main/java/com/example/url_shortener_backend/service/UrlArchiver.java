@@ -0,0 +1,94 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background job moving cold URLs out of the {@code urls} collection.
+ * <p>
+ * URLs not accessed for {@code app.archive.idle-after}, or never accessed and
+ * created before then, are moved in batches to the {@code urls_archive}
+ * collection, keeping the working set of {@code urls} and its indexes small.
+ * Archived URLs stay resolvable: a redirect that misses {@code urls} looks
+ * the short ID up in the archive and restores the document, and statistics
+ * and the {@link ExportService export} are served from the archive directly.
+ * </p>
+ * <p>
+ * Runs every {@code app.archive.interval-ms}. Archiving is idempotent, so
+ * several instances may run it concurrently. Clicks on a URL still buffered
+ * in the {@link ClickAggregator} when it is archived are counted on its
+ * archive copy by the next flush.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UrlArchiver {
+
+    private final UrlRepository urlRepository;
+    private final boolean enabled;
+    private final Duration idleAfter;
+    private final int batchSize;
+    private final Counter archived;
+
+    public UrlArchiver(UrlRepository urlRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.archive.enabled:true}") boolean enabled,
+                       @Value("${app.archive.idle-after:180d}") Duration idleAfter,
+                       @Value("${app.archive.batch-size:1000}") int batchSize) {
+        this.urlRepository = urlRepository;
+        this.enabled = enabled;
+        this.idleAfter = idleAfter;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("url.archive.archived")
+                .description("URLs moved to the archive collection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives every URL that is cold at the time of the run.
+     *
+     * @return the number of URLs archived
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}",
+            initialDelayString = "${app.archive.interval-ms:3600000}")
+    public long archiveColdUrls() {
+        if (!enabled) {
+            return 0;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleAfter);
+        long total = 0;
+        String afterId = null;
+        try {
+            List<Url> batch;
+            do {
+                batch = urlRepository.findColdUrls(cutoff, afterId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int moved = urlRepository.archive(batch, cutoff);
+                archived.increment(moved);
+                total += moved;
+                afterId = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to archive cold URLs after {} moved, retrying on next run", total, e);
+            return total;
+        }
+
+        if (total > 0) {
+            log.info("Archived {} URLs not accessed since {}", total, cutoff);
+        }
+        return total;
+    }
+}
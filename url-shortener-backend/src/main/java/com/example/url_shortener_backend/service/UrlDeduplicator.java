@@ -0,0 +1,47 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Decides which creates are deduplicated and computes their fingerprint.
+ * <p>
+ * When enabled with {@code app.dedup.enabled}, shortening a URL that has
+ * already been shortened returns the existing short ID instead of creating a
+ * new document. Only plain creates are deduplicated: a request with a custom
+ * alias, an expiry time or a click limit asks for a link of its own and
+ * always gets one. The fingerprint is stored in the uniquely indexed
+ * {@code urlHash} field, so concurrent creates of the same URL end up with
+ * the same short ID.
+ * </p>
+ */
+@Component
+public class UrlDeduplicator {
+
+    private final boolean enabled;
+
+    public UrlDeduplicator(@Value("${app.dedup.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the fingerprint under which a create is deduplicated.
+     *
+     * @param originalUrl the URL to be shortened, as normalized by {@link UrlNormalizer}
+     * @param customAlias optional custom alias for the shortened URL
+     * @param expiresAt optional expiry time
+     * @param maxClicks optional click limit
+     * @return the fingerprint, or empty if the create is not deduplicated
+     */
+    public Optional<String> fingerprint(String originalUrl, String customAlias, LocalDateTime expiresAt, Integer maxClicks) {
+        boolean plain = (customAlias == null || customAlias.isEmpty()) && expiresAt == null && maxClicks == null;
+        if (!enabled || !plain) {
+            return Optional.empty();
+        }
+        return Optional.of(UrlNormalizer.fingerprint(originalUrl));
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache for short ID resolution on the redirect path.
+ * <p>
+ * Backed by Caffeine, whose W-TinyLFU admission policy keeps frequently
+ * requested links resident even when scanners flood the cache with one-off
+ * lookups. The cache provides:
+ * <ul>
+ *     <li>A maximum size and a time-to-live for resolved links, shortened to
+ *     the link's own expiry time if it has one</li>
+ *     <li>Negative caching of unknown short IDs with a shorter time-to-live</li>
+ *     <li>Hit, miss and eviction metrics published to Micrometer</li>
+ *     <li>An optional {@link SharedResolutionCache} consulted on a miss before
+ *     the database, and notified of invalidations so that they reach every instance</li>
+ *     <li>Preloading of resolved links by the {@link CacheWarmer}, which never
+ *     overwrites an entry and loses against concurrent invalidations</li>
+ *     <li>A pinned tier of hot links chosen by the {@link HotKeyTracker}: pinned
+ *     entries weigh nothing, so size-based eviction never removes them, while
+ *     they still expire and are invalidated like any other entry</li>
+ *     <li>The {@value #FIRST_HIT_METRIC} gauge: the time from JVM start until
+ *     the first link was served from the cache</li>
+ * </ul>
+ * The cache is asynchronous underneath so that the reactive stack can load
+ * entries without blocking; the servlet stack uses its synchronous view.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UrlResolutionCache {
+
+    /** Name under which the cache metrics are published */
+    static final String CACHE_NAME = "urlResolution";
+
+    /** Time gauge of the first cache hit since JVM start */
+    static final String FIRST_HIT_METRIC = "application.first.cached.redirect.time";
+
+    private final AsyncCache<String, Optional<ResolvedUrl>> cache;
+    private final SharedResolutionCache sharedCache;
+
+    /** Number of invalidations so far, so that preloads can tell whether one raced with them */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** JVM uptime in milliseconds at the first cache hit, -1 until then */
+    private final AtomicLong firstHitUptime = new AtomicLong(-1);
+
+    /** Short IDs whose entries are exempt from size-based eviction */
+    private volatile Set<String> pinned = Set.of();
+
+    public UrlResolutionCache(long maximumSize, Duration ttl, Duration negativeTtl, MeterRegistry meterRegistry) {
+        this(maximumSize, ttl, negativeTtl, meterRegistry, Optional.empty());
+    }
+
+    @Autowired
+    public UrlResolutionCache(@Value("${app.cache.resolution.maximum-size:100000}") long maximumSize,
+                              @Value("${app.cache.resolution.ttl:10m}") Duration ttl,
+                              @Value("${app.cache.resolution.negative-ttl:30s}") Duration negativeTtl,
+                              MeterRegistry meterRegistry,
+                              Optional<SharedResolutionCache> sharedCache) {
+        this.sharedCache = sharedCache.orElse(null);
+        this.cache = Caffeine.newBuilder()
+                // Entries of pinned links weigh nothing, so the maximum size only bounds the others
+                .maximumWeight(maximumSize)
+                .weigher((String key, Optional<ResolvedUrl> value) -> pinned.contains(key) ? 0 : 1)
+                .expireAfter(new ResolutionExpiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        TimeGauge.builder(FIRST_HIT_METRIC, firstHitUptime, TimeUnit.MILLISECONDS,
+                        uptime -> uptime.get() < 0 ? Double.NaN : uptime.get())
+                .description("Time from JVM start until the first link was resolved from the cache")
+                .register(meterRegistry);
+        Gauge.builder("url.cache.pinned", this, resolutionCache -> resolutionCache.pinned.size())
+                .description("Hot links exempt from size-based eviction of the resolution cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached resolution for a short ID, loading it on a miss.
+     * <p>
+     * Concurrent misses for the same short ID invoke the loader only once,
+     * and only if the shared cache does not hold the link either. An empty
+     * result from the loader is cached as a negative entry.
+     * </p>
+     *
+     * @param shortId the short identifier to resolve
+     * @param loader function loading the resolution from the database
+     * @return the resolved URL, or empty if the short ID is unknown
+     */
+    public Optional<ResolvedUrl> get(String shortId, Function<String, Optional<ResolvedUrl>> loader) {
+        if (firstHitUptime.get() < 0) {
+            recordFirstHit(shortId);
+        }
+        if (sharedCache == null) {
+            return cache.synchronous().get(shortId, loader);
+        }
+        return cache.synchronous().get(shortId, key -> sharedCache.get(key).or(() -> share(loader.apply(key))));
+    }
+
+    /**
+     * Returns the cached resolution for a short ID, loading it asynchronously on a miss.
+     * <p>
+     * Used by the reactive stack. Concurrent misses for the same short ID share
+     * a single load; an empty result is cached as a negative entry. The shared
+     * cache client blocks, so it is queried on the cache's executor.
+     * </p>
+     *
+     * @param shortId the short identifier to resolve
+     * @param loader function starting a non-blocking load from the database
+     * @return a future completing with the resolved URL, or empty if the short ID is unknown
+     */
+    public CompletableFuture<Optional<ResolvedUrl>> getAsync(
+            String shortId, Function<String, CompletableFuture<Optional<ResolvedUrl>>> loader) {
+        if (firstHitUptime.get() < 0) {
+            recordFirstHit(shortId);
+        }
+        if (sharedCache == null) {
+            return cache.get(shortId, (key, executor) -> loader.apply(key));
+        }
+        return cache.get(shortId, (key, executor) -> CompletableFuture
+                .supplyAsync(() -> sharedCache.get(key), executor)
+                .thenCompose(shared -> shared.isPresent()
+                        ? CompletableFuture.completedFuture(shared)
+                        : loader.apply(key).thenApplyAsync(this::share, executor)));
+    }
+
+    /**
+     * Removes the cached resolution for a short ID on every instance.
+     * <p>
+     * Must be called whenever an existing URL is deactivated or changed. The
+     * local entry is dropped after the shared one, so that a concurrent miss
+     * cannot copy the stale shared entry back into it.
+     * </p>
+     *
+     * @param shortId the short identifier to invalidate
+     */
+    public void invalidate(String shortId) {
+        invalidations.incrementAndGet();
+        if (sharedCache != null) {
+            sharedCache.evict(shortId);
+        }
+        cache.synchronous().invalidate(shortId);
+    }
+
+    /**
+     * Removes the negative entry a new short ID may have left behind, on
+     * every instance.
+     * <p>
+     * A short ID probed before it was created, such as a custom alias, is
+     * cached as unknown by whichever instance served the probe. With a shared
+     * cache the creation is announced to every instance; without one, only
+     * this instance's entry is removed.
+     * </p>
+     *
+     * @param shortId the short identifier just created
+     */
+    public void invalidateCreated(String shortId) {
+        invalidateLocal(shortId);
+        if (sharedCache != null) {
+            sharedCache.announce(shortId);
+        }
+    }
+
+    /**
+     * Removes the cached resolution for a short ID on this instance only.
+     * <p>
+     * Used for invalidations received from other instances.
+     * </p>
+     *
+     * @param shortId the short identifier to invalidate
+     */
+    public void invalidateLocal(String shortId) {
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidate(shortId);
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #preload(Collection, long)}.
+     * <p>
+     * Must be taken before the links to preload are read from the database.
+     * </p>
+     *
+     * @return the number of invalidations so far
+     */
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Adds resolved links to this instance's cache without loading them.
+     * <p>
+     * Links already cached or being loaded are left alone, and the shared
+     * cache is not written to. If any link was invalidated since
+     * {@code stamp} was taken, the links added by this call are removed
+     * again, since they may have been read before the change.
+     * </p>
+     *
+     * @param urls the resolved links, read after {@code stamp} was taken
+     * @param stamp the {@link #invalidationStamp()} taken before reading them
+     * @return the number of links added
+     */
+    public int preload(Collection<ResolvedUrl> urls, long stamp) {
+        ConcurrentMap<String, CompletableFuture<Optional<ResolvedUrl>>> entries = cache.asMap();
+        Map<String, CompletableFuture<Optional<ResolvedUrl>>> added = new HashMap<>();
+        for (ResolvedUrl url : urls) {
+            CompletableFuture<Optional<ResolvedUrl>> entry = CompletableFuture.completedFuture(Optional.of(url));
+            if (entries.putIfAbsent(url.getShortId(), entry) == null) {
+                added.put(url.getShortId(), entry);
+            }
+        }
+
+        // Invalidations count before they remove, so a later one removes what was added here
+        if (invalidations.get() != stamp) {
+            added.forEach(entries::remove);
+            return 0;
+        }
+        return added.size();
+    }
+
+    /**
+     * Replaces the set of pinned short IDs.
+     * <p>
+     * Cached entries of short IDs that become pinned or unpinned are written
+     * again, so that their weight is recomputed; links not cached yet are
+     * pinned when they are loaded. A write loses against a concurrent
+     * invalidation or load of the same short ID.
+     * </p>
+     *
+     * @param shortIds the short IDs to pin, typically a few hundred at most
+     */
+    public void pin(Set<String> shortIds) {
+        Set<String> previous = pinned;
+        pinned = Set.copyOf(shortIds);
+        for (String shortId : shortIds) {
+            if (!previous.contains(shortId)) {
+                reweigh(shortId);
+            }
+        }
+        for (String shortId : previous) {
+            if (!pinned.contains(shortId)) {
+                reweigh(shortId);
+            }
+        }
+    }
+
+    /**
+     * @return the short IDs currently pinned
+     */
+    public Set<String> pinned() {
+        return pinned;
+    }
+
+    private void reweigh(String shortId) {
+        ConcurrentMap<String, CompletableFuture<Optional<ResolvedUrl>>> entries = cache.asMap();
+        CompletableFuture<Optional<ResolvedUrl>> cached = entries.get(shortId);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            entries.replace(shortId, cached, CompletableFuture.completedFuture(cached.join()));
+        }
+    }
+
+    /**
+     * Records the JVM uptime if a link is resolved from the cache for the first time.
+     * <p>
+     * Looks the short ID up through the map view, which does not count as a
+     * hit or miss in the cache statistics; once a hit was recorded, callers
+     * skip this check.
+     * </p>
+     */
+    private void recordFirstHit(String shortId) {
+        CompletableFuture<Optional<ResolvedUrl>> cached = cache.asMap().get(shortId);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally() || cached.join().isEmpty()) {
+            return;
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstHitUptime.compareAndSet(-1, uptime)) {
+            log.info("First link resolved from the cache {} ms after JVM start", uptime);
+        }
+    }
+
+    private Optional<ResolvedUrl> share(Optional<ResolvedUrl> loaded) {
+        loaded.ifPresent(sharedCache::put);
+        return loaded;
+    }
+
+    /**
+     * Expiry policy applying a separate time-to-live to negative entries.
+     */
+    private static final class ResolutionExpiry implements Expiry<String, Optional<ResolvedUrl>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private ResolutionExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<ResolvedUrl> value, long currentTime) {
+            if (value.isEmpty()) {
+                return negativeTtlNanos;
+            }
+            Instant expiresAt = value.get().getExpiresAt();
+            if (expiresAt == null) {
+                return ttlNanos;
+            }
+            // Expired links are rejected on read; evicting them then frees the memory
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiresAt.toEpochMilli() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<ResolvedUrl> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<ResolvedUrl> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
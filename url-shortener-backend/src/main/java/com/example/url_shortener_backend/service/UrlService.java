@@ -1,12 +1,20 @@
 package com.example.url_shortener_backend.service;
 
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ResolvedUrl;
 import com.example.url_shortener_backend.model.Url;
 import com.example.url_shortener_backend.repository.UrlRepository;
 import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.service.ShortenerMetrics.Operation;
+import com.example.url_shortener_backend.util.UrlNormalizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,19 +26,25 @@ import org.slf4j.LoggerFactory;
  *     <li>Creating shortened URLs</li>
  *     <li>Retrieving URL information</li>
  *     <li>Tracking URL usage statistics</li>
+ *     <li>Enforcing expiry times and click limits</li>
  * </ul>
+ * URLs moved to the archive by the {@link UrlArchiver} are found through a
+ * slower second lookup and restored when they are redirected to.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class UrlService {
     private final UrlRepository urlRepository;
+    private final ClickPipeline clickPipeline;
+    private final UrlResolutionCache resolutionCache;
+    private final ShortIdGenerator shortIdGenerator;
+    private final ShortenerMetrics metrics;
+    private final ShortIdFilter shortIdFilter;
+    private final UrlDeduplicator deduplicator;
     
-    /** Characters used for generating random short IDs */
-    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    
-    /** Length of generated short IDs */
-    private static final int SHORT_ID_LENGTH = 6;
+    /** Maximum number of generated short IDs tried before giving up on a create */
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
     
     private static final Logger log = LoggerFactory.getLogger(UrlService.class);
     
@@ -38,7 +52,9 @@ public class UrlService {
      * Creates a new shortened URL.
      * <p>
      * If a custom alias is provided, it will be used as the short ID after checking
-     * for uniqueness. Otherwise, a random short ID will be generated.
+     * for uniqueness. Otherwise, a short ID is allocated by the configured
+     * {@link ShortIdGenerator}. Uniqueness is ultimately enforced by the unique
+     * index on {@code shortId}, so concurrent creates cannot both succeed.
      * </p>
      *
      * @param originalUrl the URL to be shortened
@@ -47,85 +63,230 @@ public class UrlService {
      * @throws IllegalArgumentException if the custom alias is already in use
      */
     public Url createShortUrl(String originalUrl, String customAlias) {
-        String shortId;
+        return createShortUrl(originalUrl, customAlias, null, null);
+    }
+    
+    /**
+     * Creates a new shortened URL that expires or stops after a number of clicks.
+     * <p>
+     * The URL is validated and normalized by {@link UrlNormalizer} and stored
+     * in normalized form. Documents stored before URLs were normalized are
+     * normalized when they are loaded for a redirect, see {@link ResolvedUrl}.
+     * </p>
+     * <p>
+     * With deduplication enabled, a create without alias, expiry time or click
+     * limit returns the existing URL if the same normalized URL has already
+     * been shortened. The existing document is found by its fingerprint and,
+     * failing that, the new one is written with an upsert on the fingerprint,
+     * so concurrent creates of the same URL return the same short ID.
+     * </p>
+     *
+     * @param originalUrl the URL to be shortened
+     * @param customAlias optional custom alias for the shortened URL
+     * @param expiresAt optional time after which the URL stops redirecting
+     * @param maxClicks optional maximum number of redirects
+     * @return the created {@link Url} entity
+     * @throws IllegalArgumentException if the URL is invalid or the custom alias is already in use
+     */
+    public Url createShortUrl(String originalUrl, String customAlias, LocalDateTime expiresAt, Integer maxClicks) {
+        return metrics.time(Operation.CREATE, () -> create(originalUrl, customAlias, expiresAt, maxClicks));
+    }
+    
+    private Url create(String submittedUrl, String customAlias, LocalDateTime expiresAt, Integer maxClicks) {
+        String originalUrl = UrlNormalizer.normalize(submittedUrl);
+        if (originalUrl == null) {
+            throw new IllegalArgumentException("Invalid URL format");
+        }
+        boolean hasAlias = customAlias != null && !customAlias.isEmpty();
+        if (hasAlias && shortIdFilter.mightContain(customAlias) && (urlRepository.existsByShortId(customAlias)
+                || !urlRepository.findArchivedShortIds(List.of(customAlias)).isEmpty())) {
+            metrics.aliasConflict("create");
+            throw new IllegalArgumentException("Custom alias already exists");
+        }
         
-        if (customAlias != null && !customAlias.isEmpty()) {
-            if (urlRepository.existsByShortId(customAlias)) {
-                throw new IllegalArgumentException("Custom alias already exists");
+        Optional<String> urlHash = deduplicator.fingerprint(originalUrl, customAlias, expiresAt, maxClicks);
+        if (urlHash.isPresent()) {
+            Optional<Url> existing = urlRepository.findByUrlHash(urlHash.get());
+            if (existing.isPresent()) {
+                metrics.deduplicated("create");
+                return existing.get();
             }
-            shortId = customAlias;
-        } else {
-            shortId = generateUniqueShortId();
         }
         
-        Url url = new Url();
-        url.setOriginalUrl(originalUrl);
-        url.setShortId(shortId);
-        url.setCreatedAt(LocalDateTime.now());
-        url.setClickCount(0);
-        
-        return urlRepository.save(url);
+        for (int attempt = 1; ; attempt++) {
+            String shortId = hasAlias ? customAlias : shortIdGenerator.nextId();
+            
+            Url url = new Url();
+            url.setOriginalUrl(originalUrl);
+            url.setShortId(shortId);
+            url.setCreatedAt(LocalDateTime.now());
+            url.setClickCount(0);
+            url.setExpiresAt(expiresAt);
+            url.setMaxClicks(maxClicks);
+            url.setUrlHash(urlHash.orElse(null));
+            
+            shortIdFilter.put(shortId);
+            try {
+                Url savedUrl = urlHash.isPresent() ? urlRepository.insertIfHashAbsent(url) : urlRepository.save(url);
+                if (!shortId.equals(savedUrl.getShortId())) {
+                    // A concurrent create of the same URL won the upsert
+                    metrics.deduplicated("create");
+                    return savedUrl;
+                }
+                resolutionCache.invalidateCreated(shortId);
+                return savedUrl;
+            } catch (DuplicateKeyException e) {
+                if (hasAlias) {
+                    metrics.aliasConflict("create");
+                    throw new IllegalArgumentException("Custom alias already exists", e);
+                }
+                if (attempt >= MAX_ALLOCATION_ATTEMPTS) {
+                    throw e;
+                }
+                // A generated ID can clash with a custom alias, or with a random ID of the legacy generator
+                // if app.short-id.min-length was lowered to its length
+                log.warn("Generated short ID {} is already taken, allocating another", shortId);
+                metrics.shortIdRetry("create");
+            }
+        }
     }
     
     /**
-     * Retrieves a URL entity by its short identifier.
+     * Retrieves a URL entity by its short identifier for its statistics.
+     * <p>
+     * Archived URLs are returned from the archive without being restored.
+     * The read may be served by a secondary, see {@code app.mongo.read-preference.stats}.
+     * </p>
      *
      * @param shortId the short identifier of the URL
      * @return the {@link Url} entity if found
      * @throws UrlNotFoundException if no URL is found with the given short ID
      */
     public Url getUrlByShortId(String shortId) {
-        return urlRepository.findByShortId(shortId)
-                .orElseThrow(() -> new UrlNotFoundException("URL not found for id: " + shortId));
+        return metrics.time(Operation.LOOKUP, () -> urlRepository.findForStatsByShortId(shortId)
+                .or(() -> urlRepository.findArchivedByShortId(shortId))
+                .orElseThrow(() -> notFound(Operation.LOOKUP, shortId)));
+    }
+    
+    /**
+     * Resolves a short identifier to its redirect target.
+     * <p>
+     * Unlike {@link #getUrlByShortId(String)}, this method is served from the
+     * {@link UrlResolutionCache} and only hits the database on a cache miss,
+     * with a projection query that never loads the full document. Short IDs
+     * rejected by the {@link ShortIdFilter} are reported as not found without
+     * either. Unknown, deactivated and expired short IDs are all reported as
+     * not found.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @return the resolved redirect target
+     * @throws UrlNotFoundException if no active URL is found with the given short ID
+     */
+    public ResolvedUrl resolveShortId(String shortId) {
+        return findActive(shortId).orElseThrow(() -> notFound(Operation.REDIRECT, shortId));
     }
     
     /**
-     * Increments the click count for a URL and updates its last accessed timestamp.
+     * Records a click for a URL and returns its redirect target.
      * <p>
      * This method is called when a shortened URL is accessed for redirection.
+     * The click is published to the {@link ClickPipeline} and persisted
+     * asynchronously by its sinks. Clicks on URLs with a click limit are
+     * counted synchronously instead, see
+     * {@link #findAndRecordClick(String, ClickContext)}.
      * </p>
      *
      * @param shortId the short identifier of the URL
-     * @return the updated {@link Url} entity
-     * @throws UrlNotFoundException if no URL is found with the given short ID
+     * @param context the request details of the click
+     * @return the resolved redirect target
+     * @throws UrlNotFoundException if no active URL is found with the given short ID
      */
-    public Url incrementClickCount(String shortId) {
-        log.info("Incrementing click count for shortId: {}", shortId);
-        Url url = getUrlByShortId(shortId);
-        log.info("Current click count: {}", url.getClickCount());
-        
-        url.setClickCount(url.getClickCount() + 1);
-        url.onUpdate();
-        
-        Url savedUrl = urlRepository.save(url);
-        log.info("New click count after save: {}", savedUrl.getClickCount());
-        return savedUrl;
+    public ResolvedUrl incrementClickCount(String shortId, ClickContext context) {
+        return findAndRecordClick(shortId, context)
+                .orElseThrow(() -> new UrlNotFoundException("URL not found for id: " + shortId));
     }
     
     /**
-     * Generates a unique random short identifier.
+     * Records a click for a URL and returns its redirect target, without
+     * throwing for unknown short IDs.
+     * <p>
+     * Used by the redirect endpoint, where misses are frequent enough under
+     * scanner traffic that building and dispatching an exception for each one
+     * is measurable. The miss is still counted.
+     * </p>
      * <p>
-     * The generated ID:
-     * <ul>
-     *     <li>Is {@value #SHORT_ID_LENGTH} characters long</li>
-     *     <li>Contains only alphanumeric characters</li>
-     *     <li>Is guaranteed to be unique in the database</li>
-     * </ul>
+     * For a URL with a click limit, the click is claimed in the database
+     * before redirecting, so the limit holds exactly across instances; the
+     * claim that uses up the limit invalidates the URL on every instance.
      * </p>
      *
-     * @return a unique short identifier
+     * @param shortId the short identifier of the URL
+     * @param context the request details of the click
+     * @return the resolved redirect target, or empty if no active URL is found
      */
-    private String generateUniqueShortId() {
-        Random random = new Random();
-        String shortId;
-        do {
-            StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < SHORT_ID_LENGTH; i++) {
-                builder.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+    public Optional<ResolvedUrl> findAndRecordClick(String shortId, ClickContext context) {
+        return metrics.time(Operation.REDIRECT, () -> {
+            Optional<ResolvedUrl> url = findActive(shortId);
+            if (url.isEmpty() || (url.get().isClickLimited() && !claimClick(shortId))) {
+                metrics.notFound(Operation.REDIRECT);
+                return Optional.empty();
             }
-            shortId = builder.toString();
-        } while (urlRepository.existsByShortId(shortId));
-        
-        return shortId;
+            clickPipeline.publish(shortId, context, !url.get().isClickLimited());
+            return url;
+        });
+    }
+    
+    /**
+     * Deactivates a shortened URL so that it can no longer be used for redirection.
+     * <p>
+     * The document is kept for statistics; its cached resolution is invalidated.
+     * An archived URL is restored first. A deduplicated URL gives up its
+     * fingerprint, so shortening the same URL again creates a new, active link.
+     * </p>
+     *
+     * @param shortId the short identifier of the URL
+     * @throws UrlNotFoundException if no URL is found with the given short ID
+     */
+    public void deactivateUrl(String shortId) {
+        Url url = urlRepository.findByShortId(shortId)
+                .or(() -> urlRepository.restoreArchived(shortId))
+                .orElseThrow(() -> notFound(Operation.LOOKUP, shortId));
+        url.setActive(false);
+        url.setUrlHash(null);
+        urlRepository.save(url);
+        resolutionCache.invalidate(shortId);
+    }
+    
+    private Optional<ResolvedUrl> findActive(String shortId) {
+        if (!shortIdFilter.mightContain(shortId)) {
+            return Optional.empty();
+        }
+        return resolutionCache.get(shortId, this::load)
+                .filter(url -> url.isResolvableAt(Instant.now()));
+    }
+    
+    private Optional<ResolvedUrl> load(String shortId) {
+        return urlRepository.findResolvedByShortId(shortId).or(() -> {
+            Optional<Url> restored = urlRepository.restoreArchived(shortId);
+            restored.ifPresent(url -> metrics.archiveRestored());
+            return restored.map(ResolvedUrl::of);
+        });
+    }
+    
+    private boolean claimClick(String shortId) {
+        ClickClaim claim = urlRepository.claimClick(shortId);
+        if (claim == ClickClaim.GRANTED_LAST) {
+            resolutionCache.invalidate(shortId);
+        } else if (claim == ClickClaim.DENIED) {
+            // Used up on another instance, or the invalidation is still on its way
+            resolutionCache.invalidateLocal(shortId);
+        }
+        return claim != ClickClaim.DENIED;
+    }
+    
+    private UrlNotFoundException notFound(Operation operation, String shortId) {
+        metrics.notFound(operation);
+        return new UrlNotFoundException("URL not found for id: " + shortId);
     }
-} 
\ No newline at end of file
+}
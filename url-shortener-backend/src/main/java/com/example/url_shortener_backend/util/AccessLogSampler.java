@@ -0,0 +1,64 @@
+package com.example.url_shortener_backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a sampled access log to the {@code access} logger.
+ * <p>
+ * Only a fraction of requests is logged, so a busy redirect endpoint does not
+ * emit a line per hit; server errors are always logged. Each line records the
+ * sample rate so that counts read from the log can be scaled back up.
+ * </p>
+ */
+public final class AccessLogSampler {
+
+    /** Name of the logger the access log is written to */
+    public static final String LOGGER_NAME = "access";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate fraction of requests to log, from 0 (errors only) to 1 (every request)
+     */
+    public AccessLogSampler(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Access log sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decides whether a completed request is written to the access log.
+     *
+     * @param status the response status code
+     * @return true for server errors and for the sampled fraction of other requests
+     */
+    public boolean isSampled(int status) {
+        if (status >= 500) {
+            return true;
+        }
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Logs a completed request if it is sampled.
+     *
+     * @param method the HTTP method
+     * @param path the request path, without the query string
+     * @param status the response status code
+     * @param elapsedNanos the time taken to handle the request
+     */
+    public void log(String method, String path, int status, long elapsedNanos) {
+        if (!ACCESS_LOG.isInfoEnabled() || !isSampled(status)) {
+            return;
+        }
+        ACCESS_LOG.info("{} {} {} {}ms sample={}", method, path, status,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), status >= 500 ? 1.0 : sampleRate);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.url_shortener_backend.util;
+
+/**
+ * Base62 encoding of non-negative numbers using the short ID alphabet.
+ * <p>
+ * Encoded values are left-padded with the zero digit ({@code 'a'}) to a
+ * fixed length, so numbers below {@code 62^length} always map to strings
+ * of exactly that length.
+ * </p>
+ */
+public final class Base62 {
+
+    /** Characters used for short IDs, in digit order */
+    public static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /** Number of digits in the alphabet */
+    public static final int BASE = ALPHABET.length();
+
+    private Base62() {
+    }
+
+    /**
+     * Encodes a non-negative number as a base62 string of at least the given length.
+     *
+     * @param value the number to encode
+     * @param length the minimum length of the result
+     * @return the encoded string
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public static String encode(long value, int length) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot encode negative value: " + value);
+        }
+        char[] buffer = new char[Math.max(length, 11)];
+        int position = buffer.length;
+        do {
+            buffer[--position] = ALPHABET.charAt((int) (value % BASE));
+            value /= BASE;
+        } while (value > 0);
+        while (buffer.length - position < length) {
+            buffer[--position] = ALPHABET.charAt(0);
+        }
+        return new String(buffer, position, buffer.length - position);
+    }
+
+    /**
+     * Decodes a base62 string produced by {@link #encode(long, int)}.
+     *
+     * @param encoded the string to decode
+     * @return the decoded number
+     * @throws IllegalArgumentException if the string contains characters outside the alphabet
+     */
+    public static long decode(String encoded) {
+        long value = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            int digit = ALPHABET.indexOf(encoded.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid base62 character in: " + encoded);
+            }
+            value = value * BASE + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code 62^length}, the number of distinct strings of the given length.
+     *
+     * @param length the string length
+     * @return the size of the keyspace for that length
+     */
+    public static long keyspace(int length) {
+        long size = 1;
+        for (int i = 0; i < length; i++) {
+            size = Math.multiplyExact(size, BASE);
+        }
+        return size;
+    }
+}
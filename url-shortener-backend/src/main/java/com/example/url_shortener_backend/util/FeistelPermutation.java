@@ -0,0 +1,111 @@
+package com.example.url_shortener_backend.util;
+
+/**
+ * Keyed, reversible permutation of the integers {@code [0, domain)}.
+ * <p>
+ * Uses a balanced Feistel network over the smallest even number of bits that
+ * covers the domain, combined with cycle walking: results that fall outside
+ * the domain are permuted again until they land inside it. This makes the
+ * mapping a bijection on the domain itself, so sequential counter values can
+ * be turned into non-sequential short IDs without ever producing a collision.
+ * </p>
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long domain;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * Creates a permutation of {@code [0, domain)} derived from the given key.
+     *
+     * @param domain the number of values to permute, must be at least 2
+     * @param key the secret key selecting the permutation
+     */
+    public FeistelPermutation(long domain, long key) {
+        if (domain < 2) {
+            throw new IllegalArgumentException("Domain must contain at least two values");
+        }
+        this.domain = domain;
+        int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state = mix(state + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = state;
+        }
+    }
+
+    /**
+     * Maps a value to its permuted counterpart.
+     *
+     * @param value a value in {@code [0, domain)}
+     * @return the permuted value, also in {@code [0, domain)}
+     */
+    public long permute(long value) {
+        checkRange(value);
+        do {
+            value = encrypt(value);
+        } while (value >= domain);
+        return value;
+    }
+
+    /**
+     * Reverses {@link #permute(long)}.
+     *
+     * @param value a permuted value in {@code [0, domain)}
+     * @return the original value
+     */
+    public long inverse(long value) {
+        checkRange(value);
+        do {
+            value = decrypt(value);
+        } while (value >= domain);
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long round(long half, int index) {
+        return mix(half ^ roundKeys[index]) & halfMask;
+    }
+
+    private void checkRange(long value) {
+        if (value < 0 || value >= domain) {
+            throw new IllegalArgumentException("Value out of permutation domain: " + value);
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer, used as the Feistel round function.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
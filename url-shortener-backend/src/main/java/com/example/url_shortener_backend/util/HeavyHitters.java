@@ -0,0 +1,157 @@
+package com.example.url_shortener_backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming top-K of the most frequent strings, using a Count-Min Sketch.
+ * <p>
+ * Every element is counted in a Count-Min Sketch of {@code depth} rows of
+ * {@code width} counters with conservative update, so the estimated count of
+ * an element is never below its true count and exceeds it by at most
+ * {@code e / width} of all counted occurrences with probability
+ * {@code 1 - e^-depth}. The {@code k} elements with the highest estimates
+ * are kept with their estimates; an element displaces the lowest of them
+ * once its estimate is higher. Memory use is fixed, whatever the number of
+ * distinct elements.
+ * </p>
+ * <p>
+ * {@link #decay()} halves every count, so that repeated calls weigh recent
+ * occurrences more than old ones and the top-K follows shifting traffic.
+ * </p>
+ * <p>
+ * Not thread-safe: meant to be fed by a single thread, which publishes
+ * {@link #top()} to readers.
+ * </p>
+ */
+public final class HeavyHitters {
+
+    private final int k;
+    private final int depth;
+    private final int widthBits;
+    private final int widthMask;
+    private final long[] counters;
+    private final Map<String, Long> top;
+
+    /**
+     * Lowest estimate in {@link #top} when it was last looked up. Estimates
+     * only grow between decays, so it stays a lower bound and most elements
+     * are rejected without looking at the top-K.
+     */
+    private long floor;
+
+    /** Sum of all counted occurrences, decayed like the counters */
+    private long total;
+
+    /**
+     * Creates an empty tracker.
+     *
+     * @param k number of most frequent elements to keep
+     * @param width counters per sketch row, rounded up to a power of two
+     * @param depth number of sketch rows
+     */
+    public HeavyHitters(int k, int width, int depth) {
+        if (k <= 0 || width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("k, width and depth must be positive");
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.k = k;
+        this.depth = depth;
+        this.widthBits = Integer.numberOfTrailingZeros(roundedWidth);
+        this.widthMask = roundedWidth - 1;
+        this.counters = new long[depth * roundedWidth];
+        this.top = new HashMap<>(k * 2);
+    }
+
+    /**
+     * Counts one occurrence of an element.
+     *
+     * @param value the element
+     * @return the estimated count of the element
+     */
+    public long add(String value) {
+        long hash = ScalableBloomFilter.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        // Conservative update: only the counters at the current minimum can be exact
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, h1, h2)]);
+        }
+        estimate++;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, h1, h2);
+            if (counters[index] < estimate) {
+                counters[index] = estimate;
+            }
+        }
+        total++;
+
+        offer(value, estimate);
+        return estimate;
+    }
+
+    /**
+     * Halves every count.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+        total >>>= 1;
+        top.replaceAll((value, count) -> count >>> 1);
+        top.values().removeIf(count -> count == 0);
+        floor = 0;
+    }
+
+    /**
+     * @return the most frequent elements with their estimated counts, highest first
+     */
+    public List<Map.Entry<String, Long>> top() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(top.size());
+        top.forEach((value, count) -> entries.add(Map.entry(value, count)));
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries;
+    }
+
+    /**
+     * @return the number of occurrences counted, decayed like the counts
+     */
+    public long total() {
+        return total;
+    }
+
+    private void offer(String value, long estimate) {
+        if (top.replace(value, estimate) != null) {
+            return;
+        }
+        if (top.size() < k) {
+            top.put(value, estimate);
+            return;
+        }
+        if (estimate <= floor) {
+            return;
+        }
+
+        String lowest = null;
+        floor = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : top.entrySet()) {
+            if (entry.getValue() < floor) {
+                floor = entry.getValue();
+                lowest = entry.getKey();
+            }
+        }
+        if (estimate > floor) {
+            top.remove(lowest);
+            top.put(value, estimate);
+        }
+    }
+
+    private int index(int row, int h1, int h2) {
+        return (row << widthBits) + ((h1 + row * h2) & widthMask);
+    }
+}
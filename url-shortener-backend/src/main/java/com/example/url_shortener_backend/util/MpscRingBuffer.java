@@ -0,0 +1,155 @@
+package com.example.url_shortener_backend.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer.
+ * <p>
+ * Each slot carries a sequence number that tells producers and the consumer
+ * whose turn it is, after Dmitry Vyukov's bounded queue: a producer claims a
+ * slot with one compare-and-set on the tail and publishes the element with a
+ * volatile write of the slot sequence; the consumer owns the head and needs
+ * no atomic read-modify-write at all. Neither side ever takes a lock or
+ * waits for the other, and a full buffer is reported instead of blocking.
+ * </p>
+ * <p>
+ * The capacity is rounded up to a power of two. Only one thread may call
+ * {@link #poll()} and {@link #drainTo(Collection, int)}.
+ * </p>
+ *
+ * @param <E> the element type
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] elements;
+
+    /**
+     * Per slot: equal to the position for a slot free to be written at that
+     * position, position + 1 once the element for that position is published
+     */
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next position to read, written by the consumer only */
+    private volatile long head;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity the minimum number of elements the buffer can hold
+     * @throws IllegalArgumentException if the capacity is not positive or above 2^30
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room. Safe to call from any thread.
+     *
+     * @param element the element to add
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element from one lap earlier
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        elements[index] = element;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest element. Consumer thread only.
+     *
+     * @return the element, or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Moves up to {@code maxElements} elements into a collection. Consumer thread only.
+     *
+     * @param target the collection receiving the elements, oldest first
+     * @param maxElements the maximum number of elements moved
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of elements in the buffer. Exact only while no
+     * other thread is adding or removing elements.
+     *
+     * @return the number of elements, between 0 and the capacity
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Reports whether the buffer holds no published element.
+     *
+     * @return true if the buffer is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the maximum number of elements the buffer holds.
+     *
+     * @return the capacity, a power of two
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.url_shortener_backend.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings that grows as elements are added.
+ * <p>
+ * The filter is a chain of fixed-size stages. Once the newest stage holds
+ * its planned number of elements, a stage with twice the capacity and half
+ * the false positive rate is appended, so the overall false positive rate
+ * stays below twice the configured rate however many elements are added.
+ * Lookups check every stage; additions only write to the newest one.
+ * </p>
+ * <p>
+ * {@link #mightContain(String)} never returns false for an element that was
+ * added. Elements cannot be removed.
+ * </p>
+ */
+public final class ScalableBloomFilter {
+
+    /** Written at the start of a snapshot to detect foreign or outdated files */
+    private static final int SNAPSHOT_MAGIC = 0x53424631;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedInsertions number of elements the first stage is sized for
+     * @param falsePositiveRate target false positive rate of the first stage, between 0 and 1
+     */
+    public ScalableBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        stages.add(new Stage(expectedInsertions, falsePositiveRate));
+    }
+
+    private ScalableBloomFilter(List<Stage> stages) {
+        this.stages.addAll(stages);
+    }
+
+    /**
+     * Tests whether an element may have been added.
+     *
+     * @param value the element to look up
+     * @return false if the element was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an element to the filter.
+     *
+     * @param value the element to add
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return;
+            }
+        }
+        Stage current = stages.get(stages.size() - 1);
+        current.put(hash);
+        if (current.count.incrementAndGet() == current.capacity) {
+            grow(current);
+        }
+    }
+
+    /**
+     * Returns the approximate number of distinct elements added.
+     *
+     * @return the element count, which may miss elements mistaken for duplicates
+     */
+    public long approximateElementCount() {
+        return stages.stream().mapToLong(stage -> stage.count.get()).sum();
+    }
+
+    /**
+     * Returns the memory used by the bit arrays.
+     *
+     * @return the size of all stages, in bytes
+     */
+    public long sizeInBytes() {
+        return stages.stream().mapToLong(stage -> (long) stage.bits.length() * Long.BYTES).sum();
+    }
+
+    /**
+     * Checks whether a snapshot was taken with the same first-stage parameters.
+     *
+     * @param expectedInsertions the configured first-stage capacity
+     * @param falsePositiveRate the configured first-stage false positive rate
+     * @return true if the filter is sized as configured
+     */
+    public boolean isSizedFor(long expectedInsertions, double falsePositiveRate) {
+        Stage first = stages.get(0);
+        return first.capacity == expectedInsertions && first.falsePositiveRate == falsePositiveRate;
+    }
+
+    /**
+     * Writes the filter to a stream.
+     * <p>
+     * Elements added concurrently may or may not be included.
+     * </p>
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        List<Stage> snapshot = List.copyOf(stages);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(snapshot.size());
+        for (Stage stage : snapshot) {
+            out.writeLong(stage.capacity);
+            out.writeDouble(stage.falsePositiveRate);
+            out.writeLong(stage.count.get());
+            for (int i = 0; i < stage.bits.length(); i++) {
+                out.writeLong(stage.bits.get(i));
+            }
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in the stream to read from
+     * @return the filter
+     * @throws IOException if the stream cannot be read or does not contain a filter
+     */
+    public static ScalableBloomFilter readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a Bloom filter snapshot");
+        }
+        int stageCount = in.readInt();
+        List<Stage> stages = new CopyOnWriteArrayList<>();
+        for (int s = 0; s < stageCount; s++) {
+            Stage stage = new Stage(in.readLong(), in.readDouble());
+            stage.count.set(in.readLong());
+            for (int i = 0; i < stage.bits.length(); i++) {
+                stage.bits.set(i, in.readLong());
+            }
+            stages.add(stage);
+        }
+        if (stages.isEmpty()) {
+            throw new IOException("Bloom filter snapshot has no stages");
+        }
+        return new ScalableBloomFilter(stages);
+    }
+
+    private synchronized void grow(Stage full) {
+        if (stages.get(stages.size() - 1) == full) {
+            stages.add(new Stage(full.capacity * 2, full.falsePositiveRate / 2));
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A classic Bloom filter sized for a fixed number of elements.
+     */
+    private static final class Stage {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        private Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = Math.toIntExact(Math.max(1, (optimalBits + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        /**
+         * Derives the bit positions by double hashing (Kirsch and Mitzenmacher).
+         */
+        private boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash + 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash + 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+            }
+        }
+    }
+}
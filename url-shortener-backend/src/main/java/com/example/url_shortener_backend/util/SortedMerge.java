@@ -0,0 +1,78 @@
+package com.example.url_shortener_backend.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy merge of two iterators that are sorted by the same key.
+ * <p>
+ * Yields the elements of both iterators in key order, reading each one only
+ * as far as needed, so two server-side cursors can be merged without
+ * buffering either. When both iterators hold an element with the same key,
+ * the element of the primary iterator wins and the other one is skipped.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public final class SortedMerge<T> implements Iterator<T> {
+
+    private final Iterator<T> primary;
+    private final Iterator<T> secondary;
+    private final Comparator<? super T> order;
+
+    private T nextPrimary;
+    private T nextSecondary;
+
+    /**
+     * @param primary the iterator whose elements win ties
+     * @param secondary the other iterator
+     * @param order the order both iterators are sorted in
+     */
+    public SortedMerge(Iterator<T> primary, Iterator<T> secondary, Comparator<? super T> order) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.order = order;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPrimary == null && primary.hasNext()) {
+            nextPrimary = primary.next();
+        }
+        if (nextSecondary == null && secondary.hasNext()) {
+            nextSecondary = secondary.next();
+        }
+        return nextPrimary != null || nextSecondary != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T next;
+        if (nextSecondary == null) {
+            next = nextPrimary;
+            nextPrimary = null;
+            return next;
+        }
+        if (nextPrimary == null) {
+            next = nextSecondary;
+            nextSecondary = null;
+            return next;
+        }
+        int comparison = order.compare(nextPrimary, nextSecondary);
+        if (comparison > 0) {
+            next = nextSecondary;
+            nextSecondary = null;
+            return next;
+        }
+        if (comparison == 0) {
+            nextSecondary = null;
+        }
+        next = nextPrimary;
+        nextPrimary = null;
+        return next;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.url_shortener_backend.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter keeping one bucket per client key in a bounded,
+ * lock-striped map.
+ * <p>
+ * Every bucket holds up to {@code capacity} tokens and is refilled at
+ * {@code refillPerSecond}; a request takes one token or is rejected. Buckets
+ * are refilled lazily from the elapsed time when they are used, so there is
+ * no background task and an admission costs a hash lookup and a few
+ * arithmetic operations under the lock of one stripe. The keys are spread
+ * over a power-of-two number of stripes, each a small access-ordered map that
+ * evicts its least recently used bucket once it holds its share of
+ * {@code maxKeys}. An evicted client starts again with a full bucket, so
+ * {@code maxKeys} should comfortably exceed the number of clients active
+ * within the time it takes to refill a bucket.
+ * </p>
+ * <p>
+ * For limits shared between instances, {@link #takeAdmissions()} reports the
+ * tokens taken since the previous call and {@link #applySharedUsage(String, long, long)}
+ * takes the tokens other instances have used out of a local bucket.
+ * </p>
+ */
+public final class TokenBucketLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int stripeMask;
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param capacity the maximum number of tokens of a bucket, i.e. the allowed burst
+     * @param refillPerSecond the number of tokens added to a bucket per second
+     * @param maxKeys the maximum number of buckets kept
+     * @param stripes the number of independently locked stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if a parameter is not positive
+     */
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys, int stripes) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxKeys < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Rate limit capacity, refill rate, key count and stripes must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(Math.min(stripes, 1 << 16) * 2 - 1);
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        int keysPerStripe = Math.max(1, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of a client.
+     *
+     * @param key the client key
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, nowNanos);
+                stripe.put(key, bucket);
+            } else {
+                refill(bucket, nowNanos);
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                bucket.unshared++;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / tokensPerNano));
+        }
+    }
+
+    /**
+     * Returns the tokens taken from each bucket since the previous call and
+     * resets the counts.
+     *
+     * @return one entry per client that was admitted since the previous call
+     */
+    public List<Map.Entry<String, Long>> takeAdmissions() {
+        List<Map.Entry<String, Long>> admissions = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Map.Entry<String, Bucket> entry : stripe.entrySet()) {
+                    Bucket bucket = entry.getValue();
+                    if (bucket.unshared > 0) {
+                        admissions.add(Map.entry(entry.getKey(), bucket.unshared));
+                        bucket.unshared = 0;
+                    }
+                }
+            }
+        }
+        return admissions;
+    }
+
+    /**
+     * Takes the tokens used by other instances out of the bucket of a client.
+     * <p>
+     * {@code sharedTotal} is a counter of the tokens taken by all instances,
+     * which this instance has just increased by {@code reported}. The
+     * difference to the total seen on the previous call, less this
+     * instance's own share, was used elsewhere. Nothing is taken on the
+     * first call for a bucket, when there is no previous total.
+     * </p>
+     *
+     * @param key the client key
+     * @param sharedTotal the shared counter after adding this instance's admissions
+     * @param reported the admissions this instance has just added to the counter
+     */
+    public void applySharedUsage(String key, long sharedTotal, long reported) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                return;
+            }
+            if (bucket.sharedTotal >= 0 && sharedTotal > bucket.sharedTotal) {
+                long usedElsewhere = sharedTotal - bucket.sharedTotal - reported;
+                // A client over its limit everywhere stays rejected for at most one full refill
+                bucket.tokens = Math.max(-capacity, bucket.tokens - Math.max(0, usedElsewhere));
+            }
+            bucket.sharedTotal = sharedTotal;
+        }
+    }
+
+    /**
+     * Returns the number of buckets kept.
+     *
+     * @return the number of clients tracked, at most {@code maxKeys}
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the time it takes to refill an empty bucket.
+     *
+     * @return the refill time in nanoseconds
+     */
+    public long refillNanos() {
+        return (long) Math.ceil(capacity / tokensPerNano);
+    }
+
+    private void refill(Bucket bucket, long nowNanos) {
+        long elapsed = nowNanos - bucket.refilledAt;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * tokensPerNano);
+            bucket.refilledAt = nowNanos;
+        }
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    /**
+     * Tokens of a single client.
+     */
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        /** Admissions not yet reported by {@link #takeAdmissions()} */
+        private long unshared;
+
+        /** Shared counter seen by the last {@link #applySharedUsage(String, long, long)}, -1 before */
+        private long sharedTotal = -1;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    /**
+     * Access-ordered map of buckets evicting its least recently used entry when full.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxKeys;
+
+        private Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
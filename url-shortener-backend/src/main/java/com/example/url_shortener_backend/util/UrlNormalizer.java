@@ -0,0 +1,361 @@
+package com.example.url_shortener_backend.util;
+
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Validation, normalization and fingerprinting of original URLs.
+ * <p>
+ * URLs are checked and normalized by a hand-written scanner that reads each
+ * character once, so validation time is linear in the length of the input
+ * and cannot be blown up by crafted input the way a backtracking regex can.
+ * An accepted URL:
+ * <ul>
+ *     <li>Is at most {@value #MAX_LENGTH} characters long, surrounding whitespace excluded</li>
+ *     <li>Uses the {@code http} or {@code https} scheme, {@code http} if none is given</li>
+ *     <li>Has a host name of at least two labels, with no user info</li>
+ *     <li>Contains no control characters</li>
+ * </ul>
+ * The normalized form is an absolute ASCII URL that is safe to send as a
+ * {@code Location} header as is:
+ * <ul>
+ *     <li>The scheme and host are lowercased, and an internationalized host
+ *     name is converted to punycode</li>
+ *     <li>The default port of the scheme is dropped, and an empty path becomes {@code /}</li>
+ *     <li>Percent-encoded unreserved characters are decoded, other
+ *     percent-encodings get uppercase hex digits, and a stray {@code %} is
+ *     encoded as {@code %25}</li>
+ *     <li>Characters not allowed in their part of the URL, including
+ *     non-ASCII ones, are percent-encoded as UTF-8</li>
+ * </ul>
+ * Normalizing a normalized URL returns it unchanged.
+ * </p>
+ */
+public final class UrlNormalizer {
+
+    /** Maximum length of an accepted URL */
+    public static final int MAX_LENGTH = 2048;
+
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /** ASCII characters allowed unencoded in the path, query and fragment */
+    private static final boolean[] ALLOWED = new boolean[128];
+
+    /** ASCII characters that never need percent-encoding */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+            UNRESERVED[c - 'a' + 'A'] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c : "-._~".toCharArray()) {
+            UNRESERVED[c] = true;
+        }
+        System.arraycopy(UNRESERVED, 0, ALLOWED, 0, ALLOWED.length);
+        for (char c : "!$&'()*+,;=:@/?".toCharArray()) {
+            ALLOWED[c] = true;
+        }
+    }
+
+    private static final Base64.Encoder FINGERPRINT_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * Checks whether a URL is accepted, without building its normalized form.
+     *
+     * @param url the URL to check
+     * @return true if {@link #normalize(String)} would return a URL
+     */
+    public static boolean isValid(String url) {
+        return url != null && scan(url, null);
+    }
+
+    /**
+     * Validates and normalizes a URL.
+     *
+     * @param url the URL to normalize
+     * @return the normalized URL, or null if the URL is not accepted
+     */
+    public static String normalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(url.length() + 8);
+        return scan(url, out) ? out.toString() : null;
+    }
+
+    /**
+     * Computes the deduplication fingerprint of a normalized URL: its
+     * SHA-256 digest, base64url encoded without padding.
+     * <p>
+     * A cryptographic hash is used rather than a faster non-cryptographic one
+     * because the fingerprint is the only thing compared: a collision would
+     * hand out a short ID pointing to a different URL.
+     * </p>
+     *
+     * @param normalizedUrl a URL returned by {@link #normalize(String)}
+     * @return the 43-character fingerprint
+     */
+    public static String fingerprint(String normalizedUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalizedUrl.getBytes(StandardCharsets.UTF_8));
+            return FINGERPRINT_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Scans a URL, appending its normalized form to {@code out} unless it is null.
+     *
+     * @return whether the URL is accepted; {@code out} holds garbage otherwise
+     */
+    private static boolean scan(String url, StringBuilder out) {
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && url.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end || end - start > MAX_LENGTH) {
+            return false;
+        }
+
+        // Scheme
+        int i = start;
+        int defaultPort;
+        int colon = schemeEnd(url, start, end);
+        if (colon < 0) {
+            defaultPort = 80;
+            append(out, "http://");
+        } else if (colon - start == 4 && url.regionMatches(true, start, "http", 0, 4)) {
+            defaultPort = 80;
+            append(out, "http://");
+            i = colon + 3;
+        } else if (colon - start == 5 && url.regionMatches(true, start, "https", 0, 5)) {
+            defaultPort = 443;
+            append(out, "https://");
+            i = colon + 3;
+        } else {
+            return false;
+        }
+
+        // Host
+        int hostStart = i;
+        boolean ascii = true;
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#' || c == ':') {
+                break;
+            }
+            if (c == '@') {
+                return false;
+            }
+            ascii &= c < 0x80;
+            i++;
+        }
+        if (ascii) {
+            if (!appendHost(url, hostStart, i, out)) {
+                return false;
+            }
+        } else {
+            String host;
+            try {
+                host = IDN.toASCII(url.substring(hostStart, i));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            if (!appendHost(host, 0, host.length(), out)) {
+                return false;
+            }
+        }
+
+        // Port
+        if (i < end && url.charAt(i) == ':') {
+            i++;
+            int port = 0;
+            int digits = 0;
+            while (i < end && url.charAt(i) >= '0' && url.charAt(i) <= '9') {
+                port = port * 10 + (url.charAt(i) - '0');
+                if (++digits > 5) {
+                    return false;
+                }
+                i++;
+            }
+            if (i < end && url.charAt(i) != '/' && url.charAt(i) != '?' && url.charAt(i) != '#') {
+                return false;
+            }
+            if (digits > 0 && (port == 0 || port > 65535)) {
+                return false;
+            }
+            if (digits > 0 && port != defaultPort) {
+                append(out, ':');
+                append(out, Integer.toString(port));
+            }
+        }
+
+        // Path, query and fragment
+        if (i == end || url.charAt(i) != '/') {
+            append(out, '/');
+        }
+        boolean inQuery = false;
+        boolean inFragment = false;
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c == '?' && !inQuery && !inFragment) {
+                inQuery = true;
+                append(out, c);
+                i++;
+            } else if (c == '#' && !inFragment) {
+                inFragment = true;
+                append(out, c);
+                i++;
+            } else if (c == '%') {
+                if (i + 2 < end && isHex(url.charAt(i + 1)) && isHex(url.charAt(i + 2))) {
+                    int decoded = Character.digit(url.charAt(i + 1), 16) << 4 | Character.digit(url.charAt(i + 2), 16);
+                    if (decoded < 0x80 && UNRESERVED[decoded]) {
+                        append(out, (char) decoded);
+                    } else {
+                        appendEncoded(out, decoded);
+                    }
+                    i += 3;
+                } else {
+                    appendEncoded(out, '%');
+                    i++;
+                }
+            } else if (c < 0x80) {
+                if (c < 0x20 || c == 0x7f) {
+                    return false;
+                }
+                if (ALLOWED[c]) {
+                    append(out, c);
+                } else {
+                    appendEncoded(out, c);
+                }
+                i++;
+            } else {
+                int codePoint = url.codePointAt(i);
+                if (Character.isSurrogate(c) && codePoint == c) {
+                    return false;
+                }
+                if (Character.isISOControl(codePoint)) {
+                    return false;
+                }
+                appendUtf8(out, codePoint);
+                i += Character.charCount(codePoint);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position of the {@code :} ending the scheme, or -1 if the
+     * URL does not start with a scheme followed by {@code ://}.
+     */
+    private static int schemeEnd(String url, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char c = url.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (i > start && ((c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.'))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        boolean found = i > start && i + 2 < end
+                && url.charAt(i) == ':' && url.charAt(i + 1) == '/' && url.charAt(i + 2) == '/';
+        return found ? i : -1;
+    }
+
+    /**
+     * Validates an ASCII host name and appends it lowercased.
+     * <p>
+     * Labels may contain letters, digits, hyphens and underscores, must not
+     * start or end with a hyphen and are 1 to 63 characters long; there
+     * must be at least two.
+     * </p>
+     */
+    private static boolean appendHost(String host, int from, int to, StringBuilder out) {
+        if (to - from > MAX_HOST_LENGTH) {
+            return false;
+        }
+        int labels = 0;
+        int labelStart = from;
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? host.charAt(i) : '.';
+            if (c == '.') {
+                int length = i - labelStart;
+                if (length == 0 || length > MAX_LABEL_LENGTH
+                        || host.charAt(labelStart) == '-' || host.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+                if (i < to) {
+                    append(out, '.');
+                }
+            } else if (c >= 'A' && c <= 'Z') {
+                append(out, (char) (c + ('a' - 'A')));
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+                append(out, c);
+            } else {
+                return false;
+            }
+        }
+        return labels >= 2;
+    }
+
+    private static void appendUtf8(StringBuilder out, int codePoint) {
+        if (codePoint < 0x800) {
+            appendEncoded(out, 0xc0 | codePoint >> 6);
+            appendEncoded(out, 0x80 | codePoint & 0x3f);
+        } else if (codePoint < 0x10000) {
+            appendEncoded(out, 0xe0 | codePoint >> 12);
+            appendEncoded(out, 0x80 | codePoint >> 6 & 0x3f);
+            appendEncoded(out, 0x80 | codePoint & 0x3f);
+        } else {
+            appendEncoded(out, 0xf0 | codePoint >> 18);
+            appendEncoded(out, 0x80 | codePoint >> 12 & 0x3f);
+            appendEncoded(out, 0x80 | codePoint >> 6 & 0x3f);
+            appendEncoded(out, 0x80 | codePoint & 0x3f);
+        }
+    }
+
+    private static void appendEncoded(StringBuilder out, int b) {
+        if (out != null) {
+            out.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xf]);
+        }
+    }
+
+    private static void append(StringBuilder out, char c) {
+        if (out != null) {
+            out.append(c);
+        }
+    }
+
+    private static void append(StringBuilder out, String s) {
+        if (out != null) {
+            out.append(s);
+        }
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.url_shortener_backend.util;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Bean validation of {@link ValidUrl} fields with the linear-time
+ * {@link UrlNormalizer} scanner, which checks the URL without building its
+ * normalized form.
+ */
+public class UrlValidator implements ConstraintValidator<ValidUrl, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || UrlNormalizer.isValid(value);
+    }
+}
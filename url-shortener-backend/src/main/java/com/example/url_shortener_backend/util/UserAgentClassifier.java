@@ -0,0 +1,63 @@
+package com.example.url_shortener_backend.util;
+
+import com.example.url_shortener_backend.model.UserAgentClass;
+
+import java.util.Locale;
+
+/**
+ * Classifies {@code User-Agent} header values into coarse {@link UserAgentClass} buckets.
+ * <p>
+ * The classification is a handful of substring checks, which is enough for
+ * click analytics and avoids pulling in a full user agent parser.
+ * </p>
+ */
+public final class UserAgentClassifier {
+
+    private static final String[] BOT_TOKENS = {
+            "bot", "crawl", "spider", "slurp", "facebookexternalhit", "preview", "headless",
+            "curl/", "wget/", "python-", "java/", "go-http-client", "okhttp"
+    };
+
+    private static final String[] TABLET_TOKENS = {"ipad", "tablet", "kindle", "silk/"};
+
+    private static final String[] MOBILE_TOKENS = {"mobi", "iphone", "ipod", "android", "windows phone"};
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * Classifies a user agent.
+     *
+     * @param userAgent the {@code User-Agent} header value, may be null
+     * @return the user agent class, {@link UserAgentClass#UNKNOWN} if the header is absent or unrecognised
+     */
+    public static UserAgentClass classify(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UserAgentClass.UNKNOWN;
+        }
+
+        String value = userAgent.toLowerCase(Locale.ROOT);
+        if (containsAny(value, BOT_TOKENS)) {
+            return UserAgentClass.BOT;
+        }
+        // Android tablets omit "Mobile" from their user agent
+        if (containsAny(value, TABLET_TOKENS) || (value.contains("android") && !value.contains("mobile"))) {
+            return UserAgentClass.TABLET;
+        }
+        if (containsAny(value, MOBILE_TOKENS)) {
+            return UserAgentClass.MOBILE;
+        }
+        return value.startsWith("mozilla/") || value.startsWith("opera/")
+                ? UserAgentClass.DESKTOP
+                : UserAgentClass.UNKNOWN;
+    }
+
+    private static boolean containsAny(String value, String[] tokens) {
+        for (String token : tokens) {
+            if (value.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.url_shortener_backend.util;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates that a string is a URL accepted by {@link UrlNormalizer}.
+ * <p>
+ * Null values are valid; combine with {@code @NotBlank} to require a URL.
+ * </p>
+ */
+@Documented
+@Constraint(validatedBy = UrlValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidUrl {
+
+    String message() default "Invalid URL format";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -15,7 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
  * Uses {@link SpringBootTest} to load the complete application context.
  * </p>
  */
-@SpringBootTest
+@SpringBootTest(properties = "app.short-id.shuffle-key=42")
 class UrlShortenerBackendApplicationTests {
 
 	/**
@@ -0,0 +1,65 @@
+package com.example.url_shortener_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClientAddressResolver} class.
+ */
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver =
+            new ClientAddressResolver(List.of("10.0.0.0/8", "fc00::/7"));
+
+    /**
+     * Tests that {@code X-Forwarded-For} is ignored unless the peer is a trusted proxy.
+     */
+    @Test
+    void resolve_IgnoresForwardedForFromUntrustedPeers() {
+        assertEquals("198.51.100.7", resolver.resolve(request("198.51.100.7", "203.0.113.1")));
+        assertEquals("10.0.0.1", resolver.resolve(request("10.0.0.1", null)));
+    }
+
+    /**
+     * Tests that the first address that is not a trusted proxy, counting from
+     * the nearest hop, is the client.
+     */
+    @Test
+    void resolve_SkipsTrustedHops() {
+        assertEquals("203.0.113.1", resolver.resolve(request("10.0.0.1", "203.0.113.1")));
+        assertEquals("203.0.113.1", resolver.resolve(request("10.0.0.1", "192.0.2.9, 203.0.113.1, 10.1.2.3")));
+        assertEquals("10.0.0.2", resolver.resolve(request("10.0.0.1", "10.0.0.2")));
+    }
+
+    /**
+     * Tests that a hop that is not an IP address literal ends the walk
+     * without being resolved.
+     */
+    @Test
+    void resolve_StopsAtInvalidHops() {
+        assertEquals("10.1.2.3", resolver.resolve(request("10.0.0.1", "203.0.113.1, localhost, 10.1.2.3")));
+    }
+
+    /**
+     * Tests that malformed trusted proxy ranges are rejected at startup.
+     */
+    @Test
+    void constructor_RejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddressResolver(List.of("10.0.0.0/33")));
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddressResolver(List.of("proxy.internal")));
+    }
+
+    private static MockServerHttpRequest request(String peer, String forwardedFor) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/abc123")
+                .remoteAddress(new InetSocketAddress(peer, 54321));
+        if (forwardedFor != null) {
+            request.header(ClientAddressResolver.X_FORWARDED_FOR, forwardedFor);
+        }
+        return request.build();
+    }
+}
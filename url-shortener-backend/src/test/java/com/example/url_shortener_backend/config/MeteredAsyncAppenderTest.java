@@ -0,0 +1,107 @@
+package com.example.url_shortener_backend.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MeteredAsyncAppender} class.
+ * <p>
+ * The wrapped appender blocks until the test ends, so the queue fills up
+ * deterministically.
+ * </p>
+ */
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    /**
+     * Tests that events dropped on a full queue are counted instead of blocking.
+     */
+    @Test
+    void append_CountsQueueFullDrops() {
+        // Arrange
+        start(1, 0);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+
+        // Assert
+        assertTrue(appender.getQueueFullCount() >= 8);
+        assertEquals(0, appender.getDiscardedCount());
+    }
+
+    /**
+     * Tests that INFO events discarded near capacity are counted while
+     * warnings are still queued.
+     * <p>
+     * The discarding threshold exceeds the queue size, so the queue is always
+     * below it.
+     * </p>
+     */
+    @Test
+    void append_CountsDiscardedEvents() {
+        // Arrange
+        start(10, 20);
+
+        // Act
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.WARN));
+
+        // Assert
+        assertEquals(2, appender.getDiscardedCount());
+        assertEquals(0, appender.getQueueFullCount());
+    }
+
+    private void start(int queueSize, int discardingThreshold) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> blocked = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocked.setContext(context);
+        blocked.start();
+
+        appender.setContext(context);
+        appender.setName("TEST");
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.setMaxFlushTime(1);
+        appender.addAppender(blocked);
+        appender.start();
+
+    }
+
+    private ILoggingEvent event(Level level) {
+        Logger logger = context.getLogger(MeteredAsyncAppenderTest.class);
+        return new LoggingEvent(Logger.FQCN, logger, level, "message", null, null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.url_shortener_backend.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MongoConsistencySettings} class.
+ */
+class MongoConsistencySettingsTest {
+
+    /**
+     * Tests that secondary reads carry the maximum staleness and relaxed
+     * click writes are parsed by name.
+     */
+    @Test
+    void constructor_ParsesSettings() {
+        // Act
+        MongoConsistencySettings settings = new MongoConsistencySettings(
+                "secondaryPreferred", "primary", Duration.ofSeconds(120), "w1");
+
+        // Assert
+        assertEquals("secondaryPreferred", settings.getRedirectReads().getName());
+        assertEquals(120L, ((TaggableReadPreference) settings.getRedirectReads())
+                .getMaxStaleness(TimeUnit.SECONDS));
+        assertTrue(MongoConsistencySettings.mayBeStale(settings.getRedirectReads()));
+        assertEquals(ReadPreference.primary(), settings.getStatsReads());
+        assertFalse(MongoConsistencySettings.mayBeStale(settings.getStatsReads()));
+        assertEquals(WriteConcern.W1, settings.getClickWrites());
+    }
+
+    /**
+     * Tests that unknown names are rejected at startup.
+     */
+    @Test
+    void constructor_RejectsUnknownNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MongoConsistencySettings("nearestish", "primary", Duration.ZERO, "majority"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MongoConsistencySettings("primary", "primary", Duration.ZERO, "w-lots"));
+    }
+}
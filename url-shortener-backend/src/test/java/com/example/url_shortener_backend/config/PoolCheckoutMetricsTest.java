@@ -0,0 +1,63 @@
+package com.example.url_shortener_backend.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PoolCheckoutMetrics} class.
+ */
+class PoolCheckoutMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PoolCheckoutMetrics metrics = new PoolCheckoutMetrics(meterRegistry);
+    private final ServerId serverId = new ServerId(new ClusterId("cluster"), new ServerAddress("db", 27017));
+
+    /**
+     * Tests that successful checkouts are timed per server.
+     */
+    @Test
+    void connectionCheckedOut_RecordsWaitTime() {
+        // Act
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(
+                new ConnectionId(serverId), 1, TimeUnit.MILLISECONDS.toNanos(3)));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(
+                new ConnectionId(serverId), 2, TimeUnit.MILLISECONDS.toNanos(5)));
+
+        // Assert
+        Timer timer = meterRegistry.get(PoolCheckoutMetrics.METRIC_NAME)
+                .tag("server.address", "db:27017")
+                .tag("result", "success")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(8.0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    /**
+     * Tests that failed checkouts are timed with their reason.
+     */
+    @Test
+    void connectionCheckOutFailed_RecordsReason() {
+        // Act
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(
+                serverId, 1, ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(1)));
+
+        // Assert
+        Timer timer = meterRegistry.get(PoolCheckoutMetrics.METRIC_NAME)
+                .tag("result", "failed")
+                .tag("reason", "timeout")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(1.0, timer.totalTime(TimeUnit.SECONDS), 0.001);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.url_shortener_backend.config;
+
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.example.url_shortener_backend.repository.UrlRepositoryCustom;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link UrlCollectionInitializer} class.
+ * <p>
+ * Sharding itself is covered against a sharded cluster by
+ * {@code ShardTargetingTest}.
+ * </p>
+ */
+class UrlCollectionInitializerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    /**
+     * Tests that an unsharded collection gets the unique {@code urlHash}
+     * index deduplication relies on, and is not sharded.
+     */
+    @Test
+    void createIndexes_UnshardedCreatesUrlHashIndex() {
+        // Arrange
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOps);
+
+        // Act
+        new UrlCollectionInitializer(mongoTemplate, false, true, null, true).createIndexes();
+
+        // Assert
+        verify(indexOps).ensureIndex(argThat((IndexDefinition index) ->
+                UrlRepositoryCustom.URL_HASH_INDEX.equals(index.getIndexOptions().get("name"))
+                        && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))));
+        verify(mongoTemplate, never()).getMongoDatabaseFactory();
+    }
+
+    /**
+     * Tests that the index of the configured warm-up order is created and
+     * that of the previous order is dropped.
+     */
+    @Test
+    void createIndexes_ReplacesWarmUpIndex() {
+        // Arrange
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(), WarmUpOrder.CLICK_COUNT.getIndexName(), false, false, "")));
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOps);
+
+        // Act
+        new UrlCollectionInitializer(mongoTemplate, false, false, WarmUpOrder.LAST_ACCESSED, true).createIndexes();
+
+        // Assert
+        verify(indexOps).dropIndex(WarmUpOrder.CLICK_COUNT.getIndexName());
+        verify(indexOps).ensureIndex(argThat((IndexDefinition index) ->
+                WarmUpOrder.LAST_ACCESSED.getIndexName().equals(index.getIndexOptions().get("name"))
+                        && index.getIndexKeys().getInteger("lastAccessedAt") == -1));
+    }
+
+    /**
+     * Tests that deduplication cannot be enabled on sharded collections,
+     * which cannot keep {@code urlHash} unique.
+     */
+    @Test
+    void constructor_RejectsDeduplicationWhenSharded() {
+        assertThrows(IllegalStateException.class, () -> new UrlCollectionInitializer(mongoTemplate, true, true, null, true));
+        verify(mongoTemplate, never()).indexOps(any(String.class));
+    }
+}
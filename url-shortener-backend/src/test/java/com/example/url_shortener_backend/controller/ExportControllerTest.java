@@ -0,0 +1,84 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.model.ExportFormat;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.service.ExportService;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link ExportController} class.
+ * <p>
+ * Uses Spring's MockMvc with the {@link ExportService} mocked.
+ * </p>
+ */
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private RequestRateLimiter rateLimiter;
+
+    /**
+     * Tests a gzip compressed CSV export.
+     * <p>
+     * Verifies that the response carries the CSV media type, the gzip content
+     * encoding and a body that decompresses to the service output.
+     * </p>
+     */
+    @Test
+    void export_GzipCsv() throws Exception {
+        // Arrange
+        when(exportService.export(eq(ExportFormat.CSV), eq(ExportOrder.SHORT_ID), eq("abc"), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(3);
+                    out.write("id,shortId\r\n".getBytes(StandardCharsets.UTF_8));
+                    return 0L;
+                });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/export?format=csv&orderBy=shortId&after=abc&gzip=true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("id,shortId\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Tests that an unknown format is rejected with 400 Bad Request.
+     */
+    @Test
+    void export_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
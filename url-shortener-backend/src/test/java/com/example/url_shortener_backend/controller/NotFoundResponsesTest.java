@@ -0,0 +1,58 @@
+package com.example.url_shortener_backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link NotFoundResponses} class.
+ */
+class NotFoundResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests the JSON body, which is built once and shared by every miss.
+     */
+    @Test
+    void redirectMiss_Json() throws JsonProcessingException {
+        NotFoundResponses responses = new NotFoundResponses("json", objectMapper);
+
+        ResponseEntity<byte[]> response = responses.redirectMiss();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"message\":\"URL not found\"}", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertSame(response, responses.redirectMiss());
+    }
+
+    /**
+     * Tests the plain text and empty bodies.
+     */
+    @Test
+    void redirectMiss_PlainAndEmpty() throws JsonProcessingException {
+        ResponseEntity<byte[]> plain = new NotFoundResponses("plain", objectMapper).redirectMiss();
+        ResponseEntity<byte[]> empty = new NotFoundResponses("EMPTY", objectMapper).redirectMiss();
+
+        assertEquals("URL not found", new String(plain.getBody(), StandardCharsets.UTF_8));
+        assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(plain.getHeaders().getContentType()));
+        assertEquals(HttpStatus.NOT_FOUND, empty.getStatusCode());
+        assertEquals(0, empty.getBody().length);
+        assertNull(empty.getHeaders().getContentType());
+    }
+
+    /**
+     * Tests that unknown body modes are rejected at startup.
+     */
+    @Test
+    void constructor_RejectsUnknownBody() {
+        assertThrows(IllegalArgumentException.class, () -> new NotFoundResponses("html", objectMapper));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.config.ClientAddressResolver;
+import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.service.ReactiveUrlService;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
+import com.example.url_shortener_backend.service.UrlService;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link ReactiveUrlController} class.
+ * <p>
+ * Runs the shared {@link UrlControllerContract} against the WebFlux stack,
+ * with the service layer mocked.
+ * </p>
+ */
+@WebFluxTest(ReactiveUrlController.class)
+@Import({NotFoundResponses.class, RedirectResponses.class, ClientAddressResolver.class})
+@TestPropertySource(properties = {"app.base-url=http://localhost:8080/", "app.reactive.trusted-proxies=10.0.0.0/8"})
+class ReactiveUrlControllerTest extends UrlControllerContract {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveUrlService reactiveUrlService;
+
+    @MockitoBean
+    private UrlService urlService;
+
+    @MockitoBean
+    private ClickAnalyticsService clickAnalyticsService;
+
+    @MockitoBean
+    private RequestRateLimiter rateLimiter;
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void givenCreated(Url url) {
+        when(urlService.createShortUrl(ORIGINAL_URL, null, null, null)).thenReturn(url);
+    }
+
+    @Override
+    protected void givenStats(Url url, ClickTimeline timeline) {
+        when(reactiveUrlService.getUrlByShortId(url.getShortId())).thenReturn(Mono.just(url));
+        when(clickAnalyticsService.getTimeline(eq(url.getShortId()), eq(RollupGranularity.HOUR), any(), any()))
+                .thenReturn(timeline);
+    }
+
+    @Override
+    protected void givenRedirect(ResolvedUrl url) {
+        when(reactiveUrlService.findAndRecordClick(eq(url.getShortId()), any(ClickContext.class))).thenReturn(Mono.just(url));
+    }
+
+    @Override
+    protected void givenUnknown(String shortId) {
+        UrlNotFoundException notFound = new UrlNotFoundException("URL not found for id: " + shortId);
+        when(reactiveUrlService.getUrlByShortId(shortId)).thenReturn(Mono.error(notFound));
+        when(reactiveUrlService.findAndRecordClick(eq(shortId), any(ClickContext.class))).thenReturn(Mono.empty());
+    }
+
+    @Override
+    protected void givenRateLimited(long retryAfterSeconds) {
+        when(rateLimiter.admit(any(), any(), any())).thenReturn(retryAfterSeconds);
+    }
+
+    @Override
+    protected List<String> rateLimitedAddresses() {
+        ArgumentCaptor<String> addresses = ArgumentCaptor.forClass(String.class);
+        verify(rateLimiter, atLeastOnce()).admit(any(), any(), addresses.capture());
+        return addresses.getAllValues();
+    }
+}
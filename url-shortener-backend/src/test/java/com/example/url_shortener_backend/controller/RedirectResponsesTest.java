@@ -0,0 +1,83 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RedirectResponses} class.
+ */
+class RedirectResponsesTest {
+
+    private static final String TARGET = "https://www.example.com/landing?utm=a%20b";
+
+    /**
+     * Tests that the response carries the configured status and caching
+     * policy, and is rendered once per resolved URL.
+     */
+    @Test
+    void redirect_RenderedOncePerResolvedUrl() {
+        RedirectResponses responses = new RedirectResponses(301, "public, max-age=86400");
+        ResolvedUrl url = new ResolvedUrl("abc123", TARGET, true);
+
+        ResponseEntity<byte[]> response = responses.redirect(url);
+
+        assertEquals(HttpStatus.MOVED_PERMANENTLY, response.getStatusCode());
+        assertEquals(TARGET, response.getHeaders().getFirst(HttpHeaders.LOCATION));
+        assertEquals("public, max-age=86400", response.getHeaders().getCacheControl());
+        assertSame(response, responses.redirect(url));
+        assertNotSame(response, responses.redirect(new ResolvedUrl("abc123", TARGET, true)));
+    }
+
+    /**
+     * Tests that a URL stored before URLs were normalized, without a scheme,
+     * redirects to an absolute URL rather than a path on this host.
+     */
+    @Test
+    void redirect_NormalizesLegacyUrls() {
+        ResolvedUrl url = new ResolvedUrl("abc123", "Google.com", true);
+
+        ResponseEntity<byte[]> response = new RedirectResponses(302, "").redirect(url);
+
+        assertEquals("http://google.com/", response.getHeaders().getFirst(HttpHeaders.LOCATION));
+        assertEquals("Google.com", url.getOriginalUrl());
+    }
+
+    /**
+     * Tests that URLs with an expiry or click limit are never cached and
+     * never redirected permanently.
+     */
+    @Test
+    void redirect_LimitedUrlsAreTemporary() {
+        RedirectResponses responses = new RedirectResponses(308, "public, max-age=86400");
+
+        ResponseEntity<byte[]> expiring = responses.redirect(
+                new ResolvedUrl("abc123", TARGET, true, Instant.now().plusSeconds(60), null));
+        ResponseEntity<byte[]> limited = responses.redirect(new ResolvedUrl("abc124", TARGET, true, null, 5));
+
+        assertEquals(HttpStatus.TEMPORARY_REDIRECT, expiring.getStatusCode());
+        assertEquals("no-store", expiring.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.TEMPORARY_REDIRECT, limited.getStatusCode());
+        assertEquals("no-store", limited.getHeaders().getCacheControl());
+    }
+
+    /**
+     * Tests the default of a 302 without caching headers, and that a status
+     * that is not a redirect is rejected.
+     */
+    @Test
+    void redirect_DefaultsAndInvalidStatus() {
+        ResponseEntity<byte[]> response = new RedirectResponses(302, "")
+                .redirect(new ResolvedUrl("abc123", TARGET, true));
+
+        assertEquals(HttpStatus.FOUND, response.getStatusCode());
+        assertNull(response.getHeaders().getCacheControl());
+        assertThrows(IllegalArgumentException.class, () -> new RedirectResponses(200, ""));
+    }
+}
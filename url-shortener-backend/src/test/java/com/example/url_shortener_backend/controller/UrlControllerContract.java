@@ -0,0 +1,311 @@
+package com.example.url_shortener_backend.controller;
+
+import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import com.example.url_shortener_backend.model.Url;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Controller contract shared by the servlet and reactive stacks.
+ * <p>
+ * Every stack exposing the URL shortener endpoints extends this class and
+ * must pass the same tests, which verify:
+ * <ul>
+ *     <li>URL shortening functionality</li>
+ *     <li>URL redirection</li>
+ *     <li>Statistics retrieval</li>
+ *     <li>Error handling</li>
+ *     <li>Rate limiting</li>
+ * </ul>
+ * Requests are issued through {@link WebTestClient}, which can be bound to
+ * either MockMvc or a WebFlux application context.
+ * </p>
+ */
+abstract class UrlControllerContract {
+
+    protected static final String ORIGINAL_URL = "https://www.example.com";
+    protected static final String SHORT_ID = "abc123";
+
+    /**
+     * @return a client bound to the stack under test
+     */
+    protected abstract WebTestClient client();
+
+    /**
+     * Stubs the services so that shortening {@link #ORIGINAL_URL} creates the given URL.
+     */
+    protected abstract void givenCreated(Url url);
+
+    /**
+     * Stubs the services so that statistics for the URL's short ID return the
+     * given URL and, for the default hourly granularity, the given timeline.
+     */
+    protected abstract void givenStats(Url url, ClickTimeline timeline);
+
+    /**
+     * Stubs the services so that redirecting the URL's short ID resolves to the given target.
+     */
+    protected abstract void givenRedirect(ResolvedUrl url);
+
+    /**
+     * Stubs the services so that the given short ID is unknown.
+     */
+    protected abstract void givenUnknown(String shortId);
+
+    /**
+     * Stubs the rate limiter so that every request is rejected with the given {@code Retry-After}.
+     */
+    protected abstract void givenRateLimited(long retryAfterSeconds);
+
+    /**
+     * @return the client addresses the rate limiter was asked to admit, in order
+     */
+    protected abstract List<String> rateLimitedAddresses();
+
+    /**
+     * Tests successful URL shortening operation.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>The endpoint returns 200 OK status</li>
+     *     <li>The response contains the correct original URL</li>
+     *     <li>The response contains the properly formatted short URL</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void shortenUrl_Success() {
+        // Arrange
+        UrlDto urlDto = new UrlDto();
+        urlDto.setUrl(ORIGINAL_URL);
+
+        Url url = new Url();
+        url.setOriginalUrl(ORIGINAL_URL);
+        url.setShortId(SHORT_ID);
+        url.setCreatedAt(LocalDateTime.now());
+        url.setClickCount(0);
+
+        givenCreated(url);
+
+        // Act & Assert
+        client().post().uri("/api/shorten")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(urlDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.originalUrl").isEqualTo(ORIGINAL_URL)
+                .jsonPath("$.shortUrl").isEqualTo("http://localhost:8080/" + SHORT_ID);
+    }
+
+    /**
+     * Tests URL shortening with invalid URL format.
+     * <p>
+     * Verifies that the endpoint returns 400 Bad Request status
+     * when an invalid URL format is provided.
+     * </p>
+     */
+    @Test
+    void shortenUrl_InvalidUrl() {
+        // Arrange
+        UrlDto urlDto = new UrlDto();
+        urlDto.setUrl("invalid-url");
+
+        // Act & Assert
+        client().post().uri("/api/shorten")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(urlDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid URL format");
+    }
+
+    /**
+     * Tests successful retrieval of URL statistics.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>The endpoint returns 200 OK status</li>
+     *     <li>The response contains the correct original URL</li>
+     *     <li>The response contains the correct click count</li>
+     *     <li>The response contains the hourly click timeline</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void getStats_Success() {
+        // Arrange
+        Url url = new Url();
+        url.setOriginalUrl(ORIGINAL_URL);
+        url.setShortId(SHORT_ID);
+        url.setCreatedAt(LocalDateTime.now());
+        url.setClickCount(5);
+
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        ClickTimeline timeline = new ClickTimeline(RollupGranularity.HOUR, from, from.plusSeconds(7200),
+                List.of(new ClickTimeline.Bucket(from, 3), new ClickTimeline.Bucket(from.plusSeconds(3600), 2)),
+                5, Map.of("direct", 5L), Map.of("DESKTOP", 5L), Map.of("US", 5L));
+
+        givenStats(url, timeline);
+
+        // Act & Assert
+        client().get().uri("/api/stats/" + SHORT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.originalUrl").isEqualTo(ORIGINAL_URL)
+                .jsonPath("$.clickCount").isEqualTo(5)
+                .jsonPath("$.analytics.granularity").isEqualTo("HOUR")
+                .jsonPath("$.analytics.timeline.length()").isEqualTo(2)
+                .jsonPath("$.analytics.timeline[0].clicks").isEqualTo(3)
+                .jsonPath("$.analytics.countries.US").isEqualTo(5);
+    }
+
+    /**
+     * Tests statistics retrieval with an unknown granularity.
+     * <p>
+     * Verifies that the endpoint returns 400 Bad Request.
+     * </p>
+     */
+    @Test
+    void getStats_InvalidGranularity() {
+        // Arrange
+        Url url = new Url();
+        url.setOriginalUrl(ORIGINAL_URL);
+        url.setShortId(SHORT_ID);
+
+        givenStats(url, null);
+
+        // Act & Assert
+        client().get().uri("/api/stats/" + SHORT_ID + "?granularity=week")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Tests statistics retrieval for an unknown short ID.
+     * <p>
+     * Verifies that the endpoint returns 404 Not Found with an error body.
+     * </p>
+     */
+    @Test
+    void getStats_NotFound() {
+        // Arrange
+        givenUnknown(SHORT_ID);
+
+        // Act & Assert
+        client().get().uri("/api/stats/" + SHORT_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("URL not found for id: " + SHORT_ID);
+    }
+
+    /**
+     * Tests successful URL redirection.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>The endpoint returns 3xx Redirection status</li>
+     *     <li>The response contains the normalized redirect URL</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void redirect_Success() {
+        // Arrange
+        givenRedirect(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true));
+
+        // Act & Assert
+        client().get().uri("/" + SHORT_ID)
+                .exchange()
+                .expectStatus().is3xxRedirection()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, ORIGINAL_URL + "/");
+    }
+
+    /**
+     * Tests redirection for an unknown short ID.
+     * <p>
+     * Verifies that the endpoint returns 404 Not Found with the
+     * precomputed error body.
+     * </p>
+     */
+    @Test
+    void redirect_NotFound() {
+        // Arrange
+        givenUnknown(SHORT_ID);
+
+        // Act & Assert
+        client().get().uri("/" + SHORT_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("URL not found");
+    }
+
+    /**
+     * Tests that a rate-limited client is turned away before the redirect is resolved.
+     * <p>
+     * Verifies that the endpoint returns 429 Too Many Requests with a
+     * {@code Retry-After} header and an error body.
+     * </p>
+     */
+    @Test
+    void redirect_RateLimited() {
+        // Arrange
+        givenRateLimited(3);
+
+        // Act & Assert
+        client().get().uri("/" + SHORT_ID)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "3")
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Rate limit exceeded, retry in 3s");
+    }
+
+    /**
+     * Tests that a client cannot pick a fresh rate limit bucket by sending
+     * its own {@code X-Forwarded-For} header.
+     * <p>
+     * Verifies that two requests from the same untrusted peer with different
+     * forwarded addresses are admitted under the same client address, which
+     * is not one of the forwarded ones.
+     * </p>
+     */
+    @Test
+    void redirect_RateLimitIgnoresSpoofedForwardedFor() {
+        // Arrange
+        givenUnknown(SHORT_ID);
+
+        // Act
+        client().get().uri("/" + SHORT_ID)
+                .header("X-Forwarded-For", "203.0.113.1")
+                .exchange()
+                .expectStatus().isNotFound();
+        client().get().uri("/" + SHORT_ID)
+                .header("X-Forwarded-For", "203.0.113.2")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // Assert
+        List<String> addresses = rateLimitedAddresses();
+        assertEquals(2, addresses.size());
+        assertEquals(addresses.get(0), addresses.get(1));
+        assertNotEquals("203.0.113.1", addresses.get(0));
+    }
+}
@@ -1,161 +1,99 @@
 package com.example.url_shortener_backend.controller;
 
-import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.RollupGranularity;
 import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.service.BatchShortenService;
+import com.example.url_shortener_backend.service.ClickAnalyticsService;
+import com.example.url_shortener_backend.service.RequestRateLimiter;
 import com.example.url_shortener_backend.service.UrlService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
-import org.mockito.Mock;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Unit tests for the {@link UrlController} class.
  * <p>
- * Tests the REST endpoints for URL shortening operations using Spring's MockMvc.
- * These tests verify:
- * <ul>
- *     <li>URL shortening functionality</li>
- *     <li>URL redirection</li>
- *     <li>Statistics retrieval</li>
- *     <li>Error handling</li>
- * </ul>
+ * Runs the shared {@link UrlControllerContract} against the servlet stack
+ * using Spring's MockMvc, with the service layer mocked.
  * </p>
  */
 @WebMvcTest(UrlController.class)
-@ExtendWith(SpringExtension.class)
-class UrlControllerTest {
+@Import({NotFoundResponses.class, RedirectResponses.class})
+@TestPropertySource(properties = "app.base-url=http://localhost:8080/")
+class UrlControllerTest extends UrlControllerContract {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @Mock
+    @MockitoBean
     private UrlService urlService;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    private static final String ORIGINAL_URL = "https://www.example.com";
-    private static final String SHORT_ID = "abc123";
-
-    /**
-     * Tests successful URL shortening operation.
-     * <p>
-     * Verifies that:
-     * <ul>
-     *     <li>The endpoint returns 201 Created status</li>
-     *     <li>The response contains the correct original URL</li>
-     *     <li>The response contains the properly formatted short URL</li>
-     * </ul>
-     * </p>
-     */
-    @Test
-    void shortenUrl_Success() throws Exception {
-        // Arrange
-        UrlDto urlDto = new UrlDto();
-        urlDto.setUrl(ORIGINAL_URL);
-
-        Url url = new Url();
-        url.setOriginalUrl(ORIGINAL_URL);
-        url.setShortId(SHORT_ID);
-        url.setCreatedAt(LocalDateTime.now());
-        url.setClickCount(0);
-
-        when(urlService.createShortUrl(ORIGINAL_URL, null)).thenReturn(url);
-
-        // Act & Assert
-        mockMvc.perform(post("/shorten")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(urlDto)))
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.originalUrl").value(ORIGINAL_URL))
-                .andExpect(jsonPath("$.shortUrl").value("http://localhost:8080/" + SHORT_ID));
+    @MockitoBean
+    private ClickAnalyticsService clickAnalyticsService;
+
+    @MockitoBean
+    private RequestRateLimiter rateLimiter;
+
+    @MockitoBean
+    private BatchShortenService batchShortenService;
+
+    @Override
+    protected WebTestClient client() {
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected void givenCreated(Url url) {
+        when(urlService.createShortUrl(ORIGINAL_URL, null, null, null)).thenReturn(url);
+    }
+
+    @Override
+    protected void givenStats(Url url, ClickTimeline timeline) {
+        when(urlService.getUrlByShortId(url.getShortId())).thenReturn(url);
+        when(clickAnalyticsService.getTimeline(eq(url.getShortId()), eq(RollupGranularity.HOUR), any(), any()))
+                .thenReturn(timeline);
+    }
+
+    @Override
+    protected void givenRedirect(ResolvedUrl url) {
+        when(urlService.findAndRecordClick(eq(url.getShortId()), any(ClickContext.class))).thenReturn(Optional.of(url));
     }
 
-    /**
-     * Tests URL shortening with invalid URL format.
-     * <p>
-     * Verifies that the endpoint returns 400 Bad Request status
-     * when an invalid URL format is provided.
-     * </p>
-     */
-    @Test
-    void shortenUrl_InvalidUrl() throws Exception {
-        // Arrange
-        UrlDto urlDto = new UrlDto();
-        urlDto.setUrl("invalid-url");
-
-        // Act & Assert
-        mockMvc.perform(post("/shorten")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(urlDto)))
-                .andExpect(status().isBadRequest());
+    @Override
+    protected void givenUnknown(String shortId) {
+        UrlNotFoundException notFound = new UrlNotFoundException("URL not found for id: " + shortId);
+        when(urlService.getUrlByShortId(shortId)).thenThrow(notFound);
+        when(urlService.findAndRecordClick(eq(shortId), any(ClickContext.class))).thenReturn(Optional.empty());
     }
 
-    /**
-     * Tests successful retrieval of URL statistics.
-     * <p>
-     * Verifies that:
-     * <ul>
-     *     <li>The endpoint returns 200 OK status</li>
-     *     <li>The response contains the correct original URL</li>
-     *     <li>The response contains the correct click count</li>
-     * </ul>
-     * </p>
-     */
-    @Test
-    void getStats_Success() throws Exception {
-        // Arrange
-        Url url = new Url();
-        url.setOriginalUrl(ORIGINAL_URL);
-        url.setShortId(SHORT_ID);
-        url.setCreatedAt(LocalDateTime.now());
-        url.setClickCount(5);
-
-        when(urlService.getUrlByShortId(SHORT_ID)).thenReturn(url);
-
-        // Act & Assert
-        mockMvc.perform(get("/stats/" + SHORT_ID))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.originalUrl").value(ORIGINAL_URL))
-                .andExpect(jsonPath("$.clickCount").value(5));
+    @Override
+    protected void givenRateLimited(long retryAfterSeconds) {
+        when(rateLimiter.admit(any(), any(), any())).thenReturn(retryAfterSeconds);
     }
 
-    /**
-     * Tests successful URL redirection.
-     * <p>
-     * Verifies that:
-     * <ul>
-     *     <li>The endpoint returns 3xx Redirection status</li>
-     *     <li>The response contains the correct redirect URL</li>
-     *     <li>The click count is incremented</li>
-     * </ul>
-     * </p>
-     */
-    @Test
-    void redirect_Success() throws Exception {
-        // Arrange
-        Url url = new Url();
-        url.setOriginalUrl(ORIGINAL_URL);
-        url.setShortId(SHORT_ID);
-
-        when(urlService.incrementClickCount(anyString())).thenReturn(url);
-
-        // Act & Assert
-        mockMvc.perform(get("/" + SHORT_ID))
-                .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl(ORIGINAL_URL));
+    @Override
+    protected List<String> rateLimitedAddresses() {
+        ArgumentCaptor<String> addresses = ArgumentCaptor.forClass(String.class);
+        verify(rateLimiter, atLeastOnce()).admit(any(), any(), addresses.capture());
+        return addresses.getAllValues();
     }
-} 
\ No newline at end of file
+}
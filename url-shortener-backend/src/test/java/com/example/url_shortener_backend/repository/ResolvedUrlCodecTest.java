@@ -0,0 +1,101 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResolvedUrlCodec} class.
+ * <p>
+ * Verifies that redirect lookup replies are decoded from raw BSON.
+ * </p>
+ */
+class ResolvedUrlCodecTest {
+
+    private static final String ORIGINAL_URL = "https://www.example.com";
+    private static final String SHORT_ID = "abc123";
+
+    private final ResolvedUrlCodec codec = new ResolvedUrlCodec();
+
+    /**
+     * Tests decoding a projected reply.
+     */
+    @Test
+    void decode_ProjectedFields() {
+        // Act
+        ResolvedUrl result = decode(new Document("shortId", SHORT_ID)
+                .append("originalUrl", ORIGINAL_URL)
+                .append("active", false));
+
+        // Assert
+        assertEquals(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, false), result);
+    }
+
+    /**
+     * Tests that documents without an {@code active} field decode as active,
+     * matching the {@link com.example.url_shortener_backend.model.Url} default.
+     */
+    @Test
+    void decode_MissingActiveIsActive() {
+        // Act
+        ResolvedUrl result = decode(new Document("shortId", SHORT_ID).append("originalUrl", ORIGINAL_URL));
+
+        // Assert
+        assertTrue(result.isActive());
+    }
+
+    /**
+     * Tests that fields outside the projection are skipped.
+     */
+    @Test
+    void decode_SkipsUnknownFields() {
+        // Act
+        ResolvedUrl result = decode(new Document("_id", "id")
+                .append("shortId", SHORT_ID)
+                .append("createdAt", new Date())
+                .append("originalUrl", ORIGINAL_URL)
+                .append("clickCount", 5));
+
+        // Assert
+        assertEquals(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true), result);
+    }
+
+    /**
+     * Tests decoding the expiry and click limit, with null meaning neither.
+     */
+    @Test
+    void decode_ExpiryAndClickLimit() {
+        // Arrange
+        Instant expiresAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        // Act
+        ResolvedUrl limited = decode(new Document("shortId", SHORT_ID)
+                .append("originalUrl", ORIGINAL_URL)
+                .append("expiresAt", Date.from(expiresAt))
+                .append("maxClicks", 3));
+        ResolvedUrl unlimited = decode(new Document("shortId", SHORT_ID)
+                .append("originalUrl", ORIGINAL_URL)
+                .append("expiresAt", null)
+                .append("maxClicks", null));
+
+        // Assert
+        assertEquals(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true, expiresAt, 3), limited);
+        assertTrue(limited.isResolvableAt(expiresAt.minusMillis(1)));
+        assertFalse(limited.isResolvableAt(expiresAt));
+        assertEquals(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true), unlimited);
+    }
+
+    private ResolvedUrl decode(Document document) {
+        RawBsonDocument bson = new RawBsonDocument(document, new DocumentCodec());
+        return codec.decode(new BsonBinaryReader(bson.getByteBuffer().asNIO()), DecoderContext.builder().build());
+    }
+}
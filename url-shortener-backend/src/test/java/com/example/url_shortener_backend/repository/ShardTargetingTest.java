@@ -0,0 +1,207 @@
+package com.example.url_shortener_backend.repository;
+
+import com.example.url_shortener_backend.config.MongoConsistencySettings;
+import com.example.url_shortener_backend.config.UrlCollectionInitializer;
+import com.example.url_shortener_backend.model.ClickDelta;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies against a sharded cluster that single-URL queries are routed to one shard.
+ * <p>
+ * Runs only when {@code MONGODB_SHARDED_URI} points at a mongos with at
+ * least two shards, e.g. the cluster of {@code sharding/docker-compose.yml}.
+ * The collections are sharded by {@link UrlCollectionInitializer} in a
+ * scratch database, and the router's query plans are checked with
+ * {@code explain}: a targeted operation has a {@code SINGLE_SHARD} plan.
+ * </p>
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_SHARDED_URI", matches = ".+")
+class ShardTargetingTest {
+
+    private static final String DATABASE = "urlshortener_shard_test";
+    private static final int URL_COUNT = 2000;
+
+    private static MongoClient client;
+    private static MongoDatabase database;
+    private static MongoTemplate mongoTemplate;
+    private static UrlRepositoryCustomImpl repository;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_SHARDED_URI"));
+        client.getDatabase(DATABASE).drop();
+        database = client.getDatabase(DATABASE);
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        new UrlCollectionInitializer(mongoTemplate, true, false, WarmUpOrder.LAST_ACCESSED, true).createIndexes();
+        // The unique shortId index of the entity is allowed next to the hashed shard key
+        mongoTemplate.indexOps(Url.class).ensureIndex(new Index("shortId", Sort.Direction.ASC).unique());
+
+        repository = new UrlRepositoryCustomImpl(mongoTemplate,
+                new MongoConsistencySettings("primary", "primary", Duration.ZERO, "majority"));
+        List<Url> urls = new ArrayList<>();
+        for (int i = 0; i < URL_COUNT; i++) {
+            urls.add(url(shortId(i)));
+        }
+        assertTrue(repository.insertUnordered(urls).isEmpty());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.getDatabase(DATABASE).drop();
+            client.close();
+        }
+    }
+
+    /**
+     * Tests that consecutive short IDs are spread over the shards.
+     */
+    @Test
+    void shardKey_SpreadsConsecutiveIds() {
+        // Act
+        List<Document> perShard = database.getCollection("urls")
+                .aggregate(List.of(new Document("$collStats", new Document("count", new Document()))))
+                .into(new ArrayList<>());
+
+        // Assert
+        long shardsWithUrls = perShard.stream().filter(stats -> stats.get("count", Number.class).longValue() > 0).count();
+        assertTrue(shardsWithUrls >= 2, "URLs on " + shardsWithUrls + " shard(s): " + perShard);
+    }
+
+    /**
+     * Tests that the redirect lookup is routed to one shard.
+     */
+    @Test
+    void findResolvedByShortId_TargetsOneShard() {
+        // Act
+        Document plan = explain(new Document("find", "urls")
+                .append("filter", bson(ResolvedUrlQueries.byShortId(shortId(7))))
+                .append("projection", bson(ResolvedUrlQueries.PROJECTION)));
+
+        // Assert
+        assertSingleShard(plan);
+        assertTrue(repository.findResolvedByShortId(shortId(7)).isPresent());
+    }
+
+    /**
+     * Tests that the click limit claim is routed to one shard.
+     */
+    @Test
+    void claimClick_TargetsOneShard() {
+        // Act
+        BsonArray pipeline = new BsonArray();
+        ResolvedUrlQueries.CLAIM_CLICK.forEach(stage -> pipeline.add(bson(stage)));
+        Document plan = explain(new Document("findAndModify", "urls")
+                .append("query", bson(ResolvedUrlQueries.claimableByShortId(shortId(8))))
+                .append("update", pipeline)
+                .append("new", true));
+
+        // Assert
+        assertSingleShard(plan);
+    }
+
+    /**
+     * Tests that click count updates are routed to one shard each.
+     */
+    @Test
+    void incrementClickCounts_TargetsOneShard() {
+        // Act
+        Document plan = explain(new Document("update", "urls")
+                .append("updates", List.of(new Document("q", new Document("shortId", shortId(9)))
+                        .append("u", new Document("$inc", new Document("clickCount", 1))))));
+        int modified = repository.incrementClickCounts(
+                List.of(new ClickDelta(shortId(9), 3, LocalDateTime.now())));
+
+        // Assert
+        assertSingleShard(plan);
+        assertEquals(1, modified);
+    }
+
+    /**
+     * Tests that archiving and restoring work on the sharded collections,
+     * whose writes filter on the shard key.
+     */
+    @Test
+    void archiveAndRestore_OnShardedCollections() {
+        // Arrange
+        Url url = mongoTemplate.findOne(Query.query(Criteria.where("shortId").is(shortId(10))), Url.class);
+        assertNotNull(url);
+
+        // Act
+        int archived = repository.archive(List.of(url), LocalDateTime.now().plusDays(1));
+        boolean restored = repository.restoreArchived(shortId(10)).isPresent();
+
+        // Assert
+        assertEquals(1, archived);
+        assertTrue(restored);
+        assertTrue(repository.findArchivedByShortId(shortId(10)).isEmpty());
+    }
+
+    /**
+     * Tests that a query without the shard key is sent to every shard, so
+     * that the single-shard assertions above are meaningful.
+     */
+    @Test
+    void queryWithoutShardKey_TargetsAllShards() {
+        // Act
+        Document plan = explain(new Document("find", "urls")
+                .append("filter", new Document("originalUrl", "https://www.example.com/7")));
+
+        // Assert
+        assertNotEquals("SINGLE_SHARD", plan.getString("stage"));
+        assertTrue(plan.getList("shards", Document.class).size() >= 2);
+    }
+
+    private static Document explain(Document command) {
+        Document explain = database.runCommand(new Document("explain", command).append("verbosity", "queryPlanner"));
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+    }
+
+    private static void assertSingleShard(Document plan) {
+        assertEquals("SINGLE_SHARD", plan.getString("stage"), plan.toJson());
+        assertEquals(1, plan.getList("shards", Document.class).size());
+    }
+
+    private static BsonDocument bson(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    private static String shortId(int i) {
+        return String.format("s%06d", i);
+    }
+
+    private static Url url(String shortId) {
+        Url url = new Url();
+        url.setShortId(shortId);
+        url.setOriginalUrl("https://www.example.com/" + shortId);
+        url.onCreate();
+        // Last accessed long ago, so that the URL counts as cold for the archive test
+        url.setLastAccessedAt(LocalDateTime.now().minusYears(1));
+        return url;
+    }
+}
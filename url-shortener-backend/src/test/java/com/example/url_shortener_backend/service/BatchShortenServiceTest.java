@@ -0,0 +1,203 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.dto.UrlDto;
+import com.example.url_shortener_backend.model.BatchItemResult;
+import com.example.url_shortener_backend.model.BatchItemResult.Status;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BatchShortenService} class.
+ * <p>
+ * Tests bulk URL creation including:
+ * <ul>
+ *     <li>Per-item validation</li>
+ *     <li>Alias conflicts inside the batch and in the database</li>
+ *     <li>Retrying generated IDs that are already taken</li>
+ *     <li>Deduplication of URLs already shortened</li>
+ * </ul>
+ * Uses Mockito for mocking the repository layer and ID generation.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchShortenServiceTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    @Mock
+    private ShortIdGenerator shortIdGenerator;
+
+    @Mock
+    private UrlResolutionCache resolutionCache;
+
+    @Mock
+    private ShortIdFilter shortIdFilter;
+
+    private BatchShortenService batchShortenService;
+
+    @BeforeEach
+    void setUp() {
+        batchShortenService = new BatchShortenService(urlRepository, shortIdGenerator, resolutionCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ShortenerMetrics(new SimpleMeterRegistry()), shortIdFilter, new UrlDeduplicator(false), 2);
+    }
+
+    /**
+     * Tests a batch mixing valid, invalid and conflicting items.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Valid items are created with generated IDs or their alias</li>
+     *     <li>Invalid items and repeated aliases fail individually</li>
+     *     <li>Results are returned in request order</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void shorten_PartialFailures() {
+        // Arrange
+        when(shortIdGenerator.nextIds(anyInt())).thenAnswer(invocation ->
+                invocation.<Integer>getArgument(0) == 1 ? List.of("gen001") : List.of());
+        when(urlRepository.insertUnordered(anyList())).thenReturn(List.of());
+
+        List<UrlDto> items = List.of(
+                item("https://www.example.com", null),
+                item("not a url", null),
+                item("https://www.example.org", "campaign"),
+                item("https://www.example.net", "campaign"));
+
+        // Act
+        List<BatchItemResult> results = batchShortenService.shorten(items);
+
+        // Assert
+        assertEquals(4, results.size());
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals("gen001", results.get(0).getShortId());
+        assertEquals(Status.INVALID, results.get(1).getStatus());
+        assertEquals(Status.CREATED, results.get(2).getStatus());
+        assertEquals("campaign", results.get(2).getShortId());
+        assertEquals(Status.CONFLICT, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+    }
+
+    /**
+     * Tests that duplicate key errors are mapped back to the offending items.
+     * <p>
+     * Verifies that a taken alias is reported as a conflict while a taken
+     * generated ID is retried with a fresh ID.
+     * </p>
+     */
+    @Test
+    void shorten_MapsDuplicateKeyErrors() {
+        // Arrange
+        when(shortIdGenerator.nextIds(1)).thenReturn(List.of("gen001"), List.of("gen002"));
+        when(urlRepository.insertUnordered(anyList()))
+                .thenReturn(List.of(duplicateKey(0), duplicateKey(1)))
+                .thenReturn(List.of());
+
+        List<UrlDto> items = List.of(
+                item("https://www.example.com", null),
+                item("https://www.example.org", "taken"));
+
+        // Act
+        List<BatchItemResult> results = batchShortenService.shorten(items);
+
+        // Assert
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals("gen002", results.get(0).getShortId());
+        assertEquals(Status.CONFLICT, results.get(1).getStatus());
+        verify(resolutionCache).invalidateCreated("gen002");
+        verify(resolutionCache, never()).invalidateCreated("taken");
+        verify(shortIdFilter).put("gen001");
+        verify(shortIdFilter).put("gen002");
+    }
+
+    /**
+     * Tests that items are written in chunks of the configured size.
+     */
+    @Test
+    void shorten_WritesInChunks() {
+        // Arrange
+        when(shortIdGenerator.nextIds(anyInt())).thenAnswer(invocation ->
+                invocation.<Integer>getArgument(0) == 2 ? List.of("a1", "a2") : List.of("a3"));
+        when(urlRepository.insertUnordered(anyList())).thenReturn(List.of());
+
+        List<UrlDto> items = List.of(
+                item("https://www.example.com", null),
+                item("https://www.example.org", null),
+                item("https://www.example.net", null));
+
+        // Act
+        List<BatchItemResult> results = batchShortenService.shorten(items);
+
+        // Assert
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == Status.CREATED));
+        verify(urlRepository, times(2)).insertUnordered(anyList());
+    }
+
+    /**
+     * Tests that with deduplication enabled URLs shortened before and URLs
+     * repeated within the batch are answered with the existing short ID.
+     */
+    @Test
+    void shorten_DeduplicatesUrls() {
+        // Arrange
+        BatchShortenService dedupService = new BatchShortenService(urlRepository, shortIdGenerator, resolutionCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ShortenerMetrics(new SimpleMeterRegistry()), shortIdFilter, new UrlDeduplicator(true), 3);
+        Url existing = new Url();
+        existing.setShortId("exist1");
+        existing.setUrlHash(UrlNormalizer.fingerprint("https://www.example.com/"));
+        when(urlRepository.findByUrlHashIn(anyCollection())).thenReturn(List.of(existing));
+        when(shortIdGenerator.nextIds(1)).thenReturn(List.of("gen001"));
+        when(urlRepository.insertUnordered(anyList())).thenReturn(List.of());
+
+        List<UrlDto> items = List.of(
+                item("https://www.example.com/", null),
+                item("https://www.example.org", null),
+                item("https://www.example.org/", null));
+
+        // Act
+        List<BatchItemResult> results = dedupService.shorten(items);
+
+        // Assert
+        assertEquals(Status.EXISTING, results.get(0).getStatus());
+        assertEquals("exist1", results.get(0).getShortId());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        assertEquals("gen001", results.get(1).getShortId());
+        assertEquals(Status.EXISTING, results.get(2).getStatus());
+        assertEquals("gen001", results.get(2).getShortId());
+        verify(urlRepository).insertUnordered(argThat(urls -> urls.size() == 1));
+    }
+
+    private static UrlDto item(String url, String alias) {
+        UrlDto dto = new UrlDto();
+        dto.setUrl(url);
+        dto.setCustomAlias(alias);
+        return dto;
+    }
+
+    private static BulkWriteError duplicateKey(int index) {
+        return new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), index);
+    }
+}
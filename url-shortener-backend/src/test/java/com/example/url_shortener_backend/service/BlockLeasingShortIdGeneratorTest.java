@@ -0,0 +1,120 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.repository.IdCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BlockLeasingShortIdGenerator} class.
+ * <p>
+ * Tests the block-leasing ID allocation including:
+ * <ul>
+ *     <li>Uniqueness of IDs across blocks and threads</li>
+ *     <li>Number of counter round trips</li>
+ *     <li>ID length and alphabet</li>
+ * </ul>
+ * Uses Mockito to simulate the shared counter document.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class BlockLeasingShortIdGeneratorTest {
+
+    private static final long BLOCK_SIZE = 100;
+
+    @Mock
+    private IdCounterRepository counterRepository;
+
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Tests that concurrently allocated IDs are unique and leased in blocks.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>No ID is handed out twice</li>
+     *     <li>The counter is only touched once per block</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void nextId_UniqueAcrossThreads() throws Exception {
+        // Arrange
+        BlockLeasingShortIdGenerator generator = generator(true);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            executor.execute(() -> ids.add(generator.nextId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(5_000, ids.size());
+        verify(counterRepository, times(50)).reserveBlock(eq(BlockLeasingShortIdGenerator.COUNTER_NAME), eq(BLOCK_SIZE));
+    }
+
+    /**
+     * Tests that shuffled IDs have the minimum length and are not sequential.
+     */
+    @Test
+    void nextId_ShuffledIdsAreNotSequential() {
+        // Arrange
+        BlockLeasingShortIdGenerator generator = generator(true);
+
+        // Act
+        String first = generator.nextId();
+        String second = generator.nextId();
+
+        // Assert
+        assertTrue(first.matches("^[a-zA-Z0-9]{6}$"));
+        assertTrue(second.matches("^[a-zA-Z0-9]{6}$"));
+        assertNotEquals("aaaaab", second);
+    }
+
+    /**
+     * Tests that IDs grow by one character once a length's keyspace is used up.
+     */
+    @Test
+    void encode_GrowsLengthAfterKeyspaceIsExhausted() {
+        // Arrange
+        BlockLeasingShortIdGenerator generator = new BlockLeasingShortIdGenerator(
+                counterRepository, BLOCK_SIZE, 2, false, null);
+
+        // Act & Assert
+        assertEquals("aa", generator.encode(0));
+        assertEquals("99", generator.encode(62 * 62 - 1));
+        assertEquals("aaa", generator.encode(62 * 62));
+    }
+
+    /**
+     * Tests that shuffling refuses to start without a key.
+     */
+    @Test
+    void constructor_RequiresShuffleKey() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> new BlockLeasingShortIdGenerator(counterRepository, BLOCK_SIZE, 6, true, null));
+    }
+
+    private BlockLeasingShortIdGenerator generator(boolean shuffle) {
+        when(counterRepository.reserveBlock(eq(BlockLeasingShortIdGenerator.COUNTER_NAME), anyLong()))
+                .thenAnswer(invocation -> counter.getAndAdd(invocation.getArgument(1)));
+        return new BlockLeasingShortIdGenerator(counterRepository, BLOCK_SIZE, 6, shuffle, 42L);
+    }
+}
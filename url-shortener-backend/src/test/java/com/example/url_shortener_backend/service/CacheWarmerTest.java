@@ -0,0 +1,123 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import com.example.url_shortener_backend.model.WarmUpOrder;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CacheWarmer} class.
+ * <p>
+ * Uses Mockito for mocking the repository layer and a real
+ * {@link UrlResolutionCache}.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UrlResolutionCache resolutionCache = new UrlResolutionCache(
+            10_000, Duration.ofMinutes(10), Duration.ofSeconds(30), meterRegistry);
+
+    /**
+     * Tests that the hottest links are resolved in batches and served from
+     * the cache afterwards.
+     */
+    @Test
+    void warmUp_PreloadsHottestLinksInBatches() {
+        // Arrange
+        when(urlRepository.streamHottestShortIds(WarmUpOrder.CLICK_COUNT, 2500, 1000))
+                .thenReturn(IntStream.range(0, 2500).mapToObj(CacheWarmerTest::shortId));
+        when(urlRepository.findResolvedByShortIds(anyCollection()))
+                .thenAnswer(invocation -> resolve(invocation.getArgument(0)));
+
+        // Act
+        int loaded = warmer("click-count", 2500, 100_000).warmUp();
+
+        // Assert
+        assertEquals(2500, loaded);
+        verify(urlRepository, times(3)).findResolvedByShortIds(anyCollection());
+        assertEquals(Optional.of(resolved(shortId(2499))),
+                resolutionCache.get(shortId(2499), id -> fail("not preloaded")));
+        assertEquals(2500.0, meterRegistry.get("cache.warmup.loaded").gauge().value());
+        assertFalse(Double.isNaN(meterRegistry.get("cache.warmup.duration").timeGauge().value()));
+    }
+
+    /**
+     * Tests that no more links are preloaded than the cache can hold.
+     */
+    @Test
+    void warmUp_CappedAtCacheSize() {
+        // Arrange
+        when(urlRepository.streamHottestShortIds(eq(WarmUpOrder.LAST_ACCESSED), eq(500), eq(1000)))
+                .thenReturn(IntStream.range(0, 500).mapToObj(CacheWarmerTest::shortId));
+        when(urlRepository.findResolvedByShortIds(anyCollection()))
+                .thenAnswer(invocation -> resolve(invocation.getArgument(0)));
+
+        // Act
+        int loaded = warmer("last-accessed", 10_000, 500).warmUp();
+
+        // Assert
+        assertEquals(500, loaded);
+    }
+
+    /**
+     * Tests that a failing batch does not fail the startup and the other
+     * batches are still preloaded.
+     */
+    @Test
+    void warmUp_ContinuesAfterFailedBatch() {
+        // Arrange
+        when(urlRepository.streamHottestShortIds(WarmUpOrder.LAST_ACCESSED, 2000, 1000))
+                .thenReturn(IntStream.range(0, 2000).mapToObj(CacheWarmerTest::shortId));
+        when(urlRepository.findResolvedByShortIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> batch = invocation.getArgument(0);
+            if (batch.contains(shortId(0))) {
+                throw new DataAccessResourceFailureException("timed out");
+            }
+            return resolve(batch);
+        });
+
+        // Act
+        int loaded = warmer("last-accessed", 2000, 100_000).warmUp();
+
+        // Assert
+        assertEquals(1000, loaded);
+    }
+
+    private CacheWarmer warmer(String order, int topN, long maximumSize) {
+        return new CacheWarmer(urlRepository, resolutionCache, meterRegistry, order, topN, maximumSize,
+                1000, 2, Duration.ofSeconds(30));
+    }
+
+    private static List<ResolvedUrl> resolve(Collection<String> shortIds) {
+        return shortIds.stream().map(CacheWarmerTest::resolved).toList();
+    }
+
+    private static ResolvedUrl resolved(String shortId) {
+        return new ResolvedUrl(shortId, "https://www.example.com/" + shortId, true);
+    }
+
+    private static String shortId(int i) {
+        return String.format("s%06d", i);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ClickDelta;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClickAggregator} class.
+ * <p>
+ * Tests the write-behind click counting including:
+ * <ul>
+ *     <li>Coalescing of clicks per short ID</li>
+ *     <li>Batching of bulk writes</li>
+ *     <li>Retrying counts after a failed flush</li>
+ *     <li>Counting clicks on links archived before the flush</li>
+ *     <li>Deferring the counts of hot links</li>
+ * </ul>
+ * Uses Mockito for mocking the repository layer.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class ClickAggregatorTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    private ClickAggregator clickAggregator;
+
+    private final List<ClickDelta> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        clickAggregator = new ClickAggregator(urlRepository, 2, "block");
+    }
+
+    /**
+     * Tests that concurrent clicks on one link are flushed as a single delta.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>No increments are lost under concurrency</li>
+     *     <li>Nothing is left pending after the flush</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void flush_CoalescesConcurrentClicks() throws Exception {
+        // Arrange
+        captureWrites();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> clickAggregator.recordClick("abc123"));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Act
+        clickAggregator.flush();
+
+        // Assert
+        assertEquals(1, written.size());
+        assertEquals("abc123", written.get(0).getShortId());
+        assertEquals(10_000, written.get(0).getClicks());
+        assertNotNull(written.get(0).getLastAccessedAt());
+        assertEquals(0, clickAggregator.pendingClicks("abc123"));
+    }
+
+    /**
+     * Tests that deltas are split into bulk writes of the configured size.
+     */
+    @Test
+    void flush_SplitsIntoBatches() {
+        // Arrange
+        captureWrites();
+        clickAggregator.recordClick("a");
+        clickAggregator.recordClick("b");
+        clickAggregator.recordClick("c");
+
+        // Act
+        clickAggregator.flush();
+
+        // Assert
+        verify(urlRepository, times(2)).incrementClickCounts(anyList());
+        assertEquals(3, written.size());
+    }
+
+    /**
+     * Tests that clicks from a failed flush are written by the next flush.
+     */
+    @Test
+    void flush_RetriesAfterFailure() {
+        // Arrange
+        clickAggregator.recordClick("abc123");
+        clickAggregator.recordClick("abc123");
+        when(urlRepository.incrementClickCounts(anyList()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(1);
+
+        // Act
+        clickAggregator.flush();
+        clickAggregator.recordClick("abc123");
+        clickAggregator.flush();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClickDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(urlRepository, times(2)).incrementClickCounts(captor.capture());
+        assertEquals(3, captor.getAllValues().get(1).get(0).getClicks());
+    }
+
+    /**
+     * Tests that deltas of a batch that missed some links are applied to the
+     * archive, and not retried when that fails.
+     */
+    @Test
+    void flush_FallsBackToArchive() {
+        // Arrange
+        clickAggregator.recordClick("live");
+        clickAggregator.recordClick("archived");
+        when(urlRepository.incrementClickCounts(anyList())).thenReturn(1);
+        when(urlRepository.incrementArchivedClickCounts(anyList()))
+                .thenThrow(new RuntimeException("connection reset"));
+
+        // Act
+        clickAggregator.flush();
+        clickAggregator.flush();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClickDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(urlRepository).incrementArchivedClickCounts(captor.capture());
+        assertEquals(List.of("archived", "live"),
+                captor.getValue().stream().map(ClickDelta::getShortId).sorted().toList());
+        verify(urlRepository, times(1)).incrementClickCounts(anyList());
+        assertEquals(0, clickAggregator.pendingClicks("archived"));
+    }
+
+    /**
+     * Tests that a batch from the click pipeline only counts the clicks that
+     * were not already counted by a click claim.
+     */
+    @Test
+    void write_CountsOnlyCountedClicks() {
+        // Arrange
+        Instant now = Instant.now();
+
+        // Act
+        clickAggregator.write(List.of(
+                new RecordedClick("abc123", now, ClickContext.NONE, true),
+                new RecordedClick("abc123", now, ClickContext.NONE, true),
+                new RecordedClick("limited", now, ClickContext.NONE, false)));
+
+        // Assert
+        assertEquals(2, clickAggregator.pendingClicks("abc123"));
+        assertEquals(0, clickAggregator.pendingClicks("limited"));
+    }
+
+    /**
+     * Tests that a flush without pending clicks does not touch the database.
+     */
+    @Test
+    void flush_NothingPending() {
+        // Act
+        clickAggregator.flush();
+
+        // Assert
+        verifyNoInteractions(urlRepository);
+    }
+
+    /**
+     * Tests that clicks on hot links are only flushed on every
+     * {@code flush-every}th flush and on shutdown.
+     */
+    @Test
+    void flush_DefersHotLinks() {
+        // Arrange
+        captureWrites();
+        HotKeyTracker hotKeys = new HotKeyTracker(new UrlResolutionCache(1000, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), new SimpleMeterRegistry()), 10, 256, 4, 1, Duration.ZERO, Duration.ofHours(1));
+        hotKeys.write(List.of(new RecordedClick("hot", Instant.now(), ClickContext.NONE, true)));
+        clickAggregator = new ClickAggregator(urlRepository, 500, "block", Optional.of(hotKeys), 3);
+
+        // Act & Assert
+        clickAggregator.recordClick("hot");
+        clickAggregator.recordClick("cold");
+        clickAggregator.flush();
+        assertEquals(List.of("cold"), written.stream().map(ClickDelta::getShortId).toList());
+        assertEquals(1, clickAggregator.pendingClicks("hot"));
+
+        clickAggregator.recordClick("hot");
+        clickAggregator.flush();
+        clickAggregator.flush();
+        assertEquals(List.of("cold", "hot"), written.stream().map(ClickDelta::getShortId).toList());
+        assertEquals(2, written.get(1).getClicks());
+
+        clickAggregator.recordClick("hot");
+        clickAggregator.shutdown();
+        assertEquals(3, written.size());
+        assertEquals(0, clickAggregator.pendingClicks("hot"));
+    }
+
+    private void captureWrites() {
+        when(urlRepository.incrementClickCounts(anyList())).thenAnswer(invocation -> {
+            List<ClickDelta> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ClickEvent;
+import com.example.url_shortener_backend.model.ClickRollup;
+import com.example.url_shortener_backend.model.ClickTimeline;
+import com.example.url_shortener_backend.model.RecordedClick;
+import com.example.url_shortener_backend.model.RollupGranularity;
+import com.example.url_shortener_backend.repository.ClickEventRepository;
+import com.example.url_shortener_backend.repository.ClickRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClickAnalyticsService} class.
+ * <p>
+ * Verifies that written clicks are classified and rolled up per granularity,
+ * and that timelines are assembled from rollups only.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class ClickAnalyticsServiceTest {
+
+    private static final String SHORT_ID = "abc123";
+    private static final String IPHONE =
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) AppleWebKit/605.1.15 Mobile/15E148";
+
+    @Mock
+    private ClickEventRepository clickEventRepository;
+
+    @Mock
+    private ClickRollupRepository clickRollupRepository;
+
+    private ClickAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ClickAnalyticsService(clickEventRepository, clickRollupRepository, new GeoIpCountryResolver(""),
+                "drop", 1440, Duration.ofDays(2), Duration.ofDays(90), 100);
+    }
+
+    /**
+     * Tests that a written batch rolls clicks up into minute, hour and day buckets.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Every granularity receives every click</li>
+     *     <li>Referrers are reduced to their host and escaped for MongoDB</li>
+     *     <li>Only minute and hour rollups expire</li>
+     *     <li>The raw events are inserted</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_RollsUpAllGranularities() {
+        // Arrange
+        List<RecordedClick> clicks = List.of(
+                click(new ClickContext("https://www.google.com/search?q=x", IPHONE, "10.0.0.1")),
+                click(new ClickContext("https://www.google.com/", IPHONE, "10.0.0.1")),
+                click(new ClickContext(null, IPHONE, null)));
+        ArgumentCaptor<Collection<ClickRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<List<ClickEvent>> events = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        service.write(clicks);
+
+        // Assert
+        verify(clickRollupRepository).incrementRollups(rollups.capture());
+        verify(clickEventRepository).insert(events.capture());
+        assertEquals(3, events.getValue().size());
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            List<ClickRollup> ofGranularity = rollups.getValue().stream()
+                    .filter(rollup -> rollup.getGranularity() == granularity)
+                    .toList();
+            assertEquals(3, ofGranularity.stream().mapToLong(ClickRollup::getClicks).sum());
+            ClickRollup rollup = ofGranularity.get(0);
+            assertEquals(granularity != RollupGranularity.DAY, rollup.getExpiresAt() != null);
+            assertEquals("MOBILE", rollup.getUserAgents().keySet().iterator().next());
+            assertTrue(rollup.getCountries().containsKey(GeoIpCountryResolver.UNKNOWN_COUNTRY));
+        }
+        ClickRollup day = rollups.getValue().stream()
+                .filter(rollup -> rollup.getGranularity() == RollupGranularity.DAY)
+                .findFirst().orElseThrow();
+        assertEquals(Map.of("www%2Egoogle%2Ecom", 2L, "direct", 1L), day.getReferrers());
+    }
+
+    /**
+     * Tests that a failure to write the rollups fails the batch, so the
+     * pipeline counts it as dropped, after inserting the raw events.
+     */
+    @Test
+    void write_FailsWhenRollupsFail() {
+        // Arrange
+        doThrow(new IllegalStateException("down")).when(clickRollupRepository).incrementRollups(anyCollection());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.write(List.of(click(ClickContext.NONE))));
+        verify(clickEventRepository).insert(anyList());
+    }
+
+    /**
+     * Tests that referrer hosts beyond the per-bucket limit are counted as
+     * {@code other}, also across batches.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_FoldsExcessReferrers() {
+        // Arrange
+        service = new ClickAnalyticsService(clickEventRepository, clickRollupRepository, new GeoIpCountryResolver(""),
+                "drop", 1440, Duration.ofDays(2), Duration.ofDays(90), 2);
+        ArgumentCaptor<Collection<ClickRollup>> rollups = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        service.write(List.of(
+                click(new ClickContext("https://a.example/", IPHONE, null)),
+                click(new ClickContext("https://b.example/", IPHONE, null)),
+                click(new ClickContext("https://c.example/", IPHONE, null))));
+        service.write(List.of(
+                click(new ClickContext("https://a.example/", IPHONE, null)),
+                click(new ClickContext("https://d.example/", IPHONE, null))));
+
+        // Assert
+        verify(clickRollupRepository, times(2)).incrementRollups(rollups.capture());
+        Map<String, Long> first = dayReferrers(rollups.getAllValues().get(0));
+        Map<String, Long> second = dayReferrers(rollups.getAllValues().get(1));
+        assertEquals(Map.of("a%2Eexample", 1L, "b%2Eexample", 1L, "other", 1L), first);
+        assertEquals(Map.of("a%2Eexample", 1L, "other", 1L), second);
+    }
+
+    /**
+     * Tests that a timeline contains one bucket per period, including empty ones.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Periods without a rollup are reported with zero clicks</li>
+     *     <li>Dimension counts are summed over the range and unescaped</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void getTimeline_FillsEmptyBuckets() {
+        // Arrange
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = from.plus(Duration.ofHours(3));
+        ClickRollup first = ClickRollup.empty(SHORT_ID, RollupGranularity.HOUR, from);
+        first.setClicks(2);
+        first.getReferrers().put("www%2Egoogle%2Ecom", 2L);
+        ClickRollup third = ClickRollup.empty(SHORT_ID, RollupGranularity.HOUR, from.plus(Duration.ofHours(2)));
+        third.setClicks(1);
+        third.getReferrers().put("direct", 1L);
+        when(clickRollupRepository.findRange(SHORT_ID, RollupGranularity.HOUR, from, to))
+                .thenReturn(new ArrayList<>(List.of(first, third)));
+
+        // Act
+        ClickTimeline timeline = service.getTimeline(SHORT_ID, RollupGranularity.HOUR, from, to);
+
+        // Assert
+        assertEquals(List.of(2L, 0L, 1L), timeline.getBuckets().stream().map(ClickTimeline.Bucket::getClicks).toList());
+        assertEquals(3, timeline.getTotalClicks());
+        assertEquals(Map.of("www.google.com", 2L, "direct", 1L), timeline.getReferrers());
+    }
+
+    /**
+     * Tests that ranges with too many buckets are rejected without querying rollups.
+     */
+    @Test
+    void getTimeline_RejectsTooManyPoints() {
+        // Arrange
+        Instant to = Instant.parse("2024-01-02T00:00:00Z");
+        Instant from = to.minus(Duration.ofDays(2));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getTimeline(SHORT_ID, RollupGranularity.MINUTE, from, to));
+        verifyNoInteractions(clickRollupRepository);
+    }
+
+    private static RecordedClick click(ClickContext context) {
+        return new RecordedClick(SHORT_ID, Instant.now(), context, true);
+    }
+
+    private static Map<String, Long> dayReferrers(Collection<ClickRollup> rollups) {
+        return rollups.stream()
+                .filter(rollup -> rollup.getGranularity() == RollupGranularity.DAY)
+                .findFirst().orElseThrow()
+                .getReferrers();
+    }
+}
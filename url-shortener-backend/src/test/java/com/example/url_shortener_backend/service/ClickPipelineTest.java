@@ -0,0 +1,172 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.OverflowPolicy;
+import com.example.url_shortener_backend.model.RecordedClick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClickPipeline} class.
+ * <p>
+ * Tests the asynchronous delivery of clicks to sinks including:
+ * <ul>
+ *     <li>Draining every buffered click on shutdown</li>
+ *     <li>Isolation of a slow sink from the other sinks</li>
+ *     <li>Dropping and counting clicks on overflow</li>
+ * </ul>
+ * </p>
+ */
+class ClickPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClickPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    /**
+     * Tests that clicks still buffered when the pipeline shuts down are
+     * written before the consumers stop.
+     */
+    @Test
+    void shutdown_DrainsBufferedClicks() {
+        // Arrange
+        RecordingSink sink = new RecordingSink("test", OverflowPolicy.DROP);
+        pipeline = createPipeline(List.of(sink), 1024);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            pipeline.publish("abc123", ClickContext.NONE, true);
+        }
+        pipeline.shutdown();
+
+        // Assert
+        assertEquals(500, sink.clicks.size());
+        assertTrue(sink.clicks.get(0).isCounted());
+    }
+
+    /**
+     * Tests that a sink whose writes hang neither blocks the publisher nor
+     * holds up other sinks, and that its overflow is counted.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Clicks beyond the buffer of the stuck sink are dropped</li>
+     *     <li>The other sink, which blocks on overflow, receives every click</li>
+     *     <li>The buffer depth is reported</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void publish_SlowSinkDropsWithoutBlocking() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink("stuck", OverflowPolicy.DROP) {
+            @Override
+            public void write(List<RecordedClick> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(batch);
+            }
+        };
+        RecordingSink healthy = new RecordingSink("healthy", OverflowPolicy.BLOCK);
+        pipeline = new ClickPipeline(List.of(stuck, healthy), meterRegistry, 16, 1000, 1,
+                0.1, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        // Act: the first click gets the stuck consumer into its write
+        pipeline.publish("abc123", ClickContext.NONE, true);
+        while (meterRegistry.get("clicks.pipeline.depth").tag("sink", "stuck").gauge().value() > 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(50);
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish("abc123", ClickContext.NONE, true);
+        }
+
+        // Assert
+        assertEquals(16, meterRegistry.get("clicks.pipeline.depth").tag("sink", "stuck").gauge().value());
+        double dropped = meterRegistry.get("clicks.pipeline.dropped")
+                .tag("sink", "stuck").tag("reason", "overflow").counter().count();
+        assertEquals(100 - 16, dropped);
+        release.countDown();
+        pipeline.shutdown();
+        assertEquals(101, healthy.clicks.size());
+        assertEquals(17, stuck.clicks.size());
+    }
+
+    /**
+     * Tests that a batch a sink fails to write is counted as dropped.
+     */
+    @Test
+    void write_CountsFailures() {
+        // Arrange
+        RecordingSink failing = new RecordingSink("failing", OverflowPolicy.DROP) {
+            @Override
+            public void write(List<RecordedClick> batch) {
+                throw new IllegalStateException("down");
+            }
+        };
+        pipeline = createPipeline(List.of(failing), 16);
+
+        // Act
+        pipeline.publish("abc123", ClickContext.NONE, true);
+        pipeline.publish("abc123", ClickContext.NONE, true);
+        pipeline.shutdown();
+
+        // Assert
+        assertEquals(2, meterRegistry.get("clicks.pipeline.dropped")
+                .tag("sink", "failing").tag("reason", "write_failure").counter().count());
+    }
+
+    private ClickPipeline createPipeline(List<ClickSink> sinks, int capacity) {
+        return new ClickPipeline(sinks, meterRegistry, capacity, 1000, TimeUnit.SECONDS.toMillis(10),
+                0.1, Duration.ofMillis(10), Duration.ofSeconds(10));
+    }
+
+    /**
+     * Sink collecting every click it is given.
+     */
+    private static class RecordingSink implements ClickSink {
+        private final String name;
+        private final OverflowPolicy overflowPolicy;
+        final List<RecordedClick> clicks = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingSink(String name, OverflowPolicy overflowPolicy) {
+            this.name = name;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public OverflowPolicy overflowPolicy() {
+            return overflowPolicy;
+        }
+
+        @Override
+        public void write(List<RecordedClick> batch) {
+            clicks.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ExportFormat;
+import com.example.url_shortener_backend.model.ExportOrder;
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ExportService} class.
+ * <p>
+ * Verifies the NDJSON and CSV output and that the cursor is always closed.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final String ID = "65f1c0ffee0ddba11c0ffee1";
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(urlRepository, new ObjectMapper(), 100);
+    }
+
+    /**
+     * Tests NDJSON output.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Every URL is written as one JSON object per line</li>
+     *     <li>The cursor stream is closed</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void export_Ndjson() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(urlRepository.streamOrderedBy(ExportOrder.ID, null, 100))
+                .thenReturn(Stream.of(url("abc123", "https://www.example.com"), url("def456", "https://example.org"))
+                        .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.export(ExportFormat.NDJSON, ExportOrder.ID, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(ID, first.get("id").asText());
+        assertEquals("abc123", first.get("shortId").asText());
+        assertEquals(7, first.get("clickCount").asInt());
+        assertEquals("2024-01-01T12:00", first.get("createdAt").asText());
+        assertTrue(closed.get());
+    }
+
+    /**
+     * Tests CSV output.
+     * <p>
+     * Verifies that a header row is written and that fields containing
+     * separators or quotes are quoted.
+     * </p>
+     */
+    @Test
+    void export_CsvQuotesFields() throws Exception {
+        // Arrange
+        when(urlRepository.streamOrderedBy(ExportOrder.SHORT_ID, "abc", 100))
+                .thenReturn(Stream.of(url("abc123", "https://example.com/a,b?q=\"x\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(ExportFormat.CSV, ExportOrder.SHORT_ID, "abc", out);
+
+        // Assert
+        assertEquals("id,shortId,originalUrl,createdAt,lastAccessedAt,clickCount,active\r\n"
+                        + ID + ",abc123,\"https://example.com/a,b?q=\"\"x\"\"\",2024-01-01T12:00,,7,true\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that an invalid resume cursor is rejected before the collection is read.
+     */
+    @Test
+    void export_RejectsInvalidIdCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(
+                ExportFormat.NDJSON, ExportOrder.ID, "not-an-id", new ByteArrayOutputStream()));
+        verify(urlRepository, never()).streamOrderedBy(any(), any(), anyInt());
+    }
+
+    private static Url url(String shortId, String originalUrl) {
+        Url url = new Url();
+        url.setId(ID);
+        url.setShortId(shortId);
+        url.setOriginalUrl(originalUrl);
+        url.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        url.setClickCount(7);
+        return url;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.HotKey;
+import com.example.url_shortener_backend.model.HotKeySnapshot;
+import com.example.url_shortener_backend.model.RecordedClick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link HotKeyTracker} class.
+ * <p>
+ * Uses a real {@link UrlResolutionCache} and refreshes the hot links after
+ * every batch.
+ * </p>
+ */
+class HotKeyTrackerTest {
+
+    private final UrlResolutionCache resolutionCache = new UrlResolutionCache(
+            1000, Duration.ofMinutes(10), Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    /**
+     * Tests that links with enough clicks are reported, pinned and hot,
+     * while links below the threshold are only reported.
+     */
+    @Test
+    void write_PinsLinksAboveThreshold() {
+        // Arrange
+        HotKeyTracker tracker = tracker(Duration.ofHours(1));
+
+        // Act
+        tracker.write(clicks("hot", 150));
+        tracker.write(clicks("warm", 20));
+
+        // Assert
+        HotKeySnapshot snapshot = tracker.snapshot();
+        assertEquals(List.of(new HotKey("hot", 150, true), new HotKey("warm", 20, false)), snapshot.getKeys());
+        assertEquals(170, snapshot.getTrackedClicks());
+        assertNotNull(snapshot.getUpdatedAt());
+        assertTrue(tracker.isHot("hot"));
+        assertFalse(tracker.isHot("warm"));
+        assertEquals(Set.of("hot"), resolutionCache.pinned());
+    }
+
+    /**
+     * Tests that a link that stops being clicked is unpinned once its
+     * decayed count falls below the threshold.
+     */
+    @Test
+    void write_UnpinsLinksThatCooledDown() {
+        // Arrange
+        HotKeyTracker tracker = tracker(Duration.ZERO);
+        tracker.write(clicks("hot", 300));
+        assertTrue(tracker.isHot("hot"));
+
+        // Act
+        tracker.write(clicks("other", 1));
+        tracker.write(clicks("other", 1));
+
+        // Assert
+        assertFalse(tracker.isHot("hot"));
+        assertTrue(resolutionCache.pinned().isEmpty());
+    }
+
+    /**
+     * Tests that nothing is reported before the first batch.
+     */
+    @Test
+    void snapshot_EmptyBeforeFirstClick() {
+        // Act
+        HotKeyTracker tracker = tracker(Duration.ofHours(1));
+
+        // Assert
+        assertSame(HotKeySnapshot.EMPTY, tracker.snapshot());
+        assertFalse(tracker.isHot("hot"));
+    }
+
+    private HotKeyTracker tracker(Duration decayInterval) {
+        return new HotKeyTracker(resolutionCache, 10, 256, 4, 100, Duration.ZERO, decayInterval);
+    }
+
+    private static List<RecordedClick> clicks(String shortId, int count) {
+        List<RecordedClick> clicks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            clicks.add(new RecordedClick(shortId, Instant.now(), ClickContext.NONE, true));
+        }
+        return clicks;
+    }
+}
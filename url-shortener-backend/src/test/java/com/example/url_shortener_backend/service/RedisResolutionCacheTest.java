@@ -0,0 +1,108 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RedisResolutionCache} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisResolutionCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Tests that links round-trip through their Redis encoding.
+     */
+    @Test
+    void putAndGet_RoundTrip() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        RedisResolutionCache cache = cache(Duration.ofSeconds(2));
+        ResolvedUrl url = new ResolvedUrl("abc123", "https://www.example.com/a?b=1|c", false);
+
+        cache.put(url);
+
+        verify(valueOperations).set("url:r:abc123", "0https://www.example.com/a?b=1|c", Duration.ofHours(1));
+        when(valueOperations.get("url:r:abc123")).thenReturn("0https://www.example.com/a?b=1|c");
+        assertEquals(Optional.of(url), cache.get("abc123"));
+    }
+
+    /**
+     * Tests that the expiry time and click limit survive the encoding.
+     */
+    @Test
+    void encode_KeepsExpiryAndClickLimit() {
+        ResolvedUrl expiring = new ResolvedUrl("abc123", "https://www.example.com", true, Instant.ofEpochMilli(42), null);
+        ResolvedUrl limited = new ResolvedUrl("abc123", "https://www.example.com", true, null, 5);
+
+        assertEquals(expiring, RedisResolutionCache.decode("abc123", RedisResolutionCache.encode(expiring)));
+        assertEquals(limited, RedisResolutionCache.decode("abc123", RedisResolutionCache.encode(limited)));
+    }
+
+    /**
+     * Tests that an unreachable Redis is reported as a miss.
+     */
+    @Test
+    void get_ErrorIsMiss() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("url:r:abc123")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(Optional.empty(), cache(Duration.ofSeconds(2)).get("abc123"));
+        assertEquals(1.0, meterRegistry.get("url.cache.l2.errors").counter().count());
+    }
+
+    /**
+     * Tests that an eviction deletes the key and is broadcast, then repeated
+     * after the re-evict delay.
+     */
+    @Test
+    void evict_DeletesPublishesAndRepeats() {
+        RedisResolutionCache cache = cache(Duration.ofMillis(50));
+
+        cache.evict("abc123");
+
+        verify(redisTemplate).delete("url:r:abc123");
+        verify(redisTemplate).convertAndSend("invalidations", "abc123");
+        verify(redisTemplate, timeout(5000).times(2)).delete("url:r:abc123");
+        verify(redisTemplate, timeout(5000).times(2)).convertAndSend("invalidations", "abc123");
+        cache.shutdown();
+    }
+
+    /**
+     * Tests that a new short ID is broadcast without touching the stored entries.
+     */
+    @Test
+    void announce_PublishesOnly() {
+        RedisResolutionCache cache = cache(Duration.ofMillis(50));
+
+        cache.announce("abc123");
+
+        verify(redisTemplate).convertAndSend("invalidations", "abc123");
+        verifyNoMoreInteractions(redisTemplate);
+        cache.shutdown();
+    }
+
+    private RedisResolutionCache cache(Duration reEvictDelay) {
+        return new RedisResolutionCache(redisTemplate, meterRegistry, Duration.ofHours(1), "invalidations", reEvictDelay);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.Url;
+import com.example.url_shortener_backend.repository.UrlRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link UrlArchiver} class.
+ * <p>
+ * Uses Mockito for mocking the repository layer.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class UrlArchiverTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Tests that cold URLs are archived batch by batch, resuming after the
+     * last document of the previous batch, until a partial batch is found.
+     */
+    @Test
+    void archiveColdUrls_PagesThroughBatches() {
+        // Arrange
+        List<Url> first = List.of(url("000000000000000000000001"), url("000000000000000000000002"));
+        List<Url> second = List.of(url("000000000000000000000003"));
+        when(urlRepository.findColdUrls(any(), isNull(), eq(2))).thenReturn(first);
+        when(urlRepository.findColdUrls(any(), eq("000000000000000000000002"), eq(2))).thenReturn(second);
+        when(urlRepository.archive(eq(first), any())).thenReturn(2);
+        when(urlRepository.archive(eq(second), any())).thenReturn(1);
+        UrlArchiver archiver = new UrlArchiver(urlRepository, meterRegistry, true, Duration.ofDays(30), 2);
+
+        // Act
+        long archived = archiver.archiveColdUrls();
+
+        // Assert
+        assertEquals(3, archived);
+        assertEquals(3.0, meterRegistry.get("url.archive.archived").counter().count());
+        verify(urlRepository, times(2)).findColdUrls(
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(29))), any(), eq(2));
+    }
+
+    /**
+     * Tests that nothing is archived when archiving is disabled.
+     */
+    @Test
+    void archiveColdUrls_Disabled() {
+        UrlArchiver archiver = new UrlArchiver(urlRepository, meterRegistry, false, Duration.ofDays(30), 2);
+
+        assertEquals(0, archiver.archiveColdUrls());
+        verifyNoInteractions(urlRepository);
+    }
+
+    private static Url url(String id) {
+        Url url = new Url();
+        url.setId(id);
+        return url;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.url_shortener_backend.service;
+
+import com.example.url_shortener_backend.model.ResolvedUrl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UrlResolutionCache} class in front of a shared cache.
+ * <p>
+ * Two caches stand for two instances sharing an in-memory stand-in for the
+ * shared tier, which delivers invalidations to both like Redis pub/sub would.
+ * </p>
+ */
+class UrlResolutionCacheTest {
+
+    private static final String SHORT_ID = "abc123";
+    private static final ResolvedUrl ACTIVE = new ResolvedUrl(SHORT_ID, "https://www.example.com", true);
+    private static final ResolvedUrl INACTIVE = new ResolvedUrl(SHORT_ID, "https://www.example.com", false);
+
+    private InMemorySharedCache sharedCache;
+    private UrlResolutionCache node1;
+    private UrlResolutionCache node2;
+    private final AtomicInteger databaseReads = new AtomicInteger();
+    private volatile ResolvedUrl stored = ACTIVE;
+
+    @BeforeEach
+    void setUp() {
+        sharedCache = new InMemorySharedCache();
+        node1 = node();
+        node2 = node();
+    }
+
+    /**
+     * Tests that a link loaded by one instance is served to another from the
+     * shared tier, without a second database read.
+     */
+    @Test
+    void get_SharedAcrossInstances() {
+        assertEquals(Optional.of(ACTIVE), node1.get(SHORT_ID, this::load));
+        assertEquals(Optional.of(ACTIVE), node2.get(SHORT_ID, this::load));
+        assertEquals(Optional.of(ACTIVE), node2.getAsync(SHORT_ID, id -> fail("loaded twice")).join());
+
+        assertEquals(1, databaseReads.get());
+    }
+
+    /**
+     * Tests that a deactivation on one instance stops the other from serving
+     * its cached copy.
+     */
+    @Test
+    void invalidate_ReachesEveryInstance() {
+        node1.get(SHORT_ID, this::load);
+        node2.get(SHORT_ID, this::load);
+
+        stored = INACTIVE;
+        node1.invalidate(SHORT_ID);
+
+        assertEquals(Optional.of(INACTIVE), node2.get(SHORT_ID, this::load));
+        assertEquals(Optional.of(INACTIVE), node1.get(SHORT_ID, this::load));
+        assertEquals(2, databaseReads.get());
+    }
+
+    /**
+     * Tests that unknown short IDs are cached locally but not shared.
+     */
+    @Test
+    void get_NegativeEntriesStayLocal() {
+        assertEquals(Optional.empty(), node1.getAsync(SHORT_ID, id -> CompletableFuture
+                .completedFuture(Optional.<ResolvedUrl>empty())).join());
+
+        assertTrue(sharedCache.entries.isEmpty());
+        node1.invalidateLocal(SHORT_ID);
+        assertEquals(Optional.of(ACTIVE), node1.get(SHORT_ID, this::load));
+        assertEquals(ACTIVE, sharedCache.entries.get(SHORT_ID));
+    }
+
+    /**
+     * Tests that creating a short ID on one instance clears the negative
+     * entry another instance cached for it when it was probed earlier.
+     */
+    @Test
+    void invalidateCreated_ClearsNegativeEntriesEverywhere() {
+        stored = null;
+        assertEquals(Optional.empty(), node2.get(SHORT_ID, id -> Optional.ofNullable(stored)));
+        stored = ACTIVE;
+
+        node1.invalidateCreated(SHORT_ID);
+
+        assertEquals(Optional.of(ACTIVE), node2.get(SHORT_ID, this::load));
+    }
+
+    /**
+     * Tests that preloaded links are served without loading them, stay out
+     * of the shared tier, and that the first hit is reported.
+     */
+    @Test
+    void preload_ServesWithoutLoading() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UrlResolutionCache cache = new UrlResolutionCache(1000, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                registry, Optional.of(sharedCache));
+        assertTrue(Double.isNaN(registry.get(UrlResolutionCache.FIRST_HIT_METRIC).timeGauge().value()));
+
+        assertEquals(1, cache.preload(List.of(ACTIVE), cache.invalidationStamp()));
+
+        assertEquals(Optional.of(ACTIVE), cache.get(SHORT_ID, id -> fail("loaded a preloaded link")));
+        assertTrue(sharedCache.entries.isEmpty());
+        assertTrue(registry.get(UrlResolutionCache.FIRST_HIT_METRIC).timeGauge().value() > 0);
+    }
+
+    /**
+     * Tests that preloading does not replace a link that is already cached.
+     */
+    @Test
+    void preload_KeepsCachedEntries() {
+        stored = INACTIVE;
+        node1.get(SHORT_ID, this::load);
+
+        assertEquals(0, node1.preload(List.of(ACTIVE), node1.invalidationStamp()));
+
+        assertEquals(Optional.of(INACTIVE), node1.get(SHORT_ID, this::load));
+    }
+
+    /**
+     * Tests that links read before an invalidation are not left in the cache,
+     * since they may be the stale version.
+     */
+    @Test
+    void preload_DiscardedAfterConcurrentInvalidation() {
+        long stamp = node1.invalidationStamp();
+        stored = INACTIVE;
+        node1.invalidate(SHORT_ID);
+
+        assertEquals(0, node1.preload(List.of(ACTIVE), stamp));
+
+        assertEquals(Optional.of(INACTIVE), node1.get(SHORT_ID, this::load));
+        assertEquals(1, databaseReads.get());
+    }
+
+    /**
+     * Tests that pinned links survive size-based eviction, whether they were
+     * pinned before or after being cached.
+     */
+    @Test
+    void pin_ExemptsFromSizeEviction() {
+        UrlResolutionCache cache = new UrlResolutionCache(10, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                new SimpleMeterRegistry());
+        ResolvedUrl early = new ResolvedUrl("early", "https://www.example.com/early", true);
+        cache.get("early", id -> Optional.of(early));
+        cache.pin(Set.of("early", SHORT_ID));
+        cache.get(SHORT_ID, this::load);
+
+        for (int i = 0; i < 1000; i++) {
+            String shortId = "s" + i;
+            cache.get(shortId, id -> Optional.of(new ResolvedUrl(id, "https://www.example.com/" + id, true)));
+        }
+
+        assertEquals(Optional.of(early), cache.get("early", id -> fail("evicted a pinned link")));
+        assertEquals(Optional.of(ACTIVE), cache.get(SHORT_ID, id -> fail("evicted a pinned link")));
+        assertEquals(Set.of("early", SHORT_ID), cache.pinned());
+    }
+
+    private UrlResolutionCache node() {
+        UrlResolutionCache cache = new UrlResolutionCache(1000, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                new SimpleMeterRegistry(), Optional.of(sharedCache));
+        sharedCache.subscribers.add(cache);
+        return cache;
+    }
+
+    private Optional<ResolvedUrl> load(String shortId) {
+        databaseReads.incrementAndGet();
+        return Optional.of(stored);
+    }
+
+    /**
+     * Shared tier stand-in broadcasting evictions to every subscribed cache.
+     */
+    private static final class InMemorySharedCache implements SharedResolutionCache {
+        private final Map<String, ResolvedUrl> entries = new ConcurrentHashMap<>();
+        private final List<UrlResolutionCache> subscribers = new ArrayList<>();
+
+        @Override
+        public Optional<ResolvedUrl> get(String shortId) {
+            return Optional.ofNullable(entries.get(shortId));
+        }
+
+        @Override
+        public void put(ResolvedUrl resolvedUrl) {
+            entries.put(resolvedUrl.getShortId(), resolvedUrl);
+        }
+
+        @Override
+        public void evict(String shortId) {
+            entries.remove(shortId);
+            subscribers.forEach(cache -> cache.invalidateLocal(shortId));
+        }
+
+        @Override
+        public void announce(String shortId) {
+            subscribers.forEach(cache -> cache.invalidateLocal(shortId));
+        }
+    }
+}
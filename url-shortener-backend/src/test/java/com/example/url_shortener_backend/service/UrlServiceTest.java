@@ -1,18 +1,30 @@
 package com.example.url_shortener_backend.service;
 
 import com.example.url_shortener_backend.exception.UrlNotFoundException;
+import com.example.url_shortener_backend.model.ClickClaim;
+import com.example.url_shortener_backend.model.ClickContext;
+import com.example.url_shortener_backend.model.ResolvedUrl;
 import com.example.url_shortener_backend.model.Url;
 import com.example.url_shortener_backend.repository.UrlRepository;
+import com.example.url_shortener_backend.util.UrlNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -23,6 +35,7 @@ import static org.mockito.Mockito.*;
  *     <li>URL creation and validation</li>
  *     <li>URL retrieval</li>
  *     <li>Click count tracking</li>
+ *     <li>Expiry, click limits and archived URLs</li>
  * </ul>
  * Uses Mockito for mocking the repository layer.
  * </p>
@@ -33,18 +46,44 @@ class UrlServiceTest {
     @Mock
     private UrlRepository urlRepository;
 
+    @Mock
+    private ClickPipeline clickPipeline;
+
+    @Mock
+    private ShortIdGenerator shortIdGenerator;
+
+    @Mock
+    private ShortIdFilter shortIdFilter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ShortenerMetrics metrics = new ShortenerMetrics(meterRegistry);
+
+    @Spy
+    private UrlResolutionCache resolutionCache = new UrlResolutionCache(
+            100, Duration.ofMinutes(10), Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    @Spy
+    private UrlDeduplicator deduplicator = new UrlDeduplicator(false);
+
     @InjectMocks
     private UrlService urlService;
 
-    private static final String ORIGINAL_URL = "https://www.example.com";
+    private static final String ORIGINAL_URL = "https://www.example.com/";
     private static final String SHORT_ID = "abc123";
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(shortIdFilter.mightContain(any())).thenReturn(true);
+    }
+
     /**
      * Tests successful creation of a shortened URL.
      * <p>
      * Verifies that:
      * <ul>
-     *     <li>A unique short ID is generated</li>
+     *     <li>The short ID comes from the generator without existence checks</li>
      *     <li>The URL is properly saved</li>
      *     <li>Initial click count is zero</li>
      *     <li>All required fields are set</li>
@@ -54,7 +93,7 @@ class UrlServiceTest {
     @Test
     void createShortUrl_Success() {
         // Arrange
-        when(urlRepository.existsByShortId(any())).thenReturn(false);
+        when(shortIdGenerator.nextId()).thenReturn(SHORT_ID);
         when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> {
             Url url = invocation.getArgument(0);
             url.setId("someId");
@@ -67,9 +106,92 @@ class UrlServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(ORIGINAL_URL, result.getOriginalUrl());
-        assertNotNull(result.getShortId());
+        assertEquals(SHORT_ID, result.getShortId());
         assertEquals(0, result.getClickCount());
         verify(urlRepository).save(any(Url.class));
+        verify(urlRepository, never()).existsByShortId(any());
+        verify(shortIdFilter).put(SHORT_ID);
+        verify(resolutionCache).invalidateCreated(SHORT_ID);
+    }
+
+    /**
+     * Tests that the URL is stored in normalized form and that a URL the
+     * normalizer rejects is not stored.
+     */
+    @Test
+    void createShortUrl_NormalizesUrl() {
+        // Arrange
+        when(shortIdGenerator.nextId()).thenReturn(SHORT_ID);
+        when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Url result = urlService.createShortUrl("HTTPS://Bücher.example:443/a b", null);
+
+        // Assert
+        assertEquals("https://xn--bcher-kva.example/a%20b", result.getOriginalUrl());
+        assertThrows(IllegalArgumentException.class, () -> urlService.createShortUrl("javascript://alert(1)", null));
+        verify(urlRepository).save(any(Url.class));
+    }
+
+    /**
+     * Tests that a custom alias the short ID filter rules out is created
+     * without an existence query.
+     */
+    @Test
+    void createShortUrl_SkipsAliasCheckOnFilterMiss() {
+        // Arrange
+        when(shortIdFilter.mightContain("my-alias")).thenReturn(false);
+        when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Url result = urlService.createShortUrl(ORIGINAL_URL, "my-alias");
+
+        // Assert
+        assertEquals("my-alias", result.getShortId());
+        verify(urlRepository, never()).existsByShortId(any());
+    }
+
+    /**
+     * Tests that a generated short ID clashing with an existing custom alias
+     * is replaced by the next generated ID and the retry is counted.
+     */
+    @Test
+    void createShortUrl_RetriesOnDuplicateGeneratedId() {
+        // Arrange
+        when(shortIdGenerator.nextId()).thenReturn(SHORT_ID, "abc124");
+        when(urlRepository.save(any(Url.class)))
+                .thenThrow(new DuplicateKeyException("E11000"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Url result = urlService.createShortUrl(ORIGINAL_URL, null);
+
+        // Assert
+        assertEquals("abc124", result.getShortId());
+        verify(urlRepository, times(2)).save(any(Url.class));
+        assertEquals(1.0, meterRegistry.get("url.shortid.retries").tag("source", "create").counter().count());
+    }
+
+    /**
+     * Tests that a custom alias taken by a concurrent create is reported and
+     * counted as a conflict, and timed with its exception.
+     */
+    @Test
+    void createShortUrl_CustomAliasRace() {
+        // Arrange
+        when(urlRepository.existsByShortId("my-alias")).thenReturn(false);
+        when(urlRepository.save(any(Url.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            urlService.createShortUrl(ORIGINAL_URL, "my-alias")
+        );
+        verifyNoInteractions(shortIdGenerator);
+        assertEquals(1.0, meterRegistry.get("url.alias.conflicts").counter().count());
+        assertEquals(1, meterRegistry.get("url.service")
+                .tag("method", "createShortUrl")
+                .tag("exception", "IllegalArgumentException")
+                .timer().count());
     }
 
     /**
@@ -88,7 +210,7 @@ class UrlServiceTest {
         Url url = new Url();
         url.setShortId(SHORT_ID);
         url.setOriginalUrl(ORIGINAL_URL);
-        when(urlRepository.findByShortId(SHORT_ID)).thenReturn(Optional.of(url));
+        when(urlRepository.findForStatsByShortId(SHORT_ID)).thenReturn(Optional.of(url));
 
         // Act
         Url result = urlService.getUrlByShortId(SHORT_ID);
@@ -103,18 +225,123 @@ class UrlServiceTest {
      * Tests URL retrieval with a non-existent short ID.
      * <p>
      * Verifies that a {@link UrlNotFoundException} is thrown when
-     * attempting to retrieve a URL with an invalid short ID.
+     * attempting to retrieve a URL with an invalid short ID, and that the
+     * miss is counted.
      * </p>
      */
     @Test
     void getUrlByShortId_NotFound() {
         // Arrange
-        when(urlRepository.findByShortId(SHORT_ID)).thenReturn(Optional.empty());
+        when(urlRepository.findForStatsByShortId(SHORT_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(UrlNotFoundException.class, () -> 
             urlService.getUrlByShortId(SHORT_ID)
         );
+        assertEquals(1.0, meterRegistry.get("url.not.found").tag("method", "getUrlByShortId").counter().count());
+    }
+
+    /**
+     * Tests that repeated resolutions of the same short ID are served from the cache.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>The repository is queried only once</li>
+     *     <li>The cached resolution carries the original URL</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void resolveShortId_CachesResolution() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID))
+                .thenReturn(Optional.of(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true)));
+
+        // Act
+        urlService.resolveShortId(SHORT_ID);
+        ResolvedUrl result = urlService.resolveShortId(SHORT_ID);
+
+        // Assert
+        assertEquals(ORIGINAL_URL, result.getOriginalUrl());
+        verify(urlRepository, times(1)).findResolvedByShortId(SHORT_ID);
+        verify(urlRepository, never()).findByShortId(SHORT_ID);
+    }
+
+    /**
+     * Tests that a legacy document whose URL is not accepted by the
+     * normalizer is reported as not found instead of being redirected to.
+     */
+    @Test
+    void resolveShortId_InvalidLegacyUrlIsNotFound() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID))
+                .thenReturn(Optional.of(new ResolvedUrl(SHORT_ID, "javascript:alert(1)", true)));
+
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
+    }
+
+    /**
+     * Tests that unknown short IDs are negatively cached.
+     * <p>
+     * Verifies that repeated lookups of a missing short ID throw
+     * {@link UrlNotFoundException} without querying the repository again.
+     * </p>
+     */
+    @Test
+    void resolveShortId_CachesMiss() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
+        verify(urlRepository, times(1)).findResolvedByShortId(SHORT_ID);
+    }
+
+    /**
+     * Tests that short IDs rejected by the short ID filter are reported as
+     * not found without a repository query.
+     */
+    @Test
+    void resolveShortId_FilterMissSkipsRepository() {
+        // Arrange
+        when(shortIdFilter.mightContain(SHORT_ID)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
+        verifyNoInteractions(urlRepository);
+        assertEquals(1.0, meterRegistry.get("url.not.found").tag("method", "incrementClickCount").counter().count());
+    }
+
+    /**
+     * Tests that deactivating a URL invalidates its cached resolution.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>The document is saved as inactive</li>
+     *     <li>Subsequent resolutions report the URL as not found</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void deactivateUrl_InvalidatesCache() {
+        // Arrange
+        Url url = new Url();
+        url.setShortId(SHORT_ID);
+        url.setOriginalUrl(ORIGINAL_URL);
+        when(urlRepository.findByShortId(SHORT_ID)).thenReturn(Optional.of(url));
+        when(urlRepository.findResolvedByShortId(SHORT_ID))
+                .thenAnswer(invocation -> Optional.of(ResolvedUrl.of(url)));
+        urlService.resolveShortId(SHORT_ID);
+
+        // Act
+        urlService.deactivateUrl(SHORT_ID);
+
+        // Assert
+        assertFalse(url.isActive());
+        verify(urlRepository).save(url);
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
     }
 
     /**
@@ -122,9 +349,9 @@ class UrlServiceTest {
      * <p>
      * Verifies that:
      * <ul>
-     *     <li>Click count is incremented by one</li>
-     *     <li>Updated URL is saved to repository</li>
-     *     <li>Other URL properties remain unchanged</li>
+     *     <li>The click is published to the click pipeline as counted</li>
+     *     <li>No document is saved on the redirect path</li>
+     *     <li>The redirect target is returned</li>
      * </ul>
      * </p>
      */
@@ -136,14 +363,207 @@ class UrlServiceTest {
         url.setOriginalUrl(ORIGINAL_URL);
         url.setClickCount(0);
 
-        when(urlRepository.findByShortId(SHORT_ID)).thenReturn(Optional.of(url));
+        when(urlRepository.findResolvedByShortId(SHORT_ID)).thenReturn(Optional.of(ResolvedUrl.of(url)));
+
+        // Act
+        ResolvedUrl result = urlService.incrementClickCount(SHORT_ID, ClickContext.NONE);
+
+        // Assert
+        assertEquals(ORIGINAL_URL, result.getOriginalUrl());
+        verify(clickPipeline).publish(SHORT_ID, ClickContext.NONE, true);
+        verify(urlRepository, never()).save(any(Url.class));
+    }
+
+    /**
+     * Tests that a redirect miss is reported as empty rather than thrown.
+     * <p>
+     * Verifies that no click is recorded and the miss is counted.
+     * </p>
+     */
+    @Test
+    void findAndRecordClick_MissIsEmpty() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<ResolvedUrl> result = urlService.findAndRecordClick(SHORT_ID, ClickContext.NONE);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(clickPipeline);
+        assertEquals(1.0, meterRegistry.get("url.not.found").tag("method", "incrementClickCount").counter().count());
+    }
+
+    /**
+     * Tests that a cached resolution stops redirecting once it has expired.
+     */
+    @Test
+    void resolveShortId_ExpiredIsNotFound() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID)).thenReturn(Optional.of(
+                new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true, Instant.now().minusSeconds(1), null)));
+
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.resolveShortId(SHORT_ID));
+    }
+
+    /**
+     * Tests that clicks on a click-limited URL are claimed in the database
+     * instead of being counted by the pipeline, and that the last one invalidates the URL.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Granted claims redirect and publish clicks that are not counted again</li>
+     *     <li>The last claim invalidates the cached resolution</li>
+     *     <li>A denied claim is reported as not found</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void findAndRecordClick_ClaimsLimitedClicks() {
+        // Arrange
+        when(urlRepository.findResolvedByShortId(SHORT_ID))
+                .thenReturn(Optional.of(new ResolvedUrl(SHORT_ID, ORIGINAL_URL, true, null, 2)));
+        when(urlRepository.claimClick(SHORT_ID))
+                .thenReturn(ClickClaim.GRANTED, ClickClaim.GRANTED_LAST, ClickClaim.DENIED);
+
+        // Act
+        Optional<ResolvedUrl> first = urlService.findAndRecordClick(SHORT_ID, ClickContext.NONE);
+        Optional<ResolvedUrl> last = urlService.findAndRecordClick(SHORT_ID, ClickContext.NONE);
+        Optional<ResolvedUrl> denied = urlService.findAndRecordClick(SHORT_ID, ClickContext.NONE);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertTrue(last.isPresent());
+        assertTrue(denied.isEmpty());
+        verify(resolutionCache).invalidate(SHORT_ID);
+        verify(resolutionCache).invalidateLocal(SHORT_ID);
+        verify(clickPipeline, times(2)).publish(SHORT_ID, ClickContext.NONE, false);
+        verifyNoMoreInteractions(clickPipeline);
+    }
+
+    /**
+     * Tests that a short ID missing from the {@code urls} collection is
+     * restored from the archive.
+     */
+    @Test
+    void resolveShortId_RestoresArchivedUrl() {
+        // Arrange
+        Url archived = new Url();
+        archived.setShortId(SHORT_ID);
+        archived.setOriginalUrl(ORIGINAL_URL);
+        when(urlRepository.findResolvedByShortId(SHORT_ID)).thenReturn(Optional.empty());
+        when(urlRepository.restoreArchived(SHORT_ID)).thenReturn(Optional.of(archived));
+
+        // Act
+        ResolvedUrl result = urlService.resolveShortId(SHORT_ID);
+
+        // Assert
+        assertEquals(ORIGINAL_URL, result.getOriginalUrl());
+        assertEquals(1.0, meterRegistry.get("url.archive.restored").counter().count());
+    }
+
+    /**
+     * Tests that a custom alias belonging to an archived URL is rejected.
+     */
+    @Test
+    void createShortUrl_AliasTakenByArchivedUrl() {
+        // Arrange
+        when(urlRepository.existsByShortId("alias1")).thenReturn(false);
+        when(urlRepository.findArchivedShortIds(List.of("alias1"))).thenReturn(List.of("alias1"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> urlService.createShortUrl(ORIGINAL_URL, "alias1"));
+        verify(urlRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that with deduplication enabled a URL that has already been
+     * shortened, in a different but equivalent spelling, returns the existing
+     * short ID without allocating a new one.
+     */
+    @Test
+    void createShortUrl_DeduplicatesExistingUrl() {
+        // Arrange
+        UrlService dedupService = deduplicatingService();
+        Url existing = new Url();
+        existing.setShortId("exist1");
+        existing.setOriginalUrl(ORIGINAL_URL);
+        when(urlRepository.findByUrlHash(UrlNormalizer.fingerprint(ORIGINAL_URL))).thenReturn(Optional.of(existing));
+
+        // Act
+        Url result = dedupService.createShortUrl("HTTPS://WWW.Example.com:443", null);
+
+        // Assert
+        assertSame(existing, result);
+        verify(shortIdGenerator, never()).nextId();
+        verify(urlRepository, never()).insertIfHashAbsent(any());
+        assertEquals(1.0, meterRegistry.get("url.dedup.hits").tag("source", "create").counter().count());
+    }
+
+    /**
+     * Tests that a new deduplicated URL is written with the upsert on its
+     * fingerprint, and that losing the upsert to a concurrent create returns
+     * the winner's short ID.
+     */
+    @Test
+    void createShortUrl_DeduplicationRaceReturnsWinner() {
+        // Arrange
+        UrlService dedupService = deduplicatingService();
+        Url winner = new Url();
+        winner.setShortId("winner");
+        when(urlRepository.findByUrlHash(any())).thenReturn(Optional.empty());
+        when(shortIdGenerator.nextId()).thenReturn(SHORT_ID);
+        when(urlRepository.insertIfHashAbsent(any(Url.class))).thenReturn(winner);
+
+        // Act
+        Url result = dedupService.createShortUrl(ORIGINAL_URL, null);
+
+        // Assert
+        assertEquals("winner", result.getShortId());
+        verify(urlRepository).insertIfHashAbsent(argThat(url ->
+                UrlNormalizer.fingerprint(ORIGINAL_URL).equals(url.getUrlHash())));
+        verify(urlRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that creates with an alias, expiry or click limit are never deduplicated.
+     */
+    @Test
+    void createShortUrl_CustomLinksAreNotDeduplicated() {
+        // Arrange
+        UrlService dedupService = deduplicatingService();
         when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        Url result = urlService.incrementClickCount(SHORT_ID);
+        Url result = dedupService.createShortUrl(ORIGINAL_URL, "my-alias");
 
         // Assert
-        assertEquals(1, result.getClickCount());
-        verify(urlRepository).save(any(Url.class));
+        assertNull(result.getUrlHash());
+        verify(urlRepository, never()).findByUrlHash(any());
+    }
+
+    /**
+     * Tests that deactivating a deduplicated URL releases its fingerprint.
+     */
+    @Test
+    void deactivateUrl_ClearsUrlHash() {
+        // Arrange
+        Url url = new Url();
+        url.setShortId(SHORT_ID);
+        url.setUrlHash("hash");
+        when(urlRepository.findByShortId(SHORT_ID)).thenReturn(Optional.of(url));
+
+        // Act
+        urlService.deactivateUrl(SHORT_ID);
+
+        // Assert
+        verify(urlRepository).save(argThat(saved -> !saved.isActive() && saved.getUrlHash() == null));
+    }
+
+    private UrlService deduplicatingService() {
+        return new UrlService(urlRepository, clickPipeline, resolutionCache, shortIdGenerator,
+                metrics, shortIdFilter, new UrlDeduplicator(true));
     }
-} 
\ No newline at end of file
+}
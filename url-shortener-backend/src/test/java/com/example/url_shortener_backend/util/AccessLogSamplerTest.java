@@ -0,0 +1,51 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AccessLogSampler} class.
+ */
+class AccessLogSamplerTest {
+
+    /**
+     * Tests that server errors are logged whatever the sample rate.
+     */
+    @Test
+    void isSampled_AlwaysLogsServerErrors() {
+        AccessLogSampler sampler = new AccessLogSampler(0);
+
+        assertTrue(sampler.isSampled(500));
+        assertTrue(sampler.isSampled(503));
+        assertFalse(sampler.isSampled(302));
+        assertFalse(sampler.isSampled(404));
+    }
+
+    /**
+     * Tests that roughly the configured fraction of requests is sampled.
+     */
+    @Test
+    void isSampled_MatchesSampleRate() {
+        AccessLogSampler sampler = new AccessLogSampler(0.1);
+
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.isSampled(302)) {
+                sampled++;
+            }
+        }
+
+        assertEquals(10_000, sampled, 1_000);
+        assertTrue(new AccessLogSampler(1).isSampled(200));
+    }
+
+    /**
+     * Tests that sample rates outside [0, 1] are rejected.
+     */
+    @Test
+    void constructor_RejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogSampler(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogSampler(1.5));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FeistelPermutation} and {@link Base62} classes.
+ * <p>
+ * Verifies that the permutation is a bijection on its domain and that
+ * encoding round-trips.
+ * </p>
+ */
+class FeistelPermutationTest {
+
+    /**
+     * Tests that every value of a small domain maps to a distinct value inside
+     * the domain and back.
+     */
+    @Test
+    void permute_IsBijective() {
+        // Arrange
+        long domain = 62 * 62 * 62;
+        FeistelPermutation permutation = new FeistelPermutation(domain, 1234);
+        Set<Long> seen = new HashSet<>();
+
+        // Act & Assert
+        for (long value = 0; value < domain; value++) {
+            long permuted = permutation.permute(value);
+            assertTrue(permuted >= 0 && permuted < domain);
+            assertTrue(seen.add(permuted));
+            assertEquals(value, permutation.inverse(permuted));
+        }
+    }
+
+    /**
+     * Tests that different keys select different permutations.
+     */
+    @Test
+    void permute_DependsOnKey() {
+        // Arrange
+        long domain = Base62.keyspace(6);
+
+        // Act & Assert
+        assertNotEquals(new FeistelPermutation(domain, 1).permute(1), new FeistelPermutation(domain, 2).permute(1));
+    }
+
+    /**
+     * Tests base62 padding and round trips.
+     */
+    @Test
+    void base62_RoundTrip() {
+        assertEquals("aaaaaa", Base62.encode(0, 6));
+        assertEquals("aaaaab", Base62.encode(1, 6));
+        assertEquals(123_456_789L, Base62.decode(Base62.encode(123_456_789L, 6)));
+        assertEquals(Base62.keyspace(10) - 1, Base62.decode(Base62.encode(Base62.keyspace(10) - 1, 10)));
+    }
+}
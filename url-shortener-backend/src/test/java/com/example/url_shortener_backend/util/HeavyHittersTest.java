@@ -0,0 +1,83 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link HeavyHitters} class.
+ */
+class HeavyHittersTest {
+
+    /**
+     * Tests that the most frequent elements of a power-law stream are found
+     * among many rare ones, with estimates never below their true counts.
+     */
+    @Test
+    void top_FindsHeavyHittersOfSkewedStream() {
+        HeavyHitters heavyHitters = new HeavyHitters(10, 1024, 4);
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            if (i % 4 == 0) {
+                // Every fourth element is one of five hot keys, weighted 9:7:5:3:1
+                int rank = (int) Math.floor(Math.sqrt(random.nextInt(25)));
+                heavyHitters.add("hot" + (4 - rank));
+            } else {
+                heavyHitters.add("cold" + random.nextInt(100_000));
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = heavyHitters.top();
+
+        assertEquals(10, top.size());
+        for (int rank = 0; rank < 5; rank++) {
+            assertEquals("hot" + rank, top.get(rank).getKey());
+        }
+        assertTrue(top.get(0).getValue() > 16_000);
+        assertTrue(top.get(4).getValue() > 1_500);
+        assertTrue(top.get(5).getValue() < top.get(4).getValue() / 2);
+        assertEquals(200_000, heavyHitters.total());
+    }
+
+    /**
+     * Tests that decaying lets a newly popular element displace an element
+     * that was popular before.
+     */
+    @Test
+    void decay_LetsNewHeavyHittersDisplaceOldOnes() {
+        HeavyHitters heavyHitters = new HeavyHitters(1, 256, 4);
+        for (int i = 0; i < 1_000; i++) {
+            heavyHitters.add("old");
+        }
+        for (int i = 0; i < 5; i++) {
+            heavyHitters.decay();
+        }
+        assertEquals(31, heavyHitters.top().get(0).getValue());
+
+        for (int i = 0; i < 40; i++) {
+            heavyHitters.add("new");
+        }
+
+        assertEquals(List.of(Map.entry("new", 40L)), heavyHitters.top());
+        assertEquals(71, heavyHitters.total());
+    }
+
+    /**
+     * Tests that counts decayed to zero leave the top-K.
+     */
+    @Test
+    void decay_DropsCountsDecayedToZero() {
+        HeavyHitters heavyHitters = new HeavyHitters(5, 64, 2);
+        heavyHitters.add("a");
+        heavyHitters.add("b");
+        heavyHitters.add("b");
+
+        heavyHitters.decay();
+
+        assertEquals(List.of(Map.entry("b", 1L)), heavyHitters.top());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScalableBloomFilter} class.
+ */
+class ScalableBloomFilterTest {
+
+    /**
+     * Tests that added elements are always found and that the false positive
+     * rate stays bounded after the filter has grown well past its first stage.
+     */
+    @Test
+    void mightContain_NoFalseNegativesAfterGrowth() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(Base62.encode(i, 6));
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain(Base62.encode(i, 6)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(Base62.encode(1_000_000 + i, 7))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertTrue(filter.approximateElementCount() > 19_000);
+    }
+
+    /**
+     * Tests that a filter read back from a snapshot answers like the original.
+     */
+    @Test
+    void readFrom_RestoresSnapshot() throws IOException {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.001);
+        for (int i = 0; i < 500; i++) {
+            filter.put("id" + i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        ScalableBloomFilter restored = ScalableBloomFilter.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(restored.mightContain("id" + i));
+        }
+        assertEquals(filter.approximateElementCount(), restored.approximateElementCount());
+        assertEquals(filter.sizeInBytes(), restored.sizeInBytes());
+        assertTrue(restored.isSizedFor(100, 0.001));
+        assertFalse(restored.isSizedFor(1_000, 0.001));
+    }
+
+    /**
+     * Tests that data that is not a snapshot is rejected.
+     */
+    @Test
+    void readFrom_RejectsForeignData() {
+        assertThrows(IOException.class, () -> ScalableBloomFilter.readFrom(
+                new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}))));
+    }
+}
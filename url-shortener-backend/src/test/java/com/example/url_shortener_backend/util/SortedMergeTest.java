@@ -0,0 +1,51 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SortedMerge} class.
+ */
+class SortedMergeTest {
+
+    /**
+     * Tests that both iterators are interleaved in order and that on equal
+     * keys only the element of the primary iterator is kept.
+     */
+    @Test
+    void next_MergesInOrderAndPrefersPrimary() {
+        Iterator<Map.Entry<String, String>> merged = new SortedMerge<>(
+                List.of(Map.entry("a", "live"), Map.entry("c", "live"), Map.entry("d", "live")).iterator(),
+                List.of(Map.entry("b", "archived"), Map.entry("c", "archived"), Map.entry("e", "archived")).iterator(),
+                Map.Entry.comparingByKey());
+
+        List<Map.Entry<String, String>> result = new ArrayList<>();
+        merged.forEachRemaining(result::add);
+
+        assertEquals(List.of(Map.entry("a", "live"), Map.entry("b", "archived"), Map.entry("c", "live"),
+                Map.entry("d", "live"), Map.entry("e", "archived")), result);
+        assertThrows(NoSuchElementException.class, merged::next);
+    }
+
+    /**
+     * Tests that an empty iterator on either side yields the other one unchanged.
+     */
+    @Test
+    void next_HandlesEmptySides() {
+        List<String> result = new ArrayList<>();
+        new SortedMerge<>(List.<String>of().iterator(), List.of("a", "b").iterator(), Comparator.naturalOrder())
+                .forEachRemaining(result::add);
+        new SortedMerge<>(List.of("c").iterator(), List.<String>of().iterator(), Comparator.naturalOrder())
+                .forEachRemaining(result::add);
+
+        assertEquals(List.of("a", "b", "c"), result);
+    }
+}
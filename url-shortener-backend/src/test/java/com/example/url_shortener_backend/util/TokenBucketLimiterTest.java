@@ -0,0 +1,82 @@
+package com.example.url_shortener_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TokenBucketLimiter} class.
+ */
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Tests that a client gets its burst, is then rejected with the time
+     * until the next token, and is admitted again once it has refilled,
+     * without affecting other clients.
+     */
+    @Test
+    void tryAcquire_AdmitsBurstThenRefillRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 2, 100, 4);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a", now));
+        }
+        assertEquals(SECOND / 2, limiter.tryAcquire("a", now));
+        assertEquals(0, limiter.tryAcquire("b", now));
+        assertEquals(0, limiter.tryAcquire("a", now + SECOND / 2));
+        assertTrue(limiter.tryAcquire("a", now + SECOND / 2) > 0);
+        assertEquals(3 * SECOND / 2, limiter.refillNanos());
+    }
+
+    /**
+     * Tests that the number of buckets stays bounded by evicting the least
+     * recently used clients.
+     */
+    @Test
+    void tryAcquire_EvictsLeastRecentlyUsed() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 64, 4);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("client-" + i, 0);
+        }
+
+        assertTrue(limiter.size() <= 64, "buckets: " + limiter.size());
+    }
+
+    /**
+     * Tests that tokens used by other instances are taken out of the local
+     * bucket from the second sync on.
+     * <p>
+     * Verifies that:
+     * <ul>
+     *     <li>Admissions are reported once and then reset</li>
+     *     <li>The first shared total only sets the baseline</li>
+     *     <li>Usage elsewhere leaves the client rejected locally</li>
+     * </ul>
+     * </p>
+     */
+    @Test
+    void applySharedUsage_TakesTokensUsedElsewhere() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 100, 4);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("a", 0);
+
+        List<Map.Entry<String, Long>> admissions = limiter.takeAdmissions();
+        assertEquals(List.of(Map.entry("a", 2L)), admissions);
+        assertTrue(limiter.takeAdmissions().isEmpty());
+        limiter.applySharedUsage("a", 7, 2);
+        assertEquals(0, limiter.tryAcquire("a", 0));
+
+        // One admission here, eight more on other instances
+        limiter.applySharedUsage("a", 16, 1);
+
+        assertTrue(limiter.tryAcquire("a", 0) > 0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.url_shortener_backend.util;
+
+import com.example.url_shortener_backend.model.UserAgentClass;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UserAgentClassifier} class.
+ */
+class UserAgentClassifierTest {
+
+    /**
+     * Tests the classification of common user agents.
+     */
+    @Test
+    void classify_CommonUserAgents() {
+        assertEquals(UserAgentClass.DESKTOP, UserAgentClassifier.classify(
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0 Safari/537.36"));
+        assertEquals(UserAgentClass.MOBILE, UserAgentClassifier.classify(
+                "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 Chrome/120.0 Mobile Safari/537.36"));
+        assertEquals(UserAgentClass.TABLET, UserAgentClassifier.classify(
+                "Mozilla/5.0 (Linux; Android 13; SM-X700) AppleWebKit/537.36 Chrome/120.0 Safari/537.36"));
+        assertEquals(UserAgentClass.TABLET, UserAgentClassifier.classify(
+                "Mozilla/5.0 (iPad; CPU OS 17_0 like Mac OS X) AppleWebKit/605.1.15 Mobile/15E148"));
+        assertEquals(UserAgentClass.BOT, UserAgentClassifier.classify(
+                "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)"));
+        assertEquals(UserAgentClass.BOT, UserAgentClassifier.classify("curl/8.4.0"));
+    }
+
+    /**
+     * Tests that absent and unrecognised user agents are classified as unknown.
+     */
+    @Test
+    void classify_Unknown() {
+        assertEquals(UserAgentClass.UNKNOWN, UserAgentClassifier.classify(null));
+        assertEquals(UserAgentClass.UNKNOWN, UserAgentClassifier.classify(" "));
+        assertEquals(UserAgentClass.UNKNOWN, UserAgentClassifier.classify("SomeClient"));
+    }
+}